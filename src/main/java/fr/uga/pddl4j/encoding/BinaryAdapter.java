@@ -0,0 +1,479 @@
+/*
+ * Copyright (c) 2016 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with PDDL4J.  If not, see
+ * <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.encoding;
+
+import fr.uga.pddl4j.parser.Connective;
+import fr.uga.pddl4j.util.BitExp;
+import fr.uga.pddl4j.util.BitOp;
+import fr.uga.pddl4j.util.BitVector;
+import fr.uga.pddl4j.util.CondBitExp;
+import fr.uga.pddl4j.util.IntExp;
+import fr.uga.pddl4j.util.SymbolTable;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * This class implements the binary format of the coded problems. The format is compact and versioned: the symbols
+ * are stored once in string tables, the domains and the signatures as arrays of integers and the bit expressions of
+ * the operators, the initial state and the goal as packed arrays of 64-bit words. All the values are big endian.
+ * <pre>
+ * header     magic, version
+ * tables     types, constants, predicates, functions, names of the operators
+ * domains    domains, inferred domains, signatures of the predicates and the functions, inertia
+ * facts      relevant facts
+ * operators  name, parameters, instantiations, dummy flag, cost, duration, preconditions, conditional effects
+ * problem    goal, initial state
+ * footer     magic
+ * </pre>
+ * A file written with another version of the format is rejected. The files are read through a memory mapped buffer.
+ *
+ * @author D. Pellier
+ * @version 1.0 - 17.10.2026
+ * @see CodedProblemCache
+ */
+public final class BinaryAdapter {
+
+    /**
+     * The version of the format. The version must be incremented each time the format or the encoding changes.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * The magic number of the format, i.e., "PDL4".
+     */
+    private static final int MAGIC = 0x50444C34;
+
+    /**
+     * The length of the lists and of the arrays that are null.
+     */
+    private static final int NULL = -1;
+
+    /**
+     * Creates a new binary adapter.
+     */
+    private BinaryAdapter() {
+    }
+
+    /**
+     * Saves a coded problem in a file.
+     *
+     * @param problem the coded problem.
+     * @param file    the file.
+     * @throws IOException if the file cannot be written.
+     */
+    public static void save(final CodedProblem problem, final File file) throws IOException {
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file))) {
+            BinaryAdapter.write(problem, out);
+        }
+    }
+
+    /**
+     * Loads a coded problem from a file. The file is mapped in memory and closed before the method returns.
+     *
+     * @param file the file.
+     * @return the coded problem.
+     * @throws IOException if the file cannot be read or is not a coded problem in the current version of the format.
+     */
+    public static CodedProblem load(final File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            return BinaryAdapter.read(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Writes a coded problem in an output stream.
+     *
+     * @param problem the coded problem.
+     * @param stream  the output stream.
+     * @throws IOException if an I/O error occurs.
+     */
+    public static void write(final CodedProblem problem, final OutputStream stream) throws IOException {
+        final DataOutputStream out = new DataOutputStream(stream);
+        out.writeInt(BinaryAdapter.MAGIC);
+        out.writeInt(BinaryAdapter.VERSION);
+        BinaryAdapter.writeStrings(out, problem.getTypes());
+        BinaryAdapter.writeStrings(out, problem.getConstants());
+        BinaryAdapter.writeStrings(out, problem.getPredicates());
+        BinaryAdapter.writeStrings(out, problem.getFunctions());
+        final SymbolTable names = new SymbolTable();
+        problem.getOperators().forEach(op -> names.intern(op.getName()));
+        BinaryAdapter.writeStrings(out, names);
+        BinaryAdapter.writeSets(out, problem.getDomains());
+        BinaryAdapter.writeSets(out, problem.getInferredDomains());
+        BinaryAdapter.writeLists(out, problem.getPredicatesSignatures());
+        BinaryAdapter.writeLists(out, problem.getFunctionsSignatures());
+        final List<Inertia> inertia = problem.getInertia();
+        out.writeInt(inertia == null ? BinaryAdapter.NULL : inertia.size());
+        if (inertia != null) {
+            for (Inertia i : inertia) {
+                out.writeByte(i.ordinal());
+            }
+        }
+        out.writeInt(problem.getRelevantFacts().size());
+        for (IntExp fact : problem.getRelevantFacts()) {
+            BinaryAdapter.writeIntExp(out, fact);
+        }
+        out.writeInt(problem.getOperators().size());
+        for (BitOp op : problem.getOperators()) {
+            out.writeInt(names.indexOf(op.getName()));
+            final int arity = op.getArity();
+            out.writeInt(arity);
+            for (int i = 0; i < arity; i++) {
+                out.writeInt(op.getTypeOfParameters(i));
+                out.writeInt(op.getValueOfParameter(i));
+            }
+            out.writeBoolean(op.isDummy());
+            out.writeDouble(op.getCost());
+            out.writeDouble(op.getDuration());
+            BinaryAdapter.writeBitExp(out, op.getPreconditions());
+            out.writeInt(op.getCondEffects().size());
+            for (CondBitExp effect : op.getCondEffects()) {
+                BinaryAdapter.writeBitExp(out, effect.getCondition());
+                BinaryAdapter.writeBitExp(out, effect.getEffects());
+            }
+        }
+        out.writeBoolean(problem.getGoal() != null);
+        if (problem.getGoal() != null) {
+            BinaryAdapter.writeBitExp(out, problem.getGoal());
+        }
+        BinaryAdapter.writeBitExp(out, problem.getInit());
+        out.writeInt(BinaryAdapter.MAGIC);
+        out.flush();
+    }
+
+    /**
+     * Reads a coded problem from a buffer. The buffer is read from its current position.
+     *
+     * @param buffer the buffer.
+     * @return the coded problem.
+     * @throws IOException if the buffer does not contain a coded problem in the current version of the format.
+     */
+    public static CodedProblem read(final ByteBuffer buffer) throws IOException {
+        try {
+            if (buffer.getInt() != BinaryAdapter.MAGIC) {
+                throw new IOException("not a coded problem");
+            }
+            final int version = buffer.getInt();
+            if (version != BinaryAdapter.VERSION) {
+                throw new IOException("unsupported version " + version + " of the coded problem format");
+            }
+            final CodedProblem problem = new CodedProblem();
+            problem.setTypes(BinaryAdapter.readStrings(buffer));
+            problem.setConstants(BinaryAdapter.readStrings(buffer));
+            problem.setPredicates(BinaryAdapter.readStrings(buffer));
+            problem.setFunctions(BinaryAdapter.readStrings(buffer));
+            final List<String> names = BinaryAdapter.readStrings(buffer);
+            problem.setDomains(BinaryAdapter.readSets(buffer));
+            problem.setInferredDomains(BinaryAdapter.readSets(buffer));
+            problem.setPredicatesSignatures(BinaryAdapter.readLists(buffer));
+            problem.setFunctionsSignatures(BinaryAdapter.readLists(buffer));
+            final int nbInertia = buffer.getInt();
+            if (nbInertia != BinaryAdapter.NULL) {
+                final Inertia[] values = Inertia.values();
+                final List<Inertia> inertia = new ArrayList<>(nbInertia);
+                for (int i = 0; i < nbInertia; i++) {
+                    inertia.add(values[buffer.get()]);
+                }
+                problem.setInertia(inertia);
+            }
+            final int nbFacts = buffer.getInt();
+            final List<IntExp> facts = new ArrayList<>(nbFacts);
+            for (int i = 0; i < nbFacts; i++) {
+                facts.add(BinaryAdapter.readIntExp(buffer));
+            }
+            problem.setRelevantFacts(facts);
+            final int nbOperators = buffer.getInt();
+            final List<BitOp> operators = new ArrayList<>(nbOperators);
+            for (int i = 0; i < nbOperators; i++) {
+                final String name = names.get(buffer.getInt());
+                final int arity = buffer.getInt();
+                final BitOp op = new BitOp(name, arity);
+                for (int j = 0; j < arity; j++) {
+                    op.setTypeOfParameter(j, buffer.getInt());
+                    op.setValueOfParameter(j, buffer.getInt());
+                }
+                op.setDummy(buffer.get() != 0);
+                op.setCost(buffer.getDouble());
+                op.setDuration(buffer.getDouble());
+                op.setPreconditions(BinaryAdapter.readBitExp(buffer));
+                final int nbEffects = buffer.getInt();
+                for (int j = 0; j < nbEffects; j++) {
+                    final BitExp condition = BinaryAdapter.readBitExp(buffer);
+                    op.getCondEffects().add(new CondBitExp(condition, BinaryAdapter.readBitExp(buffer)));
+                }
+                operators.add(op);
+            }
+            problem.setOperators(operators);
+            if (buffer.get() != 0) {
+                problem.setGoal(BinaryAdapter.readBitExp(buffer));
+            }
+            problem.setInit(BinaryAdapter.readBitExp(buffer));
+            if (buffer.getInt() != BinaryAdapter.MAGIC) {
+                throw new IOException("corrupted coded problem");
+            }
+            return problem;
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException
+            | NegativeArraySizeException e) {
+            throw new IOException("corrupted coded problem", e);
+        }
+    }
+
+    /**
+     * Writes a list of strings.
+     *
+     * @param out     the output stream.
+     * @param strings the list of strings.
+     * @throws IOException if an I/O error occurs.
+     */
+    private static void writeStrings(final DataOutputStream out, final List<String> strings) throws IOException {
+        out.writeInt(strings.size());
+        for (String str : strings) {
+            final byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * Reads a list of strings. The list is a symbol table.
+     *
+     * @param buffer the buffer.
+     * @return the list of strings.
+     */
+    private static List<String> readStrings(final ByteBuffer buffer) {
+        final int size = buffer.getInt();
+        final SymbolTable strings = new SymbolTable(size);
+        for (int i = 0; i < size; i++) {
+            final byte[] bytes = new byte[buffer.getInt()];
+            buffer.get(bytes);
+            strings.add(new String(bytes, StandardCharsets.UTF_8));
+        }
+        return strings;
+    }
+
+    /**
+     * Writes a list of sets of integers. The list and the sets can be null.
+     *
+     * @param out  the output stream.
+     * @param sets the list of sets.
+     * @throws IOException if an I/O error occurs.
+     */
+    private static void writeSets(final DataOutputStream out, final List<Set<Integer>> sets) throws IOException {
+        out.writeInt(sets == null ? BinaryAdapter.NULL : sets.size());
+        if (sets != null) {
+            for (Set<Integer> set : sets) {
+                out.writeInt(set == null ? BinaryAdapter.NULL : set.size());
+                if (set != null) {
+                    for (Integer i : set) {
+                        out.writeInt(i);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads a list of sets of integers.
+     *
+     * @param buffer the buffer.
+     * @return the list of sets.
+     */
+    private static List<Set<Integer>> readSets(final ByteBuffer buffer) {
+        final int size = buffer.getInt();
+        if (size == BinaryAdapter.NULL) {
+            return null;
+        }
+        final List<Set<Integer>> sets = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            final int length = buffer.getInt();
+            if (length == BinaryAdapter.NULL) {
+                sets.add(null);
+            } else {
+                final Set<Integer> set = new LinkedHashSet<>();
+                for (int j = 0; j < length; j++) {
+                    set.add(buffer.getInt());
+                }
+                sets.add(set);
+            }
+        }
+        return sets;
+    }
+
+    /**
+     * Writes a list of lists of integers. The list can be null.
+     *
+     * @param out   the output stream.
+     * @param lists the list of lists.
+     * @throws IOException if an I/O error occurs.
+     */
+    private static void writeLists(final DataOutputStream out, final List<List<Integer>> lists) throws IOException {
+        out.writeInt(lists == null ? BinaryAdapter.NULL : lists.size());
+        if (lists != null) {
+            for (List<Integer> list : lists) {
+                out.writeInt(list.size());
+                for (Integer i : list) {
+                    out.writeInt(i);
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads a list of lists of integers.
+     *
+     * @param buffer the buffer.
+     * @return the list of lists.
+     */
+    private static List<List<Integer>> readLists(final ByteBuffer buffer) {
+        final int size = buffer.getInt();
+        if (size == BinaryAdapter.NULL) {
+            return null;
+        }
+        final List<List<Integer>> lists = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            final int length = buffer.getInt();
+            final List<Integer> list = new ArrayList<>(length);
+            for (int j = 0; j < length; j++) {
+                list.add(buffer.getInt());
+            }
+            lists.add(list);
+        }
+        return lists;
+    }
+
+    /**
+     * Writes an expression and its children.
+     *
+     * @param out the output stream.
+     * @param exp the expression.
+     * @throws IOException if an I/O error occurs.
+     */
+    private static void writeIntExp(final DataOutputStream out, final IntExp exp) throws IOException {
+        out.writeShort(exp.getConnective().ordinal());
+        out.writeInt(exp.getPredicate());
+        final int[] arguments = exp.getArguments();
+        out.writeInt(arguments == null ? BinaryAdapter.NULL : arguments.length);
+        if (arguments != null) {
+            for (int arg : arguments) {
+                out.writeInt(arg);
+            }
+        }
+        out.writeInt(exp.getVariable());
+        out.writeInt(exp.getType());
+        out.writeDouble(exp.getValue());
+        out.writeInt(exp.getChildren().size());
+        for (IntExp child : exp.getChildren()) {
+            BinaryAdapter.writeIntExp(out, child);
+        }
+    }
+
+    /**
+     * Reads an expression and its children.
+     *
+     * @param buffer the buffer.
+     * @return the expression.
+     */
+    private static IntExp readIntExp(final ByteBuffer buffer) {
+        final IntExp exp = new IntExp(Connective.values()[buffer.getShort()]);
+        exp.setPredicate(buffer.getInt());
+        final int length = buffer.getInt();
+        if (length != BinaryAdapter.NULL) {
+            final int[] arguments = new int[length];
+            for (int i = 0; i < length; i++) {
+                arguments[i] = buffer.getInt();
+            }
+            exp.setArguments(arguments);
+        }
+        exp.setVariable(buffer.getInt());
+        exp.setType(buffer.getInt());
+        exp.setValue(buffer.getDouble());
+        final int nbChildren = buffer.getInt();
+        for (int i = 0; i < nbChildren; i++) {
+            exp.getChildren().add(BinaryAdapter.readIntExp(buffer));
+        }
+        return exp;
+    }
+
+    /**
+     * Writes a bit expression as the words of its positive and its negative vectors.
+     *
+     * @param out the output stream.
+     * @param exp the bit expression.
+     * @throws IOException if an I/O error occurs.
+     */
+    private static void writeBitExp(final DataOutputStream out, final BitExp exp) throws IOException {
+        BinaryAdapter.writeBitVector(out, exp.getPositive());
+        BinaryAdapter.writeBitVector(out, exp.getNegative());
+    }
+
+    /**
+     * Reads a bit expression.
+     *
+     * @param buffer the buffer.
+     * @return the bit expression.
+     */
+    private static BitExp readBitExp(final ByteBuffer buffer) {
+        final BitVector positive = BinaryAdapter.readBitVector(buffer);
+        return new BitExp(positive, BinaryAdapter.readBitVector(buffer));
+    }
+
+    /**
+     * Writes a bit vector as an array of 64-bit words.
+     *
+     * @param out    the output stream.
+     * @param vector the bit vector.
+     * @throws IOException if an I/O error occurs.
+     */
+    private static void writeBitVector(final DataOutputStream out, final BitVector vector) throws IOException {
+        final long[] words = vector.toLongArray();
+        out.writeInt(words.length);
+        for (long word : words) {
+            out.writeLong(word);
+        }
+    }
+
+    /**
+     * Reads a bit vector written as an array of 64-bit words.
+     *
+     * @param buffer the buffer.
+     * @return the bit vector.
+     */
+    private static BitVector readBitVector(final ByteBuffer buffer) {
+        final int length = buffer.getInt();
+        final LongBuffer words = buffer.asLongBuffer();
+        words.limit(length);
+        buffer.position(buffer.position() + length * Long.BYTES);
+        final BitVector vector = new BitVector(length * Long.SIZE);
+        vector.or(BitSet.valueOf(words));
+        return vector;
+    }
+}
@@ -80,15 +80,17 @@ final class BitEncoding implements Serializable {
      * Encode a list of specified operators into <code>BitSet</code> representation. The specified
      * map is used to speed-up the search by mapping the an expression to this index.
      *
+     * @param context the encoding context.
      * @param operators the list of operators to encode.
      * @param map       the map that associates to a specified expression its index.
      * @return the list of operators encoded into bit set.
      */
-    static List<BitOp> encodeOperators(final List<IntOp> operators, final Map<IntExp, Integer> map)
+    static List<BitOp> encodeOperators(final EncodingContext context, final List<IntOp> operators,
+                                       final Map<IntExp, Integer> map)
         throws UnexpectedExpressionException {
 
         // Normalize the operators
-        BitEncoding.normalize(operators);
+        BitEncoding.normalize(context, operators);
 
         final List<BitOp> ops = new ArrayList<>(operators.size());
         for (IntOp op : operators) {
@@ -102,7 +104,7 @@ final class BitEncoding implements Serializable {
             }
 
             // Initialize the preconditions of the operator
-            bOp.setPreconditions(BitEncoding.encode(op.getPreconditions(), map));
+            bOp.setPreconditions(BitEncoding.encode(context, op.getPreconditions(), map));
 
             // Initialize the effects of the operator
             final List<IntExp> effects = op.getEffects().getChildren();
@@ -114,8 +116,8 @@ final class BitEncoding implements Serializable {
                 final List<IntExp> children = ei.getChildren();
                 if (connective.equals(Connective.WHEN)) {
                     final CondBitExp condBitExp = new CondBitExp();
-                    condBitExp.setCondition(BitEncoding.encode(children.get(0), map));
-                    condBitExp.setEffects(BitEncoding.encode(children.get(1), map));
+                    condBitExp.setCondition(BitEncoding.encode(context, children.get(0), map));
+                    condBitExp.setEffects(BitEncoding.encode(context, children.get(1), map));
                     bOp.getCondEffects().add(condBitExp);
                 } else if (connective.equals(Connective.ATOM)) {
                     final Integer index = map.get(ei);
@@ -132,7 +134,7 @@ final class BitEncoding implements Serializable {
                         hasUnConditionalEffects = true;
                     }
                 } else {
-                    throw new UnexpectedExpressionException(Encoder.toString(ei));
+                    throw new UnexpectedExpressionException(context.toString(ei));
                 }
             }
             if (hasUnConditionalEffects) {
@@ -147,52 +149,54 @@ final class BitEncoding implements Serializable {
      * Encode a specified goal in a disjunction of <code>BitExp</code>. The specified
      * map is used to speed-up the search by mapping the an expression to this index.
      *
+     * @param context the encoding context.
      * @param goal the goal to encode.
      * @param map  the map that associates to a specified expression its index.
      * @return a list of <code>BitExp</code> that represents the goal as a disjunction of
      * <code>BitExp</code>.
      */
-    static BitExp encodeGoal(IntExp goal, final Map<IntExp, Integer> map) throws UnexpectedExpressionException {
+    static BitExp encodeGoal(final EncodingContext context, IntExp goal, final Map<IntExp, Integer> map)
+        throws UnexpectedExpressionException {
         if (goal.getConnective().equals(Connective.FALSE)) {
             return null;
         }
 
         BitExp newGoal;
-        BitEncoding.toDNF(goal);
-        Encoder.codedGoal = new ArrayList<>(goal.getChildren().size());
+        BitEncoding.toDNF(context, goal);
+        context.codedGoal = new ArrayList<>(goal.getChildren().size());
         for (IntExp exp : goal.getChildren()) {
             if (exp.getConnective().equals(Connective.ATOM)) {
                 IntExp and = new IntExp(Connective.AND);
                 and.getChildren().add(exp);
-                Encoder.codedGoal.add(BitEncoding.encode(and, map));
+                context.codedGoal.add(BitEncoding.encode(context, and, map));
             } else {
-                Encoder.codedGoal.add(BitEncoding.encode(exp, map));
+                context.codedGoal.add(BitEncoding.encode(context, exp, map));
             }
         }
-        if (Encoder.codedGoal.size() > 1) {
+        if (context.codedGoal.size() > 1) {
             // Create a new dummy fact to encode the goal
-            final int dummyPredicateIndex = Encoder.tableOfPredicates.size();
-            Encoder.tableOfPredicates.add(Constants.DUMMY_GOAL);
-            Encoder.tableOfTypedPredicates.add(new ArrayList<>());
+            final int dummyPredicateIndex = context.tableOfPredicates.size();
+            context.tableOfPredicates.add(Constants.DUMMY_GOAL);
+            context.tableOfTypedPredicates.add(new ArrayList<>());
             IntExp dummyGoal = new IntExp(Connective.ATOM);
             dummyGoal.setPredicate(dummyPredicateIndex);
             dummyGoal.setArguments(new int[0]);
-            final int dummyGoalIndex = Encoder.tableOfRelevantFacts.size();
-            Encoder.tableOfRelevantFacts.add(dummyGoal);
+            final int dummyGoalIndex = context.tableOfRelevantFacts.size();
+            context.tableOfRelevantFacts.add(dummyGoal);
             map.put(dummyGoal, dummyGoalIndex);
             newGoal = new BitExp();
             newGoal.getPositive().set(dummyGoalIndex);
             final CondBitExp condEffect = new CondBitExp(newGoal);
             // for each disjunction create a dummy action
-            for (BitExp dis : Encoder.codedGoal) {
+            for (BitExp dis : context.codedGoal) {
                 final BitOp op = new BitOp(Constants.DUMMY_OPERATOR, 0);
                 op.setDummy(true);
                 op.setPreconditions(dis);
                 op.getCondEffects().add(condEffect);
-                Encoder.operators.add(op);
+                context.operators.add(op);
             }
         } else {
-            newGoal = Encoder.codedGoal.get(0);
+            newGoal = context.codedGoal.get(0);
         }
         return newGoal;
     }
@@ -227,11 +231,12 @@ final class BitEncoding implements Serializable {
      * Encode an specified <code>IntExp</code> in its <code>BitExp</code> representation.The
      * specified map is used to speed-up the search by mapping the an expression to this index.
      *
+     * @param context the encoding context.
      * @param exp the <code>IntExp</code>.
      * @param map the map that associate to a specified expression its index.
      * @return the expression in bit set representation.
      */
-    private static BitExp encode(final IntExp exp, final Map<IntExp, Integer> map)
+    private static BitExp encode(final EncodingContext context, final IntExp exp, final Map<IntExp, Integer> map)
         throws UnexpectedExpressionException {
         final BitExp bitExp = new BitExp();
         if (exp.getConnective().equals(Connective.ATOM)) {
@@ -260,12 +265,12 @@ final class BitEncoding implements Serializable {
                 } else if (ei.getConnective().equals(Connective.TRUE)) {
                     // do nothing
                 } else {
-                    throw new UnexpectedExpressionException(Encoder.toString(exp));
+                    throw new UnexpectedExpressionException(context.toString(exp));
                 }
             }
         } else {
-            LOGGER.error(Encoder.toString(exp));
-            throw new UnexpectedExpressionException(Encoder.toString(exp));
+            LOGGER.error(context.toString(exp));
+            throw new UnexpectedExpressionException(context.toString(exp));
         }
         return bitExp;
     }
@@ -276,15 +281,17 @@ final class BitEncoding implements Serializable {
      * new operator is created such all operators after normalization have only conjunctive
      * precondition.
      *
+     * @param context the encoding context.
      * @param operators the list of operators to normalize.
      */
-    private static void normalize(final List<IntOp> operators) throws UnexpectedExpressionException {
+    private static void normalize(final EncodingContext context, final List<IntOp> operators)
+        throws UnexpectedExpressionException {
         final List<IntOp> tmpOps = new ArrayList<>(operators.size() + 100);
         for (IntOp op : operators) {
-            BitEncoding.toCNF(op.getEffects());
+            BitEncoding.toCNF(context, op.getEffects());
             BitEncoding.simplify(op.getEffects());
             final IntExp precond = op.getPreconditions();
-            BitEncoding.toDNF(precond);
+            BitEncoding.toDNF(context, precond);
             for (final IntExp ei : precond.getChildren()) {
                 final String name = op.getName();
                 final int arity = op.getArity();
@@ -337,14 +344,15 @@ final class BitEncoding implements Serializable {
     /**
      * Convert an expression in conjunctive normal form (CNF).
      *
+     * @param context the encoding context.
      * @param exp the expression to transform in CNF.
      */
-    private static void toCNF(final IntExp exp) throws UnexpectedExpressionException {
+    private static void toCNF(final EncodingContext context, final IntExp exp) throws UnexpectedExpressionException {
         switch (exp.getConnective()) {
             case WHEN:
                 final IntExp antecedent = exp.getChildren().get(0);
                 final IntExp consequence = exp.getChildren().get(1);
-                BitEncoding.toDNF(antecedent);
+                BitEncoding.toDNF(context, antecedent);
                 exp.setConnective(Connective.AND);
                 exp.getChildren().clear();
                 for (IntExp ei : antecedent.getChildren()) {
@@ -359,7 +367,7 @@ final class BitEncoding implements Serializable {
                 int i = 0;
                 while (i < children.size()) {
                     final IntExp ei = children.get(i);
-                    BitEncoding.toCNF(ei);
+                    BitEncoding.toCNF(context, ei);
                     exp.getChildren().remove(i);
                     for (IntExp ej : ei.getChildren()) {
                         exp.getChildren().add(i, ej);
@@ -376,23 +384,24 @@ final class BitEncoding implements Serializable {
                 exp.getChildren().add(copy);
                 break;
             default:
-                throw new UnexpectedExpressionException(Encoder.toString(exp));
+                throw new UnexpectedExpressionException(context.toString(exp));
         }
     }
 
     /**
      * Convert an expression in disjunctive normal form (DNF).
      *
+     * @param context the encoding context.
      * @param exp the expression to transform in DNF.
      */
-    private static void toDNF(final IntExp exp) throws UnexpectedExpressionException {
+    private static void toDNF(final EncodingContext context, final IntExp exp) throws UnexpectedExpressionException {
         switch (exp.getConnective()) {
             case OR:
                 List<IntExp> children = exp.getChildren();
                 int index = 0;
                 while (index < children.size()) {
                     final IntExp ei = children.get(index);
-                    BitEncoding.toDNF(ei);
+                    BitEncoding.toDNF(context, ei);
                     if (ei.getConnective().equals(Connective.OR)) {
                         children.remove(index);
                         for (IntExp ej : ei.getChildren()) {
@@ -405,7 +414,7 @@ final class BitEncoding implements Serializable {
             case AND:
                 children = exp.getChildren();
                 for (IntExp child : children) {
-                    BitEncoding.toDNF(child);
+                    BitEncoding.toDNF(context, child);
                 }
                 IntExp dnf = exp.getChildren().get(0);
                 for (int i = 1; i < exp.getChildren().size(); i++) {
@@ -452,7 +461,7 @@ final class BitEncoding implements Serializable {
                 exp.getChildren().add(and);
                 break;
             default:
-                throw new UnexpectedExpressionException(Encoder.toString(exp));
+                throw new UnexpectedExpressionException(context.toString(exp));
         }
     }
 }
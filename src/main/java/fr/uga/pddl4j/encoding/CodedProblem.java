@@ -25,6 +25,7 @@ import fr.uga.pddl4j.util.BitState;
 import fr.uga.pddl4j.util.CondBitExp;
 import fr.uga.pddl4j.util.IntExp;
 import fr.uga.pddl4j.util.Plan;
+import fr.uga.pddl4j.util.SuccessorGenerator;
 
 import java.io.Serializable;
 import java.util.ArrayList;
@@ -112,6 +113,11 @@ public class CodedProblem implements Serializable {
      */
     private BitExp init;
 
+    /**
+     * The successor generator of the operators. It is built lazily the first time it is requested.
+     */
+    private transient SuccessorGenerator successorGenerator;
+
     /**
      * The default constructor with a private package access to prevent instance creation.
      */
@@ -354,6 +360,21 @@ public class CodedProblem implements Serializable {
      */
     final void setOperators(final List<BitOp> operators) {
         this.operators = operators;
+        this.successorGenerator = null;
+    }
+
+    /**
+     * Returns the successor generator of the operators of the problem. The generator is built the
+     * first time this method is called and shared by all the search strategies applied to the problem.
+     *
+     * @return the successor generator of the operators of the problem.
+     * @see SuccessorGenerator
+     */
+    public final SuccessorGenerator getSuccessorGenerator() {
+        if (this.successorGenerator == null || this.successorGenerator.size() != this.operators.size()) {
+            this.successorGenerator = new SuccessorGenerator(this.operators);
+        }
+        return this.successorGenerator;
     }
 
     /**
@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) 2016 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with PDDL4J.  If not, see
+ * <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.encoding;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * This class implements an on-disk cache of coded problems. The problems are stored in a directory in the binary
+ * format of <code>BinaryAdapter</code> and are identified by a key, the SHA-256 hash of the content of the domain
+ * and the problem, and by the grounding used to encode them:
+ * <pre>
+ * final CodedProblemCache cache = new CodedProblemCache(new File("cache"));
+ * final String key = CodedProblemCache.hash(domain, problem);
+ * CodedProblem pb = cache.load(key, Encoder.Grounding.FULL);
+ * if (pb == null) {
+ *     pb = Encoder.encode(parser.getDomain(), parser.getProblem());
+ *     cache.store(key, Encoder.Grounding.FULL, pb);
+ * }
+ * </pre>
+ * The version of the binary format is part of the key, so that the entries written with another version are
+ * never read. A problem is written in a temporary file which is then renamed, so that the processes sharing the
+ * directory never read a partial entry. The entries that cannot be read are deleted.
+ *
+ * @author D. Pellier
+ * @version 1.0 - 17.10.2026
+ * @see BinaryAdapter
+ */
+public final class CodedProblemCache {
+
+    /**
+     * The extension of the files of the cache.
+     */
+    public static final String EXTENSION = ".pb";
+
+    /**
+     * The logger of the class.
+     */
+    private static final Logger LOGGER = LogManager.getLogger(CodedProblemCache.class);
+
+    /**
+     * The directory of the cache.
+     */
+    private final File directory;
+
+    /**
+     * Creates a new cache of coded problems. The directory is created when the first problem is stored.
+     *
+     * @param directory the directory of the cache.
+     * @throws NullPointerException if <code>directory == null</code>.
+     */
+    public CodedProblemCache(final File directory) {
+        this.directory = Objects.requireNonNull(directory);
+    }
+
+    /**
+     * Returns the directory of the cache.
+     *
+     * @return the directory of the cache.
+     */
+    public File getDirectory() {
+        return this.directory;
+    }
+
+    /**
+     * Returns the key of a domain and a problem stored in files.
+     *
+     * @param domain  the domain file.
+     * @param problem the problem file.
+     * @return the key of the domain and the problem.
+     * @throws IOException if the files cannot be read.
+     */
+    public static String hash(final File domain, final File problem) throws IOException {
+        return CodedProblemCache.hash(Files.readAllBytes(domain.toPath()), Files.readAllBytes(problem.toPath()));
+    }
+
+    /**
+     * Returns the key of a domain and a problem given as strings.
+     *
+     * @param domain  the domain.
+     * @param problem the problem.
+     * @return the key of the domain and the problem.
+     */
+    public static String hash(final String domain, final String problem) {
+        return CodedProblemCache.hash(domain.getBytes(StandardCharsets.UTF_8),
+            problem.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns the key of a list of contents, e.g., the content of a domain and a problem. The length of each
+     * content is hashed so that the contents cannot be shifted from one to the other.
+     *
+     * @param contents the contents.
+     * @return the key of the contents.
+     */
+    static String hash(final byte[]... contents) {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Every implementation of the Java platform supports SHA-256
+            throw new IllegalStateException(e);
+        }
+        digest.update(Integer.toString(BinaryAdapter.VERSION).getBytes(StandardCharsets.UTF_8));
+        for (byte[] content : contents) {
+            digest.update((byte) 0);
+            digest.update(Integer.toString(content.length).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(content);
+        }
+        final StringBuilder key = new StringBuilder();
+        for (byte b : digest.digest()) {
+            key.append(String.format("%02x", b));
+        }
+        return key.toString();
+    }
+
+    /**
+     * Returns <code>true</code> if the cache contains a problem with a specified key, whatever its grounding.
+     *
+     * @param key the key of the problem.
+     * @return <code>true</code> if the cache contains a problem with the key; <code>false</code> otherwise.
+     */
+    public boolean contains(final String key) {
+        boolean contains = false;
+        for (Encoder.Grounding grounding : Encoder.Grounding.values()) {
+            contains |= this.getFile(key, grounding).isFile();
+        }
+        return contains;
+    }
+
+    /**
+     * Loads a problem from the cache.
+     *
+     * @param key       the key of the problem.
+     * @param grounding the grounding used to encode the problem.
+     * @return the problem or null if the cache does not contain the problem or if the problem cannot be read.
+     */
+    public CodedProblem load(final String key, final Encoder.Grounding grounding) {
+        final File file = this.getFile(key, grounding);
+        if (!file.isFile()) {
+            return null;
+        }
+        try {
+            return BinaryAdapter.load(file);
+        } catch (IOException e) {
+            LOGGER.warn("cannot read cache entry \"" + file + "\": " + e.getMessage() + "\n");
+            if (!file.delete()) {
+                LOGGER.warn("cannot delete cache entry \"" + file + "\"\n");
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Stores a problem in the cache. The problems that cannot be written are not stored.
+     *
+     * @param key       the key of the problem.
+     * @param grounding the grounding used to encode the problem.
+     * @param problem   the problem.
+     * @return <code>true</code> if the problem was stored; <code>false</code> otherwise.
+     */
+    public boolean store(final String key, final Encoder.Grounding grounding, final CodedProblem problem) {
+        final File file = this.getFile(key, grounding);
+        File tmp = null;
+        try {
+            Files.createDirectories(this.directory.toPath());
+            tmp = File.createTempFile(key, ".tmp", this.directory);
+            BinaryAdapter.save(problem, tmp);
+            try {
+                Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+            return true;
+        } catch (IOException e) {
+            LOGGER.warn("cannot write cache entry \"" + file + "\": " + e.getMessage() + "\n");
+            if (tmp != null && tmp.exists() && !tmp.delete()) {
+                LOGGER.warn("cannot delete temporary file \"" + tmp + "\"\n");
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Returns the file of a problem.
+     *
+     * @param key       the key of the problem.
+     * @param grounding the grounding used to encode the problem.
+     * @return the file of the problem.
+     */
+    private File getFile(final String key, final Encoder.Grounding grounding) {
+        return new File(this.directory, key + "-" + grounding.name().toLowerCase(Locale.ROOT)
+            + CodedProblemCache.EXTENSION);
+    }
+}
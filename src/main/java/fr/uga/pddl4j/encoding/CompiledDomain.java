@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2016 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with PDDL4J.  If not, see
+ * <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.encoding;
+
+import fr.uga.pddl4j.exceptions.FatalException;
+import fr.uga.pddl4j.parser.Domain;
+import fr.uga.pddl4j.util.SymbolTable;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * This class implements a compiled planning domain, i.e., a domain with the steps of the encoding that do not
+ * depend on the problem already done: the domain is standardized, its types, predicates, functions and operators
+ * are encoded into integer representation and the inertia of its predicates are extracted from its operators. The
+ * problems of the domain are then encoded with <code>Encoder.encode(CompiledDomain, Problem)</code>, which only
+ * runs the steps that depend on the objects of the problem:
+ * <pre>
+ * final CompiledDomain domain = new CompiledDomain(parser.getDomain());
+ * final CodedProblem pb = Encoder.encode(domain, parser.getProblem());
+ * </pre>
+ * A compiled domain is never modified by the encoding of a problem and can be shared by several threads encoding
+ * problems concurrently. The domain compiled must not be modified once compiled.
+ *
+ * @author D. Pellier
+ * @version 1.0 - 17.10.2026
+ * @see Encoder#encode(CompiledDomain, fr.uga.pddl4j.parser.Problem, Encoder.Grounding)
+ * @see CompiledDomainCache
+ */
+public final class CompiledDomain {
+
+    /**
+     * The domain compiled.
+     */
+    private final Domain domain;
+
+    /**
+     * The table of the types declared in the domain and of the composite types used in the domain.
+     */
+    private final SymbolTable tableOfTypes;
+
+    /**
+     * The table of the predicates.
+     */
+    private final SymbolTable tableOfPredicates;
+
+    /**
+     * The table that contains the types of the arguments of the predicates.
+     */
+    private final List<List<Integer>> tableOfTypedPredicates;
+
+    /**
+     * The table of the functions.
+     */
+    private final SymbolTable tableOfFunctions;
+
+    /**
+     * The table that contains the types of the arguments of the functions.
+     */
+    private final List<List<Integer>> tableOfTypedFunctions;
+
+    /**
+     * The table that defines for each predicates its type of inertia.
+     */
+    private final List<Inertia> tableOfInertia;
+
+    /**
+     * The operators encoded into integer representation.
+     */
+    private final List<IntOp> operators;
+
+    /**
+     * Compiles a domain. The domain is standardized.
+     *
+     * @param domain the domain to compile.
+     * @throws NullPointerException     if <code>domain == null</code>.
+     * @throws IllegalArgumentException if the domain is not ADL.
+     * @throws FatalException           if the domain cannot be standardized.
+     */
+    public CompiledDomain(final Domain domain) throws FatalException {
+        this.domain = Objects.requireNonNull(domain);
+        Encoder.checkRequirements(domain.getRequirements());
+        final EncodingContext context = new EncodingContext();
+        // Standardize the variables symbol contained in the domain
+        domain.standardize();
+        domain.index();
+        // Encode the types and the constants declared in the domain. The domains of the types are computed again
+        // for each problem
+        IntEncoding.encodeTypes(context, domain);
+        IntEncoding.encodeConstants(context, domain);
+        IntEncoding.encodeEitherTypes(context, domain);
+        // Encode the predicates and the functions defined in the domain
+        IntEncoding.encodePredicates(context, domain);
+        IntEncoding.encodeFunctions(context, domain);
+        // Encode operators in integer representation
+        this.operators = IntEncoding.encodeOperators(context, domain.getOperators());
+        // Computed inertia from the encode operators
+        PreInstantiation.extractInertia(context, this.operators);
+        this.tableOfTypes = context.tableOfTypes;
+        this.tableOfPredicates = context.tableOfPredicates;
+        this.tableOfTypedPredicates = context.tableOfTypedPredicates;
+        this.tableOfFunctions = context.tableOfFunctions;
+        this.tableOfTypedFunctions = context.tableOfTypedFunctions;
+        this.tableOfInertia = context.tableOfInertia;
+    }
+
+    /**
+     * Returns the domain compiled.
+     *
+     * @return the domain compiled.
+     */
+    public Domain getDomain() {
+        return this.domain;
+    }
+
+    /**
+     * Creates a new encoding context initialized with a copy of the tables of the domain. The domains of the types
+     * are empty.
+     *
+     * @return the encoding context.
+     */
+    EncodingContext createContext() {
+        final EncodingContext context = new EncodingContext();
+        context.tableOfTypes = new SymbolTable(this.tableOfTypes);
+        context.tableOfDomains = new ArrayList<>(this.tableOfTypes.size());
+        for (int i = 0; i < this.tableOfTypes.size(); i++) {
+            context.tableOfDomains.add(new LinkedHashSet<>());
+        }
+        context.tableOfPredicates = new SymbolTable(this.tableOfPredicates);
+        context.tableOfTypedPredicates = CompiledDomain.copy(this.tableOfTypedPredicates);
+        context.tableOfFunctions = new SymbolTable(this.tableOfFunctions);
+        context.tableOfTypedFunctions = CompiledDomain.copy(this.tableOfTypedFunctions);
+        context.tableOfInertia = new ArrayList<>(this.tableOfInertia);
+        return context;
+    }
+
+    /**
+     * Returns a copy of the operators of the domain encoded into integer representation.
+     *
+     * @return a copy of the operators of the domain.
+     */
+    List<IntOp> getOperators() {
+        final List<IntOp> copy = new ArrayList<>(this.operators.size());
+        for (IntOp op : this.operators) {
+            copy.add(new IntOp(op));
+        }
+        return copy;
+    }
+
+    /**
+     * Returns a copy of a table of signatures.
+     *
+     * @param table the table of signatures.
+     * @return a copy of the table.
+     */
+    private static List<List<Integer>> copy(final List<List<Integer>> table) {
+        final List<List<Integer>> copy = new ArrayList<>(table.size());
+        for (List<Integer> signature : table) {
+            copy.add(new ArrayList<>(signature));
+        }
+        return copy;
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2016 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with PDDL4J.  If not, see
+ * <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.encoding;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * This class implements a bounded in-memory cache of compiled domains. The domains are identified by a key, the
+ * SHA-256 hash of their content, and the least recently used domain is evicted when the cache is full:
+ * <pre>
+ * final CompiledDomainCache cache = new CompiledDomainCache(16);
+ * final String key = CompiledDomainCache.hash(file);
+ * CompiledDomain domain = cache.get(key);
+ * if (domain == null) {
+ *     parser.parse(file, problem);
+ *     domain = new CompiledDomain(parser.getDomain());
+ *     cache.put(key, domain);
+ * } else {
+ *     parser.parseProblem(domain.getDomain(), problem);
+ * }
+ * final CodedProblem pb = Encoder.encode(domain, parser.getProblem());
+ * </pre>
+ * The cache can be shared by several threads.
+ *
+ * @author D. Pellier
+ * @version 1.0 - 17.10.2026
+ * @see CompiledDomain
+ */
+public final class CompiledDomainCache {
+
+    /**
+     * The default capacity of the cache.
+     */
+    public static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * The capacity of the cache.
+     */
+    private final int capacity;
+
+    /**
+     * The compiled domains of the cache in the order of their last access.
+     */
+    private final Map<String, CompiledDomain> domains;
+
+    /**
+     * Creates a new cache of compiled domains with the default capacity.
+     */
+    public CompiledDomainCache() {
+        this(CompiledDomainCache.DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a new cache of compiled domains with a specified capacity.
+     *
+     * @param capacity the maximum number of domains of the cache.
+     * @throws IllegalArgumentException if <code>capacity &#60; 1</code>.
+     */
+    public CompiledDomainCache(final int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity < 1");
+        }
+        this.capacity = capacity;
+        this.domains = new LinkedHashMap<String, CompiledDomain>(16, 0.75f, true) {
+
+            /**
+             * The serial id of the class.
+             */
+            private static final long serialVersionUID = 1L;
+
+            /**
+             * Returns <code>true</code> if the least recently used domain must be evicted.
+             *
+             * @param eldest the least recently used domain.
+             * @return <code>true</code> if the cache exceeds its capacity; <code>false</code> otherwise.
+             */
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, CompiledDomain> eldest) {
+                return this.size() > CompiledDomainCache.this.capacity;
+            }
+        };
+    }
+
+    /**
+     * Returns the key of a domain stored in a file.
+     *
+     * @param domain the domain file.
+     * @return the key of the domain.
+     * @throws IOException if the file cannot be read.
+     */
+    public static String hash(final File domain) throws IOException {
+        return CodedProblemCache.hash(Files.readAllBytes(domain.toPath()));
+    }
+
+    /**
+     * Returns the key of a domain given as a string.
+     *
+     * @param domain the domain.
+     * @return the key of the domain.
+     */
+    public static String hash(final String domain) {
+        return CodedProblemCache.hash(domain.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns the capacity of the cache.
+     *
+     * @return the capacity of the cache.
+     */
+    public int getCapacity() {
+        return this.capacity;
+    }
+
+    /**
+     * Returns the number of domains of the cache.
+     *
+     * @return the number of domains of the cache.
+     */
+    public synchronized int size() {
+        return this.domains.size();
+    }
+
+    /**
+     * Returns the compiled domain with a specified key.
+     *
+     * @param key the key of the domain.
+     * @return the compiled domain or null if the cache does not contain the domain.
+     */
+    public synchronized CompiledDomain get(final String key) {
+        return this.domains.get(key);
+    }
+
+    /**
+     * Adds a compiled domain to the cache. The least recently used domain is evicted if the cache is full.
+     *
+     * @param key    the key of the domain.
+     * @param domain the compiled domain.
+     */
+    public synchronized void put(final String key, final CompiledDomain domain) {
+        this.domains.put(key, domain);
+    }
+
+    /**
+     * Removes all the domains of the cache.
+     */
+    public synchronized void clear() {
+        this.domains.clear();
+    }
+}
@@ -59,6 +59,12 @@ public final class Constants implements Serializable {
      */
     static final int DEFAULT_OPERATORS_TABLE_SIZE = 1000;
 
+    /**
+     * The minimal arity of the operators whose instantiation is split into one task per value of their first
+     * parameter.
+     */
+    static final int PARALLEL_GROUNDING_MIN_ARITY = 2;
+
     /**
      * default private constructor to prevent form class instantiation.
      */
@@ -27,7 +27,6 @@ import fr.uga.pddl4j.parser.Problem;
 import fr.uga.pddl4j.parser.RequireKey;
 import fr.uga.pddl4j.util.BitExp;
 import fr.uga.pddl4j.util.BitOp;
-import fr.uga.pddl4j.util.CondBitExp;
 import fr.uga.pddl4j.util.IntExp;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -39,7 +38,6 @@ import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Set;
 
 /**
@@ -122,6 +120,10 @@ import java.util.Set;
  * <li>23.01.2013: add of the case when the goal can be simplified to TRUE. The coded problem
  * returned contained in that case an empty goal expression (<code>BitExp.isEmpty()</code>).</li>
  * <li>25.03.2016: Fix bug when the goal contains only one atom.</li>
+ * <li>17.10.2026: the tables built during the encoding are stored in an encoding context created for each
+ * call to <code>encode()</code>. Hence, several problems can be encoded concurrently.</li>
+ * <li>17.10.2026: the steps of the encoding that depend only on the domain are done once by
+ * <code>CompiledDomain</code> and shared by the encodings of the problems of the domain.</li>
  * </ul>
  *
  * @author D. Pellier
@@ -139,92 +141,26 @@ public final class Encoder implements Serializable {
      */
     private static final Logger LOGGER = LogManager.getLogger(Encoder.class);
 
-    /**
-     * The table of types.
-     */
-    static List<String> tableOfTypes;
-
-    /**
-     * The table of inferred domains based on unary inertia encoding.
-     */
-    static List<Set<Integer>> tableOfInferredDomains;
-
-    /**
-     * The domain of associated to the type.
-     */
-    static List<Set<Integer>> tableOfDomains;
-
-    /**
-     * The table of constants.
-     */
-    static List<String> tableOfConstants;
-
-    /**
-     * The table of predicates.
-     */
-    static List<String> tableOfPredicates;
-
-    /**
-     * The table that contains the types of the arguments of the predicates.
-     */
-    static List<List<Integer>> tableOfTypedPredicates;
-
-    /**
-     * The table of the functions.
-     */
-    static List<String> tableOfFunctions;
-
-    /**
-     * The table that contains the types of the arguments of the functions.
-     */
-    static List<List<Integer>> tableOfTypedFunctions;
-
-    /**
-     * The table that defines for each predicates its type of inertia.
-     */
-    static List<Inertia> tableOfInertia;
-
     /**
      * The log level of the planner.
      */
     static int logLevel;
 
     /**
-     * The table that contains the ground inertia.
-     */
-    static Map<IntExp, Inertia> tableOfGroundInertia;
-
-    /**
-     * The list of predicates tables used to count the occurrence of a specified predicate in the
-     * initial state.
-     */
-    static List<List<IntMatrix>> predicatesTables;
-
-    /**
-     * The table of the relevant facts.
-     */
-    static List<IntExp> tableOfRelevantFacts;
-
-    /**
-     * The list of instantiated operator encoded into bit sets.
-     */
-    static List<BitOp> operators;
-
-    /**
-     * The goal.
-     */
-    static BitExp goal;
-
-    /**
-     * The encoded goal.
+     * The modes of instantiation of the operators.
      */
-    static List<BitExp> codedGoal;
-
+    public enum Grounding {
+        /**
+         * All the type-consistent instantiations of the operators are enumerated and then simplified.
+         */
+        FULL,
+        /**
+         * Only the instantiations of the operators reachable from the initial state when the delete effects and
+         * the negative preconditions are ignored are generated.
+         */
+        REACHABILITY
+    }
 
-    /**
-     * The initial state.
-     */
-    static BitExp init;
 
     /**
      * Creates a new planner.
@@ -268,7 +204,8 @@ public final class Encoder implements Serializable {
     /**
      * Instantiate, simplify and encode the problem in a compact representation. (see On the
      * Instantiation of ADL Operators Involving Arbitrary First-Order Formulas. Koehler, J. and
-     * Hoffmann, J.):
+     * Hoffmann, J.). All the type-consistent instantiations of the operators are enumerated (see
+     * <code>Grounding.FULL</code>).
      *
      * @param domain  the domain to encode.
      * @param problem the problem to encode.
@@ -276,70 +213,154 @@ public final class Encoder implements Serializable {
      * @throws IllegalArgumentException if the problem to encode is not ADL.
      */
     public static CodedProblem encode(final Domain domain, final Problem problem) throws FatalException {
+        return Encoder.encode(domain, problem, Grounding.FULL);
+    }
 
-        // Check that the domain and the problem are ADL otherwise the encoding is not
-        // implemented for the moment.
-        Set<RequireKey> adl = new HashSet<>();
-        adl.add(RequireKey.ADL);
-        adl.add(RequireKey.STRIPS);
-        adl.add(RequireKey.TYPING);
-        adl.add(RequireKey.EQUALITY);
-        adl.add(RequireKey.NEGATIVE_PRECONDITIONS);
-        adl.add(RequireKey.DISJUNCTIVE_PRECONDITIONS);
-        adl.add(RequireKey.EXISTENTIAL_PRECONDITIONS);
-        adl.add(RequireKey.UNIVERSAL_PRECONDITIONS);
-        adl.add(RequireKey.QUANTIFIED_PRECONDITIONS);
-        adl.add(RequireKey.CONDITIONAL_EFFECTS);
-
-        Set<RequireKey> requirements = new LinkedHashSet<>();
+    /**
+     * Instantiate, simplify and encode the problem in a compact representation. (see On the
+     * Instantiation of ADL Operators Involving Arbitrary First-Order Formulas. Koehler, J. and
+     * Hoffmann, J.). This method is thread safe: several problems can be encoded concurrently as long as they do
+     * not share the same domain and problem instances, which are standardized during the encoding. The domain is
+     * compiled for this problem only: the problems of a same domain should rather be encoded with a
+     * <code>CompiledDomain</code>.
+     *
+     * @param domain    the domain to encode.
+     * @param problem   the problem to encode.
+     * @param grounding the mode of instantiation of the operators.
+     * @return the problem encoded.
+     * @throws IllegalArgumentException if the problem to encode is not ADL.
+     */
+    public static CodedProblem encode(final Domain domain, final Problem problem, final Grounding grounding)
+        throws FatalException {
+        final Set<RequireKey> requirements = new LinkedHashSet<>();
         requirements.addAll(domain.getRequirements());
         requirements.addAll(problem.getRequirements());
-        for (RequireKey rk : requirements) {
-            if (!adl.contains(rk)) {
-                throw new IllegalArgumentException("problem to encode not ADL");
-            }
-        }
+        Encoder.checkRequirements(requirements);
+        return Encoder.encode(new CompiledDomain(domain), problem, grounding);
+    }
+
+    /**
+     * Instantiate, simplify and encode a problem of a compiled domain in a compact representation. All the
+     * type-consistent instantiations of the operators are enumerated (see <code>Grounding.FULL</code>).
+     *
+     * @param domain  the compiled domain of the problem.
+     * @param problem the problem to encode.
+     * @return the problem encoded.
+     * @throws IllegalArgumentException if the problem to encode is not ADL.
+     * @see #encode(CompiledDomain, Problem, Grounding)
+     */
+    public static CodedProblem encode(final CompiledDomain domain, final Problem problem) throws FatalException {
+        return Encoder.encode(domain, problem, Grounding.FULL);
+    }
+
+    /**
+     * Instantiate, simplify and encode a problem of a compiled domain in a compact representation. Only the steps
+     * of the encoding that depend on the problem are done: the types, the predicates, the functions and the
+     * operators of the domain are already encoded and the inertia already extracted. This method is thread safe:
+     * several problems can be encoded concurrently with the same compiled domain as long as they do not share the
+     * same problem instances, which are standardized during the encoding.
+     *
+     * @param domain    the compiled domain of the problem.
+     * @param problem   the problem to encode.
+     * @param grounding the mode of instantiation of the operators.
+     * @return the problem encoded.
+     * @throws IllegalArgumentException if the problem to encode is not ADL.
+     */
+    public static CodedProblem encode(final CompiledDomain domain, final Problem problem,
+                                      final Grounding grounding) throws FatalException {
+        return Encoder.encode(domain, problem, null, grounding);
+    }
+
+    /**
+     * Instantiate, simplify and encode a problem read by <code>MappedProblem</code> in a compact representation.
+     * All the type-consistent instantiations of the operators are enumerated (see <code>Grounding.FULL</code>).
+     *
+     * @param domain  the compiled domain of the problem.
+     * @param problem the problem to encode.
+     * @return the problem encoded.
+     * @throws IllegalArgumentException if the problem to encode is not ADL.
+     * @see #encode(CompiledDomain, MappedProblem, Grounding)
+     */
+    public static CodedProblem encode(final CompiledDomain domain, final MappedProblem problem)
+        throws FatalException {
+        return Encoder.encode(domain, problem, Grounding.FULL);
+    }
+
+    /**
+     * Instantiate, simplify and encode a problem read by <code>MappedProblem</code> in a compact representation.
+     * The initial state of the problem is already encoded into integer representation. The problem must have been
+     * read with the same compiled domain.
+     *
+     * @param domain    the compiled domain of the problem.
+     * @param problem   the problem to encode.
+     * @param grounding the mode of instantiation of the operators.
+     * @return the problem encoded.
+     * @throws IllegalArgumentException if the problem to encode is not ADL.
+     * @see #encode(CompiledDomain, Problem, Grounding)
+     */
+    public static CodedProblem encode(final CompiledDomain domain, final MappedProblem problem,
+                                      final Grounding grounding) throws FatalException {
+        return Encoder.encode(domain, problem.getProblem(), problem, grounding);
+    }
 
+    /**
+     * Instantiate, simplify and encode a problem of a compiled domain in a compact representation.
+     *
+     * @param domain    the compiled domain of the problem.
+     * @param problem   the problem to encode.
+     * @param mapped    the problem read by <code>MappedProblem</code> or null if the problem was parsed.
+     * @param grounding the mode of instantiation of the operators.
+     * @return the problem encoded.
+     * @throws IllegalArgumentException if the problem to encode is not ADL.
+     */
+    private static CodedProblem encode(final CompiledDomain domain, final Problem problem,
+                                       final MappedProblem mapped, final Grounding grounding) throws FatalException {
+
+        // Check that the problem is ADL otherwise the encoding is not implemented for the moment.
+        Encoder.checkRequirements(problem.getRequirements());
+
+        // Creates the context that stores the tables built during the encoding from the tables of the domain or
+        // reuse the context in which the mapped problem was read
+        final EncodingContext read = mapped == null ? null : mapped.releaseContext();
+        final EncodingContext context = read == null ? domain.createContext() : read;
 
         // *****************************************************************************************
         // Step 1: Standardization
         // *****************************************************************************************
 
-        // Standardize the variables symbol contained in the domain
-        domain.standardize();
-        // Standardize the variables symbol contained in the domain
+        // Standardize the variables symbol contained in the problem, the domain is standardized when compiled
         problem.standardize();
 
         // *****************************************************************************************
         // Step 2: Integer encoding
         // *****************************************************************************************
 
-        // Encode the types declared in the domain
-        IntEncoding.encodeTypes(domain);
-        // Encode the constants declared in the domain and the objects of the problem
-        IntEncoding.encodeConstants(domain, problem);
-        // Encode the type of the form (either t1 t2...) declared in the domain and the problem
-        IntEncoding.encodeEitherTypes(domain, problem);
-        // Encode the predicates defined in the domain.
-        IntEncoding.encodePredicates(domain);
-        // Encode the functions defined in the domain.
-        IntEncoding.encodeFunctions(domain);
-        // Encode operators in integer representation
-        List<IntOp> intOps = IntEncoding.encodeOperators(domain.getOperators());
-        // Encode the initial state in integer representation
-        final Set<IntExp> intInit = IntEncoding.encodeInit(problem.getInit());
+        // Encode the constants declared in the domain and the objects of the problem and compute the domains of the
+        // types of the form (either t1 t2...) declared in the domain, unless the problem was read in the context
+        if (read == null) {
+            IntEncoding.encodeConstants(context, domain.getDomain(), problem);
+            IntEncoding.encodeEitherDomains(context);
+        }
+        // Encode the type of the form (either t1 t2...) declared in the problem
+        IntEncoding.encodeEitherTypes(context, problem);
+        // Copy the operators encoded in integer representation when the domain was compiled
+        List<IntOp> intOps = domain.getOperators();
+        // Encode the initial state in integer representation, the initial state of a mapped problem is already
+        // encoded
+        final Set<IntExp> intInit = mapped == null ? IntEncoding.encodeInit(context, problem.getInit())
+            : IntEncoding.encodeInit(mapped.getInit());
         // Encode the goal in integer representation
-        final IntExp intGoal = IntEncoding.encodeGoal(problem.getGoal());
+        final IntExp intGoal = IntEncoding.encodeGoal(context, problem.getGoal());
 
         final StringBuilder stringBuilder = new StringBuilder();
 
         // Just for logging
         if (Encoder.logLevel == 1 || Encoder.logLevel == 2) {
-            Encoder.printTableOfConstants(stringBuilder);
+            context.printTableOfConstants(stringBuilder);
             stringBuilder.append(System.lineSeparator());
-            Encoder.printTableOfPredicates(stringBuilder);
+            context.printTableOfPredicates(stringBuilder);
             stringBuilder.append(System.lineSeparator());
-            Encoder.printTableOfTypes(stringBuilder);
+            context.printTableOfTypes(stringBuilder);
             LOGGER.trace(stringBuilder);
             stringBuilder.setLength(0);
         }
@@ -348,12 +369,12 @@ public final class Encoder implements Serializable {
         if (Encoder.logLevel == 2) {
             stringBuilder.append("\nCoded initial state:\n").append("(and");
             for (IntExp f : intInit) {
-                stringBuilder.append(" ").append(Encoder.toString(f));
+                stringBuilder.append(" ").append(context.toString(f));
             }
-            stringBuilder.append(")").append("\n\nCoded goal state:\n").append(Encoder.toString(intGoal));
+            stringBuilder.append(")").append("\n\nCoded goal state:\n").append(context.toString(intGoal));
             stringBuilder.append(")").append("\n\nCoded operators:\n\n");
             for (IntOp op : intOps) {
-                stringBuilder.append(Encoder.toString(op)).append(System.lineSeparator());
+                stringBuilder.append(context.toString(op)).append(System.lineSeparator());
             }
             LOGGER.trace(stringBuilder);
             stringBuilder.setLength(0);
@@ -363,37 +384,36 @@ public final class Encoder implements Serializable {
         // Step 3: PreInstantiation
         // *****************************************************************************************
 
-        // Computed inertia from the encode operators
-        PreInstantiation.extractInertia(intOps);
+        // The inertia were extracted from the operators when the domain was compiled
         // Infer the type from the unary inertia
-        PreInstantiation.inferTypesFromInertia(intInit);
+        PreInstantiation.inferTypesFromInertia(context, intInit);
         // Simply the encoded operators with the inferred types.
-        intOps = PreInstantiation.simplifyOperatorsWithInferedTypes(intOps);
+        intOps = PreInstantiation.simplifyOperatorsWithInferedTypes(context, intOps);
         // Create the predicates tables used to count the occurrences of the predicates in the
         // initial state
-        PreInstantiation.createPredicatesTables(intInit);
+        PreInstantiation.createPredicatesTables(context, intInit);
 
         // Just for logging
         if (Encoder.logLevel == 3 || Encoder.logLevel == 4) {
-            Encoder.printTableOfInertia(stringBuilder);
+            context.printTableOfInertia(stringBuilder);
             LOGGER.trace(stringBuilder);
             stringBuilder.setLength(0);
         }
         // Just for logging
         if (Encoder.logLevel == 4) {
             stringBuilder.append(System.lineSeparator());
-            Encoder.printTableOfConstants(stringBuilder);
+            context.printTableOfConstants(stringBuilder);
             stringBuilder.append(System.lineSeparator());
-            Encoder.printTableOfTypes(stringBuilder);
+            context.printTableOfTypes(stringBuilder);
             stringBuilder.append(System.lineSeparator()).append("\nPre-instantiation initial state:\n").append("(and");
             for (IntExp f : intInit) {
-                stringBuilder.append(" ").append(Encoder.toString(f));
+                stringBuilder.append(" ").append(context.toString(f));
             }
-            stringBuilder.append(")").append("\n\nPre-instantiation goal state:\n").append(Encoder.toString(intGoal));
+            stringBuilder.append(")").append("\n\nPre-instantiation goal state:\n").append(context.toString(intGoal));
             stringBuilder.append("\n\nPre-instantiation operators with infered types (").append(intOps.size())
                 .append(" ops):\n");
             for (IntOp op : intOps) {
-                stringBuilder.append(Encoder.toString(op));
+                stringBuilder.append(context.toString(op));
             }
             LOGGER.trace(stringBuilder);
             stringBuilder.setLength(0);
@@ -404,31 +424,35 @@ public final class Encoder implements Serializable {
         // *****************************************************************************************
 
         // Instantiate the operators
-        intOps = Instantiation.instantiateOperators(intOps);
+        if (grounding.equals(Grounding.REACHABILITY)) {
+            intOps = RelaxedInstantiation.instantiateOperators(context, intOps, intInit);
+        } else {
+            intOps = Instantiation.instantiateOperators(context, intOps);
+        }
         // Expand the quantified expression in the goal
-        Instantiation.expandQuantifiedExpression(intGoal);
+        Instantiation.expandQuantifiedExpression(context, intGoal);
         // The tables of predicates are no more needed
-        Encoder.predicatesTables = null;
+        context.predicatesTables = null;
 
         // Just for logging
         if (Encoder.logLevel == 5) {
             stringBuilder.append(System.lineSeparator());
-            Encoder.printTableOfConstants(stringBuilder);
+            context.printTableOfConstants(stringBuilder);
             stringBuilder.append(System.lineSeparator());
-            Encoder.printTableOfTypes(stringBuilder);
+            context.printTableOfTypes(stringBuilder);
             stringBuilder.append(System.lineSeparator());
             stringBuilder.append("\nPre-instantiation initial state:\n").append("(and");
             for (IntExp f : intInit) {
-                stringBuilder.append(" ").append(Encoder.toString(f));
+                stringBuilder.append(" ").append(context.toString(f));
             }
             stringBuilder.append(")").append("\n\nPre-instantiation goal state:\n").append("(and");
             for (final IntExp g : intGoal.getChildren()) {
-                stringBuilder.append(" ").append(Encoder.toString(g));
+                stringBuilder.append(" ").append(context.toString(g));
             }
             stringBuilder.append("\n\nPre-instantiation operators with inferred types (").append(intOps.size())
                 .append(" ops):\n\n");
             for (final IntOp op : intOps) {
-                stringBuilder.append(Encoder.toString(op)).append("\n");
+                stringBuilder.append(context.toString(op)).append("\n");
             }
             LOGGER.trace(stringBuilder);
             stringBuilder.setLength(0);
@@ -439,19 +463,19 @@ public final class Encoder implements Serializable {
         // *****************************************************************************************
 
         // Extract the ground inertia from the instantiated operators
-        PostInstantiation.extractGroundInertia(intOps);
+        PostInstantiation.extractGroundInertia(context, intOps);
         // Simplify the operators with the ground inertia information previously extracted
-        PostInstantiation.simplyOperatorsWithGroundInertia(intOps, intInit);
+        PostInstantiation.simplyOperatorsWithGroundInertia(context, intOps, intInit);
         // Extract the relevant facts from the simplified and instantiated operators
-        PostInstantiation.extractRelevantFacts(intOps, intInit);
+        PostInstantiation.extractRelevantFacts(context, intOps, intInit);
         // Simplify the goal with ground inertia information
-        PostInstantiation.simplifyGoalWithGroundInertia(intGoal, intInit);
+        PostInstantiation.simplifyGoalWithGroundInertia(context, intGoal, intInit);
         // The table of ground inertia are no more needed
-        Encoder.tableOfGroundInertia = null;
+        context.tableOfGroundInertia = null;
 
         // Just for logging
         if (Encoder.logLevel == 6) {
-            Encoder.printRelevantFactsTable(stringBuilder);
+            context.printRelevantFactsTable(stringBuilder);
             LOGGER.trace(stringBuilder);
             stringBuilder.setLength(0);
         }
@@ -463,32 +487,32 @@ public final class Encoder implements Serializable {
 
         // Create a map of the relevant facts with their index to speedup the bit set encoding of
         // the operators
-        final Map<IntExp, Integer> map = new LinkedHashMap<>(Encoder.tableOfRelevantFacts.size());
+        final Map<IntExp, Integer> map = new LinkedHashMap<>(context.tableOfRelevantFacts.size());
         int index = 0;
-        for (IntExp fact : Encoder.tableOfRelevantFacts) {
+        for (IntExp fact : context.tableOfRelevantFacts) {
             map.put(fact, index);
             index++;
         }
 
         // Creates the list of bit operators
-        Encoder.operators = new ArrayList<>(Constants.DEFAULT_OPERATORS_TABLE_SIZE);
+        context.operators = new ArrayList<>(Constants.DEFAULT_OPERATORS_TABLE_SIZE);
         // Encode the goal in bit set representation
         if (!intGoal.getChildren().isEmpty() || intGoal.getConnective().equals(Connective.ATOM)) {
             try {
-                Encoder.goal = BitEncoding.encodeGoal(intGoal, map);
+                context.goal = BitEncoding.encodeGoal(context, intGoal, map);
             } catch (UnexpectedExpressionException uee) {
                 LOGGER.error("Error with unexpected expression", uee);
                 return null;
             }
         } else {
-            Encoder.goal = new BitExp();
+            context.goal = new BitExp();
         }
 
         // Encode the initial state in bit set representation
-        Encoder.init = BitEncoding.encodeInit(intInit, map);
+        context.init = BitEncoding.encodeInit(intInit, map);
         // Encode the operators in bit set representation
         try {
-            Encoder.operators.addAll(0, BitEncoding.encodeOperators(intOps, map));
+            context.operators.addAll(0, BitEncoding.encodeOperators(context, intOps, map));
         } catch (UnexpectedExpressionException uee) {
             LOGGER.error("Error with unexpected expression", uee);
             return null;
@@ -497,16 +521,16 @@ public final class Encoder implements Serializable {
         // Just for logging
         if (Encoder.logLevel == 7) {
             stringBuilder.append("\nfinal operators:");
-            for (BitOp op : Encoder.operators) {
-                stringBuilder.append(Encoder.toString(op));
+            for (BitOp op : context.operators) {
+                stringBuilder.append(context.toString(op));
             }
 
-            stringBuilder.append("\nfinal initial state:").append(Encoder.toString(Encoder.init))
+            stringBuilder.append("\nfinal initial state:").append(context.toString(context.init))
                 .append("\nfinal goal state:");
-            if (Encoder.goal == null) { // Goal null
+            if (context.goal == null) { // Goal null
                 stringBuilder.append("goal can be simplified to FALSE");
-            } else if (!Encoder.goal.isEmpty()) { // Goal not Null and not empty
-                stringBuilder.append(Encoder.toString(Encoder.goal));
+            } else if (!context.goal.isEmpty()) { // Goal not Null and not empty
+                stringBuilder.append(context.toString(context.goal));
             } else { // Goal not Null and empty
                 stringBuilder.append("goal can be simplified to TRUE");
             }
@@ -515,196 +539,45 @@ public final class Encoder implements Serializable {
         }
 
         final CodedProblem codedProblem = new CodedProblem();
-        codedProblem.setGoal(Encoder.goal);
-        codedProblem.setInit(Encoder.init);
-        codedProblem.setOperators(Encoder.operators);
-        codedProblem.setConstants(Encoder.tableOfConstants);
-        codedProblem.setDomains(Encoder.tableOfDomains);
-        codedProblem.setFunctions(Encoder.tableOfFunctions);
-        codedProblem.setInertia(Encoder.tableOfInertia);
-        codedProblem.setInferredDomains(Encoder.tableOfInferredDomains);
-        codedProblem.setPredicates(Encoder.tableOfPredicates);
-        codedProblem.setRelevantFacts(Encoder.tableOfRelevantFacts);
-        codedProblem.setFunctionsSignatures(Encoder.tableOfTypedFunctions);
-        codedProblem.setPredicatesSignatures(Encoder.tableOfTypedPredicates);
-        codedProblem.setTypes(Encoder.tableOfTypes);
+        codedProblem.setGoal(context.goal);
+        codedProblem.setInit(context.init);
+        codedProblem.setOperators(context.operators);
+        codedProblem.setConstants(context.tableOfConstants);
+        codedProblem.setDomains(context.tableOfDomains);
+        codedProblem.setFunctions(context.tableOfFunctions);
+        codedProblem.setInertia(context.tableOfInertia);
+        codedProblem.setInferredDomains(context.tableOfInferredDomains);
+        codedProblem.setPredicates(context.tableOfPredicates);
+        codedProblem.setRelevantFacts(context.tableOfRelevantFacts);
+        codedProblem.setFunctionsSignatures(context.tableOfTypedFunctions);
+        codedProblem.setPredicatesSignatures(context.tableOfTypedPredicates);
+        codedProblem.setTypes(context.tableOfTypes);
         return codedProblem;
 
     }
 
-    // *********************************************************************************************
-    // Methods for printing the different structures used during encoding
-    // *********************************************************************************************
-
-    /**
-     * Print the table of types.
-     */
-    static void printTableOfTypes(StringBuilder stringBuilder) {
-        stringBuilder.append("Types table:\n");
-        for (int i = 0; i < Encoder.tableOfTypes.size(); i++) {
-            stringBuilder.append(i).append(": ").append(Encoder.tableOfTypes.get(i)).append(":");
-            Set<Integer> domain = Encoder.tableOfDomains.get(i);
-            for (Integer constant : domain) {
-                stringBuilder.append(" ").append(constant);
-            }
-            stringBuilder.append("\n");
-        }
-    }
-
     /**
-     * Print the table of constants.
-     */
-    static void printTableOfConstants(StringBuilder stringBuilder) {
-        stringBuilder.append("Constants table:\n");
-        for (int i = 0; i < Encoder.tableOfConstants.size(); i++) {
-            stringBuilder.append(i).append(": ").append(Encoder.tableOfConstants.get(i)).append("\n");
-        }
-    }
-
-    /**
-     * Print the table of predicates.
-     */
-    static void printTableOfPredicates(StringBuilder stringBuilder) {
-        stringBuilder.append("Predicates table:\n");
-        for (int i = 0; i < Encoder.tableOfPredicates.size(); i++) {
-            String predicate = Encoder.tableOfPredicates.get(i);
-            stringBuilder.append(i).append(": ").append(predicate).append(" :");
-            for (int j = 0; j < Encoder.tableOfTypedPredicates.get(i).size(); j++) {
-                stringBuilder.append(" ")
-                    .append(Encoder.tableOfTypes.get(Encoder.tableOfTypedPredicates.get(i).get(j)));
-            }
-            stringBuilder.append("\n");
-        }
-    }
-
-    /**
-     * Print the table of functions.
-     */
-    static void printTableOfFunctions(StringBuilder stringBuilder) {
-        stringBuilder.append("Functions table:\n");
-        for (int i = 0; i < Encoder.tableOfFunctions.size(); i++) {
-            String predicate = Encoder.tableOfFunctions.get(i);
-            stringBuilder.append(i).append(": ").append(predicate).append(":");
-            for (int j = 0; j < Encoder.tableOfTypedFunctions.get(i).size(); j++) {
-                stringBuilder.append(" ").append(Encoder.tableOfTypes.get(Encoder.tableOfTypedFunctions.get(i).get(j)));
-            }
-            stringBuilder.append("\n");
-        }
-    }
-
-    /**
-     * Print the table of inertia.
-     */
-    static void printTableOfInertia(StringBuilder stringBuilder) {
-        stringBuilder.append("Inertias table:\n");
-        for (int i = 0; i < Encoder.tableOfPredicates.size(); i++) {
-            String predicate = Encoder.tableOfPredicates.get(i);
-            stringBuilder.append(i).append(": ").append(predicate).append(" : ").append(Encoder.tableOfInertia.get(i));
-            stringBuilder.append("\n");
-        }
-    }
-
-    /**
-     * Print the relevant facts table.
-     */
-    static void printRelevantFactsTable(StringBuilder stringBuilder) {
-        stringBuilder.append("selected the following facts as relevant:\n");
-        for (int i = 0; i < Encoder.tableOfRelevantFacts.size(); i++) {
-            stringBuilder.append(i).append(": ").append(Encoder.toString(Encoder.tableOfRelevantFacts.get(i)));
-            stringBuilder.append("\n");
-        }
-    }
-
-    /**
-     * Print the goal.
-     */
-    static void printGoal(StringBuilder stringBuilder) {
-        stringBuilder.append("Goal state is:\n");
-        for (BitExp exp : Encoder.codedGoal) {
-            stringBuilder.append(Encoder.toString(exp));
-            stringBuilder.append("\n");
-        }
-    }
-
-    /**
-     * Returns a short string representation of the specified operator, i.e., only its name and the
-     * value of its parameters.
-     *
-     * @param op the operator.
-     * @return a string representation of the specified operator.
-     */
-    static String toShortString(final IntOp op) {
-        return StringEncoder.toShortString(op, Encoder.tableOfConstants);
-    }
-
-    /**
-     * Returns a string representation of the specified operator.
-     *
-     * @param op the operator to print.
-     * @return a string representation of the specified operator.
-     */
-    static String toString(final IntOp op) {
-        return StringEncoder.toString(op, Encoder.tableOfConstants,
-            Encoder.tableOfTypes, Encoder.tableOfPredicates,
-            Encoder.tableOfFunctions);
-    }
-
-    /**
-     * Returns a string representation of the specified operator.
-     *
-     * @param op the operator to print.
-     * @return a string representation of the specified operator.
-     */
-    static String toString(final BitOp op) {
-        return StringEncoder.toString(op, Encoder.tableOfConstants,
-            Encoder.tableOfTypes, Encoder.tableOfPredicates,
-            Encoder.tableOfFunctions, Encoder.tableOfRelevantFacts);
-    }
-
-    /**
-     * Returns a string representation of an expression.
-     *
-     * @param exp the expression.
-     * @return a string representation of the specified expression.
-     */
-    static String toString(final IntExp exp) {
-        return StringEncoder.toString(exp, Encoder.tableOfConstants,
-            Encoder.tableOfTypes, Encoder.tableOfPredicates,
-            Encoder.tableOfFunctions);
-    }
-
-    /**
-     * Returns a string representation of a bit expression.
+     * Checks that a set of requirements is ADL.
      *
-     * @param exp the expression.
-     * @return a string representation of the specified expression.
+     * @param requirements the requirements.
+     * @throws IllegalArgumentException if the requirements are not ADL.
      */
-    static String toString(BitExp exp) {
-        return StringEncoder.toString(exp, Encoder.tableOfConstants,
-            Encoder.tableOfTypes, Encoder.tableOfPredicates,
-            Encoder.tableOfFunctions, Encoder.tableOfRelevantFacts);
-    }
-
-    /**
-     * Returns a string representation of a conditional bit expression.
-     *
-     * @param exp the conditional expression.
-     * @return a string representation of the specified expression.
-     */
-    static String toString(CondBitExp exp) {
-        return StringEncoder.toString(exp, Encoder.tableOfConstants,
-            Encoder.tableOfTypes, Encoder.tableOfPredicates,
-            Encoder.tableOfFunctions, Encoder.tableOfRelevantFacts);
-    }
-
-    /**
-     * Print the table of inertia.
-     */
-    static void printTableOfGroundInertia(StringBuilder stringBuilder) {
-        stringBuilder.append("Ground inertia table:");
-        for (Entry<IntExp, Inertia> e : Encoder.tableOfGroundInertia.entrySet()) {
-            stringBuilder.append(Encoder.toString(e.getKey())).append(": ").append(e.getValue());
+    static void checkRequirements(final Set<RequireKey> requirements) {
+        final Set<RequireKey> adl = new HashSet<>();
+        adl.add(RequireKey.ADL);
+        adl.add(RequireKey.STRIPS);
+        adl.add(RequireKey.TYPING);
+        adl.add(RequireKey.EQUALITY);
+        adl.add(RequireKey.NEGATIVE_PRECONDITIONS);
+        adl.add(RequireKey.DISJUNCTIVE_PRECONDITIONS);
+        adl.add(RequireKey.EXISTENTIAL_PRECONDITIONS);
+        adl.add(RequireKey.UNIVERSAL_PRECONDITIONS);
+        adl.add(RequireKey.QUANTIFIED_PRECONDITIONS);
+        adl.add(RequireKey.CONDITIONAL_EFFECTS);
+        for (RequireKey rk : requirements) {
+            if (!adl.contains(rk)) {
+                throw new IllegalArgumentException("problem to encode not ADL");
+            }
         }
     }
-
 }
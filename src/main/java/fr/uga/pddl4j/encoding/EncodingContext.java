@@ -0,0 +1,310 @@
+/*
+ * Copyright (c) 2010 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with PDDL4J.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.encoding;
+
+import fr.uga.pddl4j.util.BitExp;
+import fr.uga.pddl4j.util.BitOp;
+import fr.uga.pddl4j.util.CondBitExp;
+import fr.uga.pddl4j.util.IntExp;
+import fr.uga.pddl4j.util.SymbolTable;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+/**
+ * This class contains the tables built during the encoding of a planning problem. A new context is created for
+ * each call to <code>Encoder.encode()</code> and is passed to the different steps of the encoding. Hence, several
+ * problems can be encoded concurrently as long as they do not share the same domain and problem instances.
+ *
+ * @author D. Pellier
+ * @version 1.0 - 17.10.2026
+ */
+final class EncodingContext implements Serializable {
+
+    /**
+     * The serial version id of the class.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The table of types.
+     */
+    SymbolTable tableOfTypes;
+
+    /**
+     * The table of inferred domains based on unary inertia encoding.
+     */
+    List<Set<Integer>> tableOfInferredDomains;
+
+    /**
+     * The domain of associated to the type.
+     */
+    List<Set<Integer>> tableOfDomains;
+
+    /**
+     * The table of constants.
+     */
+    SymbolTable tableOfConstants;
+
+    /**
+     * The table of predicates.
+     */
+    SymbolTable tableOfPredicates;
+
+    /**
+     * The table that contains the types of the arguments of the predicates.
+     */
+    List<List<Integer>> tableOfTypedPredicates;
+
+    /**
+     * The table of the functions.
+     */
+    SymbolTable tableOfFunctions;
+
+    /**
+     * The table that contains the types of the arguments of the functions.
+     */
+    List<List<Integer>> tableOfTypedFunctions;
+
+    /**
+     * The table that defines for each predicates its type of inertia.
+     */
+    List<Inertia> tableOfInertia;
+
+    /**
+     * The table that contains the ground inertia.
+     */
+    Map<IntExp, Inertia> tableOfGroundInertia;
+
+    /**
+     * The list of predicates tables used to count the occurrence of a specified predicate in the
+     * initial state.
+     */
+    List<List<IntMatrix>> predicatesTables;
+
+    /**
+     * The table of the relevant facts.
+     */
+    List<IntExp> tableOfRelevantFacts;
+
+    /**
+     * The list of instantiated operator encoded into bit sets.
+     */
+    List<BitOp> operators;
+
+    /**
+     * The goal.
+     */
+    BitExp goal;
+
+    /**
+     * The encoded goal.
+     */
+    List<BitExp> codedGoal;
+
+    /**
+     * The initial state.
+     */
+    BitExp init;
+
+    /**
+     * Creates a new empty encoding context.
+     */
+    EncodingContext() {
+    }
+
+    // *********************************************************************************************
+    // Methods for printing the different structures used during encoding
+    // *********************************************************************************************
+
+    /**
+     * Print the table of types.
+     */
+    void printTableOfTypes(StringBuilder stringBuilder) {
+        stringBuilder.append("Types table:\n");
+        for (int i = 0; i < this.tableOfTypes.size(); i++) {
+            stringBuilder.append(i).append(": ").append(this.tableOfTypes.get(i)).append(":");
+            Set<Integer> domain = this.tableOfDomains.get(i);
+            for (Integer constant : domain) {
+                stringBuilder.append(" ").append(constant);
+            }
+            stringBuilder.append("\n");
+        }
+    }
+
+    /**
+     * Print the table of constants.
+     */
+    void printTableOfConstants(StringBuilder stringBuilder) {
+        stringBuilder.append("Constants table:\n");
+        for (int i = 0; i < this.tableOfConstants.size(); i++) {
+            stringBuilder.append(i).append(": ").append(this.tableOfConstants.get(i)).append("\n");
+        }
+    }
+
+    /**
+     * Print the table of predicates.
+     */
+    void printTableOfPredicates(StringBuilder stringBuilder) {
+        stringBuilder.append("Predicates table:\n");
+        for (int i = 0; i < this.tableOfPredicates.size(); i++) {
+            String predicate = this.tableOfPredicates.get(i);
+            stringBuilder.append(i).append(": ").append(predicate).append(" :");
+            for (int j = 0; j < this.tableOfTypedPredicates.get(i).size(); j++) {
+                stringBuilder.append(" ")
+                    .append(this.tableOfTypes.get(this.tableOfTypedPredicates.get(i).get(j)));
+            }
+            stringBuilder.append("\n");
+        }
+    }
+
+    /**
+     * Print the table of functions.
+     */
+    void printTableOfFunctions(StringBuilder stringBuilder) {
+        stringBuilder.append("Functions table:\n");
+        for (int i = 0; i < this.tableOfFunctions.size(); i++) {
+            String predicate = this.tableOfFunctions.get(i);
+            stringBuilder.append(i).append(": ").append(predicate).append(":");
+            for (int j = 0; j < this.tableOfTypedFunctions.get(i).size(); j++) {
+                stringBuilder.append(" ").append(this.tableOfTypes.get(this.tableOfTypedFunctions.get(i).get(j)));
+            }
+            stringBuilder.append("\n");
+        }
+    }
+
+    /**
+     * Print the table of inertia.
+     */
+    void printTableOfInertia(StringBuilder stringBuilder) {
+        stringBuilder.append("Inertias table:\n");
+        for (int i = 0; i < this.tableOfPredicates.size(); i++) {
+            String predicate = this.tableOfPredicates.get(i);
+            stringBuilder.append(i).append(": ").append(predicate).append(" : ").append(this.tableOfInertia.get(i));
+            stringBuilder.append("\n");
+        }
+    }
+
+    /**
+     * Print the relevant facts table.
+     */
+    void printRelevantFactsTable(StringBuilder stringBuilder) {
+        stringBuilder.append("selected the following facts as relevant:\n");
+        for (int i = 0; i < this.tableOfRelevantFacts.size(); i++) {
+            stringBuilder.append(i).append(": ").append(this.toString(this.tableOfRelevantFacts.get(i)));
+            stringBuilder.append("\n");
+        }
+    }
+
+    /**
+     * Print the goal.
+     */
+    void printGoal(StringBuilder stringBuilder) {
+        stringBuilder.append("Goal state is:\n");
+        for (BitExp exp : this.codedGoal) {
+            stringBuilder.append(this.toString(exp));
+            stringBuilder.append("\n");
+        }
+    }
+
+    /**
+     * Returns a short string representation of the specified operator, i.e., only its name and the
+     * value of its parameters.
+     *
+     * @param op the operator.
+     * @return a string representation of the specified operator.
+     */
+    String toShortString(final IntOp op) {
+        return StringEncoder.toShortString(op, this.tableOfConstants);
+    }
+
+    /**
+     * Returns a string representation of the specified operator.
+     *
+     * @param op the operator to print.
+     * @return a string representation of the specified operator.
+     */
+    String toString(final IntOp op) {
+        return StringEncoder.toString(op, this.tableOfConstants,
+            this.tableOfTypes, this.tableOfPredicates,
+            this.tableOfFunctions);
+    }
+
+    /**
+     * Returns a string representation of the specified operator.
+     *
+     * @param op the operator to print.
+     * @return a string representation of the specified operator.
+     */
+    String toString(final BitOp op) {
+        return StringEncoder.toString(op, this.tableOfConstants,
+            this.tableOfTypes, this.tableOfPredicates,
+            this.tableOfFunctions, this.tableOfRelevantFacts);
+    }
+
+    /**
+     * Returns a string representation of an expression.
+     *
+     * @param exp the expression.
+     * @return a string representation of the specified expression.
+     */
+    String toString(final IntExp exp) {
+        return StringEncoder.toString(exp, this.tableOfConstants,
+            this.tableOfTypes, this.tableOfPredicates,
+            this.tableOfFunctions);
+    }
+
+    /**
+     * Returns a string representation of a bit expression.
+     *
+     * @param exp the expression.
+     * @return a string representation of the specified expression.
+     */
+    String toString(BitExp exp) {
+        return StringEncoder.toString(exp, this.tableOfConstants,
+            this.tableOfTypes, this.tableOfPredicates,
+            this.tableOfFunctions, this.tableOfRelevantFacts);
+    }
+
+    /**
+     * Returns a string representation of a conditional bit expression.
+     *
+     * @param exp the conditional expression.
+     * @return a string representation of the specified expression.
+     */
+    String toString(CondBitExp exp) {
+        return StringEncoder.toString(exp, this.tableOfConstants,
+            this.tableOfTypes, this.tableOfPredicates,
+            this.tableOfFunctions, this.tableOfRelevantFacts);
+    }
+
+    /**
+     * Print the table of inertia.
+     */
+    void printTableOfGroundInertia(StringBuilder stringBuilder) {
+        stringBuilder.append("Ground inertia table:");
+        for (Entry<IntExp, Inertia> e : this.tableOfGroundInertia.entrySet()) {
+            stringBuilder.append(this.toString(e.getKey())).append(": ").append(e.getValue());
+        }
+    }
+}
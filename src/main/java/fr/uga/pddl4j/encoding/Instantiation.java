@@ -27,6 +27,8 @@ import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
 
 /**
  * This class contains the methods needed to instantiate the operators.
@@ -48,57 +50,107 @@ final class Instantiation implements Serializable {
     }
 
     /**
-     * Instantiates a specified list of operators.
+     * Instantiates a specified list of operators. The grounding is split into independent tasks executed on the
+     * common fork join pool: one task per operator and, for the operators with an arity greater than or equal to
+     * <code>Constants.PARALLEL_GROUNDING_MIN_ARITY</code>, one task per value of their first parameter. The results
+     * of the tasks are merged in the order of the sequential instantiation so that the indexes of the instantiated
+     * operators do not depend on the scheduling of the tasks. The tables of the encoding context are only read
+     * during the instantiation.
      *
+     * @param context   the encoding context.
      * @param operators the list of operators to instantiate.
      * @return the list of instantiated operators.
      */
-    static List<IntOp> instantiateOperators(final List<IntOp> operators) {
-        final List<IntOp> instOps = new ArrayList<>(1000);
+    static List<IntOp> instantiateOperators(final EncodingContext context, final List<IntOp> operators) {
+        final List<InstantiationTask> tasks = new ArrayList<>(operators.size());
         for (IntOp op : operators) {
             // If an operator has a parameter with a empty domain the operator must be removed
             boolean toInstantiate = true;
             int i = 0;
             while (i < op.getArity() && toInstantiate) {
-                toInstantiate = !Encoder.tableOfDomains.get(op.getTypeOfParameters(i)).isEmpty();
+                toInstantiate = !context.tableOfDomains.get(op.getTypeOfParameters(i)).isEmpty();
                 i++;
             }
             if (toInstantiate) {
-                instOps.addAll(Instantiation.instantiate(op));
+                tasks.add(new InstantiationTask(context, op, -1));
             }
         }
+        ForkJoinTask.invokeAll(tasks);
+        final List<IntOp> instOps = new ArrayList<>(1000);
+        for (InstantiationTask task : tasks) {
+            instOps.addAll(task.join());
+        }
         return instOps;
     }
 
     /**
      * Instantiates a specified operator.
      *
+     * @param context the encoding context.
      * @param operator the operator to instantiate.
      * @param bound    the bound of actions to instantiate.
      * @return the list of operators instantiated corresponding the specified operator.
      */
-    static List<IntOp> instantiate(final IntOp operator, final int bound) {
+    static List<IntOp> instantiate(final EncodingContext context, final IntOp operator, final int bound) {
         final List<IntOp> instOps = new ArrayList<>(100);
-        Instantiation.expandQuantifiedExpression(operator.getPreconditions());
-        Instantiation.simplify(operator.getPreconditions());
-        if (!operator.getPreconditions().getConnective().equals(Connective.FALSE)) {
-            Instantiation.expandQuantifiedExpression(operator.getEffects());
-            Instantiation.simplify(operator.getEffects());
-            if (!operator.getEffects().getConnective().equals(Connective.FALSE)) {
-                Instantiation.instantiate(operator, 0, bound, instOps);
-            }
+        if (Instantiation.expandAndSimplify(context, operator)) {
+            Instantiation.instantiate(context, operator, 0, bound, instOps);
         }
         return instOps;
     }
 
+    /**
+     * Instantiates all the parameters of a specified operator with specified values. The operator must have been
+     * simplified with <code>expandAndSimplify()</code> and the values must be different and consistent with the types
+     * of the parameters.
+     *
+     * @param context  the encoding context.
+     * @param operator the operator.
+     * @param values   the values of the parameters of the operator.
+     * @return the operator instantiated or null if its preconditions or its effects are simplified to FALSE.
+     */
+    static IntOp instantiate(final EncodingContext context, final IntOp operator, final int[] values) {
+        final int arity = operator.getArity();
+        final IntExp precond = new IntExp(operator.getPreconditions());
+        final IntExp effects = new IntExp(operator.getEffects());
+        for (int index = 0; index < arity; index++) {
+            final int varIndex = -index - 1;
+            Instantiation.substitute(context, precond, varIndex, values[index]);
+            if (precond.getConnective().equals(Connective.FALSE)) {
+                return null;
+            }
+            Instantiation.substitute(context, effects, varIndex, values[index]);
+            if (effects.getConnective().equals(Connective.FALSE)) {
+                return null;
+            }
+        }
+        Instantiation.simplify(precond);
+        if (precond.getConnective().equals(Connective.FALSE)) {
+            return null;
+        }
+        Instantiation.simplify(effects);
+        if (effects.getConnective().equals(Connective.FALSE)) {
+            return null;
+        }
+        final IntOp op = new IntOp(operator.getName(), arity);
+        op.setPreconditions(precond);
+        op.setEffects(effects);
+        for (int i = 0; i < arity; i++) {
+            op.setTypeOfParameter(i, operator.getTypeOfParameters(i));
+            op.setValueOfParameter(i, values[i]);
+        }
+        return op;
+    }
+
     /**
      * Instantiates a specified operator.
      *
+     * @param context the encoding context.
      * @param operator the operator to instantiate.
      * @return the list of operators instantiated corresponding the specified operator.
      */
-    static List<IntOp> instantiate(final IntOp operator) {
-        return Instantiation.instantiate(operator, Integer.MAX_VALUE);
+    static List<IntOp> instantiate(final EncodingContext context, final IntOp operator) {
+        return Instantiation.instantiate(context, operator, Integer.MAX_VALUE);
     }
 
     /**
@@ -111,13 +163,15 @@ final class Instantiation implements Serializable {
      * representation without loss of information.
      * </p>
      *
+     * @param context the encoding context.
      * @param op        the operator.
      * @param index     the index of the parameter to instantiate.
      * @param bound     the bound of actions to instantiate.
      * @param operators the list of operators already instantiated.
      * @see IntOp
      */
-    private static void instantiate(final IntOp op, final int index, final int bound, final List<IntOp> operators) {
+    private static void instantiate(final EncodingContext context, final IntOp op, final int index, final int bound,
+                                    final List<IntOp> operators) {
         if (bound == operators.size()) {
             return;
         }
@@ -133,40 +187,78 @@ final class Instantiation implements Serializable {
                 }
             }
         } else {
-            final Set<Integer> values = Encoder.tableOfDomains.get(op.getTypeOfParameters(index));
+            final Set<Integer> values = context.tableOfDomains.get(op.getTypeOfParameters(index));
             for (Integer value : values) {
-                if (!op.isAlreadyInstantiatedWith(value)) {
-                    final int varIndex = -index - 1;
-                    final IntExp precond = new IntExp(op.getPreconditions());
-                    Instantiation.substitute(precond, varIndex, value);
-                    if (!precond.getConnective().equals(Connective.FALSE)) {
-                        final IntExp effects = new IntExp(op.getEffects());
-                        Instantiation.substitute(effects, varIndex, value);
-                        if (!effects.getConnective().equals(Connective.FALSE)) {
-                            final IntOp copy = new IntOp(op.getName(), arity);
-                            copy.setPreconditions(precond);
-                            copy.setEffects(effects);
-                            for (int i = 0; i < arity; i++) {
-                                copy.setTypeOfParameter(i, op.getTypeOfParameters(i));
-                            }
-                            for (int i = 0; i < index; i++) {
-                                copy.setValueOfParameter(i, op.getValueOfParameter(i));
-                            }
-                            copy.setValueOfParameter(index, value);
-                            Instantiation.instantiate(copy, index + 1, bound, operators);
-                        }
+                Instantiation.instantiateWith(context, op, index, value, bound, operators);
+            }
+        }
+    }
+
+    /**
+     * Instantiates a specified parameter of an operator with a specified value and then instantiates the remaining
+     * parameters of the operator.
+     *
+     * @param context   the encoding context.
+     * @param op        the operator.
+     * @param index     the index of the parameter to instantiate.
+     * @param value     the value of the parameter.
+     * @param bound     the bound of actions to instantiate.
+     * @param operators the list of operators already instantiated.
+     */
+    private static void instantiateWith(final EncodingContext context, final IntOp op, final int index,
+                                        final int value, final int bound, final List<IntOp> operators) {
+        if (!op.isAlreadyInstantiatedWith(value)) {
+            final int arity = op.getArity();
+            final int varIndex = -index - 1;
+            final IntExp precond = new IntExp(op.getPreconditions());
+            Instantiation.substitute(context, precond, varIndex, value);
+            if (!precond.getConnective().equals(Connective.FALSE)) {
+                final IntExp effects = new IntExp(op.getEffects());
+                Instantiation.substitute(context, effects, varIndex, value);
+                if (!effects.getConnective().equals(Connective.FALSE)) {
+                    final IntOp copy = new IntOp(op.getName(), arity);
+                    copy.setPreconditions(precond);
+                    copy.setEffects(effects);
+                    for (int i = 0; i < arity; i++) {
+                        copy.setTypeOfParameter(i, op.getTypeOfParameters(i));
                     }
+                    for (int i = 0; i < index; i++) {
+                        copy.setValueOfParameter(i, op.getValueOfParameter(i));
+                    }
+                    copy.setValueOfParameter(index, value);
+                    Instantiation.instantiate(context, copy, index + 1, bound, operators);
                 }
             }
         }
     }
 
+    /**
+     * Expands the quantified expressions contained in the preconditions and the effects of a specified operator and
+     * simplifies them.
+     *
+     * @param context  the encoding context.
+     * @param operator the operator.
+     * @return <code>false</code> if the preconditions or the effects of the operator are simplified to FALSE;
+     *          <code>true</code> otherwise.
+     */
+    static boolean expandAndSimplify(final EncodingContext context, final IntOp operator) {
+        Instantiation.expandQuantifiedExpression(context, operator.getPreconditions());
+        Instantiation.simplify(operator.getPreconditions());
+        if (operator.getPreconditions().getConnective().equals(Connective.FALSE)) {
+            return false;
+        }
+        Instantiation.expandQuantifiedExpression(context, operator.getEffects());
+        Instantiation.simplify(operator.getEffects());
+        return !operator.getEffects().getConnective().equals(Connective.FALSE);
+    }
+
     /**
      * Expands the quantified expressions contained in a specified expression.
      *
+     * @param context the encoding context.
      * @param exp the expression.
      */
-    static void expandQuantifiedExpression(final IntExp exp) {
+    static void expandQuantifiedExpression(final EncodingContext context, final IntExp exp) {
         switch (exp.getConnective()) {
             case AND:
                 Iterator<IntExp> i = exp.getChildren().iterator();
@@ -174,11 +266,11 @@ final class Instantiation implements Serializable {
                     final IntExp ei = i.next();
                     // Remove quantified expression where the domain of the quantified variable is empty
                     if ((ei.getConnective().equals(Connective.FORALL) || ei.getConnective().equals(Connective.EXISTS))
-                        && Encoder.tableOfDomains.get(ei.getType()).isEmpty()) {
+                        && context.tableOfDomains.get(ei.getType()).isEmpty()) {
                         i.remove();
                         continue;
                     }
-                    Instantiation.expandQuantifiedExpression(ei);
+                    Instantiation.expandQuantifiedExpression(context, ei);
                     // If a child expression is FALSE, the whole conjunction becomes FALSE.
                     if (ei.getConnective().equals(Connective.FALSE)) {
                         exp.setConnective(Connective.FALSE);
@@ -191,11 +283,11 @@ final class Instantiation implements Serializable {
                     final IntExp ei = i.next();
                     // Remove quantified expression where the domain of the quantified variable is empty
                     if ((ei.getConnective().equals(Connective.FORALL) || ei.getConnective().equals(Connective.EXISTS))
-                        && Encoder.tableOfDomains.get(ei.getType()).isEmpty()) {
+                        && context.tableOfDomains.get(ei.getType()).isEmpty()) {
                         i.remove();
                         continue;
                     }
-                    Instantiation.expandQuantifiedExpression(ei);
+                    Instantiation.expandQuantifiedExpression(context, ei);
                     // If a child expression is TRUE, the whole disjunction becomes TRUE.
                     if (ei.getConnective().equals(Connective.TRUE)) {
                         exp.setConnective(Connective.TRUE);
@@ -203,7 +295,7 @@ final class Instantiation implements Serializable {
                 }
                 break;
             case FORALL:
-                Set<Integer> constants = Encoder.tableOfDomains.get(exp.getType());
+                Set<Integer> constants = context.tableOfDomains.get(exp.getType());
                 IntExp qExp = exp.getChildren().get(0);
                 int var = exp.getVariable();
                 exp.setConnective(Connective.AND);
@@ -212,17 +304,17 @@ final class Instantiation implements Serializable {
                 while (it.hasNext() && exp.getConnective().equals(Connective.AND)) {
                     int cons = it.next();
                     IntExp copy = new IntExp(qExp);
-                    Instantiation.substitute(copy, var, cons);
+                    Instantiation.substitute(context, copy, var, cons);
                     exp.getChildren().add(copy);
                     // If a child expression is FALSE, the whole conjunction becomes FALSE.
                     if (copy.getConnective().equals(Connective.FALSE)) {
                         exp.setConnective(Connective.FALSE);
                     }
                 }
-                Instantiation.expandQuantifiedExpression(exp);
+                Instantiation.expandQuantifiedExpression(context, exp);
                 break;
             case EXISTS:
-                constants = Encoder.tableOfDomains.get(exp.getType());
+                constants = context.tableOfDomains.get(exp.getType());
                 qExp = exp.getChildren().get(0);
                 var = exp.getVariable();
                 exp.setConnective(Connective.OR);
@@ -231,14 +323,14 @@ final class Instantiation implements Serializable {
                 while (it.hasNext() && exp.getConnective().equals(Connective.OR)) {
                     int cons = it.next();
                     IntExp copy = new IntExp(qExp);
-                    Instantiation.substitute(copy, var, cons);
+                    Instantiation.substitute(context, copy, var, cons);
                     exp.getChildren().add(copy);
                     // If a child expression is TRUE, the whole disjunction becomes TRUE.
                     if (copy.getConnective().equals(Connective.TRUE)) {
                         exp.setConnective(Connective.TRUE);
                     }
                 }
-                Instantiation.expandQuantifiedExpression(exp);
+                Instantiation.expandQuantifiedExpression(context, exp);
                 break;
 
             case AT_START:
@@ -248,24 +340,24 @@ final class Instantiation implements Serializable {
             case OVER_ALL:
             case SOMETIME:
             case AT_MOST_ONCE:
-                Instantiation.expandQuantifiedExpression(exp.getChildren().get(0));
+                Instantiation.expandQuantifiedExpression(context, exp.getChildren().get(0));
                 break;
             case SOMETIME_AFTER:
             case SOMETIME_BEFORE:
             case WITHIN:
             case HOLD_AFTER:
             case WHEN:
-                Instantiation.expandQuantifiedExpression(exp.getChildren().get(0));
-                Instantiation.expandQuantifiedExpression(exp.getChildren().get(1));
+                Instantiation.expandQuantifiedExpression(context, exp.getChildren().get(0));
+                Instantiation.expandQuantifiedExpression(context, exp.getChildren().get(1));
                 break;
             case ALWAYS_WITHIN:
             case HOLD_DURING:
-                Instantiation.expandQuantifiedExpression(exp.getChildren().get(0));
-                Instantiation.expandQuantifiedExpression(exp.getChildren().get(1));
-                Instantiation.expandQuantifiedExpression(exp.getChildren().get(3));
+                Instantiation.expandQuantifiedExpression(context, exp.getChildren().get(0));
+                Instantiation.expandQuantifiedExpression(context, exp.getChildren().get(1));
+                Instantiation.expandQuantifiedExpression(context, exp.getChildren().get(3));
                 break;
             case ATOM:
-                Instantiation.simplyAtom(exp);
+                Instantiation.simplyAtom(context, exp);
                 break;
             case EQUAL_ATOM:
             case FN_HEAD:
@@ -573,11 +665,12 @@ final class Instantiation implements Serializable {
     /**
      * Substitutes all occurrence of a specified variable into an expression by a constant.
      *
+     * @param context the encoding context.
      * @param exp  the expression.
      * @param var  the variable.
      * @param cons the constant.
      */
-    private static void substitute(final IntExp exp, final int var, final int cons) {
+    private static void substitute(final EncodingContext context, final IntExp exp, final int var, final int cons) {
         switch (exp.getConnective()) {
             case ATOM:
                 boolean updated = false;
@@ -589,7 +682,7 @@ final class Instantiation implements Serializable {
                     }
                 }
                 if (updated) {
-                    Instantiation.simplyAtom(exp);
+                    Instantiation.simplyAtom(context, exp);
                 }
                 break;
             case FN_HEAD:
@@ -624,7 +717,7 @@ final class Instantiation implements Serializable {
                 Iterator<IntExp> i = exp.getChildren().iterator();
                 while (i.hasNext() && exp.getConnective().equals(Connective.AND)) {
                     final IntExp ei = i.next();
-                    Instantiation.substitute(ei, var, cons);
+                    Instantiation.substitute(context, ei, var, cons);
                     // If a child expression is FALSE, the whole conjunction becomes FALSE.
                     if (ei.getConnective().equals(Connective.FALSE)) {
                         exp.setConnective(Connective.FALSE);
@@ -635,7 +728,7 @@ final class Instantiation implements Serializable {
                 i = exp.getChildren().iterator();
                 while (i.hasNext() && exp.getConnective().equals(Connective.OR)) {
                     final IntExp ei = i.next();
-                    Instantiation.substitute(ei, var, cons);
+                    Instantiation.substitute(context, ei, var, cons);
                     // If a child expression is TRUE, the whole disjunction is TRUE.
                     if (ei.getConnective().equals(Connective.TRUE)) {
                         exp.setConnective(Connective.TRUE);
@@ -644,7 +737,7 @@ final class Instantiation implements Serializable {
                 break;
             case NOT:
                 final IntExp neg = exp.getChildren().get(0);
-                Instantiation.substitute(neg, var, cons);
+                Instantiation.substitute(context, neg, var, cons);
                 if (neg.getConnective().equals(Connective.TRUE)) {
                     exp.setConnective(Connective.FALSE);
                 } else if (neg.getConnective().equals(Connective.FALSE)) {
@@ -671,8 +764,8 @@ final class Instantiation implements Serializable {
             case SOMETIME_BEFORE:
             case WITHIN:
             case HOLD_AFTER:
-                Instantiation.substitute(exp.getChildren().get(0), var, cons);
-                Instantiation.substitute(exp.getChildren().get(1), var, cons);
+                Instantiation.substitute(context, exp.getChildren().get(0), var, cons);
+                Instantiation.substitute(context, exp.getChildren().get(1), var, cons);
                 break;
             case FORALL:
             case EXISTS:
@@ -683,18 +776,18 @@ final class Instantiation implements Serializable {
             case OVER_ALL:
             case SOMETIME:
             case AT_MOST_ONCE:
-                Instantiation.substitute(exp.getChildren().get(0), var, cons);
+                Instantiation.substitute(context, exp.getChildren().get(0), var, cons);
                 break;
             case F_EXP_T:
                 if (!exp.getChildren().isEmpty()) {
-                    Instantiation.substitute(exp.getChildren().get(0), var, cons);
+                    Instantiation.substitute(context, exp.getChildren().get(0), var, cons);
                 }
                 break;
             case ALWAYS_WITHIN:
             case HOLD_DURING:
-                Instantiation.substitute(exp.getChildren().get(0), var, cons);
-                Instantiation.substitute(exp.getChildren().get(1), var, cons);
-                Instantiation.substitute(exp.getChildren().get(3), var, cons);
+                Instantiation.substitute(context, exp.getChildren().get(0), var, cons);
+                Instantiation.substitute(context, exp.getChildren().get(1), var, cons);
+                Instantiation.substitute(context, exp.getChildren().get(3), var, cons);
                 break;
             case FN_ATOM:
             case NUMBER:
@@ -720,9 +813,10 @@ final class Instantiation implements Serializable {
      * simplified to TRUE.
      * </ul>
      *
+     * @param context the encoding context.
      * @param exp the atomic expression to simplify.
      */
-    private static void simplyAtom(final IntExp exp) {
+    private static void simplyAtom(final EncodingContext context, final IntExp exp) {
         final int predicate = exp.getPredicate();
         // Compute the mask i.e., the vector used to indicate where the constant are located in the
         // atomic expression.
@@ -740,10 +834,10 @@ final class Instantiation implements Serializable {
         int j = 0;
         int max = 1;
         final int[] index = new int[indexSize];
-        final List<Integer> predArg = Encoder.tableOfTypedPredicates.get(predicate);
+        final List<Integer> predArg = context.tableOfTypedPredicates.get(predicate);
         for (int i = 0; i < mask.length; i++) {
             if (mask[i] == 0) {
-                max *= Encoder.tableOfDomains.get(predArg.get(i)).size();
+                max *= context.tableOfDomains.get(predArg.get(i)).size();
             } else {
                 index[j] = args[i];
                 j++;
@@ -752,11 +846,11 @@ final class Instantiation implements Serializable {
         }
         // Get the number of unifying ground instances of the specified expression that are
         // contained in the initial state.
-        final int n = Encoder.predicatesTables.get(predicate).get(PreInstantiation.toInt(mask)).get(index);
+        final int n = context.predicatesTables.get(predicate).get(PreInstantiation.toInt(mask)).get(index);
         // CASE 1: If the expression is a positive inertia and the number of unifying ground
         // instances of the specified expression that are contained in the initial state is equal to
         // 0 then the expression is simplified to FALSE.
-        final Inertia inertia = Encoder.tableOfInertia.get(predicate);
+        final Inertia inertia = context.tableOfInertia.get(predicate);
         if ((inertia.equals(Inertia.POSITIVE) || inertia.equals(Inertia.INERTIA)) && n == 0) {
             exp.setConnective(Connective.FALSE);
         } else if ((inertia.equals(Inertia.NEGATIVE) || inertia.equals(Inertia.INERTIA)) && max == n) {
@@ -767,4 +861,70 @@ final class Instantiation implements Serializable {
         }
     }
 
+    /**
+     * This class implements the task used to instantiate an operator in parallel. A task created for a whole
+     * operator simplifies the operator and, if its arity is high enough, splits its instantiation into one subtask
+     * per value of its first parameter.
+     */
+    private static final class InstantiationTask extends RecursiveTask<List<IntOp>> {
+
+        /**
+         * The serial version id of the class.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * The encoding context.
+         */
+        private final EncodingContext context;
+
+        /**
+         * The operator to instantiate.
+         */
+        private final IntOp operator;
+
+        /**
+         * The value of the first parameter of the operator or -1 if the task instantiates the whole operator.
+         */
+        private final int value;
+
+        /**
+         * Creates a new instantiation task.
+         *
+         * @param context  the encoding context.
+         * @param operator the operator to instantiate.
+         * @param value    the value of the first parameter of the operator or -1 to instantiate the whole operator.
+         */
+        private InstantiationTask(final EncodingContext context, final IntOp operator, final int value) {
+            this.context = context;
+            this.operator = operator;
+            this.value = value;
+        }
+
+        /**
+         * Instantiates the operator of the task.
+         *
+         * @return the list of operators instantiated.
+         */
+        @Override
+        protected List<IntOp> compute() {
+            final List<IntOp> instOps = new ArrayList<>(100);
+            if (this.value >= 0) {
+                Instantiation.instantiateWith(this.context, this.operator, 0, this.value, Integer.MAX_VALUE, instOps);
+            } else if (this.operator.getArity() < Constants.PARALLEL_GROUNDING_MIN_ARITY) {
+                instOps.addAll(Instantiation.instantiate(this.context, this.operator));
+            } else if (Instantiation.expandAndSimplify(this.context, this.operator)) {
+                final Set<Integer> values = this.context.tableOfDomains.get(this.operator.getTypeOfParameters(0));
+                final List<InstantiationTask> tasks = new ArrayList<>(values.size());
+                for (Integer v : values) {
+                    tasks.add(new InstantiationTask(this.context, this.operator, v));
+                }
+                ForkJoinTask.invokeAll(tasks);
+                for (InstantiationTask task : tasks) {
+                    instOps.addAll(task.join());
+                }
+            }
+            return instOps;
+        }
+    }
 }
@@ -19,6 +19,7 @@
 
 package fr.uga.pddl4j.encoding;
 
+import fr.uga.pddl4j.parser.Connective;
 import fr.uga.pddl4j.parser.DerivedPredicate;
 import fr.uga.pddl4j.parser.Domain;
 import fr.uga.pddl4j.parser.Exp;
@@ -26,13 +27,17 @@ import fr.uga.pddl4j.parser.NamedTypedList;
 import fr.uga.pddl4j.parser.Op;
 import fr.uga.pddl4j.parser.Problem;
 import fr.uga.pddl4j.parser.Symbol;
+import fr.uga.pddl4j.parser.TypeHierarchy;
 import fr.uga.pddl4j.parser.TypedSymbol;
 import fr.uga.pddl4j.util.IntExp;
+import fr.uga.pddl4j.util.SymbolTable;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
 import java.util.LinkedHashSet;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -59,69 +64,99 @@ final class IntEncoding implements Serializable {
 
     /**
      * Collects composite type, i.e., type of the form (either t1 t2), through a specified domain and
-     * problem and creates their respective domain.
+     * creates their respective domain.
      *
+     * @param context the encoding context.
      * @param domain  the domain.
-     * @param problem the problem.
      */
-    static void encodeEitherTypes(final Domain domain, final Problem problem) {
+    static void encodeEitherTypes(final EncodingContext context, final Domain domain) {
         // Collect the types from the predicates declaration
         for (NamedTypedList predicate : domain.getPredicates()) {
-            IntEncoding.encodeTypes(predicate.getArguments());
+            IntEncoding.encodeTypes(context, predicate.getArguments());
         }
         // Collect the types from the functions declaration
         for (NamedTypedList function : domain.getFunctions()) {
-            IntEncoding.encodeTypes(function.getArguments());
+            IntEncoding.encodeTypes(context, function.getArguments());
         }
         // Collect the types from the constraints declaration of the domain
         if (domain.getConstraints() != null) {
-            IntEncoding.encodeTypes(domain.getConstraints());
+            IntEncoding.encodeTypes(context, domain.getConstraints());
         }
         // Collect the types from the derived predicates
         for (DerivedPredicate axiom : domain.getDerivesPredicates()) {
-            IntEncoding.encodeTypes(axiom.getHead().getArguments());
-            IntEncoding.encodeTypes(axiom.getBody());
+            IntEncoding.encodeTypes(context, axiom.getHead().getArguments());
+            IntEncoding.encodeTypes(context, axiom.getBody());
         }
         // Collect the type from the operators
         for (Op op : domain.getOperators()) {
-            IntEncoding.encodeTypes(op.getParameters());
+            IntEncoding.encodeTypes(context, op.getParameters());
             if (op.getDuration() != null) {
-                IntEncoding.encodeTypes(op.getDuration());
+                IntEncoding.encodeTypes(context, op.getDuration());
             }
-            IntEncoding.encodeTypes(op.getPreconditions());
-            IntEncoding.encodeTypes(op.getEffects());
+            IntEncoding.encodeTypes(context, op.getPreconditions());
+            IntEncoding.encodeTypes(context, op.getEffects());
         }
+    }
+
+    /**
+     * Collects composite type, i.e., type of the form (either t1 t2), through a specified problem and
+     * creates their respective domain.
+     *
+     * @param context the encoding context.
+     * @param problem the problem.
+     */
+    static void encodeEitherTypes(final EncodingContext context, final Problem problem) {
         // Collect the types from the constraints declaration of the problem
         if (problem.getConstraints() != null) {
-            IntEncoding.encodeTypes(problem.getConstraints());
+            IntEncoding.encodeTypes(context, problem.getConstraints());
         }
         // Collect the types from the goal declaration of the problem
-        IntEncoding.encodeTypes(problem.getGoal());
+        IntEncoding.encodeTypes(context, problem.getGoal());
+    }
 
+    /**
+     * Computes the domains of the composite types, i.e., types of the form (either t1 t2), already encoded from
+     * the domains of their types. The types of a composite type are read from its image built by
+     * <code>encodeEitherTypes()</code>.
+     *
+     * @param context the encoding context.
+     */
+    static void encodeEitherDomains(final EncodingContext context) {
+        for (int i = 0; i < context.tableOfTypes.size(); i++) {
+            final String[] types = context.tableOfTypes.get(i).split("~");
+            if (types.length > 1 && types[0].equals("either")) {
+                final Set<Integer> domain = context.tableOfDomains.get(i);
+                for (int j = 1; j < types.length; j++) {
+                    domain.addAll(context.tableOfDomains.get(context.tableOfTypes.indexOf(types[j])));
+                }
+            }
+        }
     }
 
     /**
      * Encodes all the types of a specified domain.
      *
+     * @param context the encoding context.
      * @param domain the domain.
      */
-    static void encodeTypes(final Domain domain) {
+    static void encodeTypes(final EncodingContext context, final Domain domain) {
         final List<TypedSymbol> types = domain.getTypes();
         final int nbTypes = types.size();
-        Encoder.tableOfTypes = new ArrayList<>(nbTypes);
-        Encoder.tableOfDomains = new ArrayList<>(nbTypes);
+        context.tableOfTypes = new SymbolTable(nbTypes);
+        context.tableOfDomains = new ArrayList<>(nbTypes);
         for (TypedSymbol type : types) {
-            Encoder.tableOfTypes.add(type.getImage());
-            Encoder.tableOfDomains.add(new LinkedHashSet<>());
+            context.tableOfTypes.add(type.getImage());
+            context.tableOfDomains.add(new LinkedHashSet<>());
         }
     }
 
     /**
      * Encoded all the type from a specified list of typed symbols.
      *
+     * @param context the encoding context.
      * @param list the list of typed symbol.
      */
-    private static void encodeTypes(final List<TypedSymbol> list) {
+    private static void encodeTypes(final EncodingContext context, final List<TypedSymbol> list) {
         for (TypedSymbol elt : list) {
             final List<Symbol> types = elt.getTypes();
             if (types.size() > 1) {
@@ -133,15 +168,15 @@ final class IntEncoding implements Serializable {
                     final String image = type.getImage();
                     buf.append("~");
                     buf.append(image);
-                    int typeIndex = Encoder.tableOfTypes.indexOf(image);
-                    final Set<Integer> typeDomain = Encoder.tableOfDomains.get(typeIndex);
+                    int typeIndex = context.tableOfTypes.indexOf(image);
+                    final Set<Integer> typeDomain = context.tableOfDomains.get(typeIndex);
                     newTypeDomain.addAll(typeDomain);
                 }
                 newType = buf.toString();
-                int index = Encoder.tableOfTypes.indexOf(newType);
+                int index = context.tableOfTypes.indexOf(newType);
                 if (index == -1) {
-                    Encoder.tableOfDomains.add(new LinkedHashSet<>(newTypeDomain));
-                    Encoder.tableOfTypes.add(newType);
+                    context.tableOfDomains.add(new LinkedHashSet<>(newTypeDomain));
+                    context.tableOfTypes.add(newType);
                 }
             }
         }
@@ -150,22 +185,23 @@ final class IntEncoding implements Serializable {
     /**
      * Encodes all the type from a specified expression.
      *
+     * @param context the encoding context.
      * @param exp the expression.
      */
-    private static void encodeTypes(final Exp exp) {
+    private static void encodeTypes(final EncodingContext context, final Exp exp) {
         switch (exp.getConnective()) {
             case AND:
             case OR:
-                exp.getChildren().forEach(IntEncoding::encodeTypes);
+                exp.getChildren().forEach(e -> IntEncoding.encodeTypes(context, e));
                 break;
             case FORALL:
             case EXISTS:
-                IntEncoding.encodeTypes(exp.getVariables());
-                IntEncoding.encodeTypes(exp.getChildren().get(0));
+                IntEncoding.encodeTypes(context, exp.getVariables());
+                IntEncoding.encodeTypes(context, exp.getChildren().get(0));
                 break;
             case F_EXP_T:
                 if (!exp.getChildren().isEmpty()) {
-                    IntEncoding.encodeTypes(exp.getChildren().get(0));
+                    IntEncoding.encodeTypes(context, exp.getChildren().get(0));
                 }
                 break;
             case EQUAL:
@@ -185,8 +221,8 @@ final class IntEncoding implements Serializable {
             case DECREASE:
             case SCALE_UP:
             case SCALE_DOWN:
-                IntEncoding.encodeTypes(exp.getChildren().get(0));
-                IntEncoding.encodeTypes(exp.getChildren().get(1));
+                IntEncoding.encodeTypes(context, exp.getChildren().get(0));
+                IntEncoding.encodeTypes(context, exp.getChildren().get(1));
                 break;
             case AT_START:
             case AT_END:
@@ -199,18 +235,18 @@ final class IntEncoding implements Serializable {
             case SOMETIME:
             case AT_MOST_ONCE:
             case F_EXP:
-                IntEncoding.encodeTypes(exp.getChildren().get(0));
+                IntEncoding.encodeTypes(context, exp.getChildren().get(0));
                 break;
             case HOLD_AFTER:
             case WITHIN:
-                IntEncoding.encodeTypes(exp.getChildren().get(1));
+                IntEncoding.encodeTypes(context, exp.getChildren().get(1));
                 break;
             case ALWAYS_WITHIN:
-                IntEncoding.encodeTypes(exp.getChildren().get(1));
-                IntEncoding.encodeTypes(exp.getChildren().get(2));
+                IntEncoding.encodeTypes(context, exp.getChildren().get(1));
+                IntEncoding.encodeTypes(context, exp.getChildren().get(2));
                 break;
             case HOLD_DURING:
-                IntEncoding.encodeTypes(exp.getChildren().get(2));
+                IntEncoding.encodeTypes(context, exp.getChildren().get(2));
                 break;
             case IS_VIOLATED:
             case NUMBER:
@@ -223,27 +259,66 @@ final class IntEncoding implements Serializable {
     }
 
     /**
-     * Encodes all the constants of the specified domain and the problem.
+     * Encodes all the constants of the specified domain.
+     *
+     * @param context the encoding context.
+     * @param domain  the domain.
+     */
+    static void encodeConstants(final EncodingContext context, final Domain domain) {
+        IntEncoding.encodeConstants(context, domain, Collections.emptyList());
+    }
+
+    /**
+     * Encodes all the constants of the specified domain and the problem. The constants of the domain are encoded
+     * first, so that their codes do not depend on the problem.
      *
+     * @param context the encoding context.
      * @param domain  the domain.
      * @param problem the problem.
      */
-    static void encodeConstants(final Domain domain, final Problem problem) {
+    static void encodeConstants(final EncodingContext context, final Domain domain, final Problem problem) {
+        IntEncoding.encodeConstants(context, domain, problem.getObjects());
+    }
+
+    /**
+     * Encodes all the constants of the specified domain and a list of objects.
+     *
+     * @param context the encoding context.
+     * @param domain  the domain.
+     * @param objects the objects.
+     */
+    private static void encodeConstants(final EncodingContext context, final Domain domain,
+                                        final List<TypedSymbol> objects) {
         final List<TypedSymbol> constants = domain.getConstants();
-        Encoder.tableOfConstants = new ArrayList<>(domain.getConstants().size());
-        constants.addAll(problem.getObjects());
+        context.tableOfConstants = new SymbolTable(constants.size() + objects.size());
+        // The index in the table of types of each type of the hierarchy
+        final TypeHierarchy hierarchy = domain.getTypeHierarchy();
+        final int[] tableOfTypes = new int[hierarchy.size()];
+        for (int t = 0; t < tableOfTypes.length; t++) {
+            tableOfTypes[t] = context.tableOfTypes.indexOf(hierarchy.getType(t));
+        }
+        IntEncoding.encodeConstants(context, hierarchy, tableOfTypes, constants);
+        IntEncoding.encodeConstants(context, hierarchy, tableOfTypes, objects);
+    }
+
+    /**
+     * Encodes a list of constants and adds them to the domains of their types and of the super types of their
+     * types.
+     *
+     * @param context      the encoding context.
+     * @param hierarchy    the type hierarchy of the domain.
+     * @param tableOfTypes the index in the table of types of each type of the hierarchy.
+     * @param constants    the constants.
+     */
+    private static void encodeConstants(final EncodingContext context, final TypeHierarchy hierarchy,
+                                        final int[] tableOfTypes, final List<TypedSymbol> constants) {
         for (TypedSymbol constant : constants) {
-            int ic = Encoder.tableOfConstants.indexOf(constant.getImage());
-            if (ic == -1) {
-                ic = Encoder.tableOfConstants.size();
-                Encoder.tableOfConstants.add(constant.getImage());
-            }
-            final LinkedList<Symbol> types = new LinkedList<>(constant.getTypes());
-            while (!types.isEmpty()) {
-                Symbol type = types.poll();
-                final int it = Encoder.tableOfTypes.indexOf(type.getImage());
-                types.addAll(domain.getType(type).getTypes());
-                Encoder.tableOfDomains.get(it).add(ic);
+            final int ic = context.tableOfConstants.intern(constant.getImage());
+            for (Symbol type : constant.getTypes()) {
+                final BitSet superTypes = hierarchy.getSuperTypes(hierarchy.indexOf(type));
+                for (int st = superTypes.nextSetBit(0); st >= 0; st = superTypes.nextSetBit(st + 1)) {
+                    context.tableOfDomains.get(tableOfTypes[st]).add(ic);
+                }
             }
         }
     }
@@ -251,15 +326,16 @@ final class IntEncoding implements Serializable {
     /**
      * Encodes all the predicates of a specified domain.
      *
+     * @param context the encoding context.
      * @param domain the domain.
      */
-    static void encodePredicates(final Domain domain) {
+    static void encodePredicates(final EncodingContext context, final Domain domain) {
         final List<NamedTypedList> predicates = domain.getPredicates();
         final int nbPredicates = predicates.size();
-        Encoder.tableOfPredicates = new ArrayList<>(nbPredicates);
-        Encoder.tableOfTypedPredicates = new ArrayList<>(nbPredicates);
+        context.tableOfPredicates = new SymbolTable(nbPredicates);
+        context.tableOfTypedPredicates = new ArrayList<>(nbPredicates);
         for (NamedTypedList predicate : predicates) {
-            Encoder.tableOfPredicates.add(predicate.getName().getImage());
+            context.tableOfPredicates.add(predicate.getName().getImage());
             final List<TypedSymbol> arguments = predicate.getArguments();
             final List<Integer> argType = new ArrayList<>(arguments.size());
             for (TypedSymbol arg : arguments) {
@@ -270,26 +346,27 @@ final class IntEncoding implements Serializable {
                         image.append("~");
                         image.append(type.getImage());
                     }
-                    argType.add(Encoder.tableOfTypes.indexOf(image.toString()));
+                    argType.add(context.tableOfTypes.indexOf(image.toString()));
                 } else {
-                    argType.add(Encoder.tableOfTypes.indexOf(types.get(0).getImage()));
+                    argType.add(context.tableOfTypes.indexOf(types.get(0).getImage()));
                 }
             }
-            Encoder.tableOfTypedPredicates.add(argType);
+            context.tableOfTypedPredicates.add(argType);
         }
     }
 
     /**
      * Encodes all the function of a specified domain.
      *
+     * @param context the encoding context.
      * @param domain the domain.
      */
-    static void encodeFunctions(final Domain domain) {
+    static void encodeFunctions(final EncodingContext context, final Domain domain) {
         final List<NamedTypedList> functions = domain.getFunctions();
-        Encoder.tableOfFunctions = new ArrayList<>(functions.size());
-        Encoder.tableOfTypedFunctions = new ArrayList<>(functions.size());
+        context.tableOfFunctions = new SymbolTable(functions.size());
+        context.tableOfTypedFunctions = new ArrayList<>(functions.size());
         for (NamedTypedList function : functions) {
-            Encoder.tableOfFunctions.add(function.getName().getImage());
+            context.tableOfFunctions.add(function.getName().getImage());
             List<TypedSymbol> arguments = function.getArguments();
             List<Integer> argType = new ArrayList<>(arguments.size());
             for (TypedSymbol argument : arguments) {
@@ -299,12 +376,12 @@ final class IntEncoding implements Serializable {
                     for (Symbol type1 : types) {
                         type.append("~").append(type1.getImage());
                     }
-                    argType.add(Encoder.tableOfTypes.indexOf(type.toString()));
+                    argType.add(context.tableOfTypes.indexOf(type.toString()));
                 } else {
-                    argType.add(Encoder.tableOfTypes.indexOf(types.get(0).getImage()));
+                    argType.add(context.tableOfTypes.indexOf(types.get(0).getImage()));
                 }
             }
-            Encoder.tableOfTypedFunctions.add(argType);
+            context.tableOfTypedFunctions.add(argType);
 
         }
     }
@@ -312,56 +389,82 @@ final class IntEncoding implements Serializable {
     /**
      * Encodes a specified list of operators into its integer representation.
      *
-     * @param ops the list of operators to encode.
+     * @param context the encoding context.
+     * @param ops     the list of operators to encode.
      * @return encoded the list of operators encoded.
      */
-    static List<IntOp> encodeOperators(final List<Op> ops) {
-        return ops.stream().map(IntEncoding::encodeOperator).collect(Collectors.toList());
+    static List<IntOp> encodeOperators(final EncodingContext context, final List<Op> ops) {
+        return ops.stream().map(op -> IntEncoding.encodeOperator(context, op)).collect(Collectors.toList());
     }
 
     /**
      * Encodes a specified initial state into its integer representation.
      *
+     * @param context the encoding context.
+     * @param init    the initial state to encode.
+     * @return the initial state encoded.
+     */
+    static Set<IntExp> encodeInit(final EncodingContext context, final List<Exp> init) {
+        return init.stream().map(exp -> IntEncoding.encodeExp(context, exp))
+            .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    /**
+     * Encodes a specified initial state made of ground atoms already encoded as a sequence of integers: the
+     * predicate, the arity and the arguments of each atom.
+     *
      * @param init the initial state to encode.
      * @return the initial state encoded.
      */
-    static Set<IntExp> encodeInit(final List<Exp> init) {
-        return init.stream().map(IntEncoding::encodeExp).collect(Collectors.toCollection(LinkedHashSet::new));
+    static Set<IntExp> encodeInit(final int[] init) {
+        final Set<IntExp> facts = new LinkedHashSet<>();
+        int i = 0;
+        while (i < init.length) {
+            final int arity = init[i + 1];
+            final IntExp fact = new IntExp(Connective.ATOM);
+            fact.setPredicate(init[i]);
+            fact.setArguments(Arrays.copyOfRange(init, i + 2, i + 2 + arity));
+            facts.add(fact);
+            i += arity + 2;
+        }
+        return facts;
     }
 
     /**
      * Encodes a specified goal into its integer representation.
      *
+     * @param context the encoding context.
      * @param goal the goal to encode.
      * @return the goal encoded.
      */
-    static IntExp encodeGoal(final Exp goal) {
-        return IntEncoding.encodeExp(goal);
+    static IntExp encodeGoal(final EncodingContext context, final Exp goal) {
+        return IntEncoding.encodeExp(context, goal);
     }
 
 
     /**
      * Encode an operator into its integer representation.
      *
+     * @param context the encoding context.
      * @param op the operator to encode.
      * @return encoded operator.
      */
-    private static IntOp encodeOperator(final Op op) {
+    private static IntOp encodeOperator(final EncodingContext context, final Op op) {
         final IntOp intOp = new IntOp(op.getName().getImage(), op.getArity());
         // Encode the parameters of the operator
         final List<String> variables = new ArrayList<>(op.getArity());
         for (int i = 0; i < op.getArity(); i++) {
             final TypedSymbol parameter = op.getParameters().get(i);
             final String typeImage = IntEncoding.toStringType(parameter.getTypes());
-            final int type = Encoder.tableOfTypes.indexOf(typeImage);
+            final int type = context.tableOfTypes.indexOf(typeImage);
             intOp.setTypeOfParameter(i, type);
             variables.add(parameter.getImage());
         }
         // Encode the preconditions of the operator
-        final IntExp preconditions = IntEncoding.encodeExp(op.getPreconditions(), variables);
+        final IntExp preconditions = IntEncoding.encodeExp(context, op.getPreconditions(), variables);
         intOp.setPreconditions(preconditions);
         // Encode the effects of the operator
-        final IntExp effects = IntEncoding.encodeExp(op.getEffects(), variables);
+        final IntExp effects = IntEncoding.encodeExp(context, op.getEffects(), variables);
         intOp.setEffects(effects);
         return intOp;
     }
@@ -369,11 +472,12 @@ final class IntEncoding implements Serializable {
     /**
      * Encodes an specified expression into its integer representation.
      *
+     * @param context the encoding context.
      * @param exp the expression to encode.
      * @return the integer representation of the specified expression.
      */
-    private static IntExp encodeExp(final Exp exp) {
-        return IntEncoding.encodeExp(exp, new ArrayList<>());
+    private static IntExp encodeExp(final EncodingContext context, final Exp exp) {
+        return IntEncoding.encodeExp(context, exp, new ArrayList<>());
     }
 
     /**
@@ -387,11 +491,12 @@ final class IntEncoding implements Serializable {
      * </ul>
      * </p>
      *
+     * @param context the encoding context.
      * @param exp       the expression to encode.
      * @param variables the list of variable already encoded.
      * @return the integer representation of the specified expression.
      */
-    private static IntExp encodeExp(final Exp exp,
+    private static IntExp encodeExp(final EncodingContext context, final Exp exp,
                                     final List<String> variables) {
         final IntExp intExp = new IntExp(exp.getConnective());
         switch (exp.getConnective()) {
@@ -403,35 +508,35 @@ final class IntEncoding implements Serializable {
                     if (argument.getKind().equals(Symbol.Kind.VARIABLE)) {
                         args[i] = -variables.indexOf(argument.getImage()) - 1;
                     } else {
-                        args[i] = Encoder.tableOfConstants.indexOf(argument.getImage());
+                        args[i] = context.tableOfConstants.indexOf(argument.getImage());
                     }
                 }
                 intExp.setArguments(args);
                 break;
             case FN_HEAD:
                 final String functor = exp.getAtom().get(0).getImage();
-                intExp.setPredicate(Encoder.tableOfFunctions.indexOf(functor));
+                intExp.setPredicate(context.tableOfFunctions.indexOf(functor));
                 args = new int[exp.getAtom().size() - 1];
                 for (int i = 1; i < exp.getAtom().size(); i++) {
                     final Symbol argument = exp.getAtom().get(i);
                     if (argument.getKind().equals(Symbol.Kind.VARIABLE)) {
                         args[i - 1] = -variables.indexOf(argument.getImage()) - 1;
                     } else {
-                        args[i - 1] = Encoder.tableOfConstants.indexOf(argument.getImage());
+                        args[i - 1] = context.tableOfConstants.indexOf(argument.getImage());
                     }
                 }
                 intExp.setArguments(args);
                 break;
             case ATOM:
                 final String predicate = exp.getAtom().get(0).getImage();
-                intExp.setPredicate(Encoder.tableOfPredicates.indexOf(predicate));
+                intExp.setPredicate(context.tableOfPredicates.indexOf(predicate));
                 args = new int[exp.getAtom().size() - 1];
                 for (int i = 1; i < exp.getAtom().size(); i++) {
                     final Symbol argument = exp.getAtom().get(i);
                     if (argument.getKind().equals(Symbol.Kind.VARIABLE)) {
                         args[i - 1] = -variables.indexOf(argument.getImage()) - 1;
                     } else {
-                        args[i - 1] = Encoder.tableOfConstants.indexOf(argument.getImage());
+                        args[i - 1] = context.tableOfConstants.indexOf(argument.getImage());
                     }
                 }
                 intExp.setArguments(args);
@@ -439,7 +544,7 @@ final class IntEncoding implements Serializable {
             case AND:
             case OR:
                 for (int i = 0; i < exp.getChildren().size(); i++) {
-                    intExp.getChildren().add(IntEncoding.encodeExp(exp.getChildren().get(i), variables));
+                    intExp.getChildren().add(IntEncoding.encodeExp(context, exp.getChildren().get(i), variables));
                 }
                 break;
             case FORALL:
@@ -447,20 +552,20 @@ final class IntEncoding implements Serializable {
                 final List<String> newVariables = new ArrayList<>(variables);
                 final List<TypedSymbol> qvar = exp.getVariables();
                 final String type = IntEncoding.toStringType(qvar.get(0).getTypes());
-                int typeIndex = Encoder.tableOfTypes.indexOf(type);
+                int typeIndex = context.tableOfTypes.indexOf(type);
                 intExp.setType(typeIndex);
                 intExp.setVariable(-variables.size() - 1);
                 newVariables.add(qvar.get(0).getImage());
                 if (qvar.size() == 1) {
-                    intExp.getChildren().add(IntEncoding.encodeExp(exp.getChildren().get(0), newVariables));
+                    intExp.getChildren().add(IntEncoding.encodeExp(context, exp.getChildren().get(0), newVariables));
                 } else {
                     qvar.remove(0);
-                    intExp.getChildren().add(IntEncoding.encodeExp(exp, newVariables));
+                    intExp.getChildren().add(IntEncoding.encodeExp(context, exp, newVariables));
                 }
                 break;
             case F_EXP_T:
                 if (!exp.getChildren().isEmpty()) {
-                    intExp.getChildren().add(IntEncoding.encodeExp(exp.getChildren().get(0), variables));
+                    intExp.getChildren().add(IntEncoding.encodeExp(context, exp.getChildren().get(0), variables));
                 }
                 break;
             case FN_ATOM:
@@ -484,8 +589,8 @@ final class IntEncoding implements Serializable {
             case SOMETIME_BEFORE:
             case WITHIN:
             case HOLD_AFTER:
-                intExp.getChildren().add(IntEncoding.encodeExp(exp.getChildren().get(0), variables));
-                intExp.getChildren().add(IntEncoding.encodeExp(exp.getChildren().get(1), variables));
+                intExp.getChildren().add(IntEncoding.encodeExp(context, exp.getChildren().get(0), variables));
+                intExp.getChildren().add(IntEncoding.encodeExp(context, exp.getChildren().get(1), variables));
                 break;
             case AT_START:
             case AT_END:
@@ -498,16 +603,16 @@ final class IntEncoding implements Serializable {
             case SOMETIME:
             case AT_MOST_ONCE:
             case F_EXP:
-                intExp.getChildren().add(IntEncoding.encodeExp(exp.getChildren().get(0), variables));
+                intExp.getChildren().add(IntEncoding.encodeExp(context, exp.getChildren().get(0), variables));
                 break;
             case NUMBER:
                 intExp.setValue(exp.getValue());
                 break;
             case ALWAYS_WITHIN:
             case HOLD_DURING:
-                intExp.getChildren().add(IntEncoding.encodeExp(exp.getChildren().get(0), variables));
-                intExp.getChildren().add(IntEncoding.encodeExp(exp.getChildren().get(1), variables));
-                intExp.getChildren().add(IntEncoding.encodeExp(exp.getChildren().get(2), variables));
+                intExp.getChildren().add(IntEncoding.encodeExp(context, exp.getChildren().get(0), variables));
+                intExp.getChildren().add(IntEncoding.encodeExp(context, exp.getChildren().get(1), variables));
+                intExp.getChildren().add(IntEncoding.encodeExp(context, exp.getChildren().get(2), variables));
                 break;
             case TIME_VAR:
             case IS_VIOLATED:
@@ -20,12 +20,20 @@
 package fr.uga.pddl4j.encoding;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
- * This class implements a matrix at n-dimension. This class is used to store the predicates tables.
+ * This class implements a sparse matrix at n-dimension. This class is used to store the predicates tables. Only the
+ * non zero values are stored: the memory used by the matrix is proportional to the number of non zero values and
+ * not to <code>size^dimension</code>. The indexes are packed into a long key stored in an open addressing hash
+ * table with linear probing. When an index cannot be packed into 63 bits, the values are stored in a hash map
+ * keyed by the list of the coordinates of the index.
  *
  * @author D. Pellier
- * @version 1.0 - 07.04.2010
+ * @version 1.1 - 17.10.2026
  */
 final class IntMatrix implements Serializable {
 
@@ -35,9 +43,9 @@ final class IntMatrix implements Serializable {
     private static final long serialVersionUID = 1L;
 
     /**
-     * The integer array used to store the matrix.
+     * The initial capacity of the hash table.
      */
-    private int[] matrix;
+    private static final int DEFAULT_CAPACITY = 16;
 
     /**
      * The dimension of the matrix.
@@ -49,6 +57,31 @@ final class IntMatrix implements Serializable {
      */
     private int size;
 
+    /**
+     * The number of bits used to pack a coordinate of an index or -1 if the indexes cannot be packed.
+     */
+    private int bits;
+
+    /**
+     * The packed keys plus one of the hash table. A zero key denotes an empty slot.
+     */
+    private long[] keys;
+
+    /**
+     * The values of the hash table.
+     */
+    private int[] values;
+
+    /**
+     * The number of keys stored in the hash table.
+     */
+    private int count;
+
+    /**
+     * The values of the matrix when the indexes cannot be packed.
+     */
+    private Map<List<Integer>, Integer> map;
+
     /**
      * Create a new n-dimensional matrix with a specified size and dimension.
      *
@@ -60,22 +93,45 @@ final class IntMatrix implements Serializable {
         if (size < 0) {
             throw new IllegalArgumentException("size <= 0");
         }
-        this.matrix = new int[(int) Math.pow(size, dimension)];
         this.dimension = dimension;
         this.size = size;
+        final int b = Integer.SIZE - Integer.numberOfLeadingZeros(size);
+        if ((long) b * dimension < Long.SIZE) {
+            this.bits = b;
+            this.keys = new long[IntMatrix.DEFAULT_CAPACITY];
+            this.values = new int[IntMatrix.DEFAULT_CAPACITY];
+        } else {
+            this.bits = -1;
+            this.map = new HashMap<>();
+        }
+        this.count = 0;
     }
 
     /**
      * Get the integer at the specified index.
      *
      * @param index the index.
-     * @return the integer contained in the matrix at the specified index or null if no element is
+     * @return the integer contained in the matrix at the specified index or 0 if no element is
      *          at the specified index.
      * @throws ArrayIndexOutOfBoundsException if index.length != dimension and for all i 0 <=
      *                                        index[i] < size does not hold.
      */
     public final int get(final int[] index) {
-        return this.matrix[index(index)];
+        this.check(index);
+        if (this.bits < 0) {
+            final Integer value = this.map.get(IntMatrix.toList(index));
+            return value == null ? 0 : value;
+        }
+        final long key = this.pack(index);
+        final int mask = this.keys.length - 1;
+        int slot = IntMatrix.hash(key) & mask;
+        while (this.keys[slot] != 0) {
+            if (this.keys[slot] == key) {
+                return this.values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return 0;
     }
 
     /**
@@ -87,7 +143,13 @@ final class IntMatrix implements Serializable {
      *                                        index[i] < size does not hold.
      */
     public final void put(final int[] index, final int value) {
-        this.matrix[index(index)] = value;
+        this.check(index);
+        if (this.bits < 0) {
+            this.map.put(IntMatrix.toList(index), value);
+        } else {
+            final int slot = this.slot(this.pack(index));
+            this.values[slot] = value;
+        }
     }
 
     /**
@@ -98,15 +160,25 @@ final class IntMatrix implements Serializable {
      *                                        index[i] < size does not hold.
      */
     public final void increment(final int[] index) {
-        this.matrix[index(index)]++;
+        this.check(index);
+        if (this.bits < 0) {
+            this.map.merge(IntMatrix.toList(index), 1, Integer::sum);
+        } else {
+            final int slot = this.slot(this.pack(index));
+            this.values[slot]++;
+        }
     }
 
     /**
      * Set all the value of the matrix to 0.
      */
     public final void zero() {
-        for (int i = this.matrix.length - 1; i >= 0; i--) {
-            this.matrix[i] = 0;
+        if (this.bits < 0) {
+            this.map.clear();
+        } else {
+            this.keys = new long[IntMatrix.DEFAULT_CAPACITY];
+            this.values = new int[IntMatrix.DEFAULT_CAPACITY];
+            this.count = 0;
         }
     }
 
@@ -129,14 +201,13 @@ final class IntMatrix implements Serializable {
     }
 
     /**
-     * Return from the a specified index the index in the internal representation.
+     * Checks that a specified index is a valid index of the matrix.
      *
-     * @param index the index to convert.
-     * @return the index in the internal representation.
+     * @param index the index to check.
      * @throws ArrayIndexOutOfBoundsException if index.length != dimension and for all i 0 <=
      *                                        index[i] < size does not hold.
      */
-    private final int index(final int[] index) {
+    private void check(final int[] index) {
         if (index.length != this.dimension) {
             throw new ArrayIndexOutOfBoundsException();
         }
@@ -145,11 +216,94 @@ final class IntMatrix implements Serializable {
                 throw new ArrayIndexOutOfBoundsException();
             }
         }
-        // conversion E(i * t^r)
-        int acces = 0;
-        for (int i = index.length; i > 0; i--) {
-            acces += index[i - 1] * (int) Math.pow(size, (double) dimension - i);
+    }
+
+    /**
+     * Returns the packed key plus one of a specified index.
+     *
+     * @param index the index.
+     * @return the packed key plus one of the index.
+     */
+    private long pack(final int[] index) {
+        long key = 0;
+        for (int i = 0; i < index.length; i++) {
+            key = (key << this.bits) | index[i];
+        }
+        return key + 1;
+    }
+
+    /**
+     * Returns the slot of the hash table that contains a specified key. The key is added with a zero value if it
+     * is not already in the table.
+     *
+     * @param key the packed key plus one.
+     * @return the slot of the key.
+     */
+    private int slot(final long key) {
+        int mask = this.keys.length - 1;
+        int slot = IntMatrix.hash(key) & mask;
+        while (this.keys[slot] != 0) {
+            if (this.keys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        if (4 * (this.count + 1) > 3 * this.keys.length) {
+            this.resize();
+            mask = this.keys.length - 1;
+            slot = IntMatrix.hash(key) & mask;
+            while (this.keys[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+        }
+        this.keys[slot] = key;
+        this.count++;
+        return slot;
+    }
+
+    /**
+     * Doubles the capacity of the hash table.
+     */
+    private void resize() {
+        final long[] oldKeys = this.keys;
+        final int[] oldValues = this.values;
+        this.keys = new long[2 * oldKeys.length];
+        this.values = new int[2 * oldValues.length];
+        final int mask = this.keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                int slot = IntMatrix.hash(oldKeys[i]) & mask;
+                while (this.keys[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                this.keys[slot] = oldKeys[i];
+                this.values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * Returns the hash code of a specified key.
+     *
+     * @param key the key.
+     * @return the hash code of the key.
+     */
+    private static int hash(final long key) {
+        final long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * Returns the list of the coordinates of a specified index.
+     *
+     * @param index the index.
+     * @return the list of the coordinates of the index.
+     */
+    private static List<Integer> toList(final int[] index) {
+        final List<Integer> list = new ArrayList<>(index.length);
+        for (int i : index) {
+            list.add(i);
         }
-        return acces;
+        return list;
     }
 }
@@ -0,0 +1,752 @@
+/*
+ * Copyright (c) 2016 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with PDDL4J.  If not, see
+ * <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.encoding;
+
+import fr.uga.pddl4j.parser.Connective;
+import fr.uga.pddl4j.parser.Exp;
+import fr.uga.pddl4j.parser.Problem;
+import fr.uga.pddl4j.parser.RequireKey;
+import fr.uga.pddl4j.parser.Symbol;
+import fr.uga.pddl4j.parser.TypedSymbol;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * This class implements a fast reader of the planning problems of a compiled domain. The problem file is mapped in
+ * memory and tokenized directly from the mapped bytes: the objects are declared in the problem, the atoms of the
+ * initial state are encoded into integer representation as they are read, without building their expressions,
+ * and the goal is built as the parser would do. Hence, reading a problem with a large initial state is much faster
+ * and uses much less memory than parsing it:
+ * <pre>
+ * MappedProblem problem = MappedProblem.read(domain, file);
+ * if (problem != null) {
+ *     pb = Encoder.encode(domain, problem);
+ * } else {
+ *     parser.parseProblem(domain.getDomain(), file);
+ *     pb = Encoder.encode(domain, parser.getProblem());
+ * }
+ * </pre>
+ * Only the problems made of the sections <code>:requirements</code>, <code>:objects</code>, <code>:init</code>
+ * and <code>:goal</code> are read, with an initial state made of atoms and a goal made of atoms, conjunctions,
+ * disjunctions and negations. The problem is checked against the domain as the parser would do. The other problems,
+ * and the problems that are not valid, are not read and must be parsed: the parser supports the full PDDL language
+ * and reports the errors.
+ *
+ * @author D. Pellier
+ * @version 1.0 - 17.10.2026
+ * @see Encoder#encode(CompiledDomain, MappedProblem, Encoder.Grounding)
+ */
+public final class MappedProblem {
+
+    /**
+     * The requirements of the problems read. The other requirements change the syntax of the sections read.
+     */
+    private static final Set<RequireKey> REQUIREMENTS = EnumSet.of(
+        RequireKey.ADL,
+        RequireKey.STRIPS,
+        RequireKey.TYPING,
+        RequireKey.EQUALITY,
+        RequireKey.NEGATIVE_PRECONDITIONS,
+        RequireKey.DISJUNCTIVE_PRECONDITIONS,
+        RequireKey.EXISTENTIAL_PRECONDITIONS,
+        RequireKey.UNIVERSAL_PRECONDITIONS,
+        RequireKey.QUANTIFIED_PRECONDITIONS,
+        RequireKey.CONDITIONAL_EFFECTS);
+
+    /**
+     * The problem without its initial state.
+     */
+    private final Problem problem;
+
+    /**
+     * The atoms of the initial state: the predicate, the arity and the arguments of each atom.
+     */
+    private final int[] init;
+
+    /**
+     * The encoding context in which the problem was read or null if it was already released.
+     */
+    private EncodingContext context;
+
+    /**
+     * Creates a new problem.
+     *
+     * @param problem the problem without its initial state.
+     * @param init    the atoms of the initial state.
+     * @param context the encoding context in which the problem was read.
+     */
+    private MappedProblem(final Problem problem, final int[] init, final EncodingContext context) {
+        this.problem = problem;
+        this.init = init;
+        this.context = context;
+    }
+
+    /**
+     * Reads a problem of a compiled domain from a file.
+     *
+     * @param domain the compiled domain of the problem.
+     * @param file   the problem file.
+     * @return the problem or null if the problem must be parsed.
+     * @throws IOException if the file cannot be read.
+     */
+    public static MappedProblem read(final CompiledDomain domain, final File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            final long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                return null;
+            }
+            return new Reader(domain, channel.map(FileChannel.MapMode.READ_ONLY, 0, size)).read();
+        }
+    }
+
+    /**
+     * Returns the problem read without its initial state, which is already encoded.
+     *
+     * @return the problem read without its initial state.
+     */
+    public Problem getProblem() {
+        return this.problem;
+    }
+
+    /**
+     * Returns the atoms of the initial state: the predicate, the arity and the arguments of each atom.
+     *
+     * @return the atoms of the initial state.
+     */
+    int[] getInit() {
+        return this.init;
+    }
+
+    /**
+     * Releases the encoding context in which the problem was read. The constants and the domains of the types of the
+     * form (either t1 t2...) declared in the domain are already encoded in this context. The context is released only
+     * once because the encoding of the problem completes its tables.
+     *
+     * @return the encoding context or null if it was already released.
+     */
+    EncodingContext releaseContext() {
+        final EncodingContext context = this.context;
+        this.context = null;
+        return context;
+    }
+
+    /**
+     * This class implements the reader of a problem mapped in memory. Each method returns <code>false</code> or
+     * null as soon as the problem cannot be read.
+     */
+    private static final class Reader {
+
+        /**
+         * The compiled domain of the problem.
+         */
+        private final CompiledDomain domain;
+
+        /**
+         * The content of the problem file.
+         */
+        private final ByteBuffer buffer;
+
+        /**
+         * The position of the next byte to read.
+         */
+        private int position;
+
+        /**
+         * The position of the first byte of the last token read.
+         */
+        private int start;
+
+        /**
+         * The position after the last byte of the last token read.
+         */
+        private int end;
+
+        /**
+         * The problem read.
+         */
+        private Problem problem;
+
+        /**
+         * The encoding context used to encode the objects of the problem.
+         */
+        private EncodingContext context;
+
+        /**
+         * The table of the predicates.
+         */
+        private Names predicates;
+
+        /**
+         * The table of the constants and the objects.
+         */
+        private Names constants;
+
+        /**
+         * The constants of each type.
+         */
+        private BitSet[] domains;
+
+        /**
+         * The atoms of the initial state read.
+         */
+        private int[] init;
+
+        /**
+         * The number of integers of the atoms of the initial state read.
+         */
+        private int size;
+
+        /**
+         * Creates a new reader.
+         *
+         * @param domain the compiled domain of the problem.
+         * @param buffer the content of the problem file.
+         */
+        private Reader(final CompiledDomain domain, final ByteBuffer buffer) {
+            this.domain = domain;
+            this.buffer = buffer;
+            this.position = 0;
+            this.init = new int[1024];
+            this.size = 0;
+        }
+
+        /**
+         * Reads the problem.
+         *
+         * @return the problem or null if the problem must be parsed.
+         */
+        private MappedProblem read() {
+            if (!this.open() || !this.is("define") || !this.open() || !this.is("problem")) {
+                return null;
+            }
+            final Symbol name = this.symbol(Symbol.Kind.PROBLEM);
+            if (name == null || !this.close()) {
+                return null;
+            }
+            this.problem = new Problem(name);
+            if (!this.open() || !this.is(":domain")) {
+                return null;
+            }
+            final Symbol domainName = this.symbol(Symbol.Kind.DOMAIN);
+            if (domainName == null || !this.close()) {
+                return null;
+            }
+            this.problem.setDomain(domainName);
+            // The parser warns if the name of the domain does not match
+            final Symbol expected = this.domain.getDomain().getName();
+            if (expected != null && !expected.equals(domainName) || !this.open()) {
+                return null;
+            }
+            if (this.is(":requirements") && (!this.requirements() || !this.open())) {
+                return null;
+            }
+            if (this.is(":objects") && (!this.objects() || !this.open())) {
+                return null;
+            }
+            if (!this.encodeObjects() || !this.is(":init") || !this.init() || !this.open() || !this.is(":goal")) {
+                return null;
+            }
+            final Exp goal = this.goal();
+            // The constraints and the metric are left to the parser
+            if (goal == null || !this.close() || !this.close() || this.skip() != -1) {
+                return null;
+            }
+            this.problem.setGoal(goal);
+            return new MappedProblem(this.problem, Arrays.copyOf(this.init, this.size), this.context);
+        }
+
+        /**
+         * Reads the requirements of the problem.
+         *
+         * @return <code>true</code> if the requirements are read; <code>false</code> otherwise.
+         */
+        private boolean requirements() {
+            if (this.skip() == ')') {
+                return false;
+            }
+            while (this.skip() != ')') {
+                if (this.token() == 0) {
+                    return false;
+                }
+                RequireKey requirement = null;
+                for (RequireKey key : MappedProblem.REQUIREMENTS) {
+                    if (this.is(key.getImage())) {
+                        requirement = key;
+                    }
+                }
+                if (requirement == null) {
+                    return false;
+                }
+                // The requirements are expanded as the parser does
+                this.problem.addRequirement(requirement);
+                if (requirement.equals(RequireKey.ADL)) {
+                    this.problem.addRequirement(RequireKey.STRIPS);
+                    this.problem.addRequirement(RequireKey.TYPING);
+                    this.problem.addRequirement(RequireKey.NEGATIVE_PRECONDITIONS);
+                    this.problem.addRequirement(RequireKey.DISJUNCTIVE_PRECONDITIONS);
+                    this.problem.addRequirement(RequireKey.EQUALITY);
+                    this.problem.addRequirement(RequireKey.UNIVERSAL_PRECONDITIONS);
+                    this.problem.addRequirement(RequireKey.EXISTENTIAL_PRECONDITIONS);
+                    this.problem.addRequirement(RequireKey.CONDITIONAL_EFFECTS);
+                } else if (requirement.equals(RequireKey.QUANTIFIED_PRECONDITIONS)) {
+                    this.problem.addRequirement(RequireKey.UNIVERSAL_PRECONDITIONS);
+                    this.problem.addRequirement(RequireKey.EXISTENTIAL_PRECONDITIONS);
+                }
+            }
+            this.position++;
+            return true;
+        }
+
+        /**
+         * Reads the objects of the problem.
+         *
+         * @return <code>true</code> if the objects are read; <code>false</code> otherwise.
+         */
+        private boolean objects() {
+            final List<Symbol> objects = new ArrayList<>();
+            while (this.skip() != ')') {
+                if (this.token() == 0) {
+                    return false;
+                }
+                if (this.is("-")) {
+                    if (!this.isRequirement(RequireKey.TYPING)) {
+                        return false;
+                    }
+                    final Symbol type = this.symbol(Symbol.Kind.TYPE);
+                    if (type == null || !this.domain.getDomain().isDeclaredType(type)) {
+                        return false;
+                    }
+                    for (Symbol object : objects) {
+                        final TypedSymbol typedObject = new TypedSymbol(object);
+                        typedObject.addType(type);
+                        this.problem.addObject(typedObject);
+                    }
+                    objects.clear();
+                } else {
+                    final Symbol object = this.toSymbol(Symbol.Kind.CONSTANT);
+                    if (object == null) {
+                        return false;
+                    }
+                    objects.add(object);
+                }
+            }
+            this.position++;
+            for (Symbol object : objects) {
+                this.problem.addObject(new TypedSymbol(object));
+            }
+            return true;
+        }
+
+        /**
+         * Encodes the constants of the domain and the objects of the problem into the tables used to read the
+         * atoms.
+         *
+         * @return <code>true</code> if the predicates of the domain have distinct names; <code>false</code>
+         *          otherwise.
+         */
+        private boolean encodeObjects() {
+            this.context = this.domain.createContext();
+            IntEncoding.encodeConstants(this.context, this.domain.getDomain(), this.problem);
+            IntEncoding.encodeEitherDomains(this.context);
+            this.predicates = new Names(this.context.tableOfPredicates);
+            this.constants = new Names(this.context.tableOfConstants);
+            this.domains = new BitSet[this.context.tableOfDomains.size()];
+            for (int i = 0; i < this.domains.length; i++) {
+                this.domains[i] = new BitSet(this.context.tableOfConstants.size());
+                for (Integer constant : this.context.tableOfDomains.get(i)) {
+                    this.domains[i].set(constant);
+                }
+            }
+            return this.predicates.isUnique();
+        }
+
+        /**
+         * Reads the initial state of the problem.
+         *
+         * @return <code>true</code> if the initial state is read; <code>false</code> otherwise.
+         */
+        private boolean init() {
+            while (this.skip() != ')') {
+                if (this.skip() != '(') {
+                    return false;
+                }
+                this.position++;
+                final int arity = this.atom();
+                if (arity == -1) {
+                    return false;
+                }
+                this.size += arity + 2;
+            }
+            this.position++;
+            return true;
+        }
+
+        /**
+         * Reads the goal of the problem.
+         *
+         * @return the goal or null if the goal cannot be read.
+         */
+        private Exp goal() {
+            if (this.skip() != '(') {
+                return null;
+            }
+            this.position++;
+            final int mark = this.position;
+            if (this.token() == 0) {
+                return null;
+            }
+            if (this.is("and") || this.is("or") && this.isRequirement(RequireKey.DISJUNCTIVE_PRECONDITIONS)) {
+                final Exp exp = new Exp(this.is("and") ? Connective.AND : Connective.OR);
+                while (this.skip() != ')') {
+                    final Exp child = this.goal();
+                    if (child == null) {
+                        return null;
+                    }
+                    exp.addChild(child);
+                }
+                this.position++;
+                return exp;
+            } else if (this.is("not") && this.isRequirement(RequireKey.NEGATIVE_PRECONDITIONS)) {
+                final Exp child = this.goal();
+                if (child == null || !this.close()) {
+                    return null;
+                }
+                final Exp exp = new Exp(Connective.NOT);
+                exp.addChild(child);
+                return exp;
+            }
+            this.position = mark;
+            final int arity = this.atom();
+            if (arity == -1) {
+                return null;
+            }
+            final List<Symbol> atom = new ArrayList<>(arity + 1);
+            atom.add(new Symbol(Symbol.Kind.PREDICATE, this.context.tableOfPredicates.get(this.init[this.size])));
+            for (int i = 0; i < arity; i++) {
+                final String constant = this.context.tableOfConstants.get(this.init[this.size + 2 + i]);
+                atom.add(new Symbol(Symbol.Kind.CONSTANT, constant));
+            }
+            final Exp exp = new Exp(Connective.ATOM);
+            exp.setAtom(atom);
+            return exp;
+        }
+
+        /**
+         * Reads an atom after its opening bracket and encodes it after the atoms of the initial state already read.
+         * The arguments of the atom must be constants or objects of the types of the arguments of its predicate.
+         *
+         * @return the arity of the atom or -1 if the atom cannot be read.
+         */
+        private int atom() {
+            if (this.token() == 0) {
+                return -1;
+            }
+            final int predicate = this.predicates.indexOf(this.buffer, this.start, this.end);
+            if (predicate == -1) {
+                return -1;
+            }
+            final List<Integer> signature = this.context.tableOfTypedPredicates.get(predicate);
+            final int arity = signature.size();
+            if (this.size + arity + 2 > this.init.length) {
+                this.init = Arrays.copyOf(this.init, Math.max(2 * this.init.length, this.size + arity + 2));
+            }
+            this.init[this.size] = predicate;
+            this.init[this.size + 1] = arity;
+            int i = 0;
+            while (this.skip() != ')') {
+                if (i == arity || this.token() == 0) {
+                    return -1;
+                }
+                final int constant = this.constants.indexOf(this.buffer, this.start, this.end);
+                if (constant == -1 || !this.domains[signature.get(i)].get(constant)) {
+                    return -1;
+                }
+                this.init[this.size + 2 + i] = constant;
+                i++;
+            }
+            this.position++;
+            return i == arity ? arity : -1;
+        }
+
+        /**
+         * Returns <code>true</code> if the domain or the problem has a specified requirement.
+         *
+         * @param requirement the requirement.
+         * @return <code>true</code> if the domain or the problem has the requirement; <code>false</code> otherwise.
+         */
+        private boolean isRequirement(final RequireKey requirement) {
+            return this.domain.getDomain().getRequirements().contains(requirement)
+                || this.problem.getRequirements().contains(requirement);
+        }
+
+        /**
+         * Reads an opening bracket and the token that follows.
+         *
+         * @return <code>true</code> if an opening bracket followed by a token is read; <code>false</code> otherwise.
+         */
+        private boolean open() {
+            if (this.skip() != '(') {
+                return false;
+            }
+            this.position++;
+            return this.token() > 0;
+        }
+
+        /**
+         * Reads a closing bracket.
+         *
+         * @return <code>true</code> if a closing bracket is read; <code>false</code> otherwise.
+         */
+        private boolean close() {
+            if (this.skip() != ')') {
+                return false;
+            }
+            this.position++;
+            return true;
+        }
+
+        /**
+         * Skips the white spaces and the comments.
+         *
+         * @return the next byte to read or -1 if the end of the file is reached.
+         */
+        private int skip() {
+            final int limit = this.buffer.limit();
+            while (this.position < limit) {
+                final byte b = this.buffer.get(this.position);
+                if (b == ';') {
+                    while (this.position < limit && this.buffer.get(this.position) != '\n') {
+                        this.position++;
+                    }
+                } else if (b == ' ' || b == '\t' || b == '\n' || b == '\r' || b == '\f') {
+                    this.position++;
+                } else {
+                    return b;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Reads the next token, i.e., the bytes up to the next bracket, white space or comment.
+         *
+         * @return the length of the token.
+         */
+        private int token() {
+            this.skip();
+            final int limit = this.buffer.limit();
+            this.start = this.position;
+            while (this.position < limit) {
+                final byte b = this.buffer.get(this.position);
+                if (b == '(' || b == ')' || b == ';' || b == ' ' || b == '\t' || b == '\n' || b == '\r'
+                    || b == '\f') {
+                    break;
+                }
+                this.position++;
+            }
+            this.end = this.position;
+            return this.end - this.start;
+        }
+
+        /**
+         * Returns <code>true</code> if the last token read is a specified keyword. The case is ignored.
+         *
+         * @param keyword the keyword in lower case.
+         * @return <code>true</code> if the last token read is the keyword; <code>false</code> otherwise.
+         */
+        private boolean is(final String keyword) {
+            if (this.end - this.start != keyword.length()) {
+                return false;
+            }
+            for (int i = 0; i < keyword.length(); i++) {
+                if (Names.lower(this.buffer.get(this.start + i)) != keyword.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Reads the next token as a symbol.
+         *
+         * @param kind the kind of the symbol.
+         * @return the symbol or null if the token is not a symbol.
+         */
+        private Symbol symbol(final Symbol.Kind kind) {
+            return this.token() == 0 ? null : this.toSymbol(kind);
+        }
+
+        /**
+         * Returns the last token read as a symbol. A symbol starts with a letter and contains only letters, digits,
+         * dashes and underscores.
+         *
+         * @param kind the kind of the symbol.
+         * @return the symbol or null if the token is not a symbol.
+         */
+        private Symbol toSymbol(final Symbol.Kind kind) {
+            final byte[] image = new byte[this.end - this.start];
+            for (int i = 0; i < image.length; i++) {
+                final byte b = Names.lower(this.buffer.get(this.start + i));
+                final boolean letter = b >= 'a' && b <= 'z' || b == '_';
+                if (!letter && (i == 0 || b != '-' && (b < '0' || b > '9'))) {
+                    return null;
+                }
+                image[i] = b;
+            }
+            return new Symbol(kind, new String(image, StandardCharsets.US_ASCII));
+        }
+    }
+
+    /**
+     * This class implements a table of names looked up from the bytes of a buffer without decoding them. The names
+     * are stored in an open addressing hash table.
+     */
+    private static final class Names {
+
+        /**
+         * The names of each slot of the hash table.
+         */
+        private final byte[][] names;
+
+        /**
+         * The id of the name of each slot of the hash table or -1 if the slot is empty.
+         */
+        private final int[] ids;
+
+        /**
+         * The flag used to indicate if the names are distinct.
+         */
+        private boolean unique;
+
+        /**
+         * Creates a new table of names. The id of a name is its index in the list.
+         *
+         * @param symbols the list of names in lower case.
+         */
+        private Names(final List<String> symbols) {
+            int capacity = 2;
+            while (capacity < 2 * symbols.size()) {
+                capacity <<= 1;
+            }
+            this.names = new byte[capacity][];
+            this.ids = new int[capacity];
+            Arrays.fill(this.ids, -1);
+            this.unique = true;
+            for (int i = 0; i < symbols.size(); i++) {
+                final byte[] name = symbols.get(i).getBytes(StandardCharsets.US_ASCII);
+                final ByteBuffer key = ByteBuffer.wrap(name);
+                int slot = Names.hash(key, 0, name.length) & (capacity - 1);
+                while (this.ids[slot] != -1 && !Names.equals(this.names[slot], key, 0, name.length)) {
+                    slot = (slot + 1) & (capacity - 1);
+                }
+                if (this.ids[slot] == -1) {
+                    this.names[slot] = name;
+                    this.ids[slot] = i;
+                } else {
+                    this.unique = false;
+                }
+            }
+        }
+
+        /**
+         * Returns <code>true</code> if the names of the table are distinct.
+         *
+         * @return <code>true</code> if the names of the table are distinct; <code>false</code> otherwise.
+         */
+        private boolean isUnique() {
+            return this.unique;
+        }
+
+        /**
+         * Returns the id of the name made of the bytes of a buffer between two positions. The case is ignored.
+         *
+         * @param buffer the buffer.
+         * @param start  the position of the first byte of the name.
+         * @param end    the position after the last byte of the name.
+         * @return the id of the name or -1 if the name is not in the table.
+         */
+        private int indexOf(final ByteBuffer buffer, final int start, final int end) {
+            int slot = Names.hash(buffer, start, end) & (this.ids.length - 1);
+            while (this.ids[slot] != -1) {
+                if (Names.equals(this.names[slot], buffer, start, end)) {
+                    return this.ids[slot];
+                }
+                slot = (slot + 1) & (this.ids.length - 1);
+            }
+            return -1;
+        }
+
+        /**
+         * Returns the hash code of the bytes of a buffer between two positions. The case is ignored.
+         *
+         * @param buffer the buffer.
+         * @param start  the position of the first byte.
+         * @param end    the position after the last byte.
+         * @return the hash code of the bytes.
+         */
+        private static int hash(final ByteBuffer buffer, final int start, final int end) {
+            int h = 0;
+            for (int i = start; i < end; i++) {
+                h = 31 * h + Names.lower(buffer.get(i));
+            }
+            h *= 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+
+        /**
+         * Returns <code>true</code> if a name is equal to the bytes of a buffer between two positions. The case is
+         * ignored.
+         *
+         * @param name   the name in lower case.
+         * @param buffer the buffer.
+         * @param start  the position of the first byte.
+         * @param end    the position after the last byte.
+         * @return <code>true</code> if the name is equal to the bytes; <code>false</code> otherwise.
+         */
+        private static boolean equals(final byte[] name, final ByteBuffer buffer, final int start, final int end) {
+            if (name.length != end - start) {
+                return false;
+            }
+            for (int i = 0; i < name.length; i++) {
+                if (name[i] != Names.lower(buffer.get(start + i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Returns the lower case of an ASCII letter or the byte itself.
+         *
+         * @param b the byte.
+         * @return the lower case of the byte.
+         */
+        private static byte lower(final byte b) {
+            return b >= 'A' && b <= 'Z' ? (byte) (b + ('a' - 'A')) : b;
+        }
+    }
+}
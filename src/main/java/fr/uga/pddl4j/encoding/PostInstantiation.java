@@ -78,19 +78,21 @@ final class PostInstantiation implements Serializable {
      * <li>2. it is not an initial fact and not a positive ground inertia.</li>
      * </ul>
      *
+     * @param context the encoding context.
      * @param operators the list of operators.
      * @param init      the initial state.
      */
-    static void extractRelevantFacts(final List<IntOp> operators, final Set<IntExp> init) {
+    static void extractRelevantFacts(final EncodingContext context, final List<IntOp> operators,
+                                     final Set<IntExp> init) {
         final Set<IntExp> relevants = new LinkedHashSet<>(10000);
         for (IntOp op : operators) {
-            PostInstantiation.extractRelevantFacts(op.getPreconditions(), relevants, init);
-            PostInstantiation.extractRelevantFacts(op.getEffects(), relevants, init);
+            PostInstantiation.extractRelevantFacts(context, op.getPreconditions(), relevants, init);
+            PostInstantiation.extractRelevantFacts(context, op.getEffects(), relevants, init);
         }
-        Encoder.tableOfRelevantFacts = new ArrayList<>(relevants.size());
+        context.tableOfRelevantFacts = new ArrayList<>(relevants.size());
         for (IntExp exp : relevants) {
             final IntExp relevant = new IntExp(exp);
-            Encoder.tableOfRelevantFacts.add(relevant);
+            context.tableOfRelevantFacts.add(relevant);
         }
     }
 
@@ -102,11 +104,13 @@ final class PostInstantiation implements Serializable {
      * <li>2. it is not an initial fact and not a positive ground inertia.</li>
      * </ul>
      *
+     * @param context the encoding context.
      * @param exp       the expression.
      * @param relevants the set of relevant facts.
      * @param init      the initial state.
      */
-    private static void extractRelevantFacts(final IntExp exp, final Set<IntExp> relevants,
+    private static void extractRelevantFacts(final EncodingContext context, final IntExp exp,
+                                             final Set<IntExp> relevants,
                                              final Set<IntExp> init) {
         switch (exp.getConnective()) {
             case ATOM:
@@ -119,7 +123,7 @@ final class PostInstantiation implements Serializable {
             case AND:
             case OR:
                 for (IntExp e : exp.getChildren()) {
-                    PostInstantiation.extractRelevantFacts(e, relevants, init);
+                    PostInstantiation.extractRelevantFacts(context, e, relevants, init);
                 }
                 break;
             case FORALL:
@@ -132,7 +136,7 @@ final class PostInstantiation implements Serializable {
             case SOMETIME:
             case AT_MOST_ONCE:
             case NOT:
-                PostInstantiation.extractRelevantFacts(exp.getChildren().get(0), relevants, init);
+                PostInstantiation.extractRelevantFacts(context, exp.getChildren().get(0), relevants, init);
                 break;
             case WHEN:
             case LESS:
@@ -154,19 +158,19 @@ final class PostInstantiation implements Serializable {
             case SOMETIME_BEFORE:
             case WITHIN:
             case HOLD_AFTER:
-                PostInstantiation.extractRelevantFacts(exp.getChildren().get(0), relevants, init);
-                PostInstantiation.extractRelevantFacts(exp.getChildren().get(1), relevants, init);
+                PostInstantiation.extractRelevantFacts(context, exp.getChildren().get(0), relevants, init);
+                PostInstantiation.extractRelevantFacts(context, exp.getChildren().get(1), relevants, init);
                 break;
             case F_EXP_T:
                 if (!exp.getChildren().isEmpty()) {
-                    PostInstantiation.extractRelevantFacts(exp.getChildren().get(0), relevants, init);
+                    PostInstantiation.extractRelevantFacts(context, exp.getChildren().get(0), relevants, init);
                 }
                 break;
             case ALWAYS_WITHIN:
             case HOLD_DURING:
-                PostInstantiation.extractRelevantFacts(exp.getChildren().get(0), relevants, init);
-                PostInstantiation.extractRelevantFacts(exp.getChildren().get(1), relevants, init);
-                PostInstantiation.extractRelevantFacts(exp.getChildren().get(3), relevants, init);
+                PostInstantiation.extractRelevantFacts(context, exp.getChildren().get(0), relevants, init);
+                PostInstantiation.extractRelevantFacts(context, exp.getChildren().get(1), relevants, init);
+                PostInstantiation.extractRelevantFacts(context, exp.getChildren().get(3), relevants, init);
                 break;
             case FN_ATOM:
             case NUMBER:
@@ -461,18 +465,20 @@ final class PostInstantiation implements Serializable {
      * Do a pass over the effects of all the instantiated operators and update the ground inertia
      * table. Then, simplify the operators according to the extracted ground inertia.
      *
+     * @param context the encoding context.
      * @param operators the list of operators to simplified.
      * @param init      the initial state.
      */
-    static void simplyOperatorsWithGroundInertia(final List<IntOp> operators, final Set<IntExp> init) {
+    static void simplyOperatorsWithGroundInertia(final EncodingContext context, final List<IntOp> operators,
+                                                 final Set<IntExp> init) {
 
         // Then for each instantiated operator try to simplify it.
         final List<IntOp> tmpOps = new ArrayList<>(operators.size());
         for (IntOp op : operators) {
-            PostInstantiation.simplifyWithGroundInertia(op.getPreconditions(), false, init);
+            PostInstantiation.simplifyWithGroundInertia(context, op.getPreconditions(), false, init);
             PostInstantiation.simplify(op.getPreconditions());
             if (!op.getPreconditions().getConnective().equals(Connective.FALSE)) {
-                PostInstantiation.simplifyWithGroundInertia(op.getEffects(), true, init);
+                PostInstantiation.simplifyWithGroundInertia(context, op.getEffects(), true, init);
                 PostInstantiation.simplify(op.getEffects());
                 if (!op.getEffects().getConnective().equals(Connective.FALSE)
                     && !op.getEffects().getConnective().equals(Connective.TRUE)) {
@@ -487,11 +493,13 @@ final class PostInstantiation implements Serializable {
     /**
      * Simplify a specified goal expression based on the ground inertia information.
      *
+     * @param context the encoding context.
      * @param goal the expression to simply.
      * @param init the initial state.
      */
-    static void simplifyGoalWithGroundInertia(final IntExp goal, final Set<IntExp> init) {
-        PostInstantiation.simplifyWithGroundInertia(goal, false, init);
+    static void simplifyGoalWithGroundInertia(final EncodingContext context, final IntExp goal,
+                                              final Set<IntExp> init) {
+        PostInstantiation.simplifyWithGroundInertia(context, goal, false, init);
         PostInstantiation.simplify(goal);
     }
 
@@ -515,15 +523,16 @@ final class PostInstantiation implements Serializable {
      * truth value during the planning process. They are therefore relevant to the representation of
      * the planning problem.
      *
+     * @param context the encoding context.
      * @param exp    the expression to simply.
      * @param effect a boolean to indicate if the expression is an effect or a precondition.
      * @param init   the initial state.
      */
-    private static void simplifyWithGroundInertia(final IntExp exp, final boolean effect,
+    private static void simplifyWithGroundInertia(final EncodingContext context, final IntExp exp, final boolean effect,
                                                   final Set<IntExp> init) {
         switch (exp.getConnective()) {
             case ATOM:
-                Inertia inertia = Encoder.tableOfGroundInertia.get(exp);
+                Inertia inertia = context.tableOfGroundInertia.get(exp);
                 if (inertia == null) {
                     inertia = Inertia.INERTIA;
                 }
@@ -547,7 +556,7 @@ final class PostInstantiation implements Serializable {
                 Iterator<IntExp> i = exp.getChildren().iterator();
                 while (i.hasNext() && exp.getConnective().equals(Connective.AND)) {
                     final IntExp ei = i.next();
-                    PostInstantiation.simplifyWithGroundInertia(ei, effect, init);
+                    PostInstantiation.simplifyWithGroundInertia(context, ei, effect, init);
                     // If a child expression is FALSE, the whole conjunction becomes FALSE.
                     if (ei.getConnective().equals(Connective.FALSE)) {
                         exp.setConnective(Connective.FALSE);
@@ -564,7 +573,7 @@ final class PostInstantiation implements Serializable {
                 i = exp.getChildren().iterator();
                 while (i.hasNext() && exp.getConnective().equals(Connective.OR)) {
                     final IntExp ei = i.next();
-                    PostInstantiation.simplifyWithGroundInertia(ei, effect, init);
+                    PostInstantiation.simplifyWithGroundInertia(context, ei, effect, init);
                     // If a child expression is TRUE, the whole disjunction is TRUE.
                     if (ei.getConnective().equals(Connective.TRUE)) {
                         exp.setConnective(Connective.TRUE);
@@ -586,11 +595,11 @@ final class PostInstantiation implements Serializable {
             case OVER_ALL:
             case SOMETIME:
             case AT_MOST_ONCE:
-                PostInstantiation.simplifyWithGroundInertia(exp.getChildren().get(0), effect, init);
+                PostInstantiation.simplifyWithGroundInertia(context, exp.getChildren().get(0), effect, init);
                 break;
             case NOT:
                 final IntExp neg = exp.getChildren().get(0);
-                PostInstantiation.simplifyWithGroundInertia(neg, effect, init);
+                PostInstantiation.simplifyWithGroundInertia(context, neg, effect, init);
                 if (!effect) {
                     if (neg.getConnective().equals(Connective.TRUE)) {
                         exp.setConnective(Connective.FALSE);
@@ -600,8 +609,8 @@ final class PostInstantiation implements Serializable {
                 }
                 break;
             case WHEN:
-                PostInstantiation.simplifyWithGroundInertia(exp.getChildren().get(0), false, init);
-                PostInstantiation.simplifyWithGroundInertia(exp.getChildren().get(1), true, init);
+                PostInstantiation.simplifyWithGroundInertia(context, exp.getChildren().get(0), false, init);
+                PostInstantiation.simplifyWithGroundInertia(context, exp.getChildren().get(1), true, init);
                 break;
             case LESS:
             case LESS_OR_EQUAL:
@@ -622,19 +631,19 @@ final class PostInstantiation implements Serializable {
             case SOMETIME_BEFORE:
             case WITHIN:
             case HOLD_AFTER:
-                PostInstantiation.simplifyWithGroundInertia(exp.getChildren().get(0), effect, init);
-                PostInstantiation.simplifyWithGroundInertia(exp.getChildren().get(1), effect, init);
+                PostInstantiation.simplifyWithGroundInertia(context, exp.getChildren().get(0), effect, init);
+                PostInstantiation.simplifyWithGroundInertia(context, exp.getChildren().get(1), effect, init);
                 break;
             case F_EXP_T:
                 if (!exp.getChildren().isEmpty()) {
-                    PostInstantiation.simplifyWithGroundInertia(exp.getChildren().get(0), effect, init);
+                    PostInstantiation.simplifyWithGroundInertia(context, exp.getChildren().get(0), effect, init);
                 }
                 break;
             case ALWAYS_WITHIN:
             case HOLD_DURING:
-                PostInstantiation.simplifyWithGroundInertia(exp.getChildren().get(0), effect, init);
-                PostInstantiation.simplifyWithGroundInertia(exp.getChildren().get(1), effect, init);
-                PostInstantiation.simplifyWithGroundInertia(exp.getChildren().get(3), effect, init);
+                PostInstantiation.simplifyWithGroundInertia(context, exp.getChildren().get(0), effect, init);
+                PostInstantiation.simplifyWithGroundInertia(context, exp.getChildren().get(1), effect, init);
+                PostInstantiation.simplifyWithGroundInertia(context, exp.getChildren().get(3), effect, init);
                 break;
             case FN_ATOM:
             case NUMBER:
@@ -655,13 +664,14 @@ final class PostInstantiation implements Serializable {
      * Do a pass over the effects of a specified list of instantiated operator and update the ground
      * inertia table.
      *
+     * @param context the encoding context.
      * @param operators the list of instantiated operators.
      */
-    static void extractGroundInertia(final List<IntOp> operators) {
-        Encoder.tableOfGroundInertia = new LinkedHashMap<>(
+    static void extractGroundInertia(final EncodingContext context, final List<IntOp> operators) {
+        context.tableOfGroundInertia = new LinkedHashMap<>(
             Constants.DEFAULT_RELEVANT_FACTS_TABLE);
         for (IntOp op : operators) {
-            PostInstantiation.extractGroundInertia(op.getEffects());
+            PostInstantiation.extractGroundInertia(context, op.getEffects());
         }
 
     }
@@ -669,21 +679,22 @@ final class PostInstantiation implements Serializable {
     /**
      * Do a pass over the effects of an instantiated operator and update the ground inertia table.
      *
+     * @param context the encoding context.
      * @param exp the effect.
      */
-    private static void extractGroundInertia(final IntExp exp) {
+    private static void extractGroundInertia(final EncodingContext context, final IntExp exp) {
         switch (exp.getConnective()) {
             case ATOM:
-                Inertia inertia = Encoder.tableOfGroundInertia.get(exp);
+                Inertia inertia = context.tableOfGroundInertia.get(exp);
                 if (inertia == null) {
                     inertia = Inertia.INERTIA;
                 }
                 switch (inertia) {
                     case INERTIA:
-                        Encoder.tableOfGroundInertia.put(exp, Inertia.NEGATIVE);
+                        context.tableOfGroundInertia.put(exp, Inertia.NEGATIVE);
                         break;
                     case POSITIVE:
-                        Encoder.tableOfGroundInertia.put(exp, Inertia.FLUENT);
+                        context.tableOfGroundInertia.put(exp, Inertia.FLUENT);
                         break;
                     default:
                         // do nothing
@@ -691,30 +702,30 @@ final class PostInstantiation implements Serializable {
                 break;
             case AND:
             case OR:
-                exp.getChildren().forEach(PostInstantiation::extractGroundInertia);
+                exp.getChildren().forEach(e -> PostInstantiation.extractGroundInertia(context, e));
                 break;
             case FORALL:
             case EXISTS:
             case AT_START:
             case AT_END:
-                PostInstantiation.extractGroundInertia(exp.getChildren().get(0));
+                PostInstantiation.extractGroundInertia(context, exp.getChildren().get(0));
                 break;
             case WHEN:
-                PostInstantiation.extractGroundInertia(exp.getChildren().get(1));
+                PostInstantiation.extractGroundInertia(context, exp.getChildren().get(1));
                 break;
             case NOT:
                 final IntExp neg = exp.getChildren().get(0);
                 if (neg.getConnective().equals(Connective.ATOM)) {
-                    inertia = Encoder.tableOfGroundInertia.get(neg);
+                    inertia = context.tableOfGroundInertia.get(neg);
                     if (inertia == null) {
                         inertia = Inertia.INERTIA;
                     }
                     switch (inertia) {
                         case INERTIA:
-                            Encoder.tableOfGroundInertia.put(neg, Inertia.POSITIVE);
+                            context.tableOfGroundInertia.put(neg, Inertia.POSITIVE);
                             break;
                         case NEGATIVE:
-                            Encoder.tableOfGroundInertia.put(neg, Inertia.FLUENT);
+                            context.tableOfGroundInertia.put(neg, Inertia.FLUENT);
                             break;
                         default:
                             // do nothing
@@ -90,16 +90,17 @@ final class PreInstantiation implements Serializable {
      * be move inward the expression.
      * </p>
      *
+     * @param context the encoding context.
      * @param operators the list of operators to simplified.
      */
-    static void extractInertia(final List<IntOp> operators) {
-        final int nbPredicates = Encoder.tableOfPredicates.size();
-        Encoder.tableOfInertia = new ArrayList<>(nbPredicates);
+    static void extractInertia(final EncodingContext context, final List<IntOp> operators) {
+        final int nbPredicates = context.tableOfPredicates.size();
+        context.tableOfInertia = new ArrayList<>(nbPredicates);
         for (int i = 0; i < nbPredicates; i++) {
-            Encoder.tableOfInertia.add(Inertia.INERTIA);
+            context.tableOfInertia.add(Inertia.INERTIA);
         }
         for (final IntOp op : operators) {
-            PreInstantiation.extract(op.getEffects());
+            PreInstantiation.extract(context, op.getEffects());
         }
 
     }
@@ -107,18 +108,19 @@ final class PreInstantiation implements Serializable {
     /**
      * Do a pass over the effects of an operator and update the inertia table.
      *
+     * @param context the encoding context.
      * @param exp the effect.
      */
-    private static void extract(final IntExp exp) {
+    private static void extract(final EncodingContext context, final IntExp exp) {
         switch (exp.getConnective()) {
             case ATOM:
                 int predicate = exp.getPredicate();
-                switch (Encoder.tableOfInertia.get(predicate)) {
+                switch (context.tableOfInertia.get(predicate)) {
                     case INERTIA:
-                        Encoder.tableOfInertia.set(predicate, Inertia.NEGATIVE);
+                        context.tableOfInertia.set(predicate, Inertia.NEGATIVE);
                         break;
                     case POSITIVE:
-                        Encoder.tableOfInertia.set(predicate, Inertia.FLUENT);
+                        context.tableOfInertia.set(predicate, Inertia.FLUENT);
                         break;
                     default:
                         // do nothing
@@ -126,27 +128,27 @@ final class PreInstantiation implements Serializable {
                 break;
             case AND:
             case OR:
-                exp.getChildren().forEach(PreInstantiation::extract);
+                exp.getChildren().forEach(e -> PreInstantiation.extract(context, e));
                 break;
             case FORALL:
             case EXISTS:
             case AT_START:
             case AT_END:
-                PreInstantiation.extract(exp.getChildren().get(0));
+                PreInstantiation.extract(context, exp.getChildren().get(0));
                 break;
             case WHEN:
-                PreInstantiation.extract(exp.getChildren().get(1));
+                PreInstantiation.extract(context, exp.getChildren().get(1));
                 break;
             case NOT:
                 final IntExp neg = exp.getChildren().get(0);
                 if (neg.getConnective().equals(Connective.ATOM)) {
                     predicate = neg.getPredicate();
-                    switch (Encoder.tableOfInertia.get(predicate)) {
+                    switch (context.tableOfInertia.get(predicate)) {
                         case INERTIA:
-                            Encoder.tableOfInertia.set(predicate, Inertia.POSITIVE);
+                            context.tableOfInertia.set(predicate, Inertia.POSITIVE);
                             break;
                         case NEGATIVE:
-                            Encoder.tableOfInertia.set(predicate, Inertia.FLUENT);
+                            context.tableOfInertia.set(predicate, Inertia.FLUENT);
                             break;
                         default:
                             // do nothing
@@ -199,13 +201,14 @@ final class PreInstantiation implements Serializable {
     /**
      * Infer type from unary inertia.
      *
+     * @param context the encoding context.
      * @param init the initial state.
      */
-    static void inferTypesFromInertia(final Set<IntExp> init) {
-        Encoder.tableOfInferredDomains = new ArrayList<>(Encoder.tableOfPredicates.size());
-        for (int i = 0; i < Encoder.tableOfPredicates.size(); i++) {
-            if (Encoder.tableOfTypedPredicates.get(i).size() == 1
-                && Encoder.tableOfInertia.get(i).equals(Inertia.INERTIA)) {
+    static void inferTypesFromInertia(final EncodingContext context, final Set<IntExp> init) {
+        context.tableOfInferredDomains = new ArrayList<>(context.tableOfPredicates.size());
+        for (int i = 0; i < context.tableOfPredicates.size(); i++) {
+            if (context.tableOfTypedPredicates.get(i).size() == 1
+                && context.tableOfInertia.get(i).equals(Inertia.INERTIA)) {
                 final Set<Integer> newTypeDomain = new LinkedHashSet<>();
                 for (IntExp fact : init) {
                     if (fact.getConnective().equals(Connective.NOT)) {
@@ -215,9 +218,9 @@ final class PreInstantiation implements Serializable {
                         newTypeDomain.add(fact.getArguments()[0]);
                     }
                 }
-                Encoder.tableOfInferredDomains.add(newTypeDomain);
+                context.tableOfInferredDomains.add(newTypeDomain);
             } else {
-                Encoder.tableOfInferredDomains.add(null);
+                context.tableOfInferredDomains.add(null);
             }
         }
     }
@@ -225,13 +228,14 @@ final class PreInstantiation implements Serializable {
     /**
      * This method creates the predicates predicatesTables used to simplify atomic expression.
      *
+     * @param context the encoding context.
      * @param init the initial state.
      */
-    static void createPredicatesTables(final Set<IntExp> init) {
-        final int tableSize = Encoder.tableOfConstants.size();
-        final int nbPredicate = Encoder.tableOfPredicates.size();
-        Encoder.predicatesTables = new ArrayList<>(nbPredicate);
-        for (final List<Integer> arguments : Encoder.tableOfTypedPredicates) {
+    static void createPredicatesTables(final EncodingContext context, final Set<IntExp> init) {
+        final int tableSize = context.tableOfConstants.size();
+        final int nbPredicate = context.tableOfPredicates.size();
+        context.predicatesTables = new ArrayList<>(nbPredicate);
+        for (final List<Integer> arguments : context.tableOfTypedPredicates) {
             final int arity = arguments.size();
             final int nbTables = (int) Math.pow(2, arity);
             final List<IntMatrix> pTables = new ArrayList<>(nbTables);
@@ -239,15 +243,15 @@ final class PreInstantiation implements Serializable {
                 final int dimension = Integer.bitCount(j);
                 pTables.add(new IntMatrix(tableSize, dimension));
             }
-            Encoder.predicatesTables.add(pTables);
+            context.predicatesTables.add(pTables);
         }
 
         for (IntExp fact : init) {
             if (fact.getConnective().equals(Connective.NOT)) {
                 fact = fact.getChildren().get(0);
             }
-            final int arity = Encoder.tableOfTypedPredicates.get(fact.getPredicate()).size();
-            final List<IntMatrix> pTables = Encoder.predicatesTables.get(fact.getPredicate());
+            final int arity = context.tableOfTypedPredicates.get(fact.getPredicate()).size();
+            final List<IntMatrix> pTables = context.predicatesTables.get(fact.getPredicate());
             final int[] set = new int[arity];
             final int[] args = fact.getArguments();
             for (final IntMatrix intMatrix : pTables) {
@@ -308,16 +312,17 @@ final class PreInstantiation implements Serializable {
     /**
      * Print the predicates tables.
      *
-     * @param tables predicates tables.
+     * @param context the encoding context.
+     * @param tables  predicates tables.
      */
-    void printPredicatesTables(final List<List<IntMatrix>> tables) {
+    void printPredicatesTables(final EncodingContext context, final List<List<IntMatrix>> tables) {
         LOGGER.trace("tables of predicates:");
         for (int predicate = 0; predicate < tables.size(); predicate++) {
             final List<IntMatrix> pTables = tables.get(predicate);
-            final int arity = Encoder.tableOfTypedPredicates.get(predicate).size();
+            final int arity = context.tableOfTypedPredicates.get(predicate).size();
             final int[] mask = new int[arity];
             for (int i = 0; i < pTables.size(); i++) {
-                this.print(predicate, arity, mask, new int[0], tables);
+                this.print(context, predicate, arity, mask, new int[0], tables);
                 PreInstantiation.incrementMask(mask);
             }
         }
@@ -326,18 +331,19 @@ final class PreInstantiation implements Serializable {
     /**
      * Print a specified predicate table.
      *
+     * @param context   the encoding context.
      * @param predicate the predicate.
      * @param arity     the arity of the predicate.
      * @param mask      the mask that indicate where the constants are.
      * @param index     the index in construction.
      * @param tables    the predicates tables.
      */
-    private void print(final int predicate, final int arity, final int[] mask, final int[] index,
-                       final List<List<IntMatrix>> tables) {
+    private void print(final EncodingContext context, final int predicate, final int arity, final int[] mask,
+                       final int[] index, final List<List<IntMatrix>> tables) {
         if (index.length == arity) {
             final StringBuilder str = new StringBuilder();
             str.append("(");
-            str.append(Encoder.tableOfPredicates.get(predicate));
+            str.append(context.tableOfPredicates.get(predicate));
             int var = 0;
             int realIndexSize = 0;
             for (int anIndex : index) {
@@ -346,7 +352,7 @@ final class PreInstantiation implements Serializable {
                     var++;
                 } else {
                     realIndexSize++;
-                    str.append(" ").append(Encoder.tableOfConstants.get(anIndex));
+                    str.append(" ").append(context.tableOfConstants.get(anIndex));
                 }
             }
             str.append(")");
@@ -367,13 +373,13 @@ final class PreInstantiation implements Serializable {
             final int[] newIndex = new int[index.length + 1];
             System.arraycopy(index, 0, newIndex, 0, index.length);
             newIndex[index.length] = -1;
-            this.print(predicate, arity, mask, newIndex, tables);
+            this.print(context, predicate, arity, mask, newIndex, tables);
         } else {
-            for (int i = 0; i < Encoder.tableOfConstants.size(); i++) {
+            for (int i = 0; i < context.tableOfConstants.size(); i++) {
                 final int[] newIndex = new int[index.length + 1];
                 System.arraycopy(index, 0, newIndex, 0, index.length);
                 newIndex[index.length] = i;
-                this.print(predicate, arity, mask, newIndex, tables);
+                this.print(context, predicate, arity, mask, newIndex, tables);
             }
         }
     }
@@ -381,20 +387,21 @@ final class PreInstantiation implements Serializable {
     /**
      * .
      *
+     * @param context the encoding context.
      * @return the list of simplified operators.
      */
-    static List<IntOp> simplifyOperatorsWithInferedTypes(final List<IntOp> operators) {
+    static List<IntOp> simplifyOperatorsWithInferedTypes(final EncodingContext context, final List<IntOp> operators) {
         final List<IntOp> ops = new LinkedList<>();
         for (final IntOp op : operators) {
-            ops.addAll(PreInstantiation.simplifyOperatorsWithInferedTypes(op));
+            ops.addAll(PreInstantiation.simplifyOperatorsWithInferedTypes(context, op));
         }
         return ops;
     }
 
-    private static List<IntOp> simplifyOperatorsWithInferedTypes(final IntOp op) {
+    private static List<IntOp> simplifyOperatorsWithInferedTypes(final EncodingContext context, final IntOp op) {
         final List<IntExp> unaryInertia = new ArrayList<>();
-        unaryInertia.addAll(PreInstantiation.collectUnaryInertia(op.getPreconditions()));
-        unaryInertia.addAll(PreInstantiation.collectUnaryInertia(op.getEffects()));
+        unaryInertia.addAll(PreInstantiation.collectUnaryInertia(context, op.getPreconditions()));
+        unaryInertia.addAll(PreInstantiation.collectUnaryInertia(context, op.getEffects()));
 
         List<IntOp> operators = new LinkedList<>();
         operators.add(op);
@@ -413,28 +420,28 @@ final class PreInstantiation implements Serializable {
                     final int dtIndex = op.getTypeOfParameters(index);
 
                     // Compute the
-                    final String declaredType = Encoder.tableOfTypes.get(dtIndex);
+                    final String declaredType = context.tableOfTypes.get(dtIndex);
                     final int itIndex = inertia.getPredicate();
-                    final String inertiaType = Encoder.tableOfPredicates.get(itIndex);
+                    final String inertiaType = context.tableOfPredicates.get(itIndex);
 
                     final String sti = declaredType + "^" + inertiaType;
-                    int ti = Encoder.tableOfTypes.indexOf(sti);
+                    int ti = context.tableOfTypes.indexOf(sti);
                     if (ti == -1) {
-                        ti = Encoder.tableOfTypes.size();
-                        Encoder.tableOfTypes.add(sti);
-                        final Set<Integer> dt1 = new LinkedHashSet<>(Encoder.tableOfDomains.get(dtIndex));
-                        dt1.retainAll(Encoder.tableOfInferredDomains.get(itIndex));
-                        Encoder.tableOfDomains.add(dt1);
+                        ti = context.tableOfTypes.size();
+                        context.tableOfTypes.add(sti);
+                        final Set<Integer> dt1 = new LinkedHashSet<>(context.tableOfDomains.get(dtIndex));
+                        dt1.retainAll(context.tableOfInferredDomains.get(itIndex));
+                        context.tableOfDomains.add(dt1);
                     }
 
                     final String sts = declaredType + "\\" + inertiaType;
-                    int ts = Encoder.tableOfTypes.indexOf(sts);
+                    int ts = context.tableOfTypes.indexOf(sts);
                     if (ts == -1) {
-                        ts = Encoder.tableOfTypes.size();
-                        Encoder.tableOfTypes.add(sts);
-                        final Set<Integer> dt2 = new LinkedHashSet<>(Encoder.tableOfDomains.get(dtIndex));
-                        dt2.removeAll(Encoder.tableOfInferredDomains.get(itIndex));
-                        Encoder.tableOfDomains.add(dt2);
+                        ts = context.tableOfTypes.size();
+                        context.tableOfTypes.add(sts);
+                        final Set<Integer> dt2 = new LinkedHashSet<>(context.tableOfDomains.get(dtIndex));
+                        dt2.removeAll(context.tableOfInferredDomains.get(itIndex));
+                        context.tableOfDomains.add(dt2);
                     }
 
 
@@ -586,27 +593,28 @@ final class PreInstantiation implements Serializable {
     /**
      * Collect all unary inertia from a specified expression.
      *
+     * @param context the encoding context.
      * @param exp the expression.
      * @return the list of unary inertia expression collected.
      */
-    private static List<IntExp> collectUnaryInertia(final IntExp exp) {
+    private static List<IntExp> collectUnaryInertia(final EncodingContext context, final IntExp exp) {
         final List<IntExp> unaryInertia = new ArrayList<>();
         switch (exp.getConnective()) {
             case ATOM:
-                if (Encoder.tableOfInferredDomains.get(exp.getPredicate()) != null) {
+                if (context.tableOfInferredDomains.get(exp.getPredicate()) != null) {
                     unaryInertia.add(exp);
                 }
                 break;
             case AND:
             case OR:
                 for (final IntExp ei : exp.getChildren()) {
-                    unaryInertia.addAll(PreInstantiation.collectUnaryInertia(ei));
+                    unaryInertia.addAll(PreInstantiation.collectUnaryInertia(context, ei));
                 }
                 break;
             case FORALL:
             case EXISTS:
                 final IntExp qExp = exp.getChildren().get(0);
-                unaryInertia.addAll(PreInstantiation.collectUnaryInertia(qExp));
+                unaryInertia.addAll(PreInstantiation.collectUnaryInertia(context, qExp));
                 break;
             case AT_START:
             case AT_END:
@@ -620,13 +628,13 @@ final class PreInstantiation implements Serializable {
             case WITHIN:
             case HOLD_AFTER:
             case WHEN:
-                unaryInertia.addAll(PreInstantiation.collectUnaryInertia(exp.getChildren().get(0)));
+                unaryInertia.addAll(PreInstantiation.collectUnaryInertia(context, exp.getChildren().get(0)));
                 break;
             case ALWAYS_WITHIN:
             case HOLD_DURING:
-                unaryInertia.addAll(PreInstantiation.collectUnaryInertia(exp.getChildren().get(0)));
-                unaryInertia.addAll(PreInstantiation.collectUnaryInertia(exp.getChildren().get(1)));
-                unaryInertia.addAll(PreInstantiation.collectUnaryInertia(exp.getChildren().get(3)));
+                unaryInertia.addAll(PreInstantiation.collectUnaryInertia(context, exp.getChildren().get(0)));
+                unaryInertia.addAll(PreInstantiation.collectUnaryInertia(context, exp.getChildren().get(1)));
+                unaryInertia.addAll(PreInstantiation.collectUnaryInertia(context, exp.getChildren().get(3)));
                 break;
             case EQUAL_ATOM:
             case FN_HEAD:
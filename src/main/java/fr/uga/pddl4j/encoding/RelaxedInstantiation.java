@@ -0,0 +1,465 @@
+/*
+ * Copyright (c) 2010 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with PDDL4J.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.encoding;
+
+import fr.uga.pddl4j.parser.Connective;
+import fr.uga.pddl4j.util.IntExp;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * This class contains the methods needed to instantiate the operators by relaxed reachability analysis. Rather than
+ * enumerating all the type-consistent instantiations of an operator, the operators are instantiated from the facts
+ * reachable from the initial state when the delete effects and the negative preconditions are ignored. The reachable
+ * facts are computed by a fixpoint: each time a new fact is reached, the positive atomic preconditions of the
+ * operators that unify with the fact are joined with the facts already reached. The parameters that do not appear
+ * in a positive atomic precondition are enumerated over their domain. The operators produced are exactly the
+ * reachable operators that the full instantiation would have produced, in the same order.
+ *
+ * @author D. Pellier
+ * @version 1.0 - 17.10.2026
+ */
+final class RelaxedInstantiation {
+
+    /**
+     * The encoding context.
+     */
+    private final EncodingContext context;
+
+    /**
+     * The operators to instantiate.
+     */
+    private final List<IntOp> operators;
+
+    /**
+     * The positive atomic preconditions of the operators.
+     */
+    private final List<List<IntExp>> preconditions;
+
+    /**
+     * The preconditions that unify with the facts of each predicate: the index of the operator and the index of the
+     * precondition.
+     */
+    private final List<List<int[]>> triggers;
+
+    /**
+     * The arguments of the reached facts of each predicate.
+     */
+    private final List<List<int[]>> facts;
+
+    /**
+     * The set of reached facts.
+     */
+    private final Set<IntExp> reached;
+
+    /**
+     * The queue of the reached facts not yet propagated.
+     */
+    private final Deque<IntExp> queue;
+
+    /**
+     * The instantiations of each operator already tried.
+     */
+    private final List<Set<List<Integer>>> tried;
+
+    /**
+     * The instantiated operators with their values.
+     */
+    private final List<Instance> instances;
+
+    /**
+     * Creates a new relaxed instantiation.
+     *
+     * @param context   the encoding context.
+     * @param operators the operators to instantiate.
+     */
+    private RelaxedInstantiation(final EncodingContext context, final List<IntOp> operators) {
+        this.context = context;
+        this.operators = operators;
+        final int nbPredicates = context.tableOfPredicates.size();
+        this.triggers = new ArrayList<>(nbPredicates);
+        this.facts = new ArrayList<>(nbPredicates);
+        for (int i = 0; i < nbPredicates; i++) {
+            this.triggers.add(new ArrayList<>());
+            this.facts.add(new ArrayList<>());
+        }
+        this.preconditions = new ArrayList<>(operators.size());
+        this.tried = new ArrayList<>(operators.size());
+        for (int i = 0; i < operators.size(); i++) {
+            final IntOp op = operators.get(i);
+            final List<IntExp> atoms = new ArrayList<>();
+            RelaxedInstantiation.collectPositiveAtoms(op.getPreconditions(), op.getArity(), atoms);
+            for (int j = 0; j < atoms.size(); j++) {
+                this.triggers.get(atoms.get(j).getPredicate()).add(new int[] {i, j});
+            }
+            this.preconditions.add(atoms);
+            this.tried.add(new HashSet<>());
+        }
+        this.reached = new HashSet<>();
+        this.queue = new ArrayDeque<>();
+        this.instances = new ArrayList<>();
+    }
+
+    /**
+     * Instantiates a specified list of operators by relaxed reachability analysis from a specified initial state.
+     *
+     * @param context   the encoding context.
+     * @param operators the list of operators to instantiate.
+     * @param init      the initial state.
+     * @return the list of the reachable instantiated operators.
+     */
+    static List<IntOp> instantiateOperators(final EncodingContext context, final List<IntOp> operators,
+                                            final Set<IntExp> init) {
+        final List<IntOp> lifted = new ArrayList<>(operators.size());
+        for (IntOp op : operators) {
+            // If an operator has a parameter with a empty domain the operator must be removed
+            boolean toInstantiate = true;
+            int i = 0;
+            while (i < op.getArity() && toInstantiate) {
+                toInstantiate = !context.tableOfDomains.get(op.getTypeOfParameters(i)).isEmpty();
+                i++;
+            }
+            if (toInstantiate && Instantiation.expandAndSimplify(context, op)) {
+                lifted.add(op);
+            }
+        }
+        final RelaxedInstantiation instantiation = new RelaxedInstantiation(context, lifted);
+        instantiation.computeFixpoint(init);
+        return instantiation.getOperators();
+    }
+
+    /**
+     * Computes the fixpoint of the relaxed reachability analysis.
+     *
+     * @param init the initial state.
+     */
+    private void computeFixpoint(final Set<IntExp> init) {
+        for (IntExp fact : init) {
+            if (fact.getConnective().equals(Connective.ATOM)) {
+                this.reach(fact);
+            }
+        }
+        // The operators without positive atomic preconditions are instantiated once
+        for (int i = 0; i < this.operators.size(); i++) {
+            if (this.preconditions.get(i).isEmpty()) {
+                final int[] values = new int[this.operators.get(i).getArity()];
+                Arrays.fill(values, -1);
+                this.join(i, 0, -1, values);
+            }
+        }
+        while (!this.queue.isEmpty()) {
+            final IntExp fact = this.queue.poll();
+            for (int[] trigger : this.triggers.get(fact.getPredicate())) {
+                final int[] values = new int[this.operators.get(trigger[0]).getArity()];
+                Arrays.fill(values, -1);
+                final IntExp atom = this.preconditions.get(trigger[0]).get(trigger[1]);
+                if (this.unify(trigger[0], atom, fact.getArguments(), values)) {
+                    this.join(trigger[0], 0, trigger[1], values);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the instantiated operators sorted in the order of the full instantiation, i.e., by operator and then
+     * by the position of the values of the parameters in their domain.
+     *
+     * @return the instantiated operators.
+     */
+    private List<IntOp> getOperators() {
+        final Map<Integer, Map<Integer, Integer>> ranks = new HashMap<>();
+        for (Instance instance : this.instances) {
+            final IntOp op = this.operators.get(instance.operator);
+            instance.ranks = new int[instance.values.length];
+            for (int i = 0; i < instance.values.length; i++) {
+                final int type = op.getTypeOfParameters(i);
+                Map<Integer, Integer> rank = ranks.get(type);
+                if (rank == null) {
+                    rank = new HashMap<>();
+                    for (Integer value : this.context.tableOfDomains.get(type)) {
+                        rank.put(value, rank.size());
+                    }
+                    ranks.put(type, rank);
+                }
+                instance.ranks[i] = rank.get(instance.values[i]);
+            }
+        }
+        Collections.sort(this.instances, (i1, i2) -> {
+            int cmp = Integer.compare(i1.operator, i2.operator);
+            for (int i = 0; cmp == 0 && i < i1.ranks.length; i++) {
+                cmp = Integer.compare(i1.ranks[i], i2.ranks[i]);
+            }
+            return cmp;
+        });
+        final List<IntOp> instOps = new ArrayList<>(this.instances.size());
+        for (Instance instance : this.instances) {
+            instOps.add(instance.op);
+        }
+        return instOps;
+    }
+
+    /**
+     * Joins the positive atomic preconditions of an operator with the reached facts from a specified precondition.
+     *
+     * @param operator the index of the operator.
+     * @param index    the index of the precondition to join.
+     * @param skip     the index of the precondition already unified or -1.
+     * @param values   the values of the parameters already bound or -1.
+     */
+    private void join(final int operator, final int index, final int skip, final int[] values) {
+        final List<IntExp> atoms = this.preconditions.get(operator);
+        if (index == atoms.size()) {
+            this.enumerate(operator, 0, values);
+        } else if (index == skip) {
+            this.join(operator, index + 1, skip, values);
+        } else {
+            final IntExp atom = atoms.get(index);
+            // The facts reached during the join are joined when they are propagated
+            final List<int[]> candidates = this.facts.get(atom.getPredicate());
+            final int size = candidates.size();
+            for (int i = 0; i < size; i++) {
+                final int[] copy = Arrays.copyOf(values, values.length);
+                if (this.unify(operator, atom, candidates.get(i), copy)) {
+                    this.join(operator, index + 1, skip, copy);
+                }
+            }
+        }
+    }
+
+    /**
+     * Enumerates the values of the parameters of an operator not bound by its positive atomic preconditions.
+     *
+     * @param operator the index of the operator.
+     * @param index    the index of the parameter to enumerate.
+     * @param values   the values of the parameters already bound or -1.
+     */
+    private void enumerate(final int operator, final int index, final int[] values) {
+        if (index == values.length) {
+            this.instantiate(operator, values);
+        } else if (values[index] >= 0) {
+            this.enumerate(operator, index + 1, values);
+        } else {
+            final IntOp op = this.operators.get(operator);
+            for (Integer value : this.context.tableOfDomains.get(op.getTypeOfParameters(index))) {
+                if (!RelaxedInstantiation.contains(values, value)) {
+                    values[index] = value;
+                    this.enumerate(operator, index + 1, values);
+                }
+            }
+            values[index] = -1;
+        }
+    }
+
+    /**
+     * Instantiates an operator with specified values and propagates its positive effects if the operator was not
+     * already instantiated with these values.
+     *
+     * @param operator the index of the operator.
+     * @param values   the values of the parameters.
+     */
+    private void instantiate(final int operator, final int[] values) {
+        final List<Integer> key = new ArrayList<>(values.length);
+        for (int value : values) {
+            key.add(value);
+        }
+        if (this.tried.get(operator).add(key)) {
+            final IntOp op = Instantiation.instantiate(this.context, this.operators.get(operator), values);
+            if (op != null) {
+                this.instances.add(new Instance(operator, Arrays.copyOf(values, values.length), op));
+                final List<IntExp> effects = new ArrayList<>();
+                RelaxedInstantiation.collectPositiveEffects(op.getEffects(), effects);
+                for (IntExp effect : effects) {
+                    this.reach(effect);
+                }
+            }
+        }
+    }
+
+    /**
+     * Unifies an atomic precondition of an operator with the arguments of a fact. The values of the parameters are
+     * updated with the bindings of the unification.
+     *
+     * @param operator the index of the operator.
+     * @param atom     the atomic precondition.
+     * @param args     the arguments of the fact.
+     * @param values   the values of the parameters already bound or -1.
+     * @return <code>true</code> if the precondition unifies with the fact; <code>false</code> otherwise.
+     */
+    private boolean unify(final int operator, final IntExp atom, final int[] args, final int[] values) {
+        final int[] params = atom.getArguments();
+        for (int i = 0; i < params.length; i++) {
+            if (params[i] >= 0) {
+                if (params[i] != args[i]) {
+                    return false;
+                }
+            } else {
+                final int var = -params[i] - 1;
+                if (values[var] == -1) {
+                    final int type = this.operators.get(operator).getTypeOfParameters(var);
+                    if (RelaxedInstantiation.contains(values, args[i])
+                        || !this.context.tableOfDomains.get(type).contains(args[i])) {
+                        return false;
+                    }
+                    values[var] = args[i];
+                } else if (values[var] != args[i]) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Adds a fact to the reached facts if it was not already reached.
+     *
+     * @param fact the fact.
+     */
+    private void reach(final IntExp fact) {
+        if (!this.reached.contains(fact)) {
+            final IntExp copy = new IntExp(fact);
+            this.reached.add(copy);
+            this.facts.get(copy.getPredicate()).add(copy.getArguments());
+            this.queue.add(copy);
+        }
+    }
+
+    /**
+     * Collects the positive atomic expressions of a conjunctive precondition whose arguments are constants or
+     * parameters of the operator.
+     *
+     * @param exp   the precondition.
+     * @param arity the arity of the operator.
+     * @param atoms the list of atomic expressions collected.
+     */
+    private static void collectPositiveAtoms(final IntExp exp, final int arity, final List<IntExp> atoms) {
+        switch (exp.getConnective()) {
+            case ATOM:
+                if (exp.getPredicate() < 0) {
+                    return;
+                }
+                for (int arg : exp.getArguments()) {
+                    if (arg < -arity) {
+                        return;
+                    }
+                }
+                atoms.add(exp);
+                break;
+            case AND:
+                for (IntExp ei : exp.getChildren()) {
+                    RelaxedInstantiation.collectPositiveAtoms(ei, arity, atoms);
+                }
+                break;
+            default:
+                // do nothing
+        }
+    }
+
+    /**
+     * Collects the positive atomic effects of an instantiated operator. The conditions of the conditional effects
+     * are ignored.
+     *
+     * @param exp     the effect.
+     * @param effects the list of positive atomic effects collected.
+     */
+    private static void collectPositiveEffects(final IntExp exp, final List<IntExp> effects) {
+        switch (exp.getConnective()) {
+            case ATOM:
+                effects.add(exp);
+                break;
+            case AND:
+                for (IntExp ei : exp.getChildren()) {
+                    RelaxedInstantiation.collectPositiveEffects(ei, effects);
+                }
+                break;
+            case WHEN:
+                RelaxedInstantiation.collectPositiveEffects(exp.getChildren().get(1), effects);
+                break;
+            case FORALL:
+                RelaxedInstantiation.collectPositiveEffects(exp.getChildren().get(0), effects);
+                break;
+            default:
+                // do nothing
+        }
+    }
+
+    /**
+     * Returns <code>true</code> if an array contains a specified value.
+     *
+     * @param values the array.
+     * @param value  the value.
+     * @return <code>true</code> if the array contains the value; <code>false</code> otherwise.
+     */
+    private static boolean contains(final int[] values, final int value) {
+        for (int v : values) {
+            if (v == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * This class represents an instantiated operator with the values of its parameters.
+     */
+    private static final class Instance {
+
+        /**
+         * The index of the operator.
+         */
+        private final int operator;
+
+        /**
+         * The values of the parameters of the operator.
+         */
+        private final int[] values;
+
+        /**
+         * The instantiated operator.
+         */
+        private final IntOp op;
+
+        /**
+         * The positions of the values of the parameters in their domain.
+         */
+        private int[] ranks;
+
+        /**
+         * Creates a new instance.
+         *
+         * @param operator the index of the operator.
+         * @param values   the values of the parameters of the operator.
+         * @param op       the instantiated operator.
+         */
+        private Instance(final int operator, final int[] values, final IntOp op) {
+            this.operator = operator;
+            this.values = values;
+            this.op = op;
+        }
+    }
+}
@@ -22,6 +22,7 @@ package fr.uga.pddl4j.heuristics.relaxation;
 import fr.uga.pddl4j.encoding.CodedProblem;
 import fr.uga.pddl4j.util.BitExp;
 import fr.uga.pddl4j.util.BitOp;
+import fr.uga.pddl4j.util.BitVector;
 import fr.uga.pddl4j.util.IntExp;
 
 import java.util.List;
@@ -80,6 +81,55 @@ public abstract class AbstractHeuristic implements Heuristic {
         return this.isAdmissible;
     }
 
+    /**
+     * Returns the number of bytes used by the heuristic. The value is computed from the size of the arrays
+     * allocated by the heuristic. The facts, the operators and the goal shared with the problem are not counted.
+     *
+     * @return the number of bytes used by the heuristic.
+     */
+    @Override
+    public long getMemoryUsed() {
+        return 0;
+    }
+
+    /**
+     * Returns the number of bytes used by the elements of an array of arrays of integers.
+     *
+     * @param arrays the array of arrays.
+     * @return the number of bytes used by the elements of the arrays.
+     */
+    protected static long sizeOf(final int[][] arrays) {
+        long bytes = (long) arrays.length * Long.BYTES;
+        for (int[] array : arrays) {
+            bytes += array == null ? 0 : (long) array.length * Integer.BYTES;
+        }
+        return bytes;
+    }
+
+    /**
+     * Returns the number of bytes used by the elements of an array of arrays of longs.
+     *
+     * @param arrays the array of arrays.
+     * @return the number of bytes used by the elements of the arrays.
+     */
+    protected static long sizeOf(final long[][] arrays) {
+        long bytes = (long) arrays.length * Long.BYTES;
+        for (long[] array : arrays) {
+            bytes += array == null ? 0 : (long) array.length * Long.BYTES;
+        }
+        return bytes;
+    }
+
+    /**
+     * Returns the number of bytes used by the words of a bit vector.
+     *
+     * @param vector the bit vector or <code>null</code>.
+     * @return the number of bytes used by the words of the bit vector.
+     */
+    protected static long sizeOf(final BitVector vector) {
+        return vector == null ? 0 : vector.size() / Byte.SIZE;
+    }
+
     /**
      * Marks the heuristic as admissible or not.
      *
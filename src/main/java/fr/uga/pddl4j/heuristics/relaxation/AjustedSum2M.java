@@ -20,8 +20,6 @@
 package fr.uga.pddl4j.heuristics.relaxation;
 
 import fr.uga.pddl4j.encoding.CodedProblem;
-import fr.uga.pddl4j.util.BitExp;
-import fr.uga.pddl4j.util.BitState;
 
 /**
  * This class implement the adjusted sum 2M heuristic. This heuristic improves the adjusted sum 2
@@ -48,19 +46,13 @@ import fr.uga.pddl4j.util.BitState;
  * @see FastForward
  * @see Sum
  */
-public final class AjustedSum2M extends RelaxedGraphHeuristic {
+public final class AjustedSum2M extends CompositeHeuristic {
 
     /**
      * The serial version id of the class.
      */
     private static final long serialVersionUID = 1L;
 
-    /**
-     * The set level heuristic used to compute the delta function, i.e., the interaction degree
-     * among propositions of the goal.
-     */
-    private SetLevel delta;
-
     /**
      * Creates a new <code>AJUSTED_SUM2M</code> heuristic for a specified planning problem.
      *
@@ -70,28 +62,17 @@ public final class AjustedSum2M extends RelaxedGraphHeuristic {
     public AjustedSum2M(CodedProblem problem) {
         super(problem);
         super.setAdmissible(false);
-        this.delta = new SetLevel(problem);
     }
 
     /**
-     * Return the estimated distance to the goal to reach the specified state. If the return value is
-     * <code>Integer.MAX_VALUE</code>, it means that the goal is unreachable from the specified
-     * state.
+     * Returns the relaxed plan value plus the difference between the set level value and the max
+     * value of the relaxed planning graph.
      *
-     * @param state the state from which the distance to the goal must be estimated.
-     * @param goal  the goal expression.
-     * @return the distance to the goal state from the specified state.
+     * @return the estimated distance to the goal.
      */
     @Override
-    public int estimate(final BitState state, final BitExp goal) {
-        super.setGoal(goal);
-        // First, we expand the relaxed planing graph to compute the relaxed plan value heuristic
-        super.expandRelaxedPlanningGraph(state);
-        // Second, we expand the relaxed planning graph with mutex to compute the set level heuristic
-        this.delta.expandPlanningGraph(state);
-        // If the goal was not reached, it means that the goal is unreachable
-        return super.isGoalReachable() ? super.getRelaxedPlanValue()
-            + (this.delta.estimate(state, goal) - super.getMaxValue()) : Integer.MAX_VALUE;
+    protected int combine() {
+        return super.getRelaxedPlanValue() + (super.getSetLevelValue() - super.getMaxValue());
     }
 
 }
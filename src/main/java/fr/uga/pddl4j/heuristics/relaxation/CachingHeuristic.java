@@ -0,0 +1,270 @@
+/*
+ * Copyright (c) 2016 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with PDDL4J.  If not, see
+ * <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.heuristics.relaxation;
+
+import fr.uga.pddl4j.util.BitExp;
+import fr.uga.pddl4j.util.BitState;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * This class implements a decorator caching the values of an heuristic. The values are stored in a fixed-size open
+ * addressing table keyed by the 64-bit hash value of the states, i.e., their fingerprint. A state is looked for in
+ * a window of <code>WAYS</code> consecutive slots starting at the slot given by its fingerprint. When the window is
+ * full, a slot is evicted with the clock algorithm: each slot has a reference bit set when the slot is read or
+ * written and the first slot of the window whose bit is not set is evicted, the bits of the slots passed being
+ * cleared. The cache is cleared when the goal changes.
+ * <p>
+ * Two different states with the same fingerprint share the same entry. With 64-bit fingerprints, this collision is
+ * very unlikely for the number of states explored by a search.
+ * </p>
+ *
+ * @author D. Pellier
+ * @version 1.0 - 17.10.2026
+ */
+public final class CachingHeuristic implements Heuristic {
+
+    /**
+     * The default capacity of the cache.
+     */
+    public static final int DEFAULT_CAPACITY = 1 << 16;
+
+    /**
+     * The number of slots where a state can be stored.
+     */
+    public static final int WAYS = 8;
+
+    /**
+     * The maximum capacity of the cache.
+     */
+    public static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    /**
+     * The serial version id of the class.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The flag of the used slots.
+     */
+    private static final byte USED = 1;
+
+    /**
+     * The flag of the slots referenced since the last pass of the clock.
+     */
+    private static final byte REFERENCED = 2;
+
+    /**
+     * The heuristic cached.
+     */
+    private final Heuristic heuristic;
+
+    /**
+     * The fingerprints of the states stored in the slots.
+     */
+    private final long[] keys;
+
+    /**
+     * The heuristic values of the states stored in the slots.
+     */
+    private final int[] values;
+
+    /**
+     * The flags of the slots.
+     */
+    private final byte[] flags;
+
+    /**
+     * A copy of the goal of the values stored.
+     */
+    private BitExp goal;
+
+    /**
+     * The number of estimations found in the cache.
+     */
+    private long hits;
+
+    /**
+     * The number of estimations computed by the heuristic cached.
+     */
+    private long misses;
+
+    /**
+     * Creates a new cache for an heuristic.
+     *
+     * @param heuristic the heuristic to cache.
+     * @param capacity  the number of values stored in the cache. The capacity is rounded up to a power of two
+     *                  greater than or equal to <code>WAYS</code>.
+     * @throws NullPointerException     if <code>heuristic == null</code>.
+     * @throws IllegalArgumentException if <code>capacity &#60;= 0</code> or
+     *                                  <code>capacity &#62; MAXIMUM_CAPACITY</code>.
+     */
+    public CachingHeuristic(final Heuristic heuristic, final int capacity) {
+        this.heuristic = Objects.requireNonNull(heuristic);
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity " + capacity + " is not positive");
+        }
+        if (capacity > CachingHeuristic.MAXIMUM_CAPACITY) {
+            throw new IllegalArgumentException("capacity " + capacity + " is greater than "
+                + CachingHeuristic.MAXIMUM_CAPACITY);
+        }
+        int size = CachingHeuristic.WAYS;
+        while (size < capacity) {
+            size <<= 1;
+        }
+        this.keys = new long[size];
+        this.values = new int[size];
+        this.flags = new byte[size];
+        this.goal = null;
+        this.hits = 0;
+        this.misses = 0;
+    }
+
+    /**
+     * Return the estimated distance to the goal to reach the specified state. The value is looked for in the cache
+     * before being computed by the heuristic cached.
+     *
+     * @param state the state from which the distance to the goal must be estimated.
+     * @param goal  the goal expression.
+     * @return the distance to the goal state from the specified state.
+     */
+    @Override
+    public int estimate(final BitState state, final BitExp goal) {
+        if (!goal.equals(this.goal)) {
+            this.clear();
+            this.goal = new BitExp(goal);
+        }
+        final long key = state.longHashCode();
+        final int mask = this.keys.length - 1;
+        final int first = CachingHeuristic.hash(key) & mask;
+        int free = -1;
+        for (int i = 0; i < CachingHeuristic.WAYS; i++) {
+            final int slot = (first + i) & mask;
+            if ((this.flags[slot] & CachingHeuristic.USED) == 0) {
+                if (free == -1) {
+                    free = slot;
+                }
+            } else if (this.keys[slot] == key) {
+                this.flags[slot] |= CachingHeuristic.REFERENCED;
+                this.hits++;
+                return this.values[slot];
+            }
+        }
+        this.misses++;
+        final int value = this.heuristic.estimate(state, goal);
+        final int slot = free != -1 ? free : this.evict(first);
+        this.keys[slot] = key;
+        this.values[slot] = value;
+        this.flags[slot] = CachingHeuristic.USED | CachingHeuristic.REFERENCED;
+        return value;
+    }
+
+    /**
+     * Returns the slot to evict in a full window with the clock algorithm.
+     *
+     * @param first the first slot of the window.
+     * @return the slot to evict.
+     */
+    private int evict(final int first) {
+        final int mask = this.keys.length - 1;
+        for (int i = 0; i < CachingHeuristic.WAYS; i++) {
+            final int slot = (first + i) & mask;
+            if ((this.flags[slot] & CachingHeuristic.REFERENCED) == 0) {
+                return slot;
+            }
+            this.flags[slot] &= ~CachingHeuristic.REFERENCED;
+        }
+        // All the slots were referenced: their bits are now cleared and the first slot is evicted
+        return first;
+    }
+
+    /**
+     * Removes all the values of the cache.
+     */
+    public void clear() {
+        Arrays.fill(this.flags, (byte) 0);
+    }
+
+    /**
+     * Returns <code>true</code> if the heuristic cached is admissible.
+     *
+     * @return <code>true</code> if the heuristic cached is admissible; <code>false</code> otherwise.
+     */
+    @Override
+    public boolean isAdmissible() {
+        return this.heuristic.isAdmissible();
+    }
+
+    /**
+     * Returns the number of bytes used by the cache and by the heuristic cached. The heuristic cached is not
+     * counted if its memory is unknown.
+     *
+     * @return the number of bytes used by the cache and by the heuristic cached.
+     */
+    @Override
+    public long getMemoryUsed() {
+        return (long) this.keys.length * (Long.BYTES + Integer.BYTES + Byte.BYTES)
+            + Math.max(this.heuristic.getMemoryUsed(), 0);
+    }
+
+    /**
+     * Returns the heuristic cached.
+     *
+     * @return the heuristic cached.
+     */
+    public Heuristic getHeuristic() {
+        return this.heuristic;
+    }
+
+    /**
+     * Returns the capacity of the cache.
+     *
+     * @return the capacity of the cache.
+     */
+    public int getCapacity() {
+        return this.keys.length;
+    }
+
+    /**
+     * Returns the number of estimations found in the cache.
+     *
+     * @return the number of estimations found in the cache.
+     */
+    public long getHits() {
+        return this.hits;
+    }
+
+    /**
+     * Returns the number of estimations computed by the heuristic cached.
+     *
+     * @return the number of estimations computed by the heuristic cached.
+     */
+    public long getMisses() {
+        return this.misses;
+    }
+
+    /**
+     * Returns the hash code of a fingerprint.
+     *
+     * @param key the fingerprint.
+     * @return the hash code of the fingerprint.
+     */
+    private static int hash(final long key) {
+        final long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
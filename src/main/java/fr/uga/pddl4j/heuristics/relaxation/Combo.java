@@ -20,8 +20,6 @@
 package fr.uga.pddl4j.heuristics.relaxation;
 
 import fr.uga.pddl4j.encoding.CodedProblem;
-import fr.uga.pddl4j.util.BitExp;
-import fr.uga.pddl4j.util.BitState;
 
 /**
  * This class implement the combo heuristic. This heuristic improves the adjusted sum
@@ -43,19 +41,13 @@ import fr.uga.pddl4j.util.BitState;
  * @see Sum
  * @see SetLevel
  */
-public final class Combo extends RelaxedGraphHeuristic {
+public final class Combo extends CompositeHeuristic {
 
     /**
      * The serial version id of the class.
      */
     private static final long serialVersionUID = 1L;
 
-    /**
-     * The set level heuristic used to compute the delta function, i.e., the interaction degree
-     * among propositions of the goal.
-     */
-    private SetLevel delta;
-
     /**
      * Creates a new <code>COMBO</code> heuristic for a specified planning problem.
      *
@@ -64,27 +56,17 @@ public final class Combo extends RelaxedGraphHeuristic {
      */
     public Combo(CodedProblem problem) {
         super(problem);
-        this.delta = new SetLevel(problem);
         super.setAdmissible(false);
     }
 
     /**
-     * Return the estimated distance to the goal to reach the specified state. If the return value is
-     * <code>Integer.MAX_VALUE</code>, it means that the goal is unreachable from the specified
-     * state.
+     * Returns the sum value of the relaxed planning graph plus the set level value.
      *
-     * @param state the state from which the distance to the goal must be estimated.
-     * @param goal  the goal expression.
-     * @return the distance to the goal state from the specified state.
+     * @return the estimated distance to the goal.
      */
     @Override
-    public int estimate(final BitState state, final BitExp goal) {
-        super.setGoal(goal);
-        // First, we expand the relaxed planing graph to compute the sum heuristic
-        super.expandRelaxedPlanningGraph(state);
-        // Second, we expand the relaxed planning graph with mutex to compute the set level heuristic
-        this.delta.expandPlanningGraph(state);
-        return super.isGoalReachable() ? this.getSumValue() + this.delta.estimate(state, goal) : Integer.MAX_VALUE;
+    protected int combine() {
+        return super.getSumValue() + super.getSetLevelValue();
     }
 
 }
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2016 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with PDDL4J.  If not, see
+ * <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.heuristics.relaxation;
+
+import fr.uga.pddl4j.encoding.CodedProblem;
+import fr.uga.pddl4j.util.BitExp;
+import fr.uga.pddl4j.util.BitState;
+
+/**
+ * This abstract class implements the heuristics combining several values computed on the planning graphs of a
+ * state. The relaxed planning graph of the state is expanded once per estimation and the values of the graph are
+ * computed on demand, at most once: the sum, the max and the relaxed plan values, the level of the graph and the
+ * set-level value, for which the planning graph with mutual exclusions is expanded the first time it is needed.
+ * A new combination is defined by implementing the method <code>combine()</code> with the values needed, e.g.:
+ * <pre>
+ * protected int combine() {
+ *     return Math.max(this.getRelaxedPlanValue(), this.getSetLevelValue());
+ * }
+ * </pre>
+ * If the goal is unreachable in the relaxed planning graph, the estimation is <code>Integer.MAX_VALUE</code> and
+ * the values are not combined.
+ *
+ * @author D. Pellier
+ * @version 1.0 - 17.10.2026
+ * @see Combo
+ * @see AjustedSum2M
+ */
+public abstract class CompositeHeuristic extends RelaxedGraphHeuristic {
+
+    /**
+     * The serial version id of the class.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The problem used to create the set level heuristic on demand.
+     */
+    private final CodedProblem problem;
+
+    /**
+     * The set level heuristic used to expand the planning graph with mutual exclusions.
+     */
+    private SetLevel setLevel;
+
+    /**
+     * The state currently estimated.
+     */
+    private BitState state;
+
+    /**
+     * The level of the relaxed planning graph of the state currently estimated.
+     */
+    private int level;
+
+    /**
+     * The set level value of the state currently estimated or -1 if it is not computed.
+     */
+    private int setLevelValue;
+
+    /**
+     * Creates a new composite heuristic for a specified planning problem.
+     *
+     * @param problem the planning problem.
+     * @throws NullPointerException if <code>problem == null</code>.
+     */
+    protected CompositeHeuristic(final CodedProblem problem) {
+        super(problem);
+        this.problem = problem;
+    }
+
+    /**
+     * Return the estimated distance to the goal to reach the specified state. If the return value is
+     * <code>Integer.MAX_VALUE</code>, it means that the goal is unreachable from the specified
+     * state.
+     *
+     * @param state the state from which the distance to the goal must be estimated.
+     * @param goal  the goal expression.
+     * @return the distance to the goal state from the specified state.
+     */
+    @Override
+    public final int estimate(final BitState state, final BitExp goal) {
+        super.setGoal(goal);
+        this.level = super.expandRelaxedPlanningGraph(state);
+        if (!super.isGoalReachable()) {
+            return Integer.MAX_VALUE;
+        }
+        this.state = state;
+        this.setLevelValue = -1;
+        try {
+            return this.combine();
+        } finally {
+            this.state = null;
+        }
+    }
+
+    /**
+     * Returns the number of bytes used by the heuristic, including the planning graph with mutual exclusions if
+     * it was expanded.
+     *
+     * @return the number of bytes used by the heuristic.
+     */
+    @Override
+    public long getMemoryUsed() {
+        return super.getMemoryUsed() + (this.setLevel == null ? 0 : this.setLevel.getMemoryUsed());
+    }
+
+    /**
+     * Combines the values of the planning graphs of the state currently estimated.
+     *
+     * @return the estimated distance to the goal.
+     */
+    protected abstract int combine();
+
+    /**
+     * Returns the level of the relaxed planning graph of the state currently estimated.
+     *
+     * @return the level of the relaxed planning graph.
+     */
+    protected final int getLevel() {
+        return this.level;
+    }
+
+    /**
+     * Returns the set level value of the state currently estimated. The planning graph with mutual exclusions is
+     * expanded at most once per estimation.
+     *
+     * @return the set level value.
+     * @see SetLevel
+     */
+    protected final int getSetLevelValue() {
+        if (this.setLevelValue == -1) {
+            if (this.setLevel == null) {
+                this.setLevel = new SetLevel(this.problem);
+            }
+            this.setLevel.setGoal(super.getGoal());
+            this.setLevelValue = this.setLevel.expandPlanningGraph(this.state);
+        }
+        return this.setLevelValue;
+    }
+}
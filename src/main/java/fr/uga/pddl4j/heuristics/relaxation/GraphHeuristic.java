@@ -21,18 +21,15 @@ package fr.uga.pddl4j.heuristics.relaxation;
 
 import fr.uga.pddl4j.encoding.CodedProblem;
 import fr.uga.pddl4j.util.BitExp;
-import fr.uga.pddl4j.util.BitMatrix;
 import fr.uga.pddl4j.util.BitOp;
 import fr.uga.pddl4j.util.BitState;
 import fr.uga.pddl4j.util.BitVector;
 import fr.uga.pddl4j.util.CondBitExp;
 import fr.uga.pddl4j.util.IntExp;
 
-import java.io.Serializable;
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.BitSet;
 import java.util.List;
+import java.util.stream.IntStream;
 
 /**
  * This abstract class implements the basic methods used by all heuristics based on the computation
@@ -43,9 +40,17 @@ import java.util.List;
  * see D. Long, M. Fox (1999). Efficient Implementation of the Plan Graph in STAN. Journal of
  * Artificial Intelligence Research, 10(1):87-115.
  * </p>
+ * <p>
+ * The layers of the graph are not stored: the level of apparition of the propositions and the operators is enough
+ * to know the layers, and only the mutual exclusions of the current level and of the next one are needed by the
+ * expansion. The mutual exclusions are stored in four sparse relations recycled from one level to the next one and
+ * from one expansion to another, so the memory used by the heuristic does not grow during a search. Since the
+ * mutual exclusions between propositions or operators already present in the graph can only disappear, only the
+ * mutual exclusions of the previous level and the pairs involving a new proposition or a new operator are tested.
+ * </p>
  *
  * @author Damien Pellier
- * @version 1.0 20.08.2010
+ * @version 1.1 17.10.2026
  */
 public abstract class GraphHeuristic extends AbstractHeuristic {
 
@@ -59,6 +64,11 @@ public abstract class GraphHeuristic extends AbstractHeuristic {
      */
     private int[] propositionsLevel;
 
+    /**
+     * The array used to store the apparition level of the operators.
+     */
+    private int[] operatorsLevel;
+
     /**
      * The array used to store the preconditions of the operators.
      */
@@ -70,19 +80,60 @@ public abstract class GraphHeuristic extends AbstractHeuristic {
     private BitVector[] effects;
 
     /**
-     * The dependences between the actions.
+     * The array used to store the preconditions of the operators as arrays of propositions.
+     */
+    private int[][] precondArrays;
+
+    /**
+     * The array used to store the effects of the operators as arrays of propositions.
+     */
+    private int[][] effectArrays;
+
+    /**
+     * The array used to store for each proposition the operators that need it as precondition.
+     */
+    private int[][] consumers;
+
+    /**
+     * The array used to store for each proposition the operators that produce it.
+     */
+    private int[][] producers;
+
+    /**
+     * The array used to store the number of preconditions reached of each operator.
+     */
+    private int[] precondCounters;
+
+    /**
+     * The ascending array of the operators dependent of each operator.
+     */
+    private int[][] operatorsDependences;
+
+    /**
+     * The array used to mark the operators with inconsistent preconditions or effects. Such an operator is
+     * dependent of all the other operators.
+     */
+    private boolean[] inconsistentOperators;
+
+    /**
+     * The operators mutual exclusions of the current level of the planning graph.
+     */
+    private MutexRelation operatorsMutex;
+
+    /**
+     * The operators mutual exclusions of the next level of the planning graph.
      */
-    private BitMatrix operatorsDependences;
+    private MutexRelation nextOperatorsMutex;
 
     /**
-     * The list of operators mutual exclusions of the planning graph stored by level.
+     * The propositions mutual exclusions of the current level of the planning graph.
      */
-    private List<BitMatrix> operatorsMutex;
+    private MutexRelation propositionsMutex;
 
     /**
-     * The list of propositions mutual exclusions of the planning graph stored by level.
+     * The propositions mutual exclusions of the next level of the planning graph.
      */
-    private List<BitMatrix> propositionsMutex;
+    private MutexRelation nextPropositionsMutex;
 
     /**
      * The bit vector that contains the goal of the planning problem.
@@ -90,14 +141,44 @@ public abstract class GraphHeuristic extends AbstractHeuristic {
     private BitVector bvgoal;
 
     /**
-     * The bit vector that represents the propositions layer of the planning graph.
+     * The propositions of the goal of the planning problem.
+     */
+    private int[] goal;
+
+    /**
+     * The number of propositions of the goal of the planning problem.
+     */
+    private int goalSize;
+
+    /**
+     * The propositions of the planning graph in the order of their apparition.
+     */
+    private int[] propsLayer;
+
+    /**
+     * The number of propositions of the planning graph.
      */
-    private BitVector propsLayer;
+    private int nbProps;
 
     /**
-     * The bit vector that represents the operators layer of the planning graph.
+     * The operators of the planning graph in the order of their apparition.
      */
-    private BitVector opsLayer;
+    private int[] opsLayer;
+
+    /**
+     * The number of operators of the planning graph.
+     */
+    private int nbOps;
+
+    /**
+     * The operators not yet in the planning graph whose preconditions are all reached.
+     */
+    private int[] candidates;
+
+    /**
+     * The number of candidate operators.
+     */
+    private int nbCandidates;
 
     /**
      * The array that contains the string representation of the propositions. This array can be used
@@ -121,11 +202,6 @@ public abstract class GraphHeuristic extends AbstractHeuristic {
      */
     private boolean levelOff;
 
-    /**
-     * The list that contains for each level and for each proposition which operators produce it.
-     */
-    private List<BitMatrix> achievers;
-
     /**
      * The number of propositions of the problem.
      */
@@ -141,11 +217,6 @@ public abstract class GraphHeuristic extends AbstractHeuristic {
      */
     private int negOffset;
 
-    /**
-     * The bit vector used to store the new operators during the planning graph expansion.
-     */
-    private BitVector newOperators;
-
     /**
      * The flag used to debug.
      */
@@ -256,35 +327,139 @@ public abstract class GraphHeuristic extends AbstractHeuristic {
             }
         }
 
+        // Compute the arrays of propositions of the operators and the edges of the propositions
+        this.precondArrays = new int[this.nbOperators][];
+        this.effectArrays = new int[this.nbOperators][];
+        for (int op = 0; op < this.nbOperators; op++) {
+            this.precondArrays[op] = this.preconditions[op].stream().toArray();
+            this.effectArrays[op] = this.effects[op].stream().toArray();
+        }
+        this.consumers = GraphHeuristic.edges(this.precondArrays, this.nbPropositions);
+        this.producers = GraphHeuristic.edges(this.effectArrays, this.nbPropositions);
+
         // Set the goal to the state representation
         this.bvgoal = new BitVector();
-        this.bvgoal.or(super.getGoal().getPositive());
-        final BitVector neg = super.getGoal().getNegative();
-        for (int p = neg.nextSetBit(0); p >= 0; p = neg.nextSetBit(p + 1)) {
-            this.bvgoal.set(p + this.negOffset);
-        }
+        this.goal = new int[this.nbPropositions];
+        this.setGoal(super.getGoal());
 
         // Compute static dependence between operators
-        this.operatorsDependences = new BitMatrix(this.nbOperators);
-        for (int i = 0; i < this.nbOperators; i++) {
-            for (int j = 0; j < this.nbOperators; j++) {
-                if (i > j && this.areDependent(i, j)) {
-                    this.operatorsDependences.set(i, j);
-                    this.operatorsDependences.set(j, i);
-                }
+        this.computeOperatorsDependences();
+
+        // Initialize the arrays that must contain the level of the propositions and the operators
+        this.propositionsLevel = new int[this.nbPropositions];
+        this.operatorsLevel = new int[this.nbOperators];
+        this.precondCounters = new int[this.nbOperators];
+        // Initialize the layers of the planning graph
+        this.propsLayer = new int[this.nbPropositions];
+        this.opsLayer = new int[this.nbOperators];
+        this.candidates = new int[this.nbOperators];
+        // Initialize the mutual exclusions reused by each expansion
+        this.propositionsMutex = new MutexRelation();
+        this.nextPropositionsMutex = new MutexRelation();
+        this.operatorsMutex = new MutexRelation();
+        this.nextOperatorsMutex = new MutexRelation();
+    }
+
+    /**
+     * Returns for each proposition the ascending array of the operators that contain it.
+     *
+     * @param sets           the propositions of each operator.
+     * @param nbPropositions the number of propositions.
+     * @return for each proposition the array of the operators that contain it.
+     */
+    private static int[][] edges(final int[][] sets, final int nbPropositions) {
+        final int[] size = new int[nbPropositions];
+        for (int[] set : sets) {
+            for (int p : set) {
+                size[p]++;
+            }
+        }
+        final int[][] edges = new int[nbPropositions][];
+        for (int p = 0; p < nbPropositions; p++) {
+            edges[p] = new int[size[p]];
+            size[p] = 0;
+        }
+        for (int o = 0; o < sets.length; o++) {
+            for (int p : sets[o]) {
+                edges[p][size[p]++] = o;
             }
         }
+        return edges;
+    }
 
-        // Initialize the array that must contain the level of the positive propsLayer
-        this.propositionsLevel = new int[this.nbPropositions];
-        // Initialize the array that must contain propositions mutex
-        this.propositionsMutex = new ArrayList<>();
-        // Initialize the array that must contain operators mutex
-        this.operatorsMutex = new ArrayList<>();
-        // Initialize the array that must contain achievers
-        this.achievers = new ArrayList<>();
-        // The bit vector that is used to store the new operators during expansion
-        this.newOperators = new BitVector();
+    /**
+     * Computes the dependences between the operators. Two operators are dependent if the propositions of their
+     * preconditions and effects are inconsistent, i.e., if an operator deletes a precondition or an add effect of
+     * the other. Hence, only the operators that touch the opposite of a proposition touched by an operator can be
+     * dependent of this operator: the candidates are found through the index of the operators touching each
+     * proposition and the dependences of the operators are computed in parallel. Each thread collects the
+     * candidates in its own buffers: an operator is marked with the index of the operator whose dependences are
+     * computed plus one, so that the marks never need to be cleared.
+     */
+    private void computeOperatorsDependences() {
+        // The propositions touched by each operator, i.e., its preconditions and its effects
+        final int[][] touched = new int[this.nbOperators][];
+        this.inconsistentOperators = new boolean[this.nbOperators];
+        for (int op = 0; op < this.nbOperators; op++) {
+            final BitVector props = new BitVector(this.preconditions[op]);
+            props.or(this.effects[op]);
+            touched[op] = props.stream().toArray();
+            this.inconsistentOperators[op] = !this.isConsistent(this.precondArrays[op])
+                || !this.isConsistent(this.effectArrays[op]);
+        }
+        final int[][] touchedBy = GraphHeuristic.edges(touched, this.nbPropositions);
+        this.operatorsDependences = new int[this.nbOperators][];
+        // The marks and the candidates of each thread
+        final ThreadLocal<int[][]> buffers = ThreadLocal.withInitial(() ->
+            new int[][] {new int[this.nbOperators], new int[this.nbOperators]});
+        IntStream.range(0, this.nbOperators).parallel().forEach(op -> {
+            final int[][] buffer = buffers.get();
+            final int[] marks = buffer[0];
+            final int[] candidates = buffer[1];
+            final int stamp = op + 1;
+            marks[op] = stamp;
+            int size = 0;
+            for (int p : touched[op]) {
+                for (int other : touchedBy[this.opposite(p)]) {
+                    if (marks[other] != stamp) {
+                        marks[other] = stamp;
+                        candidates[size++] = other;
+                    }
+                }
+            }
+            final int[] array = Arrays.copyOf(candidates, size);
+            Arrays.sort(array);
+            this.operatorsDependences[op] = array;
+        });
+    }
+
+    /**
+     * Returns the opposite of a proposition.
+     *
+     * @param p the proposition.
+     * @return the opposite of the proposition.
+     */
+    private int opposite(final int p) {
+        return p < this.negOffset ? p + this.negOffset : p - this.negOffset;
+    }
+
+    /**
+     * Returns <code>true</code> if an ascending array of propositions does not contain a proposition and its
+     * opposite.
+     *
+     * @param props the propositions.
+     * @return <code>true</code> if the propositions are consistent; <code>false</code> otherwise.
+     */
+    private boolean isConsistent(final int[] props) {
+        for (int p : props) {
+            if (p >= this.negOffset) {
+                break;
+            }
+            if (Arrays.binarySearch(props, p + this.negOffset) >= 0) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
@@ -296,181 +471,183 @@ public abstract class GraphHeuristic extends AbstractHeuristic {
     protected final void setGoal(final BitExp goal) {
         super.setGoal(goal);
         // Set the goal to the state representation
-        this.bvgoal = new BitVector();
-        this.bvgoal.or(super.getGoal().getPositive());
+        this.bvgoal.clear();
+        this.bvgoal.or(goal.getPositive());
         final BitVector neg = goal.getNegative();
         for (int p = neg.nextSetBit(0); p >= 0; p = neg.nextSetBit(p + 1)) {
             this.bvgoal.set(p + this.negOffset);
         }
+        this.goalSize = 0;
+        for (int p = this.bvgoal.nextSetBit(0); p >= 0; p = this.bvgoal.nextSetBit(p + 1)) {
+            this.goal[this.goalSize++] = p;
+        }
     }
 
     /**
-     * This method creates the relaxed planning graph from a specified initial state.
+     * This method creates the planning graph with mutual exclusions from a specified initial state. The expansion
+     * stops when the goal is reached without mutual exclusion or when the graph levels off.
      *
-     * @param state the initial state of the relaxed planning graph.
+     * @param state the initial state of the planning graph.
      * @return the level of the graph built.
      */
     protected final int expandPlanningGraph(final BitState state) {
-
-        // The array that contains the level of the positive proposition apparition
         Arrays.fill(this.propositionsLevel, Integer.MAX_VALUE);
-
-        // Initialize the initial propsLayer level of the planning graph
-        this.propsLayer = new BitVector();
-        this.propsLayer.or(state);
-
-        // Initialize the first proposition level with the specified state
-        this.propsLayer.flip(this.negOffset, this.nbPropositions);
-        for (int p = state.nextSetBit(0); p >= 0; p = state.nextSetBit(p + 1)) {
-            this.propsLayer.clear(p + this.negOffset);
+        Arrays.fill(this.operatorsLevel, Integer.MAX_VALUE);
+        Arrays.fill(this.precondCounters, 0);
+        this.propositionsMutex.clear();
+        this.operatorsMutex.clear();
+        this.nbProps = 0;
+        this.nbOps = 0;
+        this.nbCandidates = 0;
+
+        // The operators without precondition are candidates from the first level
+        for (int op = this.nbPropositions; op < this.nbOperators; op++) {
+            if (this.precondArrays[op].length == 0) {
+                this.candidates[this.nbCandidates++] = op;
+            }
         }
-        for (int p = this.propsLayer.nextSetBit(0); p >= 0; p = this.propsLayer.nextSetBit(p + 1)) {
-            this.propositionsLevel[p] = 0;
+        // Initialize the first proposition level with the specified state
+        for (int p = 0; p < this.negOffset; p++) {
+            this.addProposition(state.get(p) ? p : p + this.negOffset, 0);
         }
 
-        // Initialize the initial actions level of the planning graph
-        this.opsLayer = new BitVector();
-
         // The current level of the planning graph (the first level is 0)
         int k = 0;
-        // Initialize the propositions mutex at level with an empty bit matrix
-        this.propositionsMutex.add(new BitMatrix(this.nbPropositions));
-
-        // Initialize the boolean flag used to indicate if the goal is reached to false
-        this.goalReached = false;
+        // Check if the goal is already reached, the first level being mutex free
+        this.goalReached = this.isReached();
         // Initialize the boolean flag used to indicate if level of the graph is off to false
         this.levelOff = false;
 
         // Start the expansion of the planning graph
         while (!this.goalReached && !this.levelOff) {
-            this.levelOff = true;
-            // Update the achiever of the level by adding achiever at previous level
-            final BitMatrix lAchievers = new BitMatrix(this.nbPropositions, this.nbOperators);
-            this.achievers.add(lAchievers);
-            if (k > 0) {
-                final BitMatrix ak1 = this.achievers.get(k - 1);
-                for (int p = 0; p < this.nbPropositions; p++) {
-                    lAchievers.getRow(p).or(ak1.getRow(p));
+            // Add the candidate operators whose preconditions are mutex free at level k
+            final int firstNewOp = this.nbOps;
+            int nbRemaining = 0;
+            for (int i = 0; i < this.nbCandidates; i++) {
+                final int op = this.candidates[i];
+                if (this.isMutexFree(this.precondArrays[op], this.precondArrays[op].length, this.propositionsMutex)) {
+                    this.operatorsLevel[op] = k;
+                    this.opsLayer[this.nbOps++] = op;
+                } else {
+                    this.candidates[nbRemaining++] = op;
                 }
             }
-            // Clear the bit vector that will contain the operator to add at the next level
-            this.newOperators.clear();
-            // Initialize the bit vector that will contain the propositions to add at the next level
-            final BitVector newPropositions = new BitVector();
-            // Add the NOOP operators
-            this.opsLayer.or(this.propsLayer);
-            // try only the operator not already in the planning graph
-            for (int op = this.opsLayer.nextClearBit(this.nbPropositions); op > 0
-                && op < this.nbOperators; op = this.opsLayer.nextClearBit(op + 1)) {
-                if (this.propsLayer.include(this.preconditions[op])
-                    && this.isMutexFree(this.preconditions[op], k)) {
-                    this.opsLayer.set(op);
-                    newOperators.set(op);
-                    final BitVector effs = this.effects[op];
-                    newPropositions.or(effs);
-                    // Update the achiever to speed up the mutex computation
-                    for (int p = effs.nextSetBit(0); p >= 0; p = effs.nextSetBit(p + 1)) {
-                        lAchievers.set(p, op);
+            this.nbCandidates = nbRemaining;
+            // Update the operators mutexes at level k
+            this.updateOperatorsMutex(k, firstNewOp);
+            // Add the new effects of the operators to the propositions layer
+            final int firstNewProp = this.nbProps;
+            for (int i = firstNewOp; i < this.nbOps; i++) {
+                for (int p : this.effectArrays[this.opsLayer[i]]) {
+                    if (this.propositionsLevel[p] == Integer.MAX_VALUE) {
+                        this.addProposition(p, k + 1);
                     }
-                    // If an operator is added so the graph is not level off
-                    this.levelOff = false;
-                }
-            }
-
-            // Add the new effects of the applicable operator to the propositions layer
-            this.propsLayer.or(newPropositions);
-            // Update the level of the new propositions
-            for (int p = newPropositions.nextSetBit(0); p >= 0; p = newPropositions
-                .nextSetBit(p + 1)) {
-                if (this.propositionsLevel[p] == Integer.MAX_VALUE) {
-                    this.propositionsLevel[p] = k;
                 }
             }
-            // Update the operators mutexes at level k
-            this.updateOperatorsMutex(k);
             // Update the propositions mutexes at level k + 1
-            this.updatePropositionsMutex(k + 1);
+            this.updatePropositionsMutex(firstNewProp);
+            // The graph levels off when no operator is added and no mutex disappears
+            this.levelOff = firstNewOp == this.nbOps
+                && this.nextPropositionsMutex.size() == this.propositionsMutex.size();
+            final MutexRelation mutex = this.propositionsMutex;
+            this.propositionsMutex = this.nextPropositionsMutex;
+            this.nextPropositionsMutex = mutex;
             // Increment the level of the planning graph
             k++;
             // Check if the goal is reached
-            this.goalReached = this.propsLayer.include(this.bvgoal) && this.isMutexFree(this.bvgoal, k);
+            this.goalReached = this.isReached();
         }
         return k;
     }
 
     /**
-     * Updates the propositions mutex at a specified level of the planning graph.
+     * Adds a proposition to the planning graph and updates the precondition counters of the operators that need it.
      *
-     * @param lev the level.
-     */
-    private void updatePropositionsMutex(final int lev) {
-        this.propositionsMutex.add(new BitMatrix(this.nbPropositions));
-        final BitMatrix pmK = new BitMatrix(nbPropositions);
-        final BitMatrix pmk1 = this.propositionsMutex.get(lev - 1);
-        this.propositionsMutex.add(pmK);
-        for (int pi = this.propsLayer.nextSetBit(0); pi >= 0; pi = this.propsLayer
-            .nextSetBit(pi + 1)) {
-            for (int pj = this.propsLayer.nextSetBit(0); pj >= 0; pj = this.propsLayer
-                .nextSetBit(pj + 1)) {
-                if (pi > pj && this.arePropositionsMutex(pi, pj, lev)) {
-                    pmK.set(pi, pj);
-                    pmK.set(pj, pi);
-                }
+     * @param p   the proposition.
+     * @param lev the level of the proposition.
+     */
+    private void addProposition(final int p, final int lev) {
+        this.propositionsLevel[p] = lev;
+        this.propsLayer[this.nbProps++] = p;
+        for (int op : this.consumers[p]) {
+            if (++this.precondCounters[op] == this.precondArrays[op].length) {
+                this.candidates[this.nbCandidates++] = op;
             }
         }
-        this.levelOff = pmK.equals(pmk1);
     }
 
     /**
-     * Updates the operators mutex at a specified level of the planning graph.
+     * Returns <code>true</code> if the goal is included in the last proposition level of the planning graph
+     * without mutual exclusion.
      *
-     * @param lev the level.
-     */
-    private void updateOperatorsMutex(final int lev) {
-        if (lev > 1) {
-            // Update the old mutex first
-            final BitMatrix omk = new BitMatrix(this.nbOperators);
-            this.operatorsMutex.add(omk);
-            final BitMatrix omk1 = this.operatorsMutex.get(lev - 1);
-            for (int oi = this.opsLayer.nextSetBit(0); oi >= 0; oi = this.opsLayer
-                .nextSetBit(oi + 1)) {
-                for (int oj = this.opsLayer.nextSetBit(0); oj >= 0; oj = this.opsLayer
-                    .nextSetBit(oj + 1)) {
-                    if (oi > oj && omk1.get(oi, oj) && this.areOperatorsMutex(oi, oj, lev)) {
-                        omk.set(oi, oj);
-                        omk.set(oj, oi);
-                    } else {
-                        this.levelOff = false;
-                    }
-                }
+     * @return <code>true</code> if the goal is reached; <code>false</code> otherwise.
+     */
+    private boolean isReached() {
+        for (int i = 0; i < this.goalSize; i++) {
+            if (this.propositionsLevel[this.goal[i]] == Integer.MAX_VALUE) {
+                return false;
             }
-            // then update the mutex of the new operators
-            for (int oi = this.newOperators.nextSetBit(0); oi >= 0; oi = this.newOperators
-                .nextSetBit(oi + 1)) {
-                for (int oj = this.opsLayer.nextSetBit(0); oj >= 0; oj = this.opsLayer
-                    .nextSetBit(oj + 1)) {
-                    if (oi > oj && this.areOperatorsMutex(oi, oj, lev)) {
-                        omk.set(oi, oj);
-                        omk.set(oj, oi);
-                        this.levelOff = false;
-                    }
+        }
+        return this.isMutexFree(this.goal, this.goalSize, this.propositionsMutex);
+    }
+
+    /**
+     * Updates the propositions mutex at the next level of the planning graph.
+     *
+     * @param firstNewProp the index of the first proposition of the next level.
+     */
+    private void updatePropositionsMutex(final int firstNewProp) {
+        final MutexRelation mutex = this.nextPropositionsMutex;
+        mutex.clear();
+        // The mutex between two old propositions must already hold at the previous level
+        for (int i = 0; i < this.propositionsMutex.size(); i++) {
+            final int pi = this.propositionsMutex.first(i);
+            final int pj = this.propositionsMutex.second(i);
+            if (this.arePropositionsMutex(pi, pj)) {
+                mutex.add(pi, pj);
+            }
+        }
+        // Then test the pairs that contain a new proposition
+        for (int i = firstNewProp; i < this.nbProps; i++) {
+            final int pi = this.propsLayer[i];
+            for (int j = 0; j < i; j++) {
+                final int pj = this.propsLayer[j];
+                if (this.arePropositionsMutex(pi, pj)) {
+                    mutex.add(pi, pj);
                 }
             }
-        } else { // Special case of the level lev
-            final BitMatrix omk = new BitMatrix(this.nbOperators);
-            this.operatorsMutex.add(omk);
-            for (int oi = this.opsLayer.nextSetBit(0); oi >= 0; oi = this.opsLayer
-                .nextSetBit(oi + 1)) {
-                for (int oj = this.opsLayer.nextSetBit(0); oj >= 0; oj = this.opsLayer
-                    .nextSetBit(oj + 1)) {
-                    if (oi > oj && this.areOperatorsMutex(oi, oj, lev)) {
-                        omk.set(oi, oj);
-                        omk.set(oj, oi);
-                        this.levelOff = false;
-                    }
+        }
+    }
+
+    /**
+     * Updates the operators mutex at a specified level of the planning graph.
+     *
+     * @param lev        the level.
+     * @param firstNewOp the index of the first operator of the level.
+     */
+    private void updateOperatorsMutex(final int lev, final int firstNewOp) {
+        final MutexRelation mutex = this.nextOperatorsMutex;
+        mutex.clear();
+        // The mutex between two old operators must already hold at the previous level
+        for (int i = 0; i < this.operatorsMutex.size(); i++) {
+            final int oi = this.operatorsMutex.first(i);
+            final int oj = this.operatorsMutex.second(i);
+            if (this.areOperatorsMutex(oi, oj, lev)) {
+                mutex.add(oi, oj);
+            }
+        }
+        // Then test the pairs that contain a new operator
+        for (int i = firstNewOp; i < this.nbOps; i++) {
+            final int oi = this.opsLayer[i];
+            for (int j = 0; j < i; j++) {
+                final int oj = this.opsLayer[j];
+                if (this.areOperatorsMutex(oi, oj, lev)) {
+                    mutex.add(oi, oj);
                 }
             }
         }
+        this.nextOperatorsMutex = this.operatorsMutex;
+        this.operatorsMutex = mutex;
     }
 
     /**
@@ -481,8 +658,8 @@ public abstract class GraphHeuristic extends AbstractHeuristic {
      */
     protected final int getSumValue() {
         int value = 0;
-        for (int p = this.bvgoal.nextSetBit(0); p >= 0; p = this.bvgoal.nextSetBit(p + 1)) {
-            value += this.propositionsLevel[p];
+        for (int i = 0; i < this.goalSize; i++) {
+            value += this.propositionsLevel[this.goal[i]];
         }
         return value;
     }
@@ -498,77 +675,66 @@ public abstract class GraphHeuristic extends AbstractHeuristic {
      * <code>false</code> otherwise.
      */
     private boolean areOperatorsMutex(final int oi, final int oj, final int lev) {
-        if (lev == 0) {
-            return this.operatorsDependences.get(oi, oj);
+        if (this.areDependent(oi, oj)) {
+            return true;
         }
-        if (!this.operatorsDependences.get(oi, oj)) {
-            boolean mutex = false;
-            final BitVector ppi = this.preconditions[oi];
-            final BitVector ppj = this.preconditions[oj];
-            final BitMatrix mk = this.propositionsMutex.get(lev);
-            int mi = ppi.nextSetBit(0);
-            while (mi >= 0 && !mutex) {
-                mutex = mk.getRow(mi).intersects(ppj);
-                mi = ppi.nextSetBit(mi + 1);
+        if (lev > 0) {
+            for (int pi : this.precondArrays[oi]) {
+                for (int pj : this.precondArrays[oj]) {
+                    if (this.propositionsMutex.contains(pi, pj)) {
+                        return true;
+                    }
+                }
             }
-            return mutex;
         }
-        return true;
+        return false;
     }
 
     /**
-     * Returns <code>true</code> if two facts are mutex at a specified level. Two facts are mutex
-     * if at least one operator that produce the facts are mutex in the previous level lev - 1.
+     * Returns <code>true</code> if two facts are mutex at the next level of the planning graph. Two facts are
+     * mutex if they are opposite or if all the operators that produce the facts at the current level are mutex.
      *
-     * @param pi  the first fact.
-     * @param pj  the second fact.
-     * @param lev the level where the test must be done.
-     * @return <code>true</code> if two facts are mutex at a specified level; <code>false</code>
-     *          otherwise.
-     */
-    private boolean arePropositionsMutex(final int pi, final int pj, final int lev) {
-        boolean mutex = pj == (pi + super.getRevelantFacts().size());
-        if (!mutex && lev > 0) {
-            final BitMatrix ak = this.achievers.get(lev - 1);
-            final BitSet rak = ak.getRow(pi);
-            final BitSet rbk = ak.getRow(pj);
-            // Test if there is one operator that produce pi and pj
-            if (rak.intersects(rbk)) {
-                return false;
-            }
-            final BitMatrix mak = this.operatorsMutex.get(lev - 1);
-            mutex = true;
-            int ra = rak.nextSetBit(0);
-            while (ra >= 0 && mutex) {
-                int rb = rbk.nextSetBit(0);
-                while (rb >= 0 && mutex) {
-                    mutex = mak.get(ra, rb);
-                    rb = rbk.nextSetBit(rb + 1);
+     * @param pi the first fact.
+     * @param pj the second fact.
+     * @return <code>true</code> if two facts are mutex at the next level; <code>false</code> otherwise.
+     */
+    private boolean arePropositionsMutex(final int pi, final int pj) {
+        if (Math.abs(pi - pj) == this.negOffset) {
+            return true;
+        }
+        for (int ra : this.producers[pi]) {
+            if (this.operatorsLevel[ra] != Integer.MAX_VALUE) {
+                for (int rb : this.producers[pj]) {
+                    // Test if there is one operator that produce pi and pj or two achievers not mutex
+                    if (this.operatorsLevel[rb] != Integer.MAX_VALUE
+                        && (ra == rb || !this.operatorsMutex.contains(ra, rb))) {
+                        return false;
+                    }
                 }
-                ra = rak.nextSetBit(ra + 1);
             }
         }
-        return mutex;
+        return true;
     }
 
     /**
-     * Returns <code>true</code> if a set of facts is mutex free in a specified proposition level
-     * of the planning graph.
+     * Returns <code>true</code> if a set of facts is mutex free for a specified mutual exclusion relation.
      *
-     * @param state the facts to be tested.
-     * @param level the level of the graph at which the test is done.
-     * @return <code>true</code> if a set of facts is mutex free in a specified proposition level
-     *          of the planning graph, <code>false</code> otherwise.
-     */
-    private boolean isMutexFree(final BitVector state, final int level) {
-        boolean free = true;
-        final BitMatrix mk = this.propositionsMutex.get(level);
-        int i = state.nextSetBit(0);
-        while (i >= 0 && free) {
-            free = !mk.getRow(i).intersects(state);
-            i = state.nextSetBit(i + 1);
+     * @param facts the facts to be tested.
+     * @param size  the number of facts to be tested.
+     * @param mutex the mutual exclusion relation.
+     * @return <code>true</code> if a set of facts is mutex free, <code>false</code> otherwise.
+     */
+    private boolean isMutexFree(final int[] facts, final int size, final MutexRelation mutex) {
+        if (mutex.size() > 0) {
+            for (int i = 0; i < size; i++) {
+                for (int j = 0; j < i; j++) {
+                    if (mutex.contains(facts[i], facts[j])) {
+                        return false;
+                    }
+                }
+            }
         }
-        return free;
+        return true;
     }
 
     /**
@@ -579,34 +745,34 @@ public abstract class GraphHeuristic extends AbstractHeuristic {
      * @param oj The second operator
      * @return <code>true</code> if two opsLayer are dependent, <code>false</code> otherwise.
      */
-    private boolean areDependent(final int oi, final int oj) {
-        final BitVector effOi = this.effects[oi];
-        final BitVector effOj = this.effects[oj];
-        final BitVector preOi = this.preconditions[oi];
-        final BitVector preOj = this.preconditions[oj];
-        return !this.areConsistantStates(effOi, effOj)
-            || !this.areConsistantStates(effOi, preOj)
-            || !this.areConsistantStates(effOj, preOi)
-            || !this.areConsistantStates(preOi, preOj);
+    protected final boolean areDependent(final int oi, final int oj) {
+        return this.inconsistentOperators[oi] || this.inconsistentOperators[oj]
+            || Arrays.binarySearch(this.operatorsDependences[oi], oj) >= 0;
     }
 
     /**
-     * Returns <code>true</code> if two states are consistent.
+     * Returns the number of bytes used by the heuristic. The value is computed from the size of the arrays
+     * allocated to expand the planning graph and of the mutual exclusion relations.
      *
-     * @param s1 The first state.
-     * @param s2 The second state.
-     * @return <code>true</code> if two states are consistent; <code>false</code> otherwise.
-     */
-    private boolean areConsistantStates(BitVector s1, BitVector s2) {
-        final BitVector state = new BitVector(s1);
-        state.or(s2);
-        final int offset = super.getRevelantFacts().size();
-        for (int p = state.nextSetBit(0); p >= 0 && p < offset; p = state.nextSetBit(p + 1)) {
-            if (state.get(p + offset)) {
-                return false;
-            }
+     * @return the number of bytes used by the heuristic.
+     */
+    @Override
+    public long getMemoryUsed() {
+        long bytes = super.getMemoryUsed()
+            + (long) (this.propositionsLevel.length + this.operatorsLevel.length + this.precondCounters.length
+            + this.goal.length + this.propsLayer.length + this.opsLayer.length + this.candidates.length)
+            * Integer.BYTES
+            + AbstractHeuristic.sizeOf(this.precondArrays) + AbstractHeuristic.sizeOf(this.effectArrays)
+            + AbstractHeuristic.sizeOf(this.consumers) + AbstractHeuristic.sizeOf(this.producers)
+            + AbstractHeuristic.sizeOf(this.operatorsDependences)
+            + this.inconsistentOperators.length
+            + AbstractHeuristic.sizeOf(this.bvgoal)
+            + this.propositionsMutex.getMemoryUsed() + this.nextPropositionsMutex.getMemoryUsed()
+            + this.operatorsMutex.getMemoryUsed() + this.nextOperatorsMutex.getMemoryUsed();
+        for (int op = 0; op < this.nbOperators; op++) {
+            bytes += AbstractHeuristic.sizeOf(this.preconditions[op]) + AbstractHeuristic.sizeOf(this.effects[op]);
         }
-        return true;
+        return bytes;
     }
 
     /**
@@ -21,6 +21,7 @@ package fr.uga.pddl4j.heuristics.relaxation;
 
 import fr.uga.pddl4j.util.BitExp;
 import fr.uga.pddl4j.util.BitState;
+import fr.uga.pddl4j.util.MemoryAgent;
 
 import java.io.Serializable;
 
@@ -57,6 +58,18 @@ public interface Heuristic extends Serializable {
      */
     boolean isAdmissible();
 
+    /**
+     * Returns the number of bytes used by the heuristic. The heuristics of the library compute the value from the
+     * size of the arrays they allocate, without counting the structures shared with the problem, e.g., its
+     * operators. By default, the value is the deep size of the heuristic if the <code>MemoryAgent</code> was
+     * started.
+     *
+     * @return the number of bytes used by the heuristic or <code>MemoryAgent.DEFAULT_MEMORY</code> if it is unknown.
+     */
+    default long getMemoryUsed() {
+        return MemoryAgent.isInitialized() ? MemoryAgent.getDeepSizeOf(this) : MemoryAgent.DEFAULT_MEMORY;
+    }
+
     /**
      * The type of heuristic implemented.
      *
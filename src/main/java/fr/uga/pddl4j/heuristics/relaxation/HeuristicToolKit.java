@@ -75,4 +75,20 @@ public final class HeuristicToolKit implements Serializable {
         return heuristic;
     }
 
+    /**
+     * Create an heuristic of a specified type whose values are cached. The values of the states already estimated
+     * are found in the cache instead of being computed again.
+     *
+     * @param type     the type of the heuristic to create.
+     * @param problem  the problem for which the heuristic is created.
+     * @param capacity the number of values stored in the cache.
+     * @return the heuristic created.
+     * @throws NullPointerException     if <code>type == null || problem == null</code>.
+     * @throws IllegalArgumentException if <code>capacity &#60;= 0</code>.
+     * @see CachingHeuristic
+     */
+    public static Heuristic createHeuristic(final Heuristic.Type type, final CodedProblem problem,
+                                            final int capacity) {
+        return new CachingHeuristic(HeuristicToolKit.createHeuristic(type, problem), capacity);
+    }
 }
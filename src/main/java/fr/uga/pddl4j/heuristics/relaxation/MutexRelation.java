@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2016 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with PDDL4J.  If not, see
+ * <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.heuristics.relaxation;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * This class implements a sparse symmetric relation between non negative integers used to store the mutual
+ * exclusions of a layer of a planning graph. Only the pairs of the relation are stored: the pairs are packed into a
+ * long key stored in an open addressing hash table with linear probing and, in the order of their insertion, in a
+ * list used to enumerate them. A cleared relation keeps its tables, so a relation can be reused from one expansion
+ * of the planning graph to another without allocation.
+ *
+ * @author D. Pellier
+ * @version 1.0 - 17.10.2026
+ */
+final class MutexRelation implements Serializable {
+
+    /**
+     * The serial version id of the class.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The initial capacity of the hash table.
+     */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * The packed keys of the hash table. A zero key denotes an empty slot.
+     */
+    private long[] keys;
+
+    /**
+     * The packed keys of the relation in the order of their insertion.
+     */
+    private long[] pairs;
+
+    /**
+     * The slots of the hash table of the pairs in the order of their insertion.
+     */
+    private int[] slots;
+
+    /**
+     * The number of pairs of the relation.
+     */
+    private int size;
+
+    /**
+     * Creates a new empty relation.
+     */
+    MutexRelation() {
+        this.keys = new long[MutexRelation.DEFAULT_CAPACITY];
+        this.pairs = new long[MutexRelation.DEFAULT_CAPACITY / 2];
+        this.slots = new int[MutexRelation.DEFAULT_CAPACITY / 2];
+        this.size = 0;
+    }
+
+    /**
+     * Adds a pair to the relation.
+     *
+     * @param i the first element of the pair.
+     * @param j the second element of the pair.
+     */
+    void add(final int i, final int j) {
+        final long key = MutexRelation.key(i, j);
+        int mask = this.keys.length - 1;
+        int slot = MutexRelation.hash(key) & mask;
+        while (this.keys[slot] != 0) {
+            if (this.keys[slot] == key) {
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        if (this.size == this.pairs.length) {
+            this.resize();
+            mask = this.keys.length - 1;
+            slot = MutexRelation.hash(key) & mask;
+            while (this.keys[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+        }
+        this.keys[slot] = key;
+        this.slots[this.size] = slot;
+        this.pairs[this.size++] = key;
+    }
+
+    /**
+     * Returns <code>true</code> if a pair belongs to the relation.
+     *
+     * @param i the first element of the pair.
+     * @param j the second element of the pair.
+     * @return <code>true</code> if the pair belongs to the relation; <code>false</code> otherwise.
+     */
+    boolean contains(final int i, final int j) {
+        if (this.size == 0 || i == j) {
+            return false;
+        }
+        final long key = MutexRelation.key(i, j);
+        final int mask = this.keys.length - 1;
+        int slot = MutexRelation.hash(key) & mask;
+        while (this.keys[slot] != 0) {
+            if (this.keys[slot] == key) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the number of pairs of the relation.
+     *
+     * @return the number of pairs of the relation.
+     */
+    int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns the lowest element of a pair of the relation.
+     *
+     * @param index the index of the pair in the order of insertion.
+     * @return the lowest element of the pair.
+     */
+    int first(final int index) {
+        return (int) (this.pairs[index] >>> Integer.SIZE);
+    }
+
+    /**
+     * Returns the greatest element of a pair of the relation.
+     *
+     * @param index the index of the pair in the order of insertion.
+     * @return the greatest element of the pair.
+     */
+    int second(final int index) {
+        return (int) this.pairs[index];
+    }
+
+    /**
+     * Returns the number of bytes used by the relation. The value is computed from the size of its tables.
+     *
+     * @return the number of bytes used by the relation.
+     */
+    long getMemoryUsed() {
+        return (long) (this.keys.length + this.pairs.length) * Long.BYTES + (long) this.slots.length * Integer.BYTES;
+    }
+
+    /**
+     * Removes all the pairs of the relation. The tables of the relation are kept.
+     */
+    void clear() {
+        if (this.size < this.keys.length / 8) {
+            for (int i = 0; i < this.size; i++) {
+                this.keys[this.slots[i]] = 0;
+            }
+        } else {
+            Arrays.fill(this.keys, 0L);
+        }
+        this.size = 0;
+    }
+
+    /**
+     * Doubles the capacity of the relation.
+     */
+    private void resize() {
+        this.pairs = Arrays.copyOf(this.pairs, 2 * this.pairs.length);
+        this.slots = new int[this.pairs.length];
+        this.keys = new long[2 * this.keys.length];
+        final int mask = this.keys.length - 1;
+        for (int i = 0; i < this.size; i++) {
+            int slot = MutexRelation.hash(this.pairs[i]) & mask;
+            while (this.keys[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            this.keys[slot] = this.pairs[i];
+            this.slots[i] = slot;
+        }
+    }
+
+    /**
+     * Returns the key of a pair. The key does not depend on the order of the elements of the pair and is never
+     * zero for two different elements.
+     *
+     * @param i the first element of the pair.
+     * @param j the second element of the pair.
+     * @return the key of the pair.
+     */
+    private static long key(final int i, final int j) {
+        return i < j ? ((long) i << Integer.SIZE) | j : ((long) j << Integer.SIZE) | i;
+    }
+
+    /**
+     * Returns the hash code of a key.
+     *
+     * @param key the key.
+     * @return the hash code of the key.
+     */
+    private static int hash(final long key) {
+        final long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
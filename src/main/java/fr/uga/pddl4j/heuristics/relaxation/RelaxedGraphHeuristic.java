@@ -47,6 +47,31 @@ public abstract class RelaxedGraphHeuristic extends AbstractHeuristic {
      */
     private static final long serialVersionUID = 1L;
 
+    /**
+     * The index of the sum value.
+     */
+    private static final int SUM = 0;
+
+    /**
+     * The index of the max value.
+     */
+    private static final int MAX = 1;
+
+    /**
+     * The index of the relaxed plan value.
+     */
+    private static final int RELAXED_PLAN = 2;
+
+    /**
+     * The index of the number of helpful actions.
+     */
+    private static final int HELPFUL_ACTIONS = 3;
+
+    /**
+     * The number of values computed from a planning graph.
+     */
+    private static final int NB_VALUES = 4;
+
     /**
      * The array of unconditional operators of the problem.
      */
@@ -83,29 +108,89 @@ public abstract class RelaxedGraphHeuristic extends AbstractHeuristic {
     private int[] nPropLevel;
 
     /**
-     * The array used to store the preconditions' edges for each operator.
+     * The array used to store for each proposition the operators having it as positive precondition.
+     */
+    private int[][] pPrecondEdges;
+
+    /**
+     * The array used to store for each proposition the operators having it as negative precondition.
+     */
+    private int[][] nPrecondEdges;
+
+    /**
+     * The array used to store for each proposition the operators having it as positive effect.
+     */
+    private int[][] pEffectsEdges;
+
+    /**
+     * The array used to store for each proposition the operators having it as negative effect.
+     */
+    private int[][] nEffectsEdges;
+
+    /**
+     * The array used to store the positive preconditions of the operators.
      */
-    private BitExp[] precondEdges;
+    private int[][] pPreconditions;
 
     /**
-     * The array used to store the effects' edges for each operator.
+     * The array used to store the negative preconditions of the operators.
      */
-    private BitExp[] effectsEdges;
+    private int[][] nPreconditions;
 
     /**
-     * The array used to store the preconditions of the operators.
+     * The array used to store the positive effects of the operators.
      */
-    private BitExp[] preconditions;
+    private int[][] pEffects;
 
     /**
-     * The array used to store the effects of the operators.
+     * The array used to store the negative effects of the operators.
      */
-    private BitExp[] effects;
+    private int[][] nEffects;
 
     /**
-     * The array used to store the unconditional effect of the operators.
+     * The operators without precondition. They are added to every layer of the graph.
      */
-    private BitExp[] unconditionalEffects;
+    private int[] operatorsWithoutPrecond;
+
+    /**
+     * The queue of the positive propositions in the order of their apparition in the graph.
+     */
+    private int[] pQueue;
+
+    /**
+     * The queue of the negative propositions in the order of their apparition in the graph.
+     */
+    private int[] nQueue;
+
+    /**
+     * The array used to store the new operators of a layer.
+     */
+    private int[] newOps;
+
+    /**
+     * The positive goals of each level used during the extraction of the relaxed plan.
+     */
+    private long[][] pGoals;
+
+    /**
+     * The negative goals of each level used during the extraction of the relaxed plan.
+     */
+    private long[][] nGoals;
+
+    /**
+     * The positive goals of the first level of the last relaxed plan extracted.
+     */
+    private long[] pHelpfulGoals;
+
+    /**
+     * The negative goals of the first level of the last relaxed plan extracted.
+     */
+    private long[] nHelpfulGoals;
+
+    /**
+     * The helpful actions of the last relaxed plan extracted.
+     */
+    private BitVector helpfulActions;
 
     /**
      * The counter used to count the number of goal propositions reached.
@@ -123,7 +208,19 @@ public abstract class RelaxedGraphHeuristic extends AbstractHeuristic {
     private int level;
 
     /**
-     * Creates a new RelaxedGraphHeuristic heuristic.
+     * The values computed on the last planning graph expanded: the sum, the max and the relaxed plan values and
+     * the number of helpful actions.
+     */
+    private int[] values;
+
+    /**
+     * The flags of the values computed on the last planning graph expanded.
+     */
+    private boolean[] computed;
+
+    /**
+     * Creates a new RelaxedGraphHeuristic heuristic. All the structures used to expand the relaxed planning graph
+     * and to extract the relaxed plan are allocated once here and reused by every estimation.
      *
      * @param problem the problem to be solved.
      */
@@ -131,8 +228,6 @@ public abstract class RelaxedGraphHeuristic extends AbstractHeuristic {
         super(problem);
         // Get the number of relevant facts of the problem
         final int nbRelevantFacts = super.getRevelantFacts().size();
-        // Get the number of operators of the problem
-        final int nbOperators = super.getOperators().size();
         // Compute the number of unconditional operators
         int nbUncondOperators = 0;
         final List<BitOp> operators = problem.getOperators();
@@ -150,102 +245,116 @@ public abstract class RelaxedGraphHeuristic extends AbstractHeuristic {
         // Initialize the array that must contain for each operator the number of its precondition
         // reached
         this.precondCounters = new int[nbUncondOperators];
-        // Initialize the array that must contain for each operator its preconditions
-        this.preconditions = new BitExp[nbUncondOperators];
-        // Initialize the array that must contain for each operator its effects
-        this.effects = new BitExp[nbUncondOperators];
-        // Initialize the array that must contain for each operator its unconditional effects
-        this.unconditionalEffects = new BitExp[nbOperators];
-        for (int i = 0; i < this.unconditionalEffects.length; i++) {
-            this.unconditionalEffects[i] = new BitExp();
-        }
+        // Initialize the arrays that must contain for each operator its preconditions and its effects
+        this.pPreconditions = new int[nbUncondOperators][];
+        this.nPreconditions = new int[nbUncondOperators][];
+        this.pEffects = new int[nbUncondOperators][];
+        this.nEffects = new int[nbUncondOperators][];
         // The array that contains for each proposition the list of its unconditional operators
         this.unconditionalOperators = new int[nbUncondOperators][];
-        // Initialize the array that must contain for each operator its preconditions' edges
-        this.precondEdges = new BitExp[nbRelevantFacts];
-        for (int i = 0; i < this.precondEdges.length; i++) {
-            this.precondEdges[i] = new BitExp();
-        }
-        // Initialize the array that must contain for each operator its effects' edges
-        this.effectsEdges = new BitExp[nbRelevantFacts];
-        for (int i = 0; i < this.effectsEdges.length; i++) {
-            this.effectsEdges[i] = new BitExp();
-        }
-        // Initialize the number of proposition of the goal
-        this.goalCardinality = super.getGoal().cardinality();
         // The array that contains for each operator the number of propositions of its preconditions
         this.precondCardinality = new int[nbUncondOperators];
+        // Initialize the number of proposition of the goal
+        this.goalCardinality = super.getGoal().cardinality();
 
         // The index of the unconditional operators
         int uncondOpIndex = 0;
-
         // Start enumerating the unconditional operators
         for (int opIndex = 0; opIndex < operators.size(); opIndex++) {
             final BitOp op = operators.get(opIndex);
             final List<CondBitExp> condEffects = op.getCondEffects();
-
             // For each conditional effect we create a new operator
             for (int ceIndex = 0; ceIndex < condEffects.size(); ceIndex++) {
                 final CondBitExp cEffect = condEffects.get(ceIndex);
-                final int[] eff = {opIndex, ceIndex};
-                this.unconditionalOperators[uncondOpIndex] = eff;
-
-                // We pre-compute the preconditions' edges
-                final BitExp pre = new BitExp(op.getPreconditions());
-                final BitVector pPre = pre.getPositive();
-                final BitVector nPre = pre.getNegative();
+                this.unconditionalOperators[uncondOpIndex] = new int[] {opIndex, ceIndex};
+                final BitVector pPre = new BitVector(op.getPreconditions().getPositive());
+                final BitVector nPre = new BitVector(op.getPreconditions().getNegative());
                 pPre.or(cEffect.getCondition().getPositive());
                 nPre.or(cEffect.getCondition().getNegative());
-                for (int p = pPre.nextSetBit(0); p >= 0; p = pPre.nextSetBit(p + 1)) {
-                    this.precondEdges[p].getPositive().set(uncondOpIndex);
-                }
-                for (int p = nPre.nextSetBit(0); p >= 0; p = nPre.nextSetBit(p + 1)) {
-                    this.precondEdges[p].getNegative().set(uncondOpIndex);
-                }
-
-                // We set the preconditions of the unconditional operator
-                this.preconditions[uncondOpIndex] = pre;
-
-                // We pre-compute the effects' edges
-                final BitExp effect = cEffect.getEffects();
-                final BitVector pEff = effect.getPositive();
-                final BitVector nEff = effect.getNegative();
-                for (int p = pEff.nextSetBit(0); p >= 0; p = pEff.nextSetBit(p + 1)) {
-                    this.effectsEdges[p].getPositive().set(uncondOpIndex);
-                }
-                for (int p = nEff.nextSetBit(0); p >= 0; p = nEff.nextSetBit(p + 1)) {
-                    this.effectsEdges[p].getNegative().set(uncondOpIndex);
-                }
+                this.pPreconditions[uncondOpIndex] = RelaxedGraphHeuristic.toArray(pPre);
+                this.nPreconditions[uncondOpIndex] = RelaxedGraphHeuristic.toArray(nPre);
+                this.pEffects[uncondOpIndex] = RelaxedGraphHeuristic.toArray(cEffect.getEffects().getPositive());
+                this.nEffects[uncondOpIndex] = RelaxedGraphHeuristic.toArray(cEffect.getEffects().getNegative());
+                this.precondCardinality[uncondOpIndex] = pPre.cardinality() + nPre.cardinality();
+                uncondOpIndex++;
+            }
+        }
 
-                // We set the effects of the unconditional operator
-                this.effects[uncondOpIndex] = effect;
+        // We pre-compute the preconditions' and the effects' edges of the propositions
+        this.pPrecondEdges = RelaxedGraphHeuristic.edges(this.pPreconditions, nbRelevantFacts);
+        this.nPrecondEdges = RelaxedGraphHeuristic.edges(this.nPreconditions, nbRelevantFacts);
+        this.pEffectsEdges = RelaxedGraphHeuristic.edges(this.pEffects, nbRelevantFacts);
+        this.nEffectsEdges = RelaxedGraphHeuristic.edges(this.nEffects, nbRelevantFacts);
+
+        // The operators without precondition are handled apart: they appear at every layer of the graph
+        int nbOperatorsWithoutPrecond = 0;
+        for (int o = 0; o < nbUncondOperators; o++) {
+            if (this.precondCardinality[o] == 0) {
+                nbOperatorsWithoutPrecond++;
+            }
+        }
+        this.operatorsWithoutPrecond = new int[nbOperatorsWithoutPrecond];
+        nbOperatorsWithoutPrecond = 0;
+        for (int o = 0; o < nbUncondOperators; o++) {
+            if (this.precondCardinality[o] == 0) {
+                this.operatorsWithoutPrecond[nbOperatorsWithoutPrecond++] = o;
+            }
+        }
 
-                // We initialize the number of precondition of the unconditional operator
-                this.precondCardinality[uncondOpIndex] = pre.cardinality();
+        // Initialize the scratch structures reused by each expansion and extraction
+        this.pQueue = new int[nbRelevantFacts];
+        this.nQueue = new int[nbRelevantFacts];
+        this.newOps = new int[nbUncondOperators];
+        this.pGoals = new long[0][];
+        this.nGoals = new long[0][];
+        final int words = (nbRelevantFacts + Long.SIZE - 1) / Long.SIZE;
+        this.pHelpfulGoals = new long[words];
+        this.nHelpfulGoals = new long[words];
+        this.helpfulActions = new BitVector(operators.size());
+        this.values = new int[RelaxedGraphHeuristic.NB_VALUES];
+        this.computed = new boolean[RelaxedGraphHeuristic.NB_VALUES];
+    }
 
-                // We initialize the unconditional effects of the operator
-                if (cEffect.getCondition().isEmpty()) {
-                    final BitExp uncondEff = this.unconditionalEffects[opIndex];
-                    final BitExp condEff = cEffect.getEffects();
-                    uncondEff.getPositive().or(condEff.getPositive());
-                    uncondEff.getNegative().or(condEff.getNegative());
-                }
+    /**
+     * Returns the ascending array of the bits set in a bit vector.
+     *
+     * @param vector the bit vector.
+     * @return the ascending array of the bits set.
+     */
+    private static int[] toArray(final BitVector vector) {
+        final int[] array = new int[vector.cardinality()];
+        int i = 0;
+        for (int p = vector.nextSetBit(0); p >= 0; p = vector.nextSetBit(p + 1)) {
+            array[i++] = p;
+        }
+        return array;
+    }
 
-                // We increment the counter of unconditional operator
-                uncondOpIndex++;
+    /**
+     * Returns for each proposition the ascending array of the operators that contain it.
+     *
+     * @param sets            the propositions of each operator.
+     * @param nbRelevantFacts the number of relevant propositions.
+     * @return for each proposition the array of the operators that contain it.
+     */
+    private static int[][] edges(final int[][] sets, final int nbRelevantFacts) {
+        final int[] size = new int[nbRelevantFacts];
+        for (int[] set : sets) {
+            for (int p : set) {
+                size[p]++;
             }
         }
-
-        // A hack for the operator without precondition
-        for (int i = 0; i < nbUncondOperators; i++) {
-            if (this.preconditions[i].isEmpty()) {
-                for (BitExp pEdge : precondEdges) {
-                    pEdge.getPositive().set(i);
-                    pEdge.getNegative().set(i);
-                }
+        final int[][] edges = new int[nbRelevantFacts][];
+        for (int p = 0; p < nbRelevantFacts; p++) {
+            edges[p] = new int[size[p]];
+            size[p] = 0;
+        }
+        for (int o = 0; o < sets.length; o++) {
+            for (int p : sets[o]) {
+                edges[p][size[p]++] = o;
             }
         }
-
+        return edges;
     }
 
     /**
@@ -258,16 +367,19 @@ public abstract class RelaxedGraphHeuristic extends AbstractHeuristic {
     protected final void setGoal(final BitExp goal) {
         super.setGoal(goal);
         this.goalCardinality = goal.cardinality();
+        Arrays.fill(this.computed, false);
     }
 
     /**
-     * This method creates the relaxed planning graph from a specified initial state.
+     * This method creates the relaxed planning graph from a specified initial state. The propositions are
+     * enqueued in the order of their apparition, so each layer of the graph is a slice of the queues and the
+     * preconditions of each operator are counted only once. No object is allocated by the expansion.
      *
      * @param state the initial state of the relaxed planning graph.
      * @return the level of the graph built.
      */
     protected final int expandRelaxedPlanningGraph(final BitState state) {
-
+        Arrays.fill(this.computed, false);
         Arrays.fill(this.operatorsLevel, Integer.MAX_VALUE);
         // The array that contains the level of the positive proposition apparition
         Arrays.fill(this.pPropLevel, Integer.MAX_VALUE);
@@ -284,132 +396,112 @@ public abstract class RelaxedGraphHeuristic extends AbstractHeuristic {
         final BitVector nGoal = super.getGoal().getNegative();
         // The counter used to store the number of goal reach.
         this.goalCounter = 0;
-
         // The current level of the connectivity graph (the first level is 0)
         this.level = 0;
-        // The bit vector used to store the positive propositions of the graph
-        BitVector ppk = new BitVector(state);
-        // The bit vector used to store the negative propositions of the graph
-        BitVector npk = new BitVector();
-        npk.flip(0, super.getRevelantFacts().size());
-        npk.andNot(state);
-        // All positive goal of the initial state are set to appear at level 0
-        for (int p = ppk.nextSetBit(0); p >= 0; p = ppk.nextSetBit(p + 1)) {
+
+        // All the positive propositions of the initial state are set to appear at level 0
+        final int nbRelevantFacts = this.pPropLevel.length;
+        int pTail = 0;
+        for (int p = state.nextSetBit(0); p >= 0 && p < nbRelevantFacts; p = state.nextSetBit(p + 1)) {
             this.pPropLevel[p] = 0;
+            this.pQueue[pTail++] = p;
             if (pGoal.get(p)) {
                 this.goalCounter++;
             }
         }
-        // All negative goal of the initial state are set to appear at level 0
-        for (int p = npk.nextSetBit(0); p >= 0; p = npk.nextSetBit(p + 1)) {
+        // All the negative propositions of the initial state are set to appear at level 0
+        int nTail = 0;
+        for (int p = state.nextClearBit(0); p < nbRelevantFacts; p = state.nextClearBit(p + 1)) {
             this.nPropLevel[p] = 0;
+            this.nQueue[nTail++] = p;
             if (nGoal.get(p)) {
                 this.goalCounter++;
             }
         }
 
-        // The positive accumulator used to store the set of positive proposition already reached
-        final BitVector pAcc = new BitVector();
-        // The negative accumulator used to store the set of negative proposition already reached
-        final BitVector nAcc = new BitVector();
-
+        // The heads of the queues, i.e., the first proposition of the current layer
+        int pHead = 0;
+        int nHead = 0;
         // We start building the relaxed planning graph
         // The graph is expanded until the goal and the fixed point of the graph is not reached
-        while (this.goalCounter != this.goalCardinality && (!ppk.isEmpty() || !npk.isEmpty())) {
-            // A bit vector used to store the new operator to add
-            final BitVector newOps = new BitVector();
-            // For each positive proposition of the proposition layer
-            for (int p = ppk.nextSetBit(0); p >= 0; p = ppk.nextSetBit(p + 1)) {
-                // We getActionSet the operator that have this positive proposition as precondition
-                final BitVector pEdges = this.precondEdges[p].getPositive();
-                // We mark the positive proposition p has explored
-                pAcc.set(p);
-                // We update the counter associated to the operator precondition
-                for (int pe = pEdges.nextSetBit(0); pe >= 0; pe = pEdges.nextSetBit(pe + 1)) {
-                    // If the operator has a no-empty set of preconditions we increment its counter
-                    if (this.precondCardinality[pe] != 0) {
-                        this.precondCounters[pe]++;
-                    }
-                    // Finally, if the all the preconditions of an operator hold we mark the
-                    // operator has new operator for the level
-                    if (this.precondCounters[pe] == this.precondCardinality[pe]) {
-                        newOps.set(pe);
+        while (this.goalCounter != this.goalCardinality && (pHead < pTail || nHead < nTail)) {
+            int nbNewOps = 0;
+            // For each positive proposition of the proposition layer we update the counter associated to the
+            // operators preconditions. If all the preconditions of an operator hold we mark the operator as new
+            // operator for the level
+            for (int i = pHead; i < pTail; i++) {
+                for (int o : this.pPrecondEdges[this.pQueue[i]]) {
+                    if (++this.precondCounters[o] == this.precondCardinality[o]) {
+                        this.newOps[nbNewOps++] = o;
                     }
                 }
             }
             // For each negative proposition of the proposition layer
-            for (int p = npk.nextSetBit(0); p >= 0; p = npk.nextSetBit(p + 1)) {
-                // We getActionSet the operator that have this positive proposition as precondition
-                final BitVector nEdges = this.precondEdges[p].getNegative();
-                // We mark the negative proposition p has explored
-                nAcc.set(p);
-                // We update the counter associated to the operator precondition
-                for (int pe = nEdges.nextSetBit(0); pe >= 0; pe = nEdges.nextSetBit(pe + 1)) {
-                    // If the operator has a no-empty set of preconditions we increment its counter
-                    if (this.precondCardinality[pe] != 0) {
-                        this.precondCounters[pe]++;
-                    }
-                    // Finally, if the all the preconditions of an operator hold we mark the
-                    // operator has new operator for the level
-                    if (this.precondCounters[pe] == this.precondCardinality[pe]) {
-                        newOps.set(pe);
+            for (int i = nHead; i < nTail; i++) {
+                for (int o : this.nPrecondEdges[this.nQueue[i]]) {
+                    if (++this.precondCounters[o] == this.precondCardinality[o]) {
+                        this.newOps[nbNewOps++] = o;
                     }
                 }
             }
-            // The bit vector used to the store the new positive proposition at the next level
-            final BitVector pNewProps = new BitVector();
-            // The bit vector used to the store the new negative proposition at the next level
-            final BitVector nNewProps = new BitVector();
-            // For each new operator at level k
-            for (int o = newOps.nextSetBit(0); o >= 0; o = newOps.nextSetBit(o + 1)) {
-                // We mark o as appearing at the level k
+            pHead = pTail;
+            nHead = nTail;
+            // The next proposition layer is made of the effects of the new operators not yet encountered in the
+            // planning graph. The operators without precondition are new at every level
+            final int next = this.level + 1;
+            for (int o : this.operatorsWithoutPrecond) {
                 this.operatorsLevel[o] = this.level;
-                // We accumulate the positive effects of o for the next proposition level k
-                pNewProps.or(this.effects[o].getPositive());
-                // We accumulate the negative effects of o for the next proposition level k
-                nNewProps.or(this.effects[o].getNegative());
-                // Then we compute the difficulty of operator as the sum of the level of their
-                // preconditions
                 this.operatorsDifficulty[o] = 0;
-                // First the sum of the positive preconditions
-                final BitVector pPre = this.preconditions[o].getPositive();
-                for (int p = pPre.nextSetBit(0); p >= 0; p = pPre.nextSetBit(p + 1)) {
-                    this.operatorsDifficulty[o] += this.pPropLevel[p];
+                pTail = this.enqueue(this.pEffects[o], this.pPropLevel, this.pQueue, pTail, pGoal, next);
+                nTail = this.enqueue(this.nEffects[o], this.nPropLevel, this.nQueue, nTail, nGoal, next);
+            }
+            for (int i = 0; i < nbNewOps; i++) {
+                final int o = this.newOps[i];
+                // We mark o as appearing at the level k
+                this.operatorsLevel[o] = this.level;
+                // Then we compute the difficulty of operator as the sum of the level of their preconditions
+                int difficulty = 0;
+                for (int p : this.pPreconditions[o]) {
+                    difficulty += this.pPropLevel[p];
                 }
-                // First the sum of the negative preconditions
-                final BitVector nPre = this.preconditions[o].getNegative();
-                for (int p = nPre.nextSetBit(0); p >= 0; p = nPre.nextSetBit(p + 1)) {
-                    this.operatorsDifficulty[o] += this.nPropLevel[p];
+                for (int p : this.nPreconditions[o]) {
+                    difficulty += this.nPropLevel[p];
                 }
+                this.operatorsDifficulty[o] = difficulty;
+                pTail = this.enqueue(this.pEffects[o], this.pPropLevel, this.pQueue, pTail, pGoal, next);
+                nTail = this.enqueue(this.nEffects[o], this.nPropLevel, this.nQueue, nTail, nGoal, next);
             }
-
-            // Now, we compute the new proposition level just by adding positive and negative
-            // propositions that was not yet encounter in the planning graph
-            ppk = pNewProps;
-            npk = nNewProps;
-            ppk.andNot(pAcc);
-            npk.andNot(nAcc);
-
             // We increment the counter level
-            this.level++;
-            // For each positive new proposition we set its level to k + 1
-            for (int p = ppk.nextSetBit(0); p >= 0; p = ppk.nextSetBit(p + 1)) {
-                this.pPropLevel[p] = this.level;
-                // Update the goal counter if a positive goal proposition is reached
-                if (pGoal.get(p)) {
-                    this.goalCounter++;
-                }
-            }
-            // For each positive new proposition we set its level to k + 1
-            for (int p = npk.nextSetBit(0); p >= 0; p = npk.nextSetBit(p + 1)) {
-                this.nPropLevel[p] = this.level;
-                // Update the goal counter if a negative goal proposition is reached
-                if (nGoal.get(p)) {
+            this.level = next;
+        }
+        return this.level;
+    }
+
+    /**
+     * Enqueues the propositions of an effect not yet encountered in the planning graph and sets their level.
+     *
+     * @param effect the propositions of the effect.
+     * @param levels the levels of the propositions.
+     * @param queue  the queue of the propositions.
+     * @param tail   the tail of the queue.
+     * @param goal   the goal propositions.
+     * @param lev    the level of the new propositions.
+     * @return the new tail of the queue.
+     */
+    private int enqueue(final int[] effect, final int[] levels, final int[] queue, final int tail,
+                        final BitVector goal, final int lev) {
+        int newTail = tail;
+        for (int p : effect) {
+            if (levels[p] == Integer.MAX_VALUE) {
+                levels[p] = lev;
+                queue[newTail++] = p;
+                // Update the goal counter if a goal proposition is reached
+                if (goal.get(p)) {
                     this.goalCounter++;
                 }
             }
         }
-        return this.level;
+        return newTail;
     }
 
     /**
@@ -423,12 +515,129 @@ public abstract class RelaxedGraphHeuristic extends AbstractHeuristic {
     }
 
     /**
-     * Compute the sum heuristic.
+     * Returns the sum heuristic value of the last planning graph expanded. The value is computed once per
+     * expansion, so the heuristics combining several values of a same graph do not recompute them.
      *
      * @return the sum heuristic value.
      * @see Sum
      */
     protected final int getSumValue() {
+        if (!this.computed[RelaxedGraphHeuristic.SUM]) {
+            this.values[RelaxedGraphHeuristic.SUM] = this.computeSumValue();
+            this.computed[RelaxedGraphHeuristic.SUM] = true;
+        }
+        return this.values[RelaxedGraphHeuristic.SUM];
+    }
+
+    /**
+     * Returns the max heuristic value of the last planning graph expanded. The value is computed once per
+     * expansion.
+     *
+     * @return max heuristic value.
+     * @see Max
+     */
+    protected final int getMaxValue() {
+        if (!this.computed[RelaxedGraphHeuristic.MAX]) {
+            this.values[RelaxedGraphHeuristic.MAX] = this.computeMaxValue();
+            this.computed[RelaxedGraphHeuristic.MAX] = true;
+        }
+        return this.values[RelaxedGraphHeuristic.MAX];
+    }
+
+    /**
+     * Returns the relaxed plan heuristic value of the last planning graph expanded. The relaxed plan is extracted
+     * once per expansion.
+     *
+     * @return the relaxed plan heuristic value.
+     * @see FastForward
+     */
+    protected final int getRelaxedPlanValue() {
+        if (!this.computed[RelaxedGraphHeuristic.RELAXED_PLAN]) {
+            this.values[RelaxedGraphHeuristic.RELAXED_PLAN] = this.computeRelaxedPlanValue();
+            this.computed[RelaxedGraphHeuristic.RELAXED_PLAN] = true;
+        }
+        return this.values[RelaxedGraphHeuristic.RELAXED_PLAN];
+    }
+
+    /**
+     * Returns the number of bytes used by the heuristic. The value is computed from the size of the arrays
+     * allocated to expand the relaxed planning graph and to extract the relaxed plan.
+     *
+     * @return the number of bytes used by the heuristic.
+     */
+    @Override
+    public long getMemoryUsed() {
+        final long intArrays = (long) this.precondCardinality.length + this.operatorsLevel.length
+            + this.precondCounters.length + this.operatorsDifficulty.length + this.pPropLevel.length
+            + this.nPropLevel.length + this.operatorsWithoutPrecond.length + this.pQueue.length
+            + this.nQueue.length + this.newOps.length + this.values.length;
+        return super.getMemoryUsed()
+            + intArrays * Integer.BYTES
+            + AbstractHeuristic.sizeOf(this.unconditionalOperators)
+            + AbstractHeuristic.sizeOf(this.pPrecondEdges) + AbstractHeuristic.sizeOf(this.nPrecondEdges)
+            + AbstractHeuristic.sizeOf(this.pEffectsEdges) + AbstractHeuristic.sizeOf(this.nEffectsEdges)
+            + AbstractHeuristic.sizeOf(this.pPreconditions) + AbstractHeuristic.sizeOf(this.nPreconditions)
+            + AbstractHeuristic.sizeOf(this.pEffects) + AbstractHeuristic.sizeOf(this.nEffects)
+            + AbstractHeuristic.sizeOf(this.pGoals) + AbstractHeuristic.sizeOf(this.nGoals)
+            + (long) (this.pHelpfulGoals.length + this.nHelpfulGoals.length) * Long.BYTES
+            + AbstractHeuristic.sizeOf(this.helpfulActions)
+            + this.computed.length;
+    }
+
+    /**
+     * Returns the helpful actions of the last state estimated, i.e., the operators applicable in the state that
+     * achieve a goal of the first level of the relaxed plan not already true in the state. For more about the
+     * helpful actions see Hoffmann, J. and Nebel, B. (2001). The FF Planning System: Fast Plan Generation Through
+     * Heuristic Search. Journal of Artificial Intelligence Research, 14(1):253-302.
+     * <p>
+     * The relaxed plan is extracted if the heuristic did not need it. The bit vector returned is indexed by the
+     * operators of the problem and is reused: it is only valid until the next estimation.
+     * </p>
+     *
+     * @return the helpful actions of the last state estimated. The bit vector is empty if the goal is unreachable
+     *      or already true in the state.
+     */
+    public final BitVector getHelpfulActions() {
+        if (!this.computed[RelaxedGraphHeuristic.HELPFUL_ACTIONS]) {
+            this.helpfulActions.clear();
+            if (this.isGoalReachable()) {
+                this.getRelaxedPlanValue();
+                this.addHelpfulActions(this.pHelpfulGoals, this.pPropLevel, this.pEffectsEdges);
+                this.addHelpfulActions(this.nHelpfulGoals, this.nPropLevel, this.nEffectsEdges);
+            }
+            this.values[RelaxedGraphHeuristic.HELPFUL_ACTIONS] = this.helpfulActions.cardinality();
+            this.computed[RelaxedGraphHeuristic.HELPFUL_ACTIONS] = true;
+        }
+        return this.helpfulActions;
+    }
+
+    /**
+     * Adds to the helpful actions the operators of the first layer of the graph achieving a goal of the first
+     * level of the relaxed plan.
+     *
+     * @param goals  the goals of the first level of the relaxed plan.
+     * @param levels the levels of the propositions.
+     * @param edges  the operators achieving each proposition.
+     */
+    private void addHelpfulActions(final long[] goals, final int[] levels, final int[][] edges) {
+        for (int g = RelaxedGraphHeuristic.nextSetBit(goals, 0); g >= 0;
+             g = RelaxedGraphHeuristic.nextSetBit(goals, g + 1)) {
+            if (levels[g] == 1) {
+                for (int o : edges[g]) {
+                    if (this.operatorsLevel[o] == 0) {
+                        this.helpfulActions.set(this.unconditionalOperators[o][0]);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Compute the sum heuristic.
+     *
+     * @return the sum heuristic value.
+     */
+    private int computeSumValue() {
         int value = 0;
         final BitVector pGoal = super.getGoal().getPositive();
         final BitVector nGoal = super.getGoal().getNegative();
@@ -445,9 +654,8 @@ public abstract class RelaxedGraphHeuristic extends AbstractHeuristic {
      * Compute the max heuristic.
      *
      * @return max heuristic value.
-     * @see Max
      */
-    protected final int getMaxValue() {
+    private int computeMaxValue() {
         int max = Integer.MIN_VALUE;
         final BitVector pGoal = super.getGoal().getPositive();
         final BitVector nGoal = super.getGoal().getNegative();
@@ -467,112 +675,113 @@ public abstract class RelaxedGraphHeuristic extends AbstractHeuristic {
     }
 
     /**
-     * Compute the relaxed plan heuristic value.
+     * Compute the relaxed plan heuristic value. The goals of each level are stored in bit sets reused from one
+     * call to another: they are only reallocated when the graph is deeper than all the previous ones.
      *
      * @return the relaxed plan heuristic value.
-     * @see FastForward
      */
-    protected final int getRelaxedPlanValue() {
+    private int computeRelaxedPlanValue() {
         // The integer used to counter the number of actions of the relaxed plan
         int value = 0;
 
         // We initialize the for each level of the graph the goal to reach
-        final BitExp[] goals = new BitExp[this.level + 1];
+        if (this.pGoals.length <= this.level) {
+            final int words = (this.pPropLevel.length + Long.SIZE - 1) / Long.SIZE;
+            this.pGoals = new long[this.level + 1][words];
+            this.nGoals = new long[this.level + 1][words];
+        }
         for (int k = 0; k <= this.level; k++) {
-            goals[k] = new BitExp();
+            Arrays.fill(this.pGoals[k], 0L);
+            Arrays.fill(this.nGoals[k], 0L);
         }
         final BitVector pGoal = super.getGoal().getPositive();
         final BitVector nGoal = super.getGoal().getNegative();
         for (int g = pGoal.nextSetBit(0); g >= 0; g = pGoal.nextSetBit(g + 1)) {
-            goals[this.pPropLevel[g]].getPositive().set(g);
+            RelaxedGraphHeuristic.set(this.pGoals[this.pPropLevel[g]], g);
         }
         for (int g = nGoal.nextSetBit(0); g >= 0; g = nGoal.nextSetBit(g + 1)) {
-            goals[this.nPropLevel[g]].getNegative().set(g);
+            RelaxedGraphHeuristic.set(this.nGoals[this.nPropLevel[g]], g);
         }
 
         // We start the extraction of the relaxed plan
+        Arrays.fill(this.pHelpfulGoals, 0L);
+        Arrays.fill(this.nHelpfulGoals, 0L);
         for (int k = level; k > 0; k--) {
             // goals at level k
-            final BitExp gk = goals[k];
-            final BitVector pGk = gk.getPositive();
-            final BitVector nGk = gk.getNegative();
+            final long[] pGk = this.pGoals[k];
+            final long[] nGk = this.nGoals[k];
             // goals at level k - 1
-            final BitExp gk1 = goals[k - 1];
-            final BitVector pGk1 = gk1.getPositive();
-            final BitVector nGk1 = gk1.getNegative();
+            final long[] pGk1 = this.pGoals[k - 1];
+            final long[] nGk1 = this.nGoals[k - 1];
+            // The goals of the first level are kept to compute the helpful actions
+            if (k == 1) {
+                System.arraycopy(pGk, 0, this.pHelpfulGoals, 0, pGk.length);
+                System.arraycopy(nGk, 0, this.nHelpfulGoals, 0, nGk.length);
+            }
             // Each positive goal at level k we need to find a resolver to support it
-            for (int pg = pGk.nextSetBit(0); pg >= 0; pg = pGk.nextSetBit(pg + 1)) {
+            for (int pg = RelaxedGraphHeuristic.nextSetBit(pGk, 0); pg >= 0;
+                 pg = RelaxedGraphHeuristic.nextSetBit(pGk, pg + 1)) {
                 // Select the best resolver according to the difficulty heuristic
-                final int resolverIndex = this.select(this.effectsEdges[pg].getPositive(), k);
-                if (resolverIndex != -1) {
-                    final BitExp pre = this.preconditions[resolverIndex];
-                    final BitVector pPre = pre.getPositive();
-                    for (int p = pPre.nextSetBit(0); p >= 0; p = pPre.nextSetBit(p + 1)) {
-                        final int pLevel = this.pPropLevel[p];
-                        if (pLevel != 0 && !pGk1.get(p)) {
-                            goals[pLevel].getPositive().set(p);
-                        }
-                    }
-                    final BitVector nPre = pre.getNegative();
-                    for (int p = nPre.nextSetBit(0); p >= 0; p = nPre.nextSetBit(p + 1)) {
-                        final int pLevel = this.nPropLevel[p];
-                        if (pLevel != 0 && !nGk1.get(p)) {
-                            goals[pLevel].getNegative().set(p);
-                        }
-                    }
-                    // Get the effects of the operator marked them as true
-                    final BitExp effect = this.effects[resolverIndex];
-                    final BitVector pEffect = effect.getPositive();
-                    final BitVector nEffect = effect.getNegative();
-                    pGk1.andNot(pEffect);
-                    nGk1.andNot(nEffect);
-                    pGk.andNot(pEffect);
-                    nGk.andNot(nEffect);
+                final int resolver = this.select(this.pEffectsEdges[pg], k);
+                if (resolver != -1) {
+                    this.support(resolver, k);
                     // We increment the number of action of the relaxed plan
                     value++;
                 } else { // NOOP case
-                    pGk1.clear(pg);
-                    pGk.clear(pg);
+                    RelaxedGraphHeuristic.clear(pGk1, pg);
+                    RelaxedGraphHeuristic.clear(pGk, pg);
                 }
             }
             // Each negative goal at level k we need to find a resolver to support it
-            for (int ng = nGk.nextSetBit(0); ng >= 0; ng = nGk.nextSetBit(ng + 1)) {
-                final int resolverIndex = this.select(this.effectsEdges[ng].getNegative(), k);
-                if (resolverIndex != -1) {
-                    final BitExp pre = this.preconditions[resolverIndex];
-                    final BitVector pPre = pre.getPositive();
-                    for (int p = pPre.nextSetBit(0); p >= 0; p = pPre.nextSetBit(p + 1)) {
-                        final int pLevel = this.pPropLevel[p];
-                        if (pLevel != 0 && !pGk1.get(p)) {
-                            goals[pLevel].getPositive().set(p);
-                        }
-                    }
-                    final BitVector nPre = pre.getNegative();
-                    for (int p = nPre.nextSetBit(0); p >= 0; p = nPre.nextSetBit(p + 1)) {
-                        final int pLevel = this.nPropLevel[p];
-                        if (pLevel != 0 && !nGk1.get(p)) {
-                            goals[pLevel].getNegative().set(p);
-                        }
-                    }
-                    // Get the effects of the operator marked them as true
-                    final BitExp effect = this.effects[resolverIndex];
-                    final BitVector pEffect = effect.getPositive();
-                    final BitVector nEffect = effect.getNegative();
-                    pGk1.andNot(pEffect);
-                    nGk1.andNot(nEffect);
-                    pGk.andNot(pEffect);
-                    nGk.andNot(nEffect);
+            for (int ng = RelaxedGraphHeuristic.nextSetBit(nGk, 0); ng >= 0;
+                 ng = RelaxedGraphHeuristic.nextSetBit(nGk, ng + 1)) {
+                final int resolver = this.select(this.nEffectsEdges[ng], k);
+                if (resolver != -1) {
+                    this.support(resolver, k);
                     // We increment the number of action of the relaxed plan
                     value++;
                 } else { // NOOP case
-                    nGk1.set(ng);
-                    nGk.clear(ng);
+                    RelaxedGraphHeuristic.set(nGk1, ng);
+                    RelaxedGraphHeuristic.clear(nGk, ng);
                 }
             }
         }
         return value;
     }
 
+    /**
+     * Adds a resolver to the relaxed plan at a specified level: its preconditions become goals at the level of
+     * their apparition and its effects are marked as reached at the levels <code>k</code> and <code>k - 1</code>.
+     *
+     * @param resolver the resolver.
+     * @param k        the level.
+     */
+    private void support(final int resolver, final int k) {
+        final long[] pGk1 = this.pGoals[k - 1];
+        final long[] nGk1 = this.nGoals[k - 1];
+        for (int p : this.pPreconditions[resolver]) {
+            final int pLevel = this.pPropLevel[p];
+            if (pLevel != 0 && !RelaxedGraphHeuristic.get(pGk1, p)) {
+                RelaxedGraphHeuristic.set(this.pGoals[pLevel], p);
+            }
+        }
+        for (int p : this.nPreconditions[resolver]) {
+            final int pLevel = this.nPropLevel[p];
+            if (pLevel != 0 && !RelaxedGraphHeuristic.get(nGk1, p)) {
+                RelaxedGraphHeuristic.set(this.nGoals[pLevel], p);
+            }
+        }
+        // Get the effects of the operator marked them as true
+        for (int p : this.pEffects[resolver]) {
+            RelaxedGraphHeuristic.clear(pGk1, p);
+            RelaxedGraphHeuristic.clear(this.pGoals[k], p);
+        }
+        for (int p : this.nEffects[resolver]) {
+            RelaxedGraphHeuristic.clear(nGk1, p);
+            RelaxedGraphHeuristic.clear(this.nGoals[k], p);
+        }
+    }
+
     /**
      * Select an effect according to the unconditional operators difficulty heuristic. The question
      * is, which achiever should be choose when no NOOP is available ? It is certainly a good idea
@@ -589,15 +798,15 @@ public abstract class RelaxedGraphHeuristic extends AbstractHeuristic {
      * where there are severals ways to achieve one fact. but some ways need less effort than
      * others.
      *
-     * @param resolvers the list of resolver of p.
+     * @param resolvers the ascending list of resolver of p.
      * @param lev       the level.
      * @return the easier resolver for the proposition <code>p</code> at level <code>lev</code> or
-     * <code>null</code> if a NOOP operator is available.
+     * <code>-1</code> if a NOOP operator is available.
      */
-    private int select(final BitVector resolvers, final int lev) {
+    private int select(final int[] resolvers, final int lev) {
         int resolver = -1;
         int minDifficulty = Integer.MAX_VALUE;
-        for (int r = resolvers.nextSetBit(0); r >= 0; r = resolvers.nextSetBit(r + 1)) {
+        for (int r : resolvers) {
             if (this.operatorsLevel[r] < lev) {
                 final int difficulty = this.operatorsDifficulty[r];
                 if (difficulty < minDifficulty) {
@@ -609,4 +818,57 @@ public abstract class RelaxedGraphHeuristic extends AbstractHeuristic {
         return resolver;
     }
 
+    /**
+     * Returns the value of a bit of a bit set stored in an array of words.
+     *
+     * @param words the words of the bit set.
+     * @param index the index of the bit.
+     * @return the value of the bit.
+     */
+    private static boolean get(final long[] words, final int index) {
+        return (words[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Sets a bit of a bit set stored in an array of words.
+     *
+     * @param words the words of the bit set.
+     * @param index the index of the bit.
+     */
+    private static void set(final long[] words, final int index) {
+        words[index >>> 6] |= 1L << index;
+    }
+
+    /**
+     * Clears a bit of a bit set stored in an array of words.
+     *
+     * @param words the words of the bit set.
+     * @param index the index of the bit.
+     */
+    private static void clear(final long[] words, final int index) {
+        words[index >>> 6] &= ~(1L << index);
+    }
+
+    /**
+     * Returns the index of the first bit set from a specified index of a bit set stored in an array of words.
+     *
+     * @param words the words of the bit set.
+     * @param from  the index to start from.
+     * @return the index of the next bit set or -1 if there is no such bit.
+     */
+    private static int nextSetBit(final long[] words, final int from) {
+        int u = from >>> 6;
+        if (u >= words.length) {
+            return -1;
+        }
+        long word = words[u] & (-1L << from);
+        while (word == 0) {
+            if (++u == words.length) {
+                return -1;
+            }
+            word = words[u];
+        }
+        return u * Long.SIZE + Long.numberOfTrailingZeros(word);
+    }
+
 }
@@ -55,22 +55,32 @@ public class Domain implements Serializable {
     /**
      * The list of types declared in the domain.
      */
-    private List<TypedSymbol> types;
+    private SymbolList<TypedSymbol> types;
 
     /**
      * The list of constants declared in the domain.
      */
-    private List<TypedSymbol> constants;
+    private SymbolList<TypedSymbol> constants;
 
     /**
      * The list of predicates used in the domain and the problem.
      */
-    private List<NamedTypedList> predicates;
+    private SymbolList<NamedTypedList> predicates;
 
     /**
      * The list of functions used in the domain and the problem.
      */
-    private List<NamedTypedList> functions;
+    private SymbolList<NamedTypedList> functions;
+
+    /**
+     * The type hierarchy compiled from the types of the domain.
+     */
+    private transient TypeHierarchy hierarchy;
+
+    /**
+     * The version of the list of types from which the type hierarchy was compiled.
+     */
+    private transient int hierarchyVersion;
 
     /**
      * The constraints declared in the domain.
@@ -105,11 +115,11 @@ public class Domain implements Serializable {
         }
         this.name = name;
         this.requirements = new LinkedHashSet<>();
-        this.types = new ArrayList<>();
+        this.types = new SymbolList<>();
         this.types.add(new TypedSymbol(Parser.OBJECT));
-        this.constants = new ArrayList<>();
-        this.predicates = new ArrayList<>();
-        this.functions = new ArrayList<>();
+        this.constants = new SymbolList<>();
+        this.predicates = new SymbolList<>();
+        this.functions = new SymbolList<>();
         this.constraints = null;
         this.ops = new ArrayList<>();
         this.derivedPredicates = new ArrayList<>();
@@ -337,6 +347,35 @@ public class Domain implements Serializable {
         return (index == -1) ? null : this.types.get(index);
     }
 
+    /**
+     * Returns the type hierarchy of the domain. The hierarchy is compiled from the types of the domain the first
+     * time it is needed and compiled again when the list of types is modified. The super types of the types must
+     * not be modified once the hierarchy is compiled.
+     *
+     * @return the type hierarchy of the domain.
+     * @see TypeHierarchy
+     */
+    public final TypeHierarchy getTypeHierarchy() {
+        if (this.hierarchy == null || this.hierarchyVersion != this.types.getVersion()) {
+            this.hierarchy = new TypeHierarchy(this.types);
+            this.hierarchyVersion = this.types.getVersion();
+        }
+        return this.hierarchy;
+    }
+
+    /**
+     * Builds the indexes of the types, the constants, the predicates and the functions of the domain and its type
+     * hierarchy. The indexes are otherwise built at the first lookup. Once built, the lookups only read the
+     * indexes, so that a domain that is no more modified can be shared by several threads.
+     */
+    public final void index() {
+        this.types.index();
+        this.constants.index();
+        this.predicates.index();
+        this.functions.index();
+        this.getTypeHierarchy();
+    }
+
     /**
      * Returns if a specified constant symbol was declared.
      *
@@ -344,7 +383,7 @@ public class Domain implements Serializable {
      * @return <code>true</code> if the specified symbol is a declared constant; <code>false</code> otherwise.
      */
     public boolean isDeclaredConstant(final Symbol constant) {
-        return this.types.contains(constant);
+        return this.constants.contains(constant);
     }
 
     /**
@@ -359,6 +398,48 @@ public class Domain implements Serializable {
         return (index == -1) ? null : this.constants.get(index);
     }
 
+    /**
+     * Returns the index of the first predicate with a specified name or -1 if no predicate with this name was
+     * declared. The other predicates with the same name are returned by <code>nextPredicate()</code>.
+     *
+     * @param name the name of the predicate.
+     * @return the index of the first predicate with the specified name or -1.
+     */
+    int indexOfPredicate(final Symbol name) {
+        return this.predicates.first(name.getImage());
+    }
+
+    /**
+     * Returns the index of the next predicate with the same name as the predicate at a specified index or -1.
+     *
+     * @param index the index of the predicate.
+     * @return the index of the next predicate with the same name or -1.
+     */
+    int nextPredicate(final int index) {
+        return this.predicates.next(index);
+    }
+
+    /**
+     * Returns the index of the first function with a specified name or -1 if no function with this name was
+     * declared. The other functions with the same name are returned by <code>nextFunction()</code>.
+     *
+     * @param name the name of the function.
+     * @return the index of the first function with the specified name or -1.
+     */
+    int indexOfFunction(final Symbol name) {
+        return this.functions.first(name.getImage());
+    }
+
+    /**
+     * Returns the index of the next function with the same name as the function at a specified index or -1.
+     *
+     * @param index the index of the function.
+     * @return the index of the next function with the same name or -1.
+     */
+    int nextFunction(final int index) {
+        return this.functions.next(index);
+    }
+
     /**
      * Return if this domain is equal to another specified object.
      *
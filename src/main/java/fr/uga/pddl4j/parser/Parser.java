@@ -227,6 +227,11 @@ public final class Parser {
             } else {
                 this.lexer.ReInit(inputStream);
             }
+            this.lexer.setErrorManager(this.mgr);
+            if (this.domain != null) {
+                // The requirements of the domain are needed to parse the problem
+                this.lexer.setDomain(this.domain);
+            }
             this.lexer.setFile(problem);
             this.lexer.problem();
             this.problem = this.lexer.getProblem();
@@ -249,6 +254,19 @@ public final class Parser {
         }
     }
 
+    /**
+     * Parses a planning problem of a domain already parsed from a specific file. The problem is checked against
+     * the domain, which is not modified.
+     *
+     * @param domain  the domain of the problem.
+     * @param problem the file that contains the planning problem.
+     * @throws FileNotFoundException if the specified problem file does not exist.
+     */
+    public void parseProblem(Domain domain, File problem) throws FileNotFoundException {
+        this.domain = domain;
+        this.parseProblem(problem);
+    }
+
     /**
      * Parses a planning domain and a planning problem from the specified file path.
      *
@@ -1095,11 +1113,10 @@ public final class Parser {
      */
     private boolean isDeclaredPredicate(NamedTypedList predicate) {
         boolean checked = false;
-        int i = 0;
-        while (i < this.domain.getPredicates().size() && !checked) {
+        int i = this.domain.indexOfPredicate(predicate.getName());
+        while (i != -1 && !checked) {
             NamedTypedList p = this.domain.getPredicates().get(i);
-            if (predicate.getName().equals(p.getName())
-                && predicate.getArguments().size() == p.getArguments().size()) {
+            if (predicate.getArguments().size() == p.getArguments().size()) {
                 int j = 0;
                 checked = true;
                 while (j < predicate.getArguments().size() && checked) {
@@ -1109,7 +1126,7 @@ public final class Parser {
                     j++;
                 }
             }
-            i++;
+            i = this.domain.nextPredicate(i);
         }
         return checked;
     }
@@ -1122,11 +1139,10 @@ public final class Parser {
      */
     private boolean isDeclaredFunction(NamedTypedList function) {
         boolean checked = false;
-        int i = 0;
-        while (i < this.domain.getFunctions().size() && !checked) {
+        int i = this.domain.indexOfFunction(function.getName());
+        while (i != -1 && !checked) {
             NamedTypedList p = this.domain.getFunctions().get(i);
-            if (function.getName().equals(p.getName())
-                && function.getArguments().size() == p.getArguments().size()) {
+            if (function.getArguments().size() == p.getArguments().size()) {
                 int j = 0;
                 checked = true;
                 while (j < function.getArguments().size() && checked) {
@@ -1136,7 +1152,7 @@ public final class Parser {
                     j++;
                 }
             }
-            i++;
+            i = this.domain.nextFunction(i);
         }
         return checked;
     }
@@ -1150,21 +1166,14 @@ public final class Parser {
      * @return <code>true</code> if the types can be viewed as a subtype, <code>false</code> otherwise.
      */
     private boolean matchTypes(TypedSymbol s1, TypedSymbol s2) {
-        List<Symbol> copy = new LinkedList<>(s1.getTypes());
-        copy.retainAll(s2.getTypes());
-        boolean isSubType = !copy.isEmpty();
+        final TypeHierarchy hierarchy = this.domain.getTypeHierarchy();
+        boolean isSubType = false;
         Iterator<Symbol> i = s1.getTypes().iterator();
         while (i.hasNext() && !isSubType) {
-            TypedSymbol type = this.domain.getType(i.next());
-            LinkedList<TypedSymbol> stack = new LinkedList<>();
-            stack.push(type);
-            while (!stack.isEmpty() && !isSubType) {
-                TypedSymbol t = stack.poll();
-                copy = new LinkedList<>(t.getTypes());
-                copy.retainAll(s2.getTypes());
-                isSubType = !copy.isEmpty();
-                t.getTypes().stream().filter(s -> !s.equals(Parser.OBJECT)).forEach(s ->
-                    stack.push(this.domain.getType(s)));
+            final Symbol type = i.next();
+            Iterator<Symbol> j = s2.getTypes().iterator();
+            while (j.hasNext() && !isSubType) {
+                isSubType = hierarchy.isSubType(type, j.next());
             }
         }
         return isSubType;
@@ -58,7 +58,7 @@ public class Problem implements Serializable {
     /**
      * The list of objects declared in the problem.
      */
-    private List<TypedSymbol> objects;
+    private SymbolList<TypedSymbol> objects;
 
     /**
      * The list of initial facts declared in the problem.
@@ -98,7 +98,7 @@ public class Problem implements Serializable {
         }
         this.name = name;
         this.requirements = new LinkedHashSet<>();
-        this.objects = new ArrayList<>();
+        this.objects = new SymbolList<>();
         this.initialFacts = new ArrayList<>();
         this.goal = null;
         this.constraints = null;
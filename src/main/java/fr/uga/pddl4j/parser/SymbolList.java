@@ -0,0 +1,297 @@
+/*
+ * Copyright (c) 2016 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with PDDL4J.  If not, see
+ * <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.parser;
+
+import fr.uga.pddl4j.util.SymbolTable;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * This class implements the lists of symbols and of named typed lists of the domains and the problems. The elements
+ * are indexed by their key, i.e., the image of a symbol or the image of the name of a named typed list: the keys are
+ * interned in a <code>SymbolTable</code> and the elements with the same key are chained in the order of the list.
+ * Hence, <code>indexOf()</code> and <code>contains()</code> only compare the elements with the key looked for.
+ * <p>
+ * The index is updated when an element is appended and rebuilt at the next lookup after any other modification, so
+ * that the list can still be modified through the getters of the domains and the problems.
+ * </p>
+ *
+ * @param <T> the type of the elements.
+ * @author D. Pellier
+ * @version 1.0 - 17.10.2026
+ * @see SymbolTable
+ */
+final class SymbolList<T> extends AbstractList<T> implements RandomAccess, Serializable {
+
+    /**
+     * The serial id of the class.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The elements of the list.
+     */
+    private final ArrayList<T> elements;
+
+    /**
+     * The table of the keys of the elements.
+     */
+    private transient SymbolTable keys;
+
+    /**
+     * The index of the first element of each key.
+     */
+    private transient int[] first;
+
+    /**
+     * The index of the last element of each key.
+     */
+    private transient int[] last;
+
+    /**
+     * The index of the next element with the same key for each element or -1.
+     */
+    private transient int[] next;
+
+    /**
+     * The flag used to indicate if the index is up to date.
+     */
+    private transient boolean indexed;
+
+    /**
+     * The number of modifications of the list, including the replacements of elements.
+     */
+    private transient int version;
+
+    /**
+     * Creates a new empty list.
+     */
+    SymbolList() {
+        super();
+        this.elements = new ArrayList<>();
+        this.indexed = false;
+    }
+
+    /**
+     * Returns the element at a specified index.
+     *
+     * @param index the index.
+     * @return the element at the specified index.
+     */
+    @Override
+    public T get(final int index) {
+        return this.elements.get(index);
+    }
+
+    /**
+     * Returns the number of elements of the list.
+     *
+     * @return the number of elements of the list.
+     */
+    @Override
+    public int size() {
+        return this.elements.size();
+    }
+
+    /**
+     * Replaces the element at a specified index.
+     *
+     * @param index   the index.
+     * @param element the new element.
+     * @return the element previously at the specified index.
+     */
+    @Override
+    public T set(final int index, final T element) {
+        final T old = this.elements.set(index, element);
+        this.version++;
+        if (!Objects.equals(SymbolList.key(old), SymbolList.key(element))) {
+            this.indexed = false;
+        }
+        return old;
+    }
+
+    /**
+     * Inserts an element at a specified index.
+     *
+     * @param index   the index.
+     * @param element the element.
+     */
+    @Override
+    public void add(final int index, final T element) {
+        this.elements.add(index, element);
+        this.modCount++;
+        this.version++;
+        if (this.indexed && index == this.elements.size() - 1) {
+            this.link(index);
+        } else {
+            this.indexed = false;
+        }
+    }
+
+    /**
+     * Removes the element at a specified index.
+     *
+     * @param index the index.
+     * @return the element removed.
+     */
+    @Override
+    public T remove(final int index) {
+        final T old = this.elements.remove(index);
+        this.modCount++;
+        this.version++;
+        this.indexed = false;
+        return old;
+    }
+
+    /**
+     * Removes all the elements of the list.
+     */
+    @Override
+    public void clear() {
+        this.elements.clear();
+        this.modCount++;
+        this.version++;
+        this.indexed = false;
+    }
+
+    /**
+     * Returns the index of the first occurrence of an element or -1 if the list does not contain the element.
+     *
+     * @param object the element.
+     * @return the index of the first occurrence of the element or -1 if the list does not contain the element.
+     */
+    @Override
+    public int indexOf(final Object object) {
+        final String key = SymbolList.key(object);
+        if (key == null) {
+            return super.indexOf(object);
+        }
+        int index = this.first(key);
+        while (index != -1 && !object.equals(this.elements.get(index))) {
+            index = this.next[index];
+        }
+        return index;
+    }
+
+    /**
+     * Returns <code>true</code> if the list contains an element.
+     *
+     * @param object the element.
+     * @return <code>true</code> if the list contains the element; <code>false</code> otherwise.
+     */
+    @Override
+    public boolean contains(final Object object) {
+        return this.indexOf(object) != -1;
+    }
+
+    /**
+     * Returns the index of the first element with a specified key or -1 if no element has this key.
+     *
+     * @param key the key.
+     * @return the index of the first element with the specified key or -1.
+     */
+    int first(final String key) {
+        this.index();
+        final int k = this.keys.indexOf(key);
+        return k == -1 ? -1 : this.first[k];
+    }
+
+    /**
+     * Returns the index of the next element with the same key as the element at a specified index or -1.
+     *
+     * @param index the index of the element.
+     * @return the index of the next element with the same key or -1.
+     */
+    int next(final int index) {
+        this.index();
+        return this.next[index];
+    }
+
+    /**
+     * Returns the number of modifications of the list since its creation or its deserialization. Unlike
+     * <code>modCount</code>, the number includes the replacements of elements.
+     *
+     * @return the number of modifications of the list.
+     */
+    int getVersion() {
+        return this.version;
+    }
+
+    /**
+     * Rebuilds the index if the list was modified since the last update of the index.
+     */
+    void index() {
+        if (!this.indexed) {
+            final int size = this.elements.size();
+            this.keys = new SymbolTable(size);
+            this.first = new int[Math.max(size, 1)];
+            this.last = new int[Math.max(size, 1)];
+            this.next = new int[Math.max(size, 1)];
+            for (int i = 0; i < size; i++) {
+                this.link(i);
+            }
+            this.indexed = true;
+        }
+    }
+
+    /**
+     * Appends the element at a specified index to the chain of its key.
+     *
+     * @param index the index of the element.
+     */
+    private void link(final int index) {
+        if (index == this.next.length) {
+            this.next = Arrays.copyOf(this.next, 2 * this.next.length);
+        }
+        this.next[index] = -1;
+        final String key = SymbolList.key(this.elements.get(index));
+        if (key != null) {
+            final int size = this.keys.size();
+            final int k = this.keys.intern(key);
+            if (k == size) {
+                if (k == this.first.length) {
+                    this.first = Arrays.copyOf(this.first, 2 * this.first.length);
+                    this.last = Arrays.copyOf(this.last, 2 * this.last.length);
+                }
+                this.first[k] = index;
+            } else {
+                this.next[this.last[k]] = index;
+            }
+            this.last[k] = index;
+        }
+    }
+
+    /**
+     * Returns the key of an element, i.e., the image of a symbol or the image of the name of a named typed list.
+     *
+     * @param element the element.
+     * @return the key of the element or null if the element is neither a symbol nor a named typed list.
+     */
+    private static String key(final Object element) {
+        if (element instanceof Symbol) {
+            return ((Symbol) element).getImage();
+        } else if (element instanceof NamedTypedList) {
+            final Symbol name = ((NamedTypedList) element).getName();
+            return name == null ? null : name.getImage();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2016 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with PDDL4J.  If not, see
+ * <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.parser;
+
+import fr.uga.pddl4j.util.BitMatrix;
+import fr.uga.pddl4j.util.SymbolTable;
+
+import java.io.Serializable;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * This class implements the compiled type hierarchy of a domain. Each type is identified by an integer id and the
+ * hierarchy is stored as a bit matrix where the row of a type is the reflexive and transitive closure of its super
+ * types. Hence, checking if a type is a subtype of another type is a single bit test.
+ * <p>
+ * The super types used in the declaration of the types but not declared themselves are added to the hierarchy
+ * without super type. The closure is computed even if the declaration contains a loop: in that case, all the types
+ * of the loop are subtypes of each other.
+ * </p>
+ *
+ * @author D. Pellier
+ * @version 1.0 - 17.10.2026
+ * @see Domain#getTypeHierarchy()
+ */
+public final class TypeHierarchy implements Serializable {
+
+    /**
+     * The serial id of the class.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The table of the types.
+     */
+    private final SymbolTable types;
+
+    /**
+     * The closure of the super types of each type.
+     */
+    private final BitMatrix closure;
+
+    /**
+     * Creates a new type hierarchy from a list of types declaration.
+     *
+     * @param declaration the types declaration.
+     */
+    public TypeHierarchy(final List<TypedSymbol> declaration) {
+        this.types = new SymbolTable(declaration.size());
+        for (TypedSymbol type : declaration) {
+            this.types.intern(type.getImage());
+            for (Symbol superType : type.getTypes()) {
+                this.types.intern(superType.getImage());
+            }
+        }
+        final int size = this.types.size();
+        this.closure = new BitMatrix(size);
+        for (int i = 0; i < size; i++) {
+            this.closure.set(i, i);
+        }
+        for (TypedSymbol type : declaration) {
+            final int t = this.types.indexOf(type.getImage());
+            for (Symbol superType : type.getTypes()) {
+                this.closure.set(t, this.types.indexOf(superType.getImage()));
+            }
+        }
+        // Warshall algorithm: the super types of k are added to the types having k as super type
+        for (int k = 0; k < size; k++) {
+            final BitSet superTypes = this.closure.getRow(k);
+            for (int i = 0; i < size; i++) {
+                if (i != k && this.closure.get(i, k)) {
+                    this.closure.getRow(i).or(superTypes);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the number of types of the hierarchy.
+     *
+     * @return the number of types of the hierarchy.
+     */
+    public int size() {
+        return this.types.size();
+    }
+
+    /**
+     * Returns the id of a type or -1 if the type is not in the hierarchy.
+     *
+     * @param type the type.
+     * @return the id of the type or -1 if the type is not in the hierarchy.
+     */
+    public int indexOf(final Symbol type) {
+        return this.types.indexOf(type.getImage());
+    }
+
+    /**
+     * Returns the image of the type with a specified id.
+     *
+     * @param type the id of the type.
+     * @return the image of the type.
+     */
+    public String getType(final int type) {
+        return this.types.get(type);
+    }
+
+    /**
+     * Returns the ids of the super types of a type, including the type itself. The bit set returned must not be
+     * modified.
+     *
+     * @param type the id of the type.
+     * @return the ids of the super types of the type.
+     */
+    public BitSet getSuperTypes(final int type) {
+        return this.closure.getRow(type);
+    }
+
+    /**
+     * Returns <code>true</code> if a type is a subtype of another type. A type is a subtype of itself.
+     *
+     * @param type      the id of the type.
+     * @param superType the id of the super type.
+     * @return <code>true</code> if <code>type</code> is a subtype of <code>superType</code>; <code>false</code>
+     *          otherwise.
+     */
+    public boolean isSubType(final int type, final int superType) {
+        return this.closure.get(type, superType);
+    }
+
+    /**
+     * Returns <code>true</code> if a type is a subtype of another type. A type is a subtype of itself, even if it
+     * is not in the hierarchy.
+     *
+     * @param type      the type.
+     * @param superType the super type.
+     * @return <code>true</code> if <code>type</code> is a subtype of <code>superType</code>; <code>false</code>
+     *          otherwise.
+     */
+    public boolean isSubType(final Symbol type, final Symbol superType) {
+        final int t = this.indexOf(type);
+        final int st = this.indexOf(superType);
+        return (t == -1 || st == -1) ? type.equals(superType) : this.closure.get(t, st);
+    }
+}
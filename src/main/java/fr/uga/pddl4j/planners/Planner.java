@@ -87,6 +87,12 @@ public interface Planner extends Serializable {
      */
     boolean DEFAULT_STATISTICS = true;
 
+    /**
+     * The key for properties of the directory of the cache of the encoded problems. The problems are not cached if
+     * the key is not set.
+     */
+    String CACHE = "CACHE";
+
     /**
      * This enumeration used to specified the name of the planner implemented in the library.
      */
@@ -16,7 +16,11 @@
 package fr.uga.pddl4j.planners;
 
 import fr.uga.pddl4j.encoding.CodedProblem;
+import fr.uga.pddl4j.encoding.CodedProblemCache;
+import fr.uga.pddl4j.encoding.CompiledDomain;
+import fr.uga.pddl4j.encoding.CompiledDomainCache;
 import fr.uga.pddl4j.encoding.Encoder;
+import fr.uga.pddl4j.encoding.MappedProblem;
 import fr.uga.pddl4j.parser.Domain;
 import fr.uga.pddl4j.parser.ErrorManager;
 import fr.uga.pddl4j.parser.Parser;
@@ -58,6 +62,55 @@ public class ProblemFactory {
      */
     private int traceLevel;
 
+    /**
+     * The cache of the encoded problems or null if the problems are not cached.
+     */
+    private CodedProblemCache cache;
+
+    /**
+     * The key in the cache of the domain and the problem or null if the domain and the problem are not cached.
+     */
+    private String key;
+
+    /**
+     * The parsing of the domain and the problem skipped because they are cached or null.
+     */
+    private Parsing pending;
+
+    /**
+     * The cache of the compiled domains or null if the domains are not cached.
+     */
+    private CompiledDomainCache domains;
+
+    /**
+     * The key in the cache of the compiled domains of the domain or null if the domain is not cached.
+     */
+    private String domainKey;
+
+    /**
+     * The compiled domain of the problem or null if the domain is not compiled yet.
+     */
+    private CompiledDomain compiled;
+
+    /**
+     * The problem read by <code>MappedProblem</code> or null if the problem was parsed.
+     */
+    private MappedProblem mapped;
+
+    /**
+     * The parsing of a domain and a problem run on demand.
+     */
+    @FunctionalInterface
+    private interface Parsing {
+
+        /**
+         * Parses the domain and the problem.
+         *
+         * @throws IOException if an error occur during parsing.
+         */
+        void parse() throws IOException;
+    }
+
     /**
      * The default trace level.
      */
@@ -70,6 +123,13 @@ public class ProblemFactory {
         super();
         this.parser = new Parser();
         this.traceLevel = ProblemFactory.DEFAULT_TRACE_LEVEL;
+        this.cache = null;
+        this.key = null;
+        this.pending = null;
+        this.domains = null;
+        this.domainKey = null;
+        this.compiled = null;
+        this.mapped = null;
     }
 
     /**
@@ -82,7 +142,10 @@ public class ProblemFactory {
     }
 
     /**
-     * Parses the domain and the problem description.
+     * Parses the domain and the problem description. If a cache is set and contains the domain and the problem, the
+     * parsing is skipped: the domain and the problem are parsed only if they must be encoded again. If a cache of
+     * compiled domains is set and contains the domain, only the problem is parsed, or read by
+     * <code>MappedProblem</code> when it is made only of objects, initial facts and a simple goal.
      *
      * @param domain  the domain file.
      * @param problem the problem file
@@ -91,7 +154,25 @@ public class ProblemFactory {
      * @throws IOException           if an error occur during parsing.
      */
     public ErrorManager parse(final File domain, final File problem) throws IOException {
-        this.parser.parse(domain, problem);
+        this.key = null;
+        this.pending = null;
+        this.domainKey = null;
+        this.compiled = null;
+        this.mapped = null;
+        if (!domain.exists()) {
+            throw new FileNotFoundException("File  \"" + domain.getName() + "\" does not exist.");
+        }
+        if (!problem.exists()) {
+            throw new FileNotFoundException("File  \"" + problem.getName() + "\" does not exist.");
+        }
+        if (this.cache != null) {
+            this.key = CodedProblemCache.hash(domain, problem);
+            if (this.cache.contains(this.key)) {
+                this.pending = () -> this.parseFiles(domain, problem);
+                return new ErrorManager();
+            }
+        }
+        this.parseFiles(domain, problem);
         return parser.getErrorManager();
     }
 
@@ -103,14 +184,39 @@ public class ProblemFactory {
      * @return the error manager of the parser used to parse.
      * @throws FileNotFoundException if the domain or the problem file was not found.
      * @throws IOException           if an error occur during parsing.
+     * @see #parse(File, File)
      */
     public ErrorManager parse(final String domain, final String problem) throws IOException {
+        return this.parse(new File(domain), new File(problem));
+    }
+
+    /**
+     * Parses the domain and the problem description. If a cache of compiled domains is set and contains the domain,
+     * only the problem is read by <code>MappedProblem</code>, or parsed and checked against the domain compiled if
+     * it cannot be read.
+     *
+     * @param domain  the domain file.
+     * @param problem the problem file
+     * @throws IOException if an error occur during parsing.
+     */
+    private void parseFiles(final File domain, final File problem) throws IOException {
+        if (this.domains != null) {
+            this.domainKey = CompiledDomainCache.hash(domain);
+            this.compiled = this.domains.get(this.domainKey);
+            if (this.compiled != null) {
+                this.mapped = MappedProblem.read(this.compiled, problem);
+                if (this.mapped == null) {
+                    this.parser.parseProblem(this.compiled.getDomain(), problem);
+                }
+                return;
+            }
+        }
         this.parser.parse(domain, problem);
-        return parser.getErrorManager();
     }
 
     /**
-     * Parses the domain and the problem description.
+     * Parses the domain and the problem description. If a cache is set and contains the domain and the problem, the
+     * parsing is skipped: the domain and the problem are parsed only if they must be encoded again.
      *
      * @param domain  the domain string description
      * @param problem the problem string description
@@ -118,6 +224,18 @@ public class ProblemFactory {
      * @throws IOException if an error occur during parsing
      */
     public ErrorManager parseFromString(final String domain, final String problem) throws IOException {
+        this.key = null;
+        this.pending = null;
+        this.domainKey = null;
+        this.compiled = null;
+        this.mapped = null;
+        if (this.cache != null) {
+            this.key = CodedProblemCache.hash(domain, problem);
+            if (this.cache.contains(this.key)) {
+                this.pending = () -> this.parser.parseFromString(domain, problem);
+                return new ErrorManager();
+            }
+        }
         this.parser.parseFromString(domain, problem);
         return parser.getErrorManager();
     }
@@ -128,18 +246,62 @@ public class ProblemFactory {
      * @return the encoded planning problem or null if the problem cannot be encoded.
      */
     public CodedProblem encode() {
+        return this.encode(Encoder.Grounding.FULL);
+    }
+
+    /**
+     * Encodes and instantiates the planning problem with a specified mode of instantiation of the operators.
+     *
+     * @param grounding the mode of instantiation of the operators.
+     * @return the encoded planning problem or null if the problem cannot be encoded.
+     */
+    public CodedProblem encode(final Encoder.Grounding grounding) {
+        if (this.key != null) {
+            final CodedProblem cached = this.cache.load(this.key, grounding);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        if (this.pending != null) {
+            // The parsing was skipped because the domain and the problem were cached with another grounding
+            try {
+                this.pending.parse();
+            } catch (IOException ioException) {
+                LOGGER.error("the problem cannot be parsed: " + ioException.getMessage() + "\n");
+                return null;
+            }
+            this.pending = null;
+        }
         if (!this.parser.getErrorManager().isEmpty()) {
             return null;
         }
         final Domain domain = this.parser.getDomain();
         final Problem problem = this.parser.getProblem();
         Encoder.setLogLevel(this.getTraceLevel());
+        final CodedProblem codedProblem;
         try {
-            return Encoder.encode(domain, problem);
+            if (this.domainKey != null) {
+                // The domain is compiled the first time one of its problems is encoded
+                if (this.compiled == null) {
+                    this.compiled = new CompiledDomain(domain);
+                    this.domains.put(this.domainKey, this.compiled);
+                }
+                if (this.mapped != null) {
+                    codedProblem = Encoder.encode(this.compiled, this.mapped, grounding);
+                } else {
+                    codedProblem = Encoder.encode(this.compiled, problem, grounding);
+                }
+            } else {
+                codedProblem = Encoder.encode(domain, problem, grounding);
+            }
         } catch (IllegalArgumentException ilException) {
             LOGGER.error("the problem to encode is not ADL, \":requirements\" not supported at this time\n");
             return null;
         }
+        if (codedProblem != null && this.key != null) {
+            this.cache.store(this.key, grounding, codedProblem);
+        }
+        return codedProblem;
     }
 
     /**
@@ -169,4 +331,41 @@ public class ProblemFactory {
         return this.traceLevel;
     }
 
+    /**
+     * Sets the cache of the encoded problems. The cache is used by the next calls to the parse methods.
+     *
+     * @param cache the cache or null to disable the cache.
+     */
+    public final void setCache(final CodedProblemCache cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * Returns the cache of the encoded problems.
+     *
+     * @return the cache of the encoded problems or null if the problems are not cached.
+     */
+    public final CodedProblemCache getCache() {
+        return this.cache;
+    }
+
+    /**
+     * Sets the cache of the compiled domains. The cache is used by the next calls to the parse methods with files.
+     * The same cache can be shared by several problem factories.
+     *
+     * @param domains the cache or null to disable the cache.
+     */
+    public final void setDomainCache(final CompiledDomainCache domains) {
+        this.domains = domains;
+    }
+
+    /**
+     * Returns the cache of the compiled domains.
+     *
+     * @return the cache of the compiled domains or null if the domains are not cached.
+     */
+    public final CompiledDomainCache getDomainCache() {
+        return this.domains;
+    }
+
 }
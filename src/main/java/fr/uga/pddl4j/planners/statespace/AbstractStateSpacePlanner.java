@@ -15,11 +15,17 @@
 
 package fr.uga.pddl4j.planners.statespace;
 
+import fr.uga.pddl4j.encoding.CodedProblem;
 import fr.uga.pddl4j.planners.AbstractPlanner;
+import fr.uga.pddl4j.planners.statespace.search.strategy.AnytimeAStar;
+import fr.uga.pddl4j.planners.statespace.search.strategy.PlanListener;
+import fr.uga.pddl4j.planners.statespace.search.strategy.SearchBudget;
 import fr.uga.pddl4j.planners.statespace.search.strategy.StateSpaceStrategy;
+import fr.uga.pddl4j.util.Plan;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * This abstract class defines the main methods to access a state based planner.
@@ -40,6 +46,11 @@ public abstract class AbstractStateSpacePlanner extends AbstractPlanner implemen
      */
     private boolean anytime;
 
+    /**
+     * The listener notified of the plans found when the planner is anytime.
+     */
+    private PlanListener planListener;
+
     /**
      * The liste of state space strategies used in the planner.
      */
@@ -76,6 +87,21 @@ public abstract class AbstractStateSpacePlanner extends AbstractPlanner implemen
         return this.stateSpaceStrategiesList;
     }
 
+    /**
+     * Search a plan for the specified planning problem. The search is limited by the time out of the first search
+     * strategy of the planner.
+     *
+     * @param problem the problem to be solved. The problem cannot be null.
+     * @return the solution plan or null is no solution was found.
+     */
+    @Override
+    public Plan search(final CodedProblem problem) {
+        Objects.requireNonNull(problem);
+        final List<StateSpaceStrategy> strategies = this.getStateSpaceStrategies();
+        return this.search(problem, strategies.isEmpty() ? new SearchBudget()
+            : new SearchBudget(strategies.get(0).getTimeout()));
+    }
+
     /**
      * Set the anytime state value.
      *
@@ -95,4 +121,43 @@ public abstract class AbstractStateSpacePlanner extends AbstractPlanner implemen
     public boolean isAnytime() {
         return anytime;
     }
+
+    /**
+     * Returns the listener notified of the plans found when the planner is anytime.
+     *
+     * @return the listener notified of the plans found or null if no listener is set.
+     */
+    public PlanListener getPlanListener() {
+        return this.planListener;
+    }
+
+    /**
+     * Sets the listener notified of the plans found when the planner is anytime.
+     *
+     * @param listener the listener notified of the plans found or null to remove the listener.
+     */
+    public void setPlanListener(final PlanListener listener) {
+        this.planListener = listener;
+    }
+
+    /**
+     * Creates the anytime search strategy used in place of a search strategy when the planner is anytime. The
+     * anytime strategy has the time out, the heuristic and the weight of the strategy replaced. Each plan found
+     * is logged and notified to the plan listener of the planner.
+     *
+     * @param strategy the search strategy replaced.
+     * @return the anytime search strategy.
+     * @see AnytimeAStar
+     */
+    protected AnytimeAStar createAnytimeStrategy(final StateSpaceStrategy strategy) {
+        final AnytimeAStar anytimeStrategy = new AnytimeAStar(strategy.getTimeout(), strategy.getHeuristicType(),
+            strategy.getWeight());
+        anytimeStrategy.setPlanListener((plan, weight) -> {
+            this.getLogger().trace("* plan of cost " + plan.cost() + " found with weight " + weight + "\n");
+            if (this.planListener != null) {
+                this.planListener.planFound(plan, weight);
+            }
+        });
+        return anytimeStrategy;
+    }
 }
@@ -15,9 +15,12 @@
 
 package fr.uga.pddl4j.planners.statespace;
 
+import fr.uga.pddl4j.encoding.CodedProblem;
 import fr.uga.pddl4j.heuristics.relaxation.Heuristic;
 import fr.uga.pddl4j.planners.Planner;
+import fr.uga.pddl4j.planners.statespace.search.strategy.SearchBudget;
 import fr.uga.pddl4j.planners.statespace.search.strategy.StateSpaceStrategy;
+import fr.uga.pddl4j.util.Plan;
 import org.apache.logging.log4j.Logger;
 
 import java.util.List;
@@ -78,6 +81,19 @@ public interface StateSpacePlanner extends Planner {
      */
     List<StateSpaceStrategy> getStateSpaceStrategies();
 
+    /**
+     * Search a plan for the specified planning problem within a budget. The budget replaces the time out of the
+     * search strategies of the planner and is shared by all the strategies run by the planner. By default, the
+     * budget is checked only before the search, which is then limited by the time out of the search strategies.
+     *
+     * @param problem the problem to be solved. The problem cannot be null.
+     * @param budget  the budget of the search. The budget cannot be null.
+     * @return the solution plan or null is no solution was found.
+     */
+    default Plan search(final CodedProblem problem, final SearchBudget budget) {
+        return budget.isExhausted() ? null : this.search(problem);
+    }
+
     /**
      * Is planner anytime or not.
      *
@@ -16,6 +16,7 @@
 package fr.uga.pddl4j.planners.statespace;
 
 import fr.uga.pddl4j.encoding.CodedProblem;
+import fr.uga.pddl4j.encoding.CodedProblemCache;
 import fr.uga.pddl4j.exceptions.FileException;
 import fr.uga.pddl4j.heuristics.relaxation.Heuristic;
 import fr.uga.pddl4j.parser.ErrorManager;
@@ -208,6 +209,7 @@ public class StateSpacePlannerFactory implements Serializable {
             .append("               - total memory used in MBytes\n")
             .append("               - length of the solution plan\n")
             .append("-s <bool>   generate statistics or not (preset: true)\n")
+            .append("-c <str>    directory of the cache of the encoded problems (preset: none)\n")
             .append("-h          print this message\n\n");
 
         return strb;
@@ -300,6 +302,8 @@ public class StateSpacePlannerFactory implements Serializable {
                 } else if ("-s".equalsIgnoreCase(args[i]) && ((i + 1) < args.length)) {
                     final boolean isStatUsed = Boolean.parseBoolean(args[i + 1]);
                     arguments.put(AbstractStateSpacePlanner.STATISTICS, isStatUsed);
+                } else if ("-c".equalsIgnoreCase(args[i]) && ((i + 1) < args.length)) {
+                    arguments.put(AbstractStateSpacePlanner.CACHE, new File(args[i + 1]));
                 } else {
                     LOGGER.trace("\nUnknown argument for \"" + args[i] + "\" or missing value\n");
                     LOGGER.trace(StateSpacePlannerFactory.printUsage());
@@ -367,6 +371,7 @@ public class StateSpacePlannerFactory implements Serializable {
      *                - total memory used in MBytes
      *                - length of the solution plan
      * -s <i>bool</i>   no statistics (preset: true)
+     * -c <i>str</i>    directory of the cache of the encoded problems (preset: none)
      * -h          print this message
      *
      * </pre>
@@ -398,6 +403,10 @@ public class StateSpacePlannerFactory implements Serializable {
             final ProblemFactory factory = ProblemFactory.getInstance();
             final int factoryTraceLevel = (traceLevel == 8) ? 0 : Math.max(0, traceLevel - 1);
             factory.setTraceLevel(factoryTraceLevel);
+            final File cache = (File) arguments.get(AbstractStateSpacePlanner.CACHE);
+            if (cache != null) {
+                factory.setCache(new CodedProblemCache(cache));
+            }
 
             // Parses the PDDL domain and problem description
             long begin = System.currentTimeMillis();
@@ -421,7 +430,10 @@ public class StateSpacePlannerFactory implements Serializable {
             final CodedProblem pb = factory.encode();
             if (saveStats) {
                 planner.getStatistics().setTimeToEncode(System.currentTimeMillis() - begin);
-                planner.getStatistics().setMemoryUsedForProblemRepresentation(MemoryAgent.getDeepSizeOf(pb));
+                // The deep walk of the problem is only sampled when the agent is started
+                if (MemoryAgent.isInitialized()) {
+                    planner.getStatistics().setMemoryUsedForProblemRepresentation(MemoryAgent.getDeepSizeOf(pb));
+                }
             }
 
             if (pb != null) {
@@ -25,6 +25,7 @@ import fr.uga.pddl4j.planners.statespace.AbstractStateSpacePlanner;
 import fr.uga.pddl4j.planners.statespace.search.strategy.EnforcedHillClimbing;
 import fr.uga.pddl4j.planners.statespace.search.strategy.GreedyBestFirstSearch;
 import fr.uga.pddl4j.planners.statespace.search.strategy.Node;
+import fr.uga.pddl4j.planners.statespace.search.strategy.SearchBudget;
 import fr.uga.pddl4j.planners.statespace.search.strategy.StateSpaceStrategy;
 import fr.uga.pddl4j.util.SequentialPlan;
 import org.apache.logging.log4j.Logger;
@@ -49,7 +50,7 @@ public final class FF extends AbstractStateSpacePlanner {
     /**
      * The Enforced Hill Climbing strategy.
      */
-    private final StateSpaceStrategy enforcedHillClimbing;
+    private final EnforcedHillClimbing enforcedHillClimbing;
 
     /**
      * The Greedy Best First Search strategy.
@@ -63,6 +64,7 @@ public final class FF extends AbstractStateSpacePlanner {
         super();
 
         enforcedHillClimbing = new EnforcedHillClimbing();
+        enforcedHillClimbing.setHelpfulActions(true);
         greedyBestFirstSearch = new GreedyBestFirstSearch();
 
         this.getStateSpaceStrategies().add(enforcedHillClimbing);
@@ -79,6 +81,7 @@ public final class FF extends AbstractStateSpacePlanner {
         super(statisticState, traceLevel);
 
         enforcedHillClimbing = new EnforcedHillClimbing();
+        enforcedHillClimbing.setHelpfulActions(true);
         greedyBestFirstSearch = new GreedyBestFirstSearch();
 
         this.getStateSpaceStrategies().add(enforcedHillClimbing);
@@ -101,6 +104,7 @@ public final class FF extends AbstractStateSpacePlanner {
         this.setTraceLevel(traceLevel);
 
         enforcedHillClimbing = new EnforcedHillClimbing(timeout, heuristicType, weight);
+        enforcedHillClimbing.setHelpfulActions(true);
         greedyBestFirstSearch = new GreedyBestFirstSearch(timeout, heuristicType, weight);
 
         this.getStateSpaceStrategies().add(enforcedHillClimbing);
@@ -108,17 +112,41 @@ public final class FF extends AbstractStateSpacePlanner {
     }
 
     /**
-     * Search a solution plan to a specified domain and problem.
+     * Returns <code>true</code> if the enforced hill climbing only generates the successors reached by helpful
+     * actions. The helpful actions are used by default.
      *
-     * @param pb the problem to solve.
+     * @return <code>true</code> if the enforced hill climbing only generates the successors reached by helpful
+     *      actions; <code>false</code> otherwise.
+     */
+    public boolean isHelpfulActions() {
+        return this.enforcedHillClimbing.isHelpfulActions();
+    }
+
+    /**
+     * Sets the pruning of the successors not reached by helpful actions in the enforced hill climbing.
+     *
+     * @param helpfulActions <code>true</code> to generate only the successors reached by helpful actions.
+     * @see EnforcedHillClimbing#setHelpfulActions(boolean)
+     */
+    public void setHelpfulActions(final boolean helpfulActions) {
+        this.enforcedHillClimbing.setHelpfulActions(helpfulActions);
+    }
+
+    /**
+     * Search a solution plan to a specified domain and problem within a budget. The greedy best first search is
+     * run with the part of the budget not used by the enforced hill climbing.
+     *
+     * @param pb     the problem to solve.
+     * @param budget the budget of the search.
      */
     @Override
-    public SequentialPlan search(final CodedProblem pb) {
+    public SequentialPlan search(final CodedProblem pb, final SearchBudget budget) {
         final Logger logger = this.getLogger();
         Objects.requireNonNull(pb);
+        Objects.requireNonNull(budget);
 
         logger.trace("* starting enforced hill climbing\n");
-        Node solutionNode = enforcedHillClimbing.searchSolutionNode(pb);
+        Node solutionNode = enforcedHillClimbing.searchSolutionNode(pb, budget);
 
         if (solutionNode != null) {
             logger.trace("* enforced hill climbing succeeded\n");
@@ -126,17 +154,20 @@ public final class FF extends AbstractStateSpacePlanner {
                 this.getStatistics().setTimeToSearch(enforcedHillClimbing.getSearchingTime());
                 this.getStatistics().setMemoryUsedToSearch(enforcedHillClimbing.getMemoryUsed());
             }
-            return (SequentialPlan) enforcedHillClimbing.extractPlan(solutionNode, pb);
+            return enforcedHillClimbing.extractPlan(solutionNode, pb);
         } else {
             logger.trace("* enforced hill climbing failed\n");
             logger.trace("* starting greedy best first search\n");
-            solutionNode = greedyBestFirstSearch.searchSolutionNode(pb);
+            solutionNode = greedyBestFirstSearch.searchSolutionNode(pb, budget);
             if (isSaveState()) {
                 this.getStatistics().setTimeToSearch(greedyBestFirstSearch.getSearchingTime());
                 this.getStatistics().setMemoryUsedToSearch(greedyBestFirstSearch.getMemoryUsed());
             }
             if (solutionNode == null) {
                 logger.trace("* greedy best first search failed\n");
+                if (budget.getStatus() != SearchBudget.Status.RUNNING) {
+                    logger.trace("* search stopped: " + budget.getStatus() + "\n");
+                }
                 return null;
             } else {
                 logger.trace("* greedy best first search succeeded\n");
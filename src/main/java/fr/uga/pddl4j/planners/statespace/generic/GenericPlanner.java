@@ -23,7 +23,9 @@ import fr.uga.pddl4j.encoding.CodedProblem;
 import fr.uga.pddl4j.heuristics.relaxation.Heuristic;
 import fr.uga.pddl4j.planners.statespace.AbstractStateSpacePlanner;
 import fr.uga.pddl4j.planners.statespace.search.strategy.AStar;
+import fr.uga.pddl4j.planners.statespace.search.strategy.AnytimeAStar;
 import fr.uga.pddl4j.planners.statespace.search.strategy.Node;
+import fr.uga.pddl4j.planners.statespace.search.strategy.SearchBudget;
 import fr.uga.pddl4j.planners.statespace.search.strategy.StateSpaceStrategy;
 import fr.uga.pddl4j.util.SequentialPlan;
 import org.apache.logging.log4j.Logger;
@@ -76,27 +78,35 @@ public final class GenericPlanner extends AbstractStateSpacePlanner {
     }
 
     /**
-     * Solves the planning problem and returns the first solution search found.
+     * Solves the planning problem within a budget and returns the first solution search found.
      *
      * @param problem the problem to be solved.
+     * @param budget  the budget of the search.
      * @return a solution search or null if it does not exist.
      */
     @Override
-    public SequentialPlan search(final CodedProblem problem) {
+    public SequentialPlan search(final CodedProblem problem, final SearchBudget budget) {
         final Logger logger = this.getLogger();
         Objects.requireNonNull(problem);
+        Objects.requireNonNull(budget);
 
+        // When the planner is anytime, the search strategy is replaced by anytime A* with the same parameters
+        final StateSpaceStrategy strategy = this.isAnytime() && !(this.searchStrategy instanceof AnytimeAStar)
+            ? this.createAnytimeStrategy(this.searchStrategy) : this.searchStrategy;
         logger.trace("* starting search strategy\n");
-        final Node solutionNode = this.searchStrategy.searchSolutionNode(problem);
+        final Node solutionNode = strategy.searchSolutionNode(problem, budget);
         if (isSaveState()) {
-            this.getStatistics().setTimeToSearch(this.searchStrategy.getSearchingTime());
-            this.getStatistics().setMemoryUsedToSearch(this.searchStrategy.getMemoryUsed());
+            this.getStatistics().setTimeToSearch(strategy.getSearchingTime());
+            this.getStatistics().setMemoryUsedToSearch(strategy.getMemoryUsed());
         }
         if (solutionNode != null) {
             logger.trace("* search strategy succeeded\n");
-            return (SequentialPlan) this.searchStrategy.extractPlan(solutionNode, problem);
+            return (SequentialPlan) strategy.extractPlan(solutionNode, problem);
         } else {
             logger.trace("* search strategy failed\n");
+            if (budget.getStatus() != SearchBudget.Status.RUNNING) {
+                logger.trace("* search stopped: " + budget.getStatus() + "\n");
+            }
             return null;
         }
     }
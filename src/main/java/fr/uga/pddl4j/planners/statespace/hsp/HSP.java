@@ -24,6 +24,8 @@ import fr.uga.pddl4j.heuristics.relaxation.Heuristic;
 import fr.uga.pddl4j.planners.statespace.AbstractStateSpacePlanner;
 import fr.uga.pddl4j.planners.statespace.search.strategy.AStar;
 import fr.uga.pddl4j.planners.statespace.search.strategy.Node;
+import fr.uga.pddl4j.planners.statespace.search.strategy.ParallelAStar;
+import fr.uga.pddl4j.planners.statespace.search.strategy.SearchBudget;
 import fr.uga.pddl4j.planners.statespace.search.strategy.StateSpaceStrategy;
 import fr.uga.pddl4j.util.SequentialPlan;
 import org.apache.logging.log4j.Logger;
@@ -87,27 +89,58 @@ public final class HSP extends AbstractStateSpacePlanner {
     }
 
     /**
-     * Solves the planning problem and returns the first solution search found.
+     * Creates a new planner that runs A* on a specified number of threads. If more than one thread is
+     * requested, the planner uses the hash distributed parallel A* strategy.
+     *
+     * @param timeout        the time out of the planner.
+     * @param heuristicType  the heuristicType to use to solve the planning problem.
+     * @param weight         the weight set to the heuristic.
+     * @param statisticState the statistics generation value.
+     * @param traceLevel     the trace level of the planner.
+     * @param threads        the number of threads used by the search.
+     * @see ParallelAStar
+     */
+    public HSP(final int timeout, final Heuristic.Type heuristicType, final double weight,
+               final boolean statisticState, final int traceLevel, final int threads) {
+        super(statisticState, traceLevel);
+
+        if (threads > 1) {
+            astar = new ParallelAStar(timeout, heuristicType, weight, threads);
+        } else {
+            astar = new AStar(timeout, heuristicType, weight);
+        }
+        this.getStateSpaceStrategies().add(astar);
+    }
+
+    /**
+     * Solves the planning problem within a budget and returns the first solution search found.
      *
      * @param problem the problem to be solved.
+     * @param budget  the budget of the search.
      * @return a solution search or null if it does not exist.
      */
     @Override
-    public SequentialPlan search(final CodedProblem problem) {
+    public SequentialPlan search(final CodedProblem problem, final SearchBudget budget) {
         final Logger logger = this.getLogger();
         Objects.requireNonNull(problem);
+        Objects.requireNonNull(budget);
 
+        // When the planner is anytime, A* is replaced by anytime A* with the same parameters
+        final StateSpaceStrategy strategy = this.isAnytime() ? this.createAnytimeStrategy(astar) : astar;
         logger.trace("* starting A*\n");
-        final Node solutionNode = astar.searchSolutionNode(problem);
+        final Node solutionNode = strategy.searchSolutionNode(problem, budget);
         if (isSaveState()) {
-            this.getStatistics().setTimeToSearch(astar.getSearchingTime());
-            this.getStatistics().setMemoryUsedToSearch(astar.getMemoryUsed());
+            this.getStatistics().setTimeToSearch(strategy.getSearchingTime());
+            this.getStatistics().setMemoryUsedToSearch(strategy.getMemoryUsed());
         }
         if (solutionNode != null) {
             logger.trace("* A* succeeded\n");
-            return (SequentialPlan) astar.extractPlan(solutionNode, problem);
+            return (SequentialPlan) strategy.extractPlan(solutionNode, problem);
         } else {
             logger.trace("* A* failed\n");
+            if (budget.getStatus() != SearchBudget.Status.RUNNING) {
+                logger.trace("* search stopped: " + budget.getStatus() + "\n");
+            }
             return null;
         }
     }
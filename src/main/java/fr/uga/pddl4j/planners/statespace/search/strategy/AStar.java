@@ -20,12 +20,8 @@ import fr.uga.pddl4j.heuristics.relaxation.Heuristic;
 import fr.uga.pddl4j.heuristics.relaxation.HeuristicToolKit;
 import fr.uga.pddl4j.util.BitOp;
 import fr.uga.pddl4j.util.BitState;
-import fr.uga.pddl4j.util.MemoryAgent;
 
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Objects;
-import java.util.PriorityQueue;
 
 /**
  * This class implements A* search strategy.
@@ -60,103 +56,93 @@ public final class AStar extends AbstractStateSpaceStrategy {
     }
 
     /**
-     * Solves the planning problem and returns the first solution search found.
+     * Solves the planning problem and returns the first solution search found. The states are interned in a
+     * <code>SearchGraph</code> and the open list stores the ids of the states, so that no node is created
+     * before a solution is found. The open list orders the states by <code>f = weight * h + g</code> and then
+     * by <code>h</code>. It is a bucket queue when the weight is a non negative integer and a binary heap
+     * otherwise. The budget is checked for each state generated.
      *
      * @param codedProblem the problem to be solved. The problem cannot be null.
+     * @param budget       the budget of the search. The budget cannot be null.
      * @return a solution search or null if it does not exist.
      */
-    public Node search(final CodedProblem codedProblem) {
+    @Override
+    public Node search(final CodedProblem codedProblem, final SearchBudget budget) {
         Objects.requireNonNull(codedProblem);
+        Objects.requireNonNull(budget);
         final long begin = System.currentTimeMillis();
         final Heuristic heuristic = HeuristicToolKit.createHeuristic(getHeuristicType(), codedProblem);
         // Get the initial state from the planning problem
         final BitState init = new BitState(codedProblem.getInit());
-        // Initialize the closed list of nodes (store the nodes explored)
-        final Map<BitState, Node> closeSet = new HashMap<>();
-        final Map<BitState, Node> openSet = new HashMap<>();
+        // Initialize the graph that stores each state once with its parent, operator, cost and heuristic
+        final SearchGraph graph = new SearchGraph(codedProblem.getRelevantFacts().size());
         // Initialize the opened list (store the pending node)
         final double currWeight = getWeight();
         // The list stores the node ordered according to the A* (getFValue = g + h) function
-        final PriorityQueue<Node> open = new PriorityQueue<>(100, new NodeComparator(currWeight));
+        final OpenList open = this.createOpenList(currWeight >= 0 && currWeight == Math.rint(currWeight));
         // Creates the root node of the tree search
-        final Node root = new Node(init, null, -1, 0,
-            heuristic.estimate(init, codedProblem.getGoal()));
+        final int root = graph.intern(init);
+        final int h0 = heuristic.estimate(init, codedProblem.getGoal());
+        graph.set(root, -1, -1, 0, h0);
         // Adds the root to the list of pending nodes
-        open.add(root);
-        openSet.put(init, root);
+        open.add(root, currWeight * h0, h0);
+        graph.open(root);
 
         this.resetNodesStatistics();
-        Node solutionNode = null;
-        final int timeout = getTimeout();
-        long time = 0;
+        int solution = -1;
         // Start of the search
-        while (!open.isEmpty() && solutionNode == null && time < timeout) {
+        while (!open.isEmpty() && solution == -1 && !budget.isExhausted()) {
             // Pop the first node in the pending list open
-            final Node current = open.poll();
-            openSet.remove(current);
-            closeSet.put(current, current);
+            final int current = open.poll();
+            // Skip the ids of the states already explored or reached since by a better path
+            if (graph.isClosed(current)) {
+                continue;
+            }
+            graph.close(current);
+            final BitState state = graph.getState(current);
             // If the goal is satisfy in the current node then extract the search and return it
-            if (current.satisfy(codedProblem.getGoal())) {
-                solutionNode = current;
+            if (state.satisfy(codedProblem.getGoal())) {
+                solution = current;
             } else {
-                // Try to apply the operators of the problem to this node
-                int index = 0;
-                for (BitOp op : codedProblem.getOperators()) {
-                    // Test if a specified operator is applicable in the current state
-                    if (op.isApplicable(current)) {
-                        Node state = new Node(current);
-                        this.setCreatedNodes(this.getCreatedNodes() + 1);
-                        // Apply the effect of the applicable operator
-                        // Test if the condition of the effect is satisfied in the current state
+                // Try to apply the operators applicable in this node
+                for (int index : codedProblem.getSuccessorGenerator().getApplicableOperators(state)) {
+                    if (budget.isExhausted()) {
+                        break;
+                    }
+                    final BitOp op = codedProblem.getOperators().get(index);
+                    final BitState next = new BitState(state);
+                    this.setCreatedNodes(this.getCreatedNodes() + 1);
+                    // Apply the effect of the applicable operator
+                    // Test if the condition of the effect is satisfied in the current state
+                    // Apply the effect to the successor node
+                    op.getCondEffects().stream().filter(ce -> state.satisfy(ce.getCondition())).forEach(ce ->
                         // Apply the effect to the successor node
-                        op.getCondEffects().stream().filter(ce -> current.satisfy(ce.getCondition())).forEach(ce ->
-                            // Apply the effect to the successor node
-                            state.apply(ce.getEffects())
-                        );
-                        final double g = current.getCost() + 1;
-                        Node result = openSet.get(state);
-                        if (result == null) {
-                            result = closeSet.get(state);
-                            if (result != null) {
-                                if (g < result.getCost()) {
-                                    result.setCost(g);
-                                    result.setParent(current);
-                                    result.setOperator(index);
-                                    result.setDepth(current.getDepth() + 1);
-                                    open.add(result);
-                                    openSet.put(result, result);
-                                    closeSet.remove(result);
-                                }
-                            } else {
-                                state.setCost(g);
-                                state.setParent(current);
-                                state.setOperator(index);
-                                state.setHeuristic(heuristic.estimate(state, codedProblem.getGoal()));
-                                state.setDepth(current.getDepth() + 1);
-                                open.add(state);
-                                openSet.put(state, state);
-                            }
-                        } else if (g < result.getCost()) {
-                            result.setCost(g);
-                            result.setParent(current);
-                            result.setOperator(index);
-                            result.setDepth(current.getDepth() + 1);
-                        }
-
+                        next.apply(ce.getEffects())
+                    );
+                    final double g = graph.getCost(current) + 1;
+                    final int successor = graph.intern(next);
+                    if (graph.isUnseen(successor)) {
+                        final int h = heuristic.estimate(next, codedProblem.getGoal());
+                        graph.set(successor, current, index, g, h);
+                        open.add(successor, currWeight * h + g, h);
+                        graph.open(successor);
+                    } else if (g < graph.getCost(successor)) {
+                        // Add the state again with its new priority: the previous entry becomes stale
+                        graph.update(successor, current, index, g);
+                        final double h = graph.getHeuristic(successor);
+                        open.add(successor, currWeight * h + g, h);
+                        graph.open(successor);
                     }
-                    index++;
                 }
             }
-            // Compute the searching time
-            time = System.currentTimeMillis() - begin;
         }
 
-        this.setExploredNodes(closeSet.size());
-        this.setPendingNodes(openSet.size());
-        this.setMemoryUsed(MemoryAgent.getDeepSizeOf(closeSet) + MemoryAgent.getDeepSizeOf(openSet));
-        this.setSearchingTime(time);
+        this.setExploredNodes(graph.getClosed());
+        this.setPendingNodes(graph.getOpened());
+        this.setMemoryUsed(graph.getMemoryUsed() + open.getMemoryUsed() + heuristic.getMemoryUsed());
+        this.setSearchingTime(System.currentTimeMillis() - begin);
 
         // return the search computed or null if no search was found
-        return solutionNode;
+        return solution == -1 ? null : graph.getNode(solution);
     }
 }
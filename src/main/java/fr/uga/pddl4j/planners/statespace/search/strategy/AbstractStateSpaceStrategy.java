@@ -78,6 +78,11 @@ public abstract class AbstractStateSpaceStrategy implements StateSpaceStrategy {
      */
     private int createdNodes;
 
+    /**
+     * The tie-breaking policy of the open list.
+     */
+    private OpenList.TieBreaking tieBreaking = OpenList.TieBreaking.FIFO;
+
     /**
      * Returns the heuristicType to use to solve the planning problem.
      *
@@ -239,6 +244,25 @@ public abstract class AbstractStateSpaceStrategy implements StateSpaceStrategy {
         this.createdNodes = createdNodes;
     }
 
+    /**
+     * Returns the tie-breaking policy used by the open list between nodes with the same priority.
+     *
+     * @return the tie-breaking policy used by the open list.
+     */
+    public final OpenList.TieBreaking getTieBreaking() {
+        return this.tieBreaking;
+    }
+
+    /**
+     * Sets the tie-breaking policy used by the open list between nodes with the same priority.
+     *
+     * @param tieBreaking the tie-breaking policy. The tie-breaking policy cannot be null.
+     */
+    public final void setTieBreaking(final OpenList.TieBreaking tieBreaking) {
+        Objects.requireNonNull(tieBreaking);
+        this.tieBreaking = tieBreaking;
+    }
+
     /**
      * Create a new search strategy.
      */
@@ -296,6 +320,20 @@ public abstract class AbstractStateSpaceStrategy implements StateSpaceStrategy {
         return search(codedProblem);
     }
 
+    /**
+     * Search a solution node to a specified domain and problem within a budget.
+     *
+     * @param codedProblem the problem to be solved. The problem cannot be null.
+     * @param budget       the budget of the search. The budget cannot be null.
+     * @return the solution node or null.
+     */
+    @Override
+    public Node searchSolutionNode(final CodedProblem codedProblem, final SearchBudget budget) {
+        Objects.requireNonNull(codedProblem);
+        Objects.requireNonNull(budget);
+        return search(codedProblem, budget);
+    }
+
     /**
      * Search a solution plan to a specified domain and problem.
      *
@@ -305,7 +343,21 @@ public abstract class AbstractStateSpaceStrategy implements StateSpaceStrategy {
     @Override
     public Plan searchPlan(final CodedProblem codedProblem) {
         Objects.requireNonNull(codedProblem);
-        final Node solutionNode = search(codedProblem);
+        return this.searchPlan(codedProblem, new SearchBudget(this.getTimeout()));
+    }
+
+    /**
+     * Search a solution plan to a specified domain and problem within a budget.
+     *
+     * @param codedProblem the problem to be solved. The problem cannot be null.
+     * @param budget       the budget of the search. The budget cannot be null.
+     * @return the solution plan or null.
+     */
+    @Override
+    public Plan searchPlan(final CodedProblem codedProblem, final SearchBudget budget) {
+        Objects.requireNonNull(codedProblem);
+        Objects.requireNonNull(budget);
+        final Node solutionNode = search(codedProblem, budget);
         if (solutionNode != null) {
             return extractPlan(solutionNode, codedProblem);
         } else {
@@ -313,6 +365,18 @@ public abstract class AbstractStateSpaceStrategy implements StateSpaceStrategy {
         }
     }
 
+    /**
+     * Solves the planning problem and returns the first solution node found. The search is limited by the time
+     * out of the strategy.
+     *
+     * @param codedProblem the problem to be solved. The problem cannot be null.
+     * @return a solution search or null if it does not exist.
+     */
+    @Override
+    public Node search(final CodedProblem codedProblem) {
+        return this.search(codedProblem, new SearchBudget(this.getTimeout()));
+    }
+
     /**
      * Extract a plan from a solution node for the specified planning problem.
      *
@@ -336,6 +400,17 @@ public abstract class AbstractStateSpaceStrategy implements StateSpaceStrategy {
         }
     }
 
+    /**
+     * Creates the open list of the strategy. A bucket queue is returned if the priorities of the nodes are
+     * integers and a binary heap otherwise.
+     *
+     * @param integer <code>true</code> if the priorities of the nodes are non negative integers.
+     * @return the open list of the strategy.
+     */
+    protected OpenList createOpenList(final boolean integer) {
+        return integer ? new BucketOpenList(this.tieBreaking) : new HeapOpenList(this.tieBreaking);
+    }
+
     /**
      * Reset Nodes statistics.
      */
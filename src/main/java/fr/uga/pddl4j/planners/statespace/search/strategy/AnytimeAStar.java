@@ -0,0 +1,308 @@
+/*
+ * Copyright (c) 2016 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with PDDL4J.  If not, see
+ * <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.planners.statespace.search.strategy;
+
+import fr.uga.pddl4j.encoding.CodedProblem;
+import fr.uga.pddl4j.heuristics.relaxation.Heuristic;
+import fr.uga.pddl4j.heuristics.relaxation.HeuristicToolKit;
+import fr.uga.pddl4j.util.BitOp;
+import fr.uga.pddl4j.util.BitState;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * This class implements an anytime A* search strategy based on Anytime Repairing A* (ARA*). The search runs a
+ * sequence of weighted A* iterations with a decreasing weight: the first iteration uses the initial weight of the
+ * strategy and finds a first plan quickly, each following iteration decreases the weight by the weight decrement
+ * until the weight of the strategy is reached. The iterations share the same <code>SearchGraph</code>: the states
+ * and their heuristic values are kept from one iteration to another and an iteration only expands the states
+ * whose cost was improved since their last expansion. Each plan better than the previous ones is notified to the
+ * plan listener of the strategy.
+ * <p>
+ * The search stops when the iteration with the weight of the strategy is completed, when the search space is
+ * exhausted or when the budget of the search is exhausted. In all cases, the best plan found is returned.
+ * </p>
+ *
+ * @author D. Pellier
+ * @version 1.0 - 17.10.2026
+ * @see AStar
+ * @see PlanListener
+ */
+public final class AnytimeAStar extends AbstractStateSpaceStrategy {
+
+    /**
+     * The serial id of the class.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The default weight of the first iteration.
+     */
+    public static final double DEFAULT_INITIAL_WEIGHT = 5.0;
+
+    /**
+     * The default decrement of the weight between two iterations.
+     */
+    public static final double DEFAULT_WEIGHT_DECREMENT = 1.0;
+
+    /**
+     * The weight of the first iteration.
+     */
+    private double initialWeight;
+
+    /**
+     * The decrement of the weight between two iterations.
+     */
+    private double weightDecrement;
+
+    /**
+     * The listener notified of the plans found.
+     */
+    private PlanListener listener;
+
+    /**
+     * Creates a new anytime A* search strategy with default parameters.
+     */
+    public AnytimeAStar() {
+        super();
+        this.initialWeight = AnytimeAStar.DEFAULT_INITIAL_WEIGHT;
+        this.weightDecrement = AnytimeAStar.DEFAULT_WEIGHT_DECREMENT;
+        this.listener = null;
+    }
+
+    /**
+     * Creates a new anytime A* search strategy.
+     *
+     * @param timeout   the time out of the planner.
+     * @param heuristic the heuristicType to use to solve the planning problem.
+     * @param weight    the weight set to the heuristic by the last iteration.
+     */
+    public AnytimeAStar(int timeout, Heuristic.Type heuristic, double weight) {
+        super(timeout, heuristic, weight);
+        this.initialWeight = AnytimeAStar.DEFAULT_INITIAL_WEIGHT;
+        this.weightDecrement = AnytimeAStar.DEFAULT_WEIGHT_DECREMENT;
+        this.listener = null;
+    }
+
+    /**
+     * Returns the weight of the first iteration.
+     *
+     * @return the weight of the first iteration.
+     */
+    public double getInitialWeight() {
+        return this.initialWeight;
+    }
+
+    /**
+     * Sets the weight of the first iteration. If the initial weight is lower than the weight of the strategy, the
+     * search runs a single iteration with the weight of the strategy.
+     *
+     * @param weight the weight of the first iteration.
+     */
+    public void setInitialWeight(final double weight) {
+        this.initialWeight = weight;
+    }
+
+    /**
+     * Returns the decrement of the weight between two iterations.
+     *
+     * @return the decrement of the weight between two iterations.
+     */
+    public double getWeightDecrement() {
+        return this.weightDecrement;
+    }
+
+    /**
+     * Sets the decrement of the weight between two iterations.
+     *
+     * @param decrement the decrement of the weight between two iterations.
+     * @throws IllegalArgumentException if <code>decrement &lt;= 0</code>.
+     */
+    public void setWeightDecrement(final double decrement) {
+        if (decrement <= 0) {
+            throw new IllegalArgumentException("decrement <= 0");
+        }
+        this.weightDecrement = decrement;
+    }
+
+    /**
+     * Returns the listener notified of the plans found.
+     *
+     * @return the listener notified of the plans found or null if no listener is set.
+     */
+    public PlanListener getPlanListener() {
+        return this.listener;
+    }
+
+    /**
+     * Sets the listener notified of the plans found.
+     *
+     * @param listener the listener notified of the plans found or null to remove the listener.
+     */
+    public void setPlanListener(final PlanListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Solves the planning problem and returns the best solution found before the end of the last iteration or
+     * the exhaustion of the budget. The open list orders the states by <code>f = weight * h + g</code> and then
+     * by <code>h</code>. The states whose cost is improved after their expansion in the current iteration are
+     * stored in an inconsistent list and are put back in the open list, with the states still pending, at the
+     * beginning of the next iteration.
+     *
+     * @param codedProblem the problem to be solved. The problem cannot be null.
+     * @param budget       the budget of the search. The budget cannot be null.
+     * @return a solution search or null if it does not exist.
+     */
+    @Override
+    public Node search(final CodedProblem codedProblem, final SearchBudget budget) {
+        Objects.requireNonNull(codedProblem);
+        Objects.requireNonNull(budget);
+        final long begin = System.currentTimeMillis();
+        final Heuristic heuristic = HeuristicToolKit.createHeuristic(getHeuristicType(), codedProblem);
+        final boolean admissible = heuristic.isAdmissible();
+        final BitState init = new BitState(codedProblem.getInit());
+        final SearchGraph graph = new SearchGraph(codedProblem.getRelevantFacts().size());
+        final double finalWeight = getWeight();
+        double weight = Math.max(this.initialWeight, finalWeight);
+        OpenList open = this.createOpenList(AnytimeAStar.isInteger(weight));
+        // The states expanded in the current iteration whose cost was improved since
+        final IntDeque inconsistent = new IntDeque();
+        // The last iteration in which each state was expanded and in which it was put back in the open list
+        int[] expanded = new int[0];
+        int[] queued = new int[0];
+        int iteration = 1;
+
+        final int root = graph.intern(init);
+        final int h0 = heuristic.estimate(init, codedProblem.getGoal());
+        graph.set(root, -1, -1, 0, h0);
+        if (h0 != Integer.MAX_VALUE) {
+            open.add(root, weight * h0, h0);
+            graph.open(root);
+        }
+
+        this.resetNodesStatistics();
+        Node solution = null;
+        double bound = Double.POSITIVE_INFINITY;
+        while (!budget.isExhausted()) {
+            // Improve the solution with the current weight
+            while (!open.isEmpty() && !budget.isExhausted()) {
+                final int current = open.poll();
+                if (current >= expanded.length) {
+                    expanded = Arrays.copyOf(expanded, Math.max(2 * expanded.length, current + 1));
+                }
+                // Skip the stale ids and the states already expanded in this iteration
+                if (!graph.isOpened(current) || expanded[current] == iteration) {
+                    continue;
+                }
+                final double g = graph.getCost(current);
+                final double h = graph.getHeuristic(current);
+                if (admissible && g + h >= bound) {
+                    // The state cannot lead to a better plan
+                    graph.close(current);
+                    continue;
+                }
+                if (g + weight * h >= bound) {
+                    // No plan better than the current one can be found with this weight
+                    open.add(current, g + weight * h, h);
+                    break;
+                }
+                expanded[current] = iteration;
+                graph.close(current);
+                final BitState state = graph.getState(current);
+                if (state.satisfy(codedProblem.getGoal())) {
+                    bound = g;
+                    solution = graph.getNode(current);
+                    if (this.listener != null) {
+                        this.listener.planFound(this.extractPlan(solution, codedProblem), weight);
+                    }
+                } else {
+                    for (int index : codedProblem.getSuccessorGenerator().getApplicableOperators(state)) {
+                        if (budget.isExhausted()) {
+                            break;
+                        }
+                        final BitOp op = codedProblem.getOperators().get(index);
+                        final BitState next = new BitState(state);
+                        this.setCreatedNodes(this.getCreatedNodes() + 1);
+                        op.getCondEffects().stream().filter(ce -> state.satisfy(ce.getCondition())).forEach(ce ->
+                            next.apply(ce.getEffects())
+                        );
+                        final double cost = g + 1;
+                        final int successor = graph.intern(next);
+                        if (graph.isUnseen(successor)) {
+                            final int hs = heuristic.estimate(next, codedProblem.getGoal());
+                            graph.set(successor, current, index, cost, hs);
+                            // The dead ends are kept in the graph to be recognized but are never opened
+                            if (hs != Integer.MAX_VALUE) {
+                                open.add(successor, cost + weight * hs, hs);
+                                graph.open(successor);
+                            }
+                        } else if (cost < graph.getCost(successor)
+                            && graph.getHeuristic(successor) != Integer.MAX_VALUE) {
+                            graph.update(successor, current, index, cost);
+                            if (successor < expanded.length && expanded[successor] == iteration) {
+                                inconsistent.addLast(successor);
+                            } else {
+                                final double hs = graph.getHeuristic(successor);
+                                open.add(successor, cost + weight * hs, hs);
+                            }
+                            graph.open(successor);
+                        }
+                    }
+                }
+            }
+            if (budget.isExhausted() || weight <= finalWeight
+                || (open.isEmpty() && (inconsistent.isEmpty() || solution == null))) {
+                break;
+            }
+            // Decrease the weight and merge the pending and the inconsistent states in a new open list
+            weight = Math.max(finalWeight, weight - this.weightDecrement);
+            iteration++;
+            final OpenList next = this.createOpenList(AnytimeAStar.isInteger(weight));
+            while (!open.isEmpty() || !inconsistent.isEmpty()) {
+                final int id = open.isEmpty() ? inconsistent.pollFirst() : open.poll();
+                if (id >= queued.length) {
+                    queued = Arrays.copyOf(queued, Math.max(2 * queued.length, id + 1));
+                }
+                if (graph.isOpened(id) && queued[id] != iteration) {
+                    queued[id] = iteration;
+                    final double h = graph.getHeuristic(id);
+                    next.add(id, graph.getCost(id) + weight * h, h);
+                }
+            }
+            open = next;
+        }
+
+        this.setExploredNodes(graph.getClosed());
+        this.setPendingNodes(graph.getOpened());
+        this.setMemoryUsed(graph.getMemoryUsed() + open.getMemoryUsed() + inconsistent.getMemoryUsed()
+            + (long) (expanded.length + queued.length) * Integer.BYTES + heuristic.getMemoryUsed());
+        this.setSearchingTime(System.currentTimeMillis() - begin);
+        return solution;
+    }
+
+    /**
+     * Returns <code>true</code> if a weight is a non negative integer, i.e., if the priorities of the states can be
+     * stored in a bucket queue.
+     *
+     * @param weight the weight.
+     * @return <code>true</code> if the weight is a non negative integer; <code>false</code> otherwise.
+     */
+    private static boolean isInteger(final double weight) {
+        return weight >= 0 && weight == Math.rint(weight);
+    }
+}
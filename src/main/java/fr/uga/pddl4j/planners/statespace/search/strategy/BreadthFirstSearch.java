@@ -18,9 +18,7 @@ package fr.uga.pddl4j.planners.statespace.search.strategy;
 import fr.uga.pddl4j.encoding.CodedProblem;
 import fr.uga.pddl4j.util.BitOp;
 import fr.uga.pddl4j.util.BitState;
-import fr.uga.pddl4j.util.MemoryAgent;
 
-import java.util.LinkedList;
 import java.util.Objects;
 
 /**
@@ -53,71 +51,67 @@ public final class BreadthFirstSearch extends AbstractStateSpaceStrategy {
     }
 
     /**
-     * The greedy best first search algorithm. Solves the planning problem and returns the first solution plan found.
-     * This method must be completed.
+     * The breadth first search algorithm. Solves the planning problem and returns the first solution plan found.
+     * The states are interned in a <code>SearchGraph</code>, so that the duplicate detection of a successor takes
+     * a constant time, and the pending states are stored in a FIFO array-backed queue of ids.
      *
      * @param codedProblem the problem to be solved. The problem cannot be null.
+     * @param budget       the budget of the search. The budget cannot be null.
      * @return a solution plan or null if it does not exist.
      */
-    public Node search(final CodedProblem codedProblem) {
+    @Override
+    public Node search(final CodedProblem codedProblem, final SearchBudget budget) {
         Objects.requireNonNull(codedProblem);
+        Objects.requireNonNull(budget);
         final long begin = System.currentTimeMillis();
 
-        final LinkedList<Node> closeSet = new LinkedList<>();
-        final LinkedList<Node> openSet = new LinkedList<>();
-        final int timeout = getTimeout();
+        final SearchGraph graph = new SearchGraph(codedProblem.getRelevantFacts().size());
+        final IntDeque openSet = new IntDeque();
 
         BitState init = new BitState(codedProblem.getInit());
-        Node root = new Node(init, null, 0, 0, 0);
-        root.setDepth(0);
-        openSet.add(root);
+        final int root = graph.intern(init);
+        graph.set(root, -1, -1, 0, 0);
+        graph.open(root);
+        openSet.addLast(root);
 
         this.resetNodesStatistics();
-        Node solution = null;
-        long searchingTime = 0;
-        while (!openSet.isEmpty() && solution == null && searchingTime < timeout) {
+        int solution = -1;
+        while (!openSet.isEmpty() && solution == -1 && !budget.isExhausted()) {
             // Pop the first node in the pending list open
-            final Node current = openSet.pollFirst();
+            final int current = openSet.pollFirst();
+            final BitState state = graph.getState(current);
 
-            if (current.satisfy(codedProblem.getGoal())) {
+            if (state.satisfy(codedProblem.getGoal())) {
                 solution = current;
             } else {
-                closeSet.add(current);
-                int index = 0;
-                for (BitOp op : codedProblem.getOperators()) {
-
-                    // Test if a specified operator is applicable in the current state
-                    if (op.isApplicable(current)) {
-                        final BitState nextState = new BitState(current);
-                        nextState.or(op.getCondEffects().get(0).getEffects().getPositive());
-                        nextState.andNot(op.getCondEffects().get(0).getEffects().getNegative());
-
-                        // Apply the effect of the applicable operator
-                        final Node successor = new Node(nextState);
-                        this.setCreatedNodes(this.getCreatedNodes() + 1);
-                        successor.setCost(current.getCost() + op.getCost());
-                        successor.setHeuristic(0);
-                        successor.setParent(current);
-                        successor.setOperator(index);
-                        successor.setDepth(current.getDepth() + 1);
-
-                        if (!closeSet.contains(successor) && !openSet.contains(successor)) {
-                            openSet.addLast(successor);
-                        }
+                graph.close(current);
+                for (int index : codedProblem.getSuccessorGenerator().getApplicableOperators(state)) {
+                    if (budget.isExhausted()) {
+                        break;
+                    }
+                    final BitOp op = codedProblem.getOperators().get(index);
+                    final BitState nextState = new BitState(state);
+                    nextState.apply(op.getCondEffects().get(0).getEffects());
+
+                    // Apply the effect of the applicable operator
+                    final int successor = graph.intern(nextState);
+                    this.setCreatedNodes(this.getCreatedNodes() + 1);
+
+                    // The successor is pending only if it was neither explored nor already pending
+                    if (graph.isUnseen(successor)) {
+                        graph.set(successor, current, index, graph.getCost(current) + op.getCost(), 0);
+                        graph.open(successor);
+                        openSet.addLast(successor);
                     }
-                    index++;
                 }
             }
-            // Take time to compute the searching time
-            long end = System.currentTimeMillis();
-            searchingTime = end - begin;
         }
 
-        this.setExploredNodes(closeSet.size());
-        this.setPendingNodes(openSet.size());
-        this.setMemoryUsed(MemoryAgent.getDeepSizeOf(closeSet) + MemoryAgent.getDeepSizeOf(openSet));
-        this.setSearchingTime(searchingTime);
+        this.setExploredNodes(graph.getClosed());
+        this.setPendingNodes(graph.getOpened());
+        this.setMemoryUsed(graph.getMemoryUsed() + openSet.getMemoryUsed());
+        this.setSearchingTime(System.currentTimeMillis() - begin);
 
-        return solution;
+        return solution == -1 ? null : graph.getNode(solution);
     }
 }
@@ -0,0 +1,250 @@
+/*
+ * Copyright (c) 2016 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with PDDL4J.  If not, see
+ * <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.planners.statespace.search.strategy;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * This class implements an open list based on a two-level bucket queue. The ids are stored in a bucket indexed
+ * by their primary key and, inside this bucket, in a queue indexed by their secondary key. Hence, adding and
+ * removing an id take a constant amortized time. The keys must be non negative integers. The ids with a primary
+ * key greater than or equal to <code>LIMIT</code>, e.g., the ids of the dead-end states whose heuristic value
+ * is <code>Integer.MAX_VALUE</code>, are stored in an overflow heap polled once the buckets are empty. The
+ * secondary keys are only used for tie-breaking and are bounded by <code>LIMIT - 1</code>.
+ *
+ * @author D. Pellier
+ * @version 1.0 - 17.10.2026
+ */
+public final class BucketOpenList implements OpenList {
+
+    /**
+     * The bound of the keys stored in the buckets.
+     */
+    public static final int LIMIT = 1 << 16;
+
+    /**
+     * The tie-breaking policy of the list.
+     */
+    private final TieBreaking tieBreaking;
+
+    /**
+     * The buckets indexed by primary key.
+     */
+    private Bucket[] buckets;
+
+    /**
+     * The lowest primary key of the non empty buckets or a lower value.
+     */
+    private int min;
+
+    /**
+     * The number of ids stored in the buckets.
+     */
+    private int size;
+
+    /**
+     * The heap used to store the ids with a primary key greater than or equal to <code>LIMIT</code>.
+     */
+    private final HeapOpenList overflow;
+
+    /**
+     * Creates a new empty bucket queue.
+     *
+     * @param tieBreaking the tie-breaking policy of the list.
+     * @throws NullPointerException if <code>tieBreaking == null</code>.
+     */
+    public BucketOpenList(final TieBreaking tieBreaking) {
+        this.tieBreaking = Objects.requireNonNull(tieBreaking);
+        this.buckets = new Bucket[64];
+        this.min = Integer.MAX_VALUE;
+        this.size = 0;
+        this.overflow = new HeapOpenList(tieBreaking);
+    }
+
+    /**
+     * Adds an id to the list.
+     *
+     * @param id        the id to add.
+     * @param primary   the primary key of the id.
+     * @param secondary the secondary key of the id.
+     * @throws IllegalArgumentException if a key is negative or is not an integer.
+     */
+    @Override
+    public void add(final int id, final double primary, final double secondary) {
+        BucketOpenList.checkKey(primary);
+        BucketOpenList.checkKey(secondary);
+        if (primary >= BucketOpenList.LIMIT) {
+            this.overflow.add(id, primary, secondary);
+            return;
+        }
+        final int p = (int) primary;
+        final int s = (int) Math.min(secondary, BucketOpenList.LIMIT - 1);
+        if (p >= this.buckets.length) {
+            this.buckets = Arrays.copyOf(this.buckets, Math.max(2 * this.buckets.length, p + 1));
+        }
+        Bucket bucket = this.buckets[p];
+        if (bucket == null) {
+            bucket = new Bucket();
+            this.buckets[p] = bucket;
+        }
+        bucket.add(id, s);
+        this.size++;
+        if (p < this.min) {
+            this.min = p;
+        }
+    }
+
+    /**
+     * Removes and returns the id with the lowest keys.
+     *
+     * @return the id with the lowest keys.
+     * @throws NoSuchElementException if the list is empty.
+     */
+    @Override
+    public int poll() {
+        if (this.size == 0) {
+            return this.overflow.poll();
+        }
+        while (this.buckets[this.min] == null || this.buckets[this.min].size == 0) {
+            this.min++;
+        }
+        this.size--;
+        return this.buckets[this.min].poll(this.tieBreaking);
+    }
+
+    /**
+     * Returns <code>true</code> if the list is empty.
+     *
+     * @return <code>true</code> if the list is empty; <code>false</code> otherwise.
+     */
+    @Override
+    public boolean isEmpty() {
+        return this.size == 0 && this.overflow.isEmpty();
+    }
+
+    /**
+     * Returns the number of ids stored in the list.
+     *
+     * @return the number of ids stored in the list.
+     */
+    @Override
+    public int size() {
+        return this.size + this.overflow.size();
+    }
+
+    /**
+     * Returns the number of bytes used by the list.
+     *
+     * @return the number of bytes used by the list.
+     */
+    @Override
+    public long getMemoryUsed() {
+        long bytes = (long) this.buckets.length * Integer.BYTES + this.overflow.getMemoryUsed();
+        for (Bucket bucket : this.buckets) {
+            if (bucket != null) {
+                bytes += bucket.getMemoryUsed();
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Checks that a key is a non negative integer.
+     *
+     * @param key the key.
+     * @throws IllegalArgumentException if the key is negative or is not an integer.
+     */
+    private static void checkKey(final double key) {
+        if (!(key >= 0) || (!Double.isInfinite(key) && key != Math.rint(key))) {
+            throw new IllegalArgumentException("key " + key + " is not a non negative integer");
+        }
+    }
+
+    /**
+     * This class implements a bucket of ids with the same primary key.
+     */
+    private static final class Bucket {
+
+        /**
+         * The queues of the bucket indexed by secondary key.
+         */
+        private IntDeque[] queues = new IntDeque[16];
+
+        /**
+         * The lowest secondary key of the non empty queues or a lower value.
+         */
+        private int min = Integer.MAX_VALUE;
+
+        /**
+         * The number of ids stored in the bucket.
+         */
+        private int size = 0;
+
+        /**
+         * Adds an id to the bucket.
+         *
+         * @param id  the id.
+         * @param key the secondary key of the id.
+         */
+        private void add(final int id, final int key) {
+            if (key >= this.queues.length) {
+                this.queues = Arrays.copyOf(this.queues, Math.max(2 * this.queues.length, key + 1));
+            }
+            IntDeque queue = this.queues[key];
+            if (queue == null) {
+                queue = new IntDeque();
+                this.queues[key] = queue;
+            }
+            queue.addLast(id);
+            this.size++;
+            if (key < this.min) {
+                this.min = key;
+            }
+        }
+
+        /**
+         * Removes and returns the id with the lowest secondary key.
+         *
+         * @param tieBreaking the tie-breaking policy.
+         * @return the id with the lowest secondary key.
+         */
+        private int poll(final TieBreaking tieBreaking) {
+            while (this.queues[this.min] == null || this.queues[this.min].isEmpty()) {
+                this.min++;
+            }
+            this.size--;
+            final IntDeque queue = this.queues[this.min];
+            return tieBreaking.equals(TieBreaking.FIFO) ? queue.pollFirst() : queue.pollLast();
+        }
+
+        /**
+         * Returns the number of bytes used by the bucket.
+         *
+         * @return the number of bytes used by the bucket.
+         */
+        private long getMemoryUsed() {
+            long bytes = (long) this.queues.length * Integer.BYTES;
+            for (IntDeque queue : this.queues) {
+                if (queue != null) {
+                    bytes += queue.getMemoryUsed();
+                }
+            }
+            return bytes;
+        }
+    }
+}
@@ -20,21 +20,35 @@
 package fr.uga.pddl4j.planners.statespace.search.strategy;
 
 import fr.uga.pddl4j.encoding.CodedProblem;
+import fr.uga.pddl4j.heuristics.relaxation.CachingHeuristic;
 import fr.uga.pddl4j.heuristics.relaxation.Heuristic;
 import fr.uga.pddl4j.heuristics.relaxation.HeuristicToolKit;
+import fr.uga.pddl4j.heuristics.relaxation.RelaxedGraphHeuristic;
 import fr.uga.pddl4j.util.BitOp;
 import fr.uga.pddl4j.util.BitState;
-import fr.uga.pddl4j.util.MemoryAgent;
+import fr.uga.pddl4j.util.BitVector;
 
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.LinkedList;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 /**
- * This class implements Enforced Hill Climbing search strategy.
+ * This class implements Enforced Hill Climbing search strategy. The breadth first search for a state better than the
+ * current one does not generate twice the same state.
+ * <p>
+ * When the helpful actions are enabled and the heuristic is computed on a relaxed planning graph, only the
+ * successors reached by the helpful actions of a state are generated. If the breadth first search for a better
+ * state fails with this pruning, it is restarted from the same state with all the successors, as in the original
+ * FF planner.
+ * </p>
  *
  * @author Samuel Aaron Boyd
  * @author E. Hermellin
  * @version 2.0 - 24.01.2018
+ * @see RelaxedGraphHeuristic#getHelpfulActions()
  */
 public final class EnforcedHillClimbing extends AbstractStateSpaceStrategy {
 
@@ -43,12 +57,18 @@ public final class EnforcedHillClimbing extends AbstractStateSpaceStrategy {
      */
     private static final long serialVersionUID = 1L;
 
+    /**
+     * The flag used to generate only the successors reached by helpful actions.
+     */
+    private boolean helpfulActions;
+
     /**
      * Creates a new Enforced Hill Climbing search strategy with default parameters.
      *
      */
     public EnforcedHillClimbing() {
         super();
+        this.helpfulActions = false;
     }
 
     /**
@@ -60,37 +80,96 @@ public final class EnforcedHillClimbing extends AbstractStateSpaceStrategy {
      */
     public EnforcedHillClimbing(int timeout, Heuristic.Type heuristic, double weight) {
         super(timeout, heuristic, weight);
+        this.helpfulActions = false;
+    }
+
+    /**
+     * Returns <code>true</code> if only the successors reached by helpful actions are generated.
+     *
+     * @return <code>true</code> if only the successors reached by helpful actions are generated;
+     *      <code>false</code> otherwise.
+     */
+    public boolean isHelpfulActions() {
+        return this.helpfulActions;
+    }
+
+    /**
+     * Sets the pruning of the successors not reached by helpful actions. The pruning is ignored if the heuristic
+     * is not computed on a relaxed planning graph.
+     *
+     * @param helpfulActions <code>true</code> to generate only the successors reached by helpful actions.
+     */
+    public void setHelpfulActions(final boolean helpfulActions) {
+        this.helpfulActions = helpfulActions;
     }
 
     /**
      * The enforced hill climbing algorithm. Solves the planning problem and returns the solution's node.
      *
      * @param codedProblem the problem to be solved. The problem cannot be null.
+     * @param budget       the budget of the search. The budget cannot be null.
      * @return the solution node or null.
      */
-    public Node search(final CodedProblem codedProblem) {
+    @Override
+    public Node search(final CodedProblem codedProblem, final SearchBudget budget) {
         Objects.requireNonNull(codedProblem);
+        Objects.requireNonNull(budget);
         final long begin = System.currentTimeMillis();
 
-        final Heuristic heuristic = HeuristicToolKit.createHeuristic(getHeuristicType(), codedProblem);
+        final CachingHeuristic heuristic = new CachingHeuristic(
+            HeuristicToolKit.createHeuristic(getHeuristicType(), codedProblem), CachingHeuristic.DEFAULT_CAPACITY);
         final LinkedList<Node> openList = new LinkedList<>();
-        final int timeout = getTimeout();
+        // The helpful actions are only available for the heuristics computed on a relaxed planning graph. They
+        // are read from the heuristic cached because the cache does not keep them
+        final RelaxedGraphHeuristic relaxed = this.helpfulActions
+            && heuristic.getHeuristic() instanceof RelaxedGraphHeuristic
+            ? (RelaxedGraphHeuristic) heuristic.getHeuristic() : null;
+        final BitVector helpful = new BitVector(codedProblem.getOperators().size());
+        // The helpful actions of the nodes generated, recorded when the nodes are evaluated
+        final Map<Node, int[]> helpfulActions = relaxed != null ? new IdentityHashMap<>() : null;
+        // The states generated by the current breadth first search for a better state
+        final Set<BitState> visited = new HashSet<>();
 
         BitState init = new BitState(codedProblem.getInit());
         Node root = new Node(init, null, 0, 0, heuristic.estimate(init, codedProblem.getGoal()));
+        if (relaxed != null) {
+            helpfulActions.put(root, relaxed.getHelpfulActions().stream().toArray());
+        }
         openList.add(root);
+        visited.add(root);
 
         double bestHeuristic = root.getHeuristic();
+        // The state from which the current breadth first search for a better state started
+        Node start = root;
+        boolean pruning = relaxed != null;
 
         Node solution = null;
         boolean deadEndFree = true;
 
         this.resetNodesStatistics();
-        long searchingTime = 0;
-        while (!openList.isEmpty() && solution == null && deadEndFree && searchingTime < timeout) {
+        while (!openList.isEmpty() && solution == null && deadEndFree && !budget.isExhausted()) {
             final Node currentState = openList.pop();
-            final LinkedList<Node> successors = getSuccessors(currentState, codedProblem, heuristic);
-            deadEndFree = !successors.isEmpty();
+            final int[] applicable = codedProblem.getSuccessorGenerator().getApplicableOperators(currentState);
+            final LinkedList<Node> successors;
+            final int[] actions = helpfulActions != null ? helpfulActions.remove(currentState) : null;
+            if (pruning) {
+                helpful.clear();
+                if (actions != null) {
+                    for (int index : actions) {
+                        helpful.set(index);
+                    }
+                } else {
+                    // The value of the state was found in the cache when the state was generated
+                    relaxed.estimate(currentState, codedProblem.getGoal());
+                    helpful.or(relaxed.getHelpfulActions());
+                }
+                successors = this.getSuccessors(currentState, applicable, helpful, visited, codedProblem, heuristic,
+                    helpfulActions, budget);
+            } else {
+                successors = this.getSuccessors(currentState, applicable, null, visited, codedProblem, heuristic,
+                    helpfulActions, budget);
+                deadEndFree = applicable.length > 0;
+            }
 
             while (!successors.isEmpty() && solution == null) {
                 final Node successor = successors.pop();
@@ -100,54 +179,92 @@ public final class EnforcedHillClimbing extends AbstractStateSpaceStrategy {
                     solution = successor;
                 }
                 if (heuristicSuccessor < bestHeuristic) {
+                    if (helpfulActions != null) {
+                        // Only the helpful actions of the better state are kept
+                        final int[] better = helpfulActions.get(successor);
+                        helpfulActions.clear();
+                        if (better != null) {
+                            helpfulActions.put(successor, better);
+                        }
+                    }
                     successors.clear();
                     openList.clear();
                     bestHeuristic = heuristicSuccessor;
+                    start = successor;
+                    pruning = relaxed != null;
+                    visited.clear();
+                    visited.add(successor);
                 }
                 openList.addLast(successor);
             }
-
-            // Take time to compute the searching time
-            long end = System.currentTimeMillis();
-            searchingTime = end - begin;
+            // The search for a better state failed with the helpful actions: it is restarted with all the
+            // successors
+            if (openList.isEmpty() && solution == null && pruning) {
+                openList.add(start);
+                pruning = false;
+                visited.clear();
+                visited.add(start);
+            }
         }
 
-        this.setMemoryUsed(MemoryAgent.getDeepSizeOf(openList) + MemoryAgent.getDeepSizeOf(heuristic));
-        this.setSearchingTime(searchingTime);
+        // The nodes and the states visited have the same size as the root node
+        this.setMemoryUsed((openList.size() + visited.size()) * root.getMemoryUsed() + heuristic.getMemoryUsed());
+        this.setSearchingTime(System.currentTimeMillis() - begin);
 
         return solution;
     }
 
     /**
-     * Get the successors from a node.
+     * Get the successors from a node. The successors already visited are not returned. The generation of the
+     * successors stops when the budget of the search is exhausted.
      *
-     * @param parent    the parent node.
-     * @param problem   the coded problem to solve.
-     * @param heuristic the heuristic used.
+     * @param parent     the parent node.
+     * @param applicable the operators applicable in the parent node.
+     * @param operators  the operators that can be applied or <code>null</code> if all the applicable operators
+     *                   can be applied.
+     * @param visited    the states already visited.
+     * @param problem    the coded problem to solve.
+     * @param heuristic  the heuristic used.
+     * @param helpful    the map where the helpful actions of the successors are recorded or <code>null</code> if
+     *                   they are not used.
+     * @param budget     the budget of the search.
      * @return the list of successors from the parent node.
      */
-    private LinkedList<Node> getSuccessors(Node parent, CodedProblem problem, Heuristic heuristic) {
+    private LinkedList<Node> getSuccessors(Node parent, int[] applicable, BitVector operators, Set<BitState> visited,
+                                           CodedProblem problem, CachingHeuristic heuristic,
+                                           Map<Node, int[]> helpful, SearchBudget budget) {
         final LinkedList<Node> successors = new LinkedList<>();
 
-        int index = 0;
-        for (BitOp op : problem.getOperators()) {
-            // Test if a specified operator is applicable in the current state
-            if (op.isApplicable(parent)) {
-                final BitState nextState = new BitState(parent);
-                nextState.or(op.getCondEffects().get(0).getEffects().getPositive());
-                nextState.andNot(op.getCondEffects().get(0).getEffects().getNegative());
-
-                // Apply the effect of the applicable operator
-                final Node successor = new Node(nextState);
-                this.setCreatedNodes(this.getCreatedNodes() + 1);
-                successor.setCost(parent.getCost() + op.getCost());
-                successor.setHeuristic(heuristic.estimate(nextState, problem.getGoal()));
-                successor.setParent(parent);
-                successor.setOperator(index);
-                successor.setDepth(parent.getDepth() + 1);
-                successors.add(successor);
+        for (int index : applicable) {
+            if (operators != null && !operators.get(index)) {
+                continue;
+            }
+            if (budget.isExhausted()) {
+                break;
+            }
+            final BitOp op = problem.getOperators().get(index);
+            final BitState nextState = new BitState(parent);
+            nextState.or(op.getCondEffects().get(0).getEffects().getPositive());
+            nextState.andNot(op.getCondEffects().get(0).getEffects().getNegative());
+            if (!visited.add(nextState)) {
+                continue;
+            }
+
+            // Apply the effect of the applicable operator
+            final Node successor = new Node(nextState);
+            this.setCreatedNodes(this.getCreatedNodes() + 1);
+            successor.setCost(parent.getCost() + op.getCost());
+            final long misses = heuristic.getMisses();
+            successor.setHeuristic(heuristic.estimate(nextState, problem.getGoal()));
+            // The helpful actions are only available when the state was evaluated by the heuristic cached
+            if (helpful != null && heuristic.getMisses() > misses) {
+                final RelaxedGraphHeuristic relaxed = (RelaxedGraphHeuristic) heuristic.getHeuristic();
+                helpful.put(successor, relaxed.getHelpfulActions().stream().toArray());
             }
-            index++;
+            successor.setParent(parent);
+            successor.setOperator(index);
+            successor.setDepth(parent.getDepth() + 1);
+            successors.add(successor);
         }
 
         return successors;
@@ -18,21 +18,34 @@ package fr.uga.pddl4j.planners.statespace.search.strategy;
 import fr.uga.pddl4j.encoding.CodedProblem;
 import fr.uga.pddl4j.heuristics.relaxation.Heuristic;
 import fr.uga.pddl4j.heuristics.relaxation.HeuristicToolKit;
+import fr.uga.pddl4j.heuristics.relaxation.RelaxedGraphHeuristic;
 import fr.uga.pddl4j.util.BitOp;
 import fr.uga.pddl4j.util.BitState;
-import fr.uga.pddl4j.util.MemoryAgent;
+import fr.uga.pddl4j.util.BitVector;
 
-import java.util.Collection;
-import java.util.HashSet;
-import java.util.Iterator;
+import java.util.Arrays;
 import java.util.Objects;
-import java.util.Set;
 
 /**
  * This class implements Greedy Best First Search strategy.
+ * <p>
+ * Two options reduce the number of heuristic evaluations, which dominate the cost of the search:
+ * </p>
+ * <ul>
+ * <li>the lazy evaluation: the successors of a state are queued with the heuristic value of their parent and are
+ * only evaluated when they are polled, so the successors never explored are never evaluated;</li>
+ * <li>the preferred operators: when the heuristic is computed on a relaxed planning graph, the successors reached
+ * by the helpful actions of their parent are also added to a second open list. The search alternates between the
+ * two lists and gives priority to the preferred list for <code>BOOST</code> more explorations each time the best
+ * heuristic value is improved.</li>
+ * </ul>
+ * <p>
+ * Both options are disabled by default.
+ * </p>
  *
  * @author E. Hermellin
  * @version 1.0 - 01.06.2018
+ * @see RelaxedGraphHeuristic#getHelpfulActions()
  */
 public final class GreedyBestFirstSearch extends AbstractStateSpaceStrategy {
 
@@ -41,12 +54,29 @@ public final class GreedyBestFirstSearch extends AbstractStateSpaceStrategy {
      */
     private static final long serialVersionUID = 1L;
 
+    /**
+     * The priority given to the preferred open list each time the best heuristic value is improved.
+     */
+    public static final int BOOST = 1000;
+
+    /**
+     * The flag used to evaluate the states lazily.
+     */
+    private boolean lazy;
+
+    /**
+     * The flag used to give priority to the successors reached by preferred operators.
+     */
+    private boolean preferredOperators;
+
     /**
      * Creates a new Greedy best First Search search strategy with default parameters.
      *
      */
     public GreedyBestFirstSearch() {
         super();
+        this.lazy = false;
+        this.preferredOperators = false;
     }
 
     /**
@@ -58,95 +88,174 @@ public final class GreedyBestFirstSearch extends AbstractStateSpaceStrategy {
      */
     public GreedyBestFirstSearch(int timeout, Heuristic.Type heuristic, double weight) {
         super(timeout, heuristic, weight);
+        this.lazy = false;
+        this.preferredOperators = false;
+    }
+
+    /**
+     * Returns <code>true</code> if the states are evaluated when they are explored rather than when they are
+     * generated.
+     *
+     * @return <code>true</code> if the states are evaluated lazily; <code>false</code> otherwise.
+     */
+    public boolean isLazy() {
+        return this.lazy;
+    }
+
+    /**
+     * Sets the lazy evaluation of the states.
+     *
+     * @param lazy <code>true</code> to evaluate the states when they are explored rather than when they are
+     *             generated.
+     */
+    public void setLazy(final boolean lazy) {
+        this.lazy = lazy;
+    }
+
+    /**
+     * Returns <code>true</code> if the successors reached by preferred operators are given priority.
+     *
+     * @return <code>true</code> if the successors reached by preferred operators are given priority;
+     *      <code>false</code> otherwise.
+     */
+    public boolean isPreferredOperators() {
+        return this.preferredOperators;
+    }
+
+    /**
+     * Sets the use of the preferred operators. The preferred operators are the helpful actions of the relaxed
+     * plan and are ignored if the heuristic is not computed on a relaxed planning graph.
+     *
+     * @param preferredOperators <code>true</code> to give priority to the successors reached by preferred
+     *                           operators.
+     */
+    public void setPreferredOperators(final boolean preferredOperators) {
+        this.preferredOperators = preferredOperators;
     }
 
     /**
      * The greedy best first search algorithm. Solves the planning problem and returns the first solution plan found.
-     * This method must be completed.
+     * The states are interned in a <code>SearchGraph</code> and each state is added at most once to each open list,
+     * which is a bucket queue ordered by the heuristic value of the states or, in lazy mode, by the heuristic value
+     * of their parent.
      *
      * @param codedProblem the problem to be solved. The problem cannot be null.
+     * @param budget       the budget of the search. The budget cannot be null.
      * @return a solution plan or null if it does not exist.
      */
-    public Node search(final CodedProblem codedProblem) {
+    @Override
+    public Node search(final CodedProblem codedProblem, final SearchBudget budget) {
         Objects.requireNonNull(codedProblem);
+        Objects.requireNonNull(budget);
         final long begin = System.currentTimeMillis();
 
         final Heuristic heuristic = HeuristicToolKit.createHeuristic(getHeuristicType(), codedProblem);
-        final Set<Node> closeSet = new HashSet<>();
-        final Set<Node> openSet = new HashSet<>();
-        final int timeout = getTimeout();
+        final SearchGraph graph = new SearchGraph(codedProblem.getRelevantFacts().size());
+        final OpenList open = this.createOpenList(true);
+        // The preferred operators are only available for the heuristics computed on a relaxed planning graph
+        final RelaxedGraphHeuristic relaxed = this.preferredOperators && heuristic instanceof RelaxedGraphHeuristic
+            ? (RelaxedGraphHeuristic) heuristic : null;
+        final OpenList preferred = relaxed != null ? this.createOpenList(true) : null;
+        final BitVector helpful = new BitVector(codedProblem.getOperators().size());
+        // In eager mode, the helpful actions of the open states recorded when they are evaluated
+        int[][] helpfulActions = relaxed != null && !this.lazy ? new int[1024][] : null;
+        // The priorities of the open lists: the list with the highest priority is polled first
+        int openPriority = 0;
+        int preferredPriority = 0;
 
         BitState init = new BitState(codedProblem.getInit());
-        Node root = new Node(init, null, 0, 0, heuristic.estimate(init, codedProblem.getGoal()));
-        root.setDepth(0);
-        openSet.add(root);
+        final int root = graph.intern(init);
+        final int h0 = heuristic.estimate(init, codedProblem.getGoal());
+        graph.set(root, -1, -1, 0, h0);
+        if (helpfulActions != null) {
+            helpfulActions[root] = relaxed.getHelpfulActions().stream().toArray();
+        }
+        open.add(root, h0, 0);
+        graph.open(root);
+        int best = h0;
 
         this.resetNodesStatistics();
-        Node solution = null;
-        long searchingTime = 0;
-        while (!openSet.isEmpty() && solution == null && searchingTime < timeout) {
-            // Pop the first node in the pending list open
-            final Node current = popPriorityNode(openSet);
+        int solution = -1;
+        while (!(open.isEmpty() && (preferred == null || preferred.isEmpty())) && solution == -1
+            && !budget.isExhausted()) {
+            // Pop the first node of the pending list with the highest priority
+            final int current;
+            if (preferred != null && !preferred.isEmpty() && (preferredPriority >= openPriority || open.isEmpty())) {
+                current = preferred.poll();
+                preferredPriority--;
+            } else {
+                current = open.poll();
+                openPriority--;
+            }
+            if (graph.isClosed(current)) {
+                continue;
+            }
+            final BitState state = graph.getState(current);
 
-            if (current.satisfy(codedProblem.getGoal())) {
+            if (state.satisfy(codedProblem.getGoal())) {
                 solution = current;
             } else {
-                closeSet.add(current);
-                int index = 0;
-                for (BitOp op : codedProblem.getOperators()) {
-
-                    // Test if a specified operator is applicable in the current state
-                    if (op.isApplicable(current)) {
-                        final BitState nextState = new BitState(current);
-                        nextState.or(op.getCondEffects().get(0).getEffects().getPositive());
-                        nextState.andNot(op.getCondEffects().get(0).getEffects().getNegative());
-
-                        // Apply the effect of the applicable operator
-                        final Node successor = new Node(nextState);
-                        this.setCreatedNodes(this.getCreatedNodes() + 1);
-                        successor.setCost(current.getCost() + op.getCost());
-                        successor.setHeuristic(heuristic.estimate(nextState, codedProblem.getGoal()));
-                        successor.setParent(current);
-                        successor.setOperator(index);
-                        successor.setDepth(current.getDepth() + 1);
-                        openSet.add(successor);
+                graph.close(current);
+                // The state is evaluated when it is explored in lazy mode
+                int h = (int) graph.getHeuristic(current);
+                if (this.lazy) {
+                    h = heuristic.estimate(state, codedProblem.getGoal());
+                    graph.set(current, graph.getParent(current), graph.getOperator(current),
+                        graph.getCost(current), h);
+                    // The dead-end states are not expanded
+                    if (h == Integer.MAX_VALUE) {
+                        continue;
                     }
-                    index++;
                 }
-            }
-            // Take time to compute the searching time
-            long end = System.currentTimeMillis();
-            searchingTime = end - begin;
-        }
-
-        this.setExploredNodes(closeSet.size());
-        this.setPendingNodes(openSet.size());
-        this.setMemoryUsed(MemoryAgent.getDeepSizeOf(closeSet) + MemoryAgent.getDeepSizeOf(openSet)
-            + MemoryAgent.getDeepSizeOf(heuristic));
-        this.setSearchingTime(searchingTime);
-
-        return solution;
-    }
+                if (h < best) {
+                    best = h;
+                    preferredPriority += GreedyBestFirstSearch.BOOST;
+                }
+                helpful.clear();
+                if (helpfulActions != null) {
+                    for (int index : helpfulActions[current]) {
+                        helpful.set(index);
+                    }
+                    helpfulActions[current] = null;
+                } else if (relaxed != null) {
+                    helpful.or(relaxed.getHelpfulActions());
+                }
+                for (int index : codedProblem.getSuccessorGenerator().getApplicableOperators(state)) {
+                    if (budget.isExhausted()) {
+                        break;
+                    }
+                    final BitOp op = codedProblem.getOperators().get(index);
+                    final BitState nextState = new BitState(state);
+                    nextState.apply(op.getCondEffects().get(0).getEffects());
 
-    /**
-     * Get a node from a list of nodes.
-     *
-     * @param states the list of nodes (successors).
-     * @return the node from the list.
-     */
-    private Node popPriorityNode(Collection<Node> states) {
-        Node state = null;
-        if (!states.isEmpty()) {
-            final Iterator<Node> i = states.iterator();
-            state = i.next();
-            while (i.hasNext()) {
-                final Node next = i.next();
-                if (next.getHeuristic() < state.getHeuristic()) {
-                    state = next;
+                    // Apply the effect of the applicable operator
+                    final int successor = graph.intern(nextState);
+                    this.setCreatedNodes(this.getCreatedNodes() + 1);
+                    if (graph.isUnseen(successor)) {
+                        final int hs = this.lazy ? h : heuristic.estimate(nextState, codedProblem.getGoal());
+                        graph.set(successor, current, index, graph.getCost(current) + op.getCost(), hs);
+                        if (helpfulActions != null) {
+                            if (successor >= helpfulActions.length) {
+                                helpfulActions = Arrays.copyOf(helpfulActions, 2 * successor);
+                            }
+                            helpfulActions[successor] = relaxed.getHelpfulActions().stream().toArray();
+                        }
+                        open.add(successor, hs, 0);
+                        if (helpful.get(index)) {
+                            preferred.add(successor, hs, 0);
+                        }
+                        graph.open(successor);
+                    }
                 }
             }
-            states.remove(state);
         }
-        return state;
+
+        this.setExploredNodes(graph.getClosed());
+        this.setPendingNodes(graph.getOpened());
+        this.setMemoryUsed(graph.getMemoryUsed() + open.getMemoryUsed()
+            + (preferred != null ? preferred.getMemoryUsed() : 0) + heuristic.getMemoryUsed());
+        this.setSearchingTime(System.currentTimeMillis() - begin);
+
+        return solution == -1 ? null : graph.getNode(solution);
     }
 }
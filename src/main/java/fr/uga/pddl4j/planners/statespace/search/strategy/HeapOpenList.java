@@ -0,0 +1,232 @@
+/*
+ * Copyright (c) 2016 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with PDDL4J.  If not, see
+ * <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.planners.statespace.search.strategy;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * This class implements an open list based on a binary heap. The keys can be any double values. The ids with
+ * the same keys are ordered by their insertion rank, so that the list has the same behaviour as a
+ * <code>BucketOpenList</code> when the keys are integers.
+ *
+ * @author D. Pellier
+ * @version 1.0 - 17.10.2026
+ */
+public final class HeapOpenList implements OpenList {
+
+    /**
+     * The initial capacity of the heap.
+     */
+    private static final int INITIAL_CAPACITY = 128;
+
+    /**
+     * The tie-breaking policy of the list.
+     */
+    private final TieBreaking tieBreaking;
+
+    /**
+     * The ids stored in the heap.
+     */
+    private int[] ids;
+
+    /**
+     * The primary keys of the ids.
+     */
+    private double[] primaries;
+
+    /**
+     * The secondary keys of the ids.
+     */
+    private double[] secondaries;
+
+    /**
+     * The insertion rank of the ids.
+     */
+    private long[] ranks;
+
+    /**
+     * The number of ids stored in the heap.
+     */
+    private int size;
+
+    /**
+     * The number of ids added to the heap.
+     */
+    private long counter;
+
+    /**
+     * Creates a new empty heap.
+     *
+     * @param tieBreaking the tie-breaking policy of the list.
+     * @throws NullPointerException if <code>tieBreaking == null</code>.
+     */
+    public HeapOpenList(final TieBreaking tieBreaking) {
+        this.tieBreaking = Objects.requireNonNull(tieBreaking);
+        this.ids = new int[HeapOpenList.INITIAL_CAPACITY];
+        this.primaries = new double[HeapOpenList.INITIAL_CAPACITY];
+        this.secondaries = new double[HeapOpenList.INITIAL_CAPACITY];
+        this.ranks = new long[HeapOpenList.INITIAL_CAPACITY];
+        this.size = 0;
+        this.counter = 0;
+    }
+
+    /**
+     * Adds an id to the list.
+     *
+     * @param id        the id to add.
+     * @param primary   the primary key of the id.
+     * @param secondary the secondary key of the id.
+     */
+    @Override
+    public void add(final int id, final double primary, final double secondary) {
+        if (this.size == this.ids.length) {
+            final int capacity = 2 * this.ids.length;
+            this.ids = Arrays.copyOf(this.ids, capacity);
+            this.primaries = Arrays.copyOf(this.primaries, capacity);
+            this.secondaries = Arrays.copyOf(this.secondaries, capacity);
+            this.ranks = Arrays.copyOf(this.ranks, capacity);
+        }
+        final long rank = this.tieBreaking.equals(TieBreaking.FIFO) ? this.counter : -this.counter;
+        this.counter++;
+        int k = this.size++;
+        while (k > 0) {
+            final int parent = (k - 1) >>> 1;
+            if (this.compare(primary, secondary, rank, parent) >= 0) {
+                break;
+            }
+            this.move(parent, k);
+            k = parent;
+        }
+        this.set(k, id, primary, secondary, rank);
+    }
+
+    /**
+     * Removes and returns the id with the lowest keys.
+     *
+     * @return the id with the lowest keys.
+     * @throws NoSuchElementException if the list is empty.
+     */
+    @Override
+    public int poll() {
+        if (this.size == 0) {
+            throw new NoSuchElementException();
+        }
+        final int result = this.ids[0];
+        final int last = --this.size;
+        if (last > 0) {
+            final int id = this.ids[last];
+            final double primary = this.primaries[last];
+            final double secondary = this.secondaries[last];
+            final long rank = this.ranks[last];
+            final int half = last >>> 1;
+            int k = 0;
+            while (k < half) {
+                int child = (k << 1) + 1;
+                final int right = child + 1;
+                if (right < last && this.compare(this.primaries[child], this.secondaries[child], this.ranks[child],
+                    right) > 0) {
+                    child = right;
+                }
+                if (this.compare(primary, secondary, rank, child) <= 0) {
+                    break;
+                }
+                this.move(child, k);
+                k = child;
+            }
+            this.set(k, id, primary, secondary, rank);
+        }
+        return result;
+    }
+
+    /**
+     * Returns <code>true</code> if the list is empty.
+     *
+     * @return <code>true</code> if the list is empty; <code>false</code> otherwise.
+     */
+    @Override
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Returns the number of ids stored in the list.
+     *
+     * @return the number of ids stored in the list.
+     */
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns the number of bytes used by the list.
+     *
+     * @return the number of bytes used by the list.
+     */
+    @Override
+    public long getMemoryUsed() {
+        return (long) this.ids.length * (Integer.BYTES + 2L * Double.BYTES + Long.BYTES);
+    }
+
+    /**
+     * Compares specified keys with the keys of the id stored at a specified position of the heap.
+     *
+     * @param primary   the primary key.
+     * @param secondary the secondary key.
+     * @param rank      the insertion rank.
+     * @param index     the position in the heap.
+     * @return a negative integer, zero, or a positive integer as the keys are less than, equal to, or greater
+     *     than the keys stored at the position.
+     */
+    private int compare(final double primary, final double secondary, final long rank, final int index) {
+        int cmp = Double.compare(primary, this.primaries[index]);
+        if (cmp == 0) {
+            cmp = Double.compare(secondary, this.secondaries[index]);
+            if (cmp == 0) {
+                cmp = Long.compare(rank, this.ranks[index]);
+            }
+        }
+        return cmp;
+    }
+
+    /**
+     * Moves the entry stored at a specified position to an other position.
+     *
+     * @param from the position of the entry.
+     * @param to   the new position of the entry.
+     */
+    private void move(final int from, final int to) {
+        this.set(to, this.ids[from], this.primaries[from], this.secondaries[from], this.ranks[from]);
+    }
+
+    /**
+     * Sets the entry stored at a specified position.
+     *
+     * @param index     the position.
+     * @param id        the id.
+     * @param primary   the primary key of the id.
+     * @param secondary the secondary key of the id.
+     * @param rank      the insertion rank of the id.
+     */
+    private void set(final int index, final int id, final double primary, final double secondary, final long rank) {
+        this.ids[index] = id;
+        this.primaries[index] = primary;
+        this.secondaries[index] = secondary;
+        this.ranks[index] = rank;
+    }
+}
@@ -16,11 +16,11 @@
 package fr.uga.pddl4j.planners.statespace.search.strategy;
 
 import fr.uga.pddl4j.encoding.CodedProblem;
+import fr.uga.pddl4j.heuristics.relaxation.CachingHeuristic;
 import fr.uga.pddl4j.heuristics.relaxation.Heuristic;
 import fr.uga.pddl4j.heuristics.relaxation.HeuristicToolKit;
 import fr.uga.pddl4j.util.BitOp;
 import fr.uga.pddl4j.util.BitState;
-import fr.uga.pddl4j.util.MemoryAgent;
 
 import java.util.Collection;
 import java.util.Iterator;
@@ -63,12 +63,16 @@ public final class HillClimbing extends AbstractStateSpaceStrategy {
      * The hill climbing algorithm. Solves the planning problem and returns the solution's node.
      *
      * @param codedProblem the problem to be solved. The problem cannot be null.
+     * @param budget       the budget of the search. The budget cannot be null.
      * @return the solution node.
      */
-    public Node search(final CodedProblem codedProblem) {
+    @Override
+    public Node search(final CodedProblem codedProblem, final SearchBudget budget) {
         Objects.requireNonNull(codedProblem);
+        Objects.requireNonNull(budget);
         final LinkedList<Node> openList = new LinkedList<>();
-        final Heuristic heuristic = HeuristicToolKit.createHeuristic(getHeuristicType(), codedProblem);
+        final Heuristic heuristic = HeuristicToolKit.createHeuristic(getHeuristicType(), codedProblem,
+            CachingHeuristic.DEFAULT_CAPACITY);
 
         BitState init = new BitState(codedProblem.getInit());
         Node root = new Node(init, null, 0, 0, heuristic.estimate(init, codedProblem.getGoal()));
@@ -78,14 +82,12 @@ public final class HillClimbing extends AbstractStateSpaceStrategy {
         boolean deadEndFree = true;
 
         this.resetNodesStatistics();
-        final int timeout = getTimeout();
         final long begin = System.currentTimeMillis();
-        long searchingTime = 0;
         while (!openList.isEmpty() && solution == null
-            && deadEndFree && searchingTime < timeout) {
+            && deadEndFree && !budget.isExhausted()) {
 
             final Node currentState = openList.pop();
-            final LinkedList<Node> successors = getSuccessors(currentState, codedProblem, heuristic);
+            final LinkedList<Node> successors = getSuccessors(currentState, codedProblem, heuristic, budget);
             deadEndFree = !successors.isEmpty();
 
             if (deadEndFree) {
@@ -99,47 +101,46 @@ public final class HillClimbing extends AbstractStateSpaceStrategy {
                     openList.addLast(successor);
                 }
             }
-
-            long end = System.currentTimeMillis();
-            searchingTime = end - begin;
         }
 
-        this.setMemoryUsed(MemoryAgent.getDeepSizeOf(openList) + MemoryAgent.getDeepSizeOf(heuristic));
-        this.setSearchingTime(searchingTime);
+        this.setMemoryUsed(openList.size() * root.getMemoryUsed() + heuristic.getMemoryUsed());
+        this.setSearchingTime(System.currentTimeMillis() - begin);
 
         return solution;
     }
 
     /**
-     * Get the successors from a node.
+     * Get the successors from a node. The generation of the successors stops when the budget of the search is
+     * exhausted.
      *
      * @param parent    the parent node.
      * @param problem   the coded problem to solve.
      * @param heuristic the heuristic used.
+     * @param budget    the budget of the search.
      * @return the list of successors from the parent node.
      */
     private LinkedList<Node> getSuccessors(final Node parent, final CodedProblem problem,
-                                           final Heuristic heuristic) {
+                                           final Heuristic heuristic, final SearchBudget budget) {
         final LinkedList<Node> successors = new LinkedList<>();
 
-        int index = 0;
-        for (BitOp op : problem.getOperators()) {
-            if (op.isApplicable(parent)) {
-                final BitState nextState = new BitState(parent);
-                nextState.or(op.getCondEffects().get(0).getEffects().getPositive());
-                nextState.andNot(op.getCondEffects().get(0).getEffects().getNegative());
-
-                // Apply the effect of the applicable operator
-                final Node successor = new Node(nextState);
-                this.setCreatedNodes(this.getCreatedNodes() + 1);
-                successor.setCost(parent.getCost() + op.getCost());
-                successor.setHeuristic(heuristic.estimate(nextState, problem.getGoal()));
-                successor.setParent(parent);
-                successor.setOperator(index);
-                successor.setDepth(parent.getDepth() + 1);
-                successors.add(successor);
+        for (int index : problem.getSuccessorGenerator().getApplicableOperators(parent)) {
+            if (budget.isExhausted()) {
+                break;
             }
-            index++;
+            final BitOp op = problem.getOperators().get(index);
+            final BitState nextState = new BitState(parent);
+            nextState.or(op.getCondEffects().get(0).getEffects().getPositive());
+            nextState.andNot(op.getCondEffects().get(0).getEffects().getNegative());
+
+            // Apply the effect of the applicable operator
+            final Node successor = new Node(nextState);
+            this.setCreatedNodes(this.getCreatedNodes() + 1);
+            successor.setCost(parent.getCost() + op.getCost());
+            successor.setHeuristic(heuristic.estimate(nextState, problem.getGoal()));
+            successor.setParent(parent);
+            successor.setOperator(index);
+            successor.setDepth(parent.getDepth() + 1);
+            successors.add(successor);
         }
 
         return successors;
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2016 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with PDDL4J.  If not, see
+ * <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.planners.statespace.search.strategy;
+
+import java.util.NoSuchElementException;
+
+/**
+ * This class implements a double ended queue of integers based on a circular array whose capacity is a power
+ * of two. The queue is used to store the ids of the states pending during the search.
+ *
+ * @author D. Pellier
+ * @version 1.0 - 17.10.2026
+ */
+final class IntDeque {
+
+    /**
+     * The default initial capacity of the queue.
+     */
+    private static final int DEFAULT_CAPACITY = 8;
+
+    /**
+     * The values of the queue.
+     */
+    private int[] values;
+
+    /**
+     * The index of the first value of the queue.
+     */
+    private int head;
+
+    /**
+     * The number of values of the queue.
+     */
+    private int size;
+
+    /**
+     * Creates a new empty queue.
+     */
+    IntDeque() {
+        this.values = new int[IntDeque.DEFAULT_CAPACITY];
+        this.head = 0;
+        this.size = 0;
+    }
+
+    /**
+     * Returns <code>true</code> if the queue is empty.
+     *
+     * @return <code>true</code> if the queue is empty; <code>false</code> otherwise.
+     */
+    boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Returns the number of values of the queue.
+     *
+     * @return the number of values of the queue.
+     */
+    int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns the number of bytes used by the queue.
+     *
+     * @return the number of bytes used by the queue.
+     */
+    long getMemoryUsed() {
+        return (long) this.values.length * Integer.BYTES;
+    }
+
+    /**
+     * Adds a value at the beginning of the queue.
+     *
+     * @param value the value.
+     */
+    void addFirst(final int value) {
+        this.ensureCapacity();
+        this.head = (this.head - 1) & (this.values.length - 1);
+        this.values[this.head] = value;
+        this.size++;
+    }
+
+    /**
+     * Adds a value at the end of the queue.
+     *
+     * @param value the value.
+     */
+    void addLast(final int value) {
+        this.ensureCapacity();
+        this.values[(this.head + this.size) & (this.values.length - 1)] = value;
+        this.size++;
+    }
+
+    /**
+     * Removes and returns the first value of the queue.
+     *
+     * @return the first value of the queue.
+     * @throws NoSuchElementException if the queue is empty.
+     */
+    int pollFirst() {
+        if (this.size == 0) {
+            throw new NoSuchElementException();
+        }
+        final int value = this.values[this.head];
+        this.head = (this.head + 1) & (this.values.length - 1);
+        this.size--;
+        return value;
+    }
+
+    /**
+     * Removes and returns the last value of the queue.
+     *
+     * @return the last value of the queue.
+     * @throws NoSuchElementException if the queue is empty.
+     */
+    int pollLast() {
+        if (this.size == 0) {
+            throw new NoSuchElementException();
+        }
+        this.size--;
+        return this.values[(this.head + this.size) & (this.values.length - 1)];
+    }
+
+    /**
+     * Doubles the capacity of the queue if it is full.
+     */
+    private void ensureCapacity() {
+        if (this.size == this.values.length) {
+            final int[] copy = new int[2 * this.values.length];
+            for (int i = 0; i < this.size; i++) {
+                copy[i] = this.values[(this.head + i) & (this.values.length - 1)];
+            }
+            this.values = copy;
+            this.head = 0;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2016 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with PDDL4J.  If not, see
+ * <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.planners.statespace.search.strategy;
+
+import fr.uga.pddl4j.encoding.CodedProblem;
+import fr.uga.pddl4j.util.BitOp;
+import fr.uga.pddl4j.util.BitState;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * This class implements Iterative Deepening Depth First Search strategy. The strategy runs depth first searches
+ * bounded by an increasing depth limit and keeps only the current path in memory: the memory used by the search
+ * is linear in the length of the plan. The states of the current path are hashed to prune the cycles.
+ *
+ * @author D. Pellier
+ * @version 1.0 - 17.10.2026
+ */
+public final class IterativeDeepeningSearch extends AbstractStateSpaceStrategy {
+
+    /**
+     * The serial id of the class.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Creates a new Iterative Deepening Depth First Search strategy with default parameters.
+     */
+    public IterativeDeepeningSearch() {
+        super();
+    }
+
+    /**
+     * Creates a new Iterative Deepening Depth First Search strategy.
+     *
+     * @param timeout the time out of the planner.
+     */
+    public IterativeDeepeningSearch(int timeout) {
+        super(timeout);
+    }
+
+    /**
+     * The iterative deepening depth first search algorithm. Solves the planning problem and returns the first
+     * solution plan found. The plan found is the shortest plan in number of operators.
+     *
+     * @param codedProblem the problem to be solved. The problem cannot be null.
+     * @param budget       the budget of the search. The budget cannot be null.
+     * @return a solution plan or null if it does not exist.
+     */
+    @Override
+    public Node search(final CodedProblem codedProblem, final SearchBudget budget) {
+        Objects.requireNonNull(codedProblem);
+        Objects.requireNonNull(budget);
+        final long begin = System.currentTimeMillis();
+
+        // The current path: the states, the operators applicable in the states, the next operator to try, the
+        // operator applied to reach the states and the cost of the states
+        BitState[] states = new BitState[16];
+        int[][] applicable = new int[16][];
+        int[] next = new int[16];
+        int[] operators = new int[16];
+        double[] costs = new double[16];
+        final Set<BitState> onPath = new HashSet<>();
+
+        this.resetNodesStatistics();
+        int explored = 0;
+        int maxDepth = 0;
+        int top = -1;
+        boolean solved = false;
+        boolean cutoff = true;
+        for (int limit = 0; !solved && cutoff && !budget.isExhausted(); limit++) {
+            cutoff = false;
+            top = 0;
+            states[0] = new BitState(codedProblem.getInit());
+            applicable[0] = null;
+            operators[0] = -1;
+            costs[0] = 0;
+            onPath.add(states[0]);
+            while (top >= 0 && !solved && !budget.isExhausted()) {
+                final BitState state = states[top];
+                if (applicable[top] == null) {
+                    // First visit of the state
+                    explored++;
+                    if (state.satisfy(codedProblem.getGoal())) {
+                        solved = true;
+                        continue;
+                    } else if (top == limit) {
+                        cutoff = true;
+                        applicable[top] = new int[0];
+                    } else {
+                        applicable[top] = codedProblem.getSuccessorGenerator().getApplicableOperators(state);
+                    }
+                    next[top] = 0;
+                }
+                if (next[top] < applicable[top].length) {
+                    final int index = applicable[top][next[top]++];
+                    final BitOp op = codedProblem.getOperators().get(index);
+                    final BitState nextState = new BitState(state);
+                    nextState.apply(op.getCondEffects().get(0).getEffects());
+                    this.setCreatedNodes(this.getCreatedNodes() + 1);
+                    // Prune the successors already on the current path
+                    if (onPath.add(nextState)) {
+                        top++;
+                        if (top == states.length) {
+                            final int capacity = 2 * states.length;
+                            states = Arrays.copyOf(states, capacity);
+                            applicable = Arrays.copyOf(applicable, capacity);
+                            next = Arrays.copyOf(next, capacity);
+                            operators = Arrays.copyOf(operators, capacity);
+                            costs = Arrays.copyOf(costs, capacity);
+                        }
+                        states[top] = nextState;
+                        applicable[top] = null;
+                        operators[top] = index;
+                        costs[top] = costs[top - 1] + op.getCost();
+                        maxDepth = Math.max(maxDepth, top);
+                    }
+                } else {
+                    // All the successors were tried: backtrack
+                    onPath.remove(state);
+                    states[top] = null;
+                    applicable[top] = null;
+                    top--;
+                }
+            }
+            if (!solved) {
+                onPath.clear();
+            }
+        }
+
+        this.setExploredNodes(explored);
+        this.setPendingNodes(Math.max(0, top + 1));
+        final long words = (codedProblem.getRelevantFacts().size() + Long.SIZE - 1) / Long.SIZE;
+        this.setMemoryUsed((maxDepth + 1) * (words * Long.BYTES + codedProblem.getOperators().size() * Integer.BYTES));
+        this.setSearchingTime(System.currentTimeMillis() - begin);
+
+        Node solution = null;
+        if (solved) {
+            for (int i = 0; i <= top; i++) {
+                solution = new Node(states[i], solution, operators[i], costs[i], i - 1, 0);
+            }
+        }
+        return solution;
+    }
+}
@@ -209,6 +209,16 @@ public final class Node extends BitState {
         return weight * this.heuristic + this.cost;
     }
 
+    /**
+     * Returns the number of bytes used by the node. The value is computed from the size of the words of the state
+     * and of the fields of the node.
+     *
+     * @return the number of bytes used by the node.
+     */
+    public long getMemoryUsed() {
+        return this.size() / Byte.SIZE + 3L * Long.BYTES + 2L * Integer.BYTES + 2L * Double.BYTES;
+    }
+
     /**
      * Returns if a node is equal to an other object. The equals method has the same behaviour as the equals method of
      * the class BitState.
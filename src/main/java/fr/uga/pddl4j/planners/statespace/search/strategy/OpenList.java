@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2016 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with PDDL4J.  If not, see
+ * <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.planners.statespace.search.strategy;
+
+/**
+ * This interface defines the open list of the search strategies, i.e., a priority queue of state ids. The ids
+ * are ordered by a primary key, then by a secondary key and finally according to the tie-breaking policy of
+ * the list. The list does not check for duplicates: an id can be added several times, e.g., when a better path
+ * to a state is found, and the strategies are responsible for skipping the ids of the states already explored.
+ *
+ * @author D. Pellier
+ * @version 1.0 - 17.10.2026
+ * @see BucketOpenList
+ * @see HeapOpenList
+ */
+public interface OpenList {
+
+    /**
+     * The enumeration of the tie-breaking policies between ids with the same keys.
+     */
+    enum TieBreaking {
+        /**
+         * The first id added is the first id removed.
+         */
+        FIFO,
+        /**
+         * The last id added is the first id removed.
+         */
+        LIFO
+    }
+
+    /**
+     * Adds an id to the list.
+     *
+     * @param id        the id to add.
+     * @param primary   the primary key of the id.
+     * @param secondary the secondary key of the id.
+     */
+    void add(final int id, final double primary, final double secondary);
+
+    /**
+     * Removes and returns the id with the lowest keys.
+     *
+     * @return the id with the lowest keys.
+     * @throws java.util.NoSuchElementException if the list is empty.
+     */
+    int poll();
+
+    /**
+     * Returns <code>true</code> if the list is empty.
+     *
+     * @return <code>true</code> if the list is empty; <code>false</code> otherwise.
+     */
+    boolean isEmpty();
+
+    /**
+     * Returns the number of ids stored in the list.
+     *
+     * @return the number of ids stored in the list.
+     */
+    int size();
+
+    /**
+     * Returns the number of bytes used by the list. The value is computed from the size of the arrays
+     * allocated by the list.
+     *
+     * @return the number of bytes used by the list.
+     */
+    long getMemoryUsed();
+}
@@ -0,0 +1,582 @@
+/*
+ * Copyright (c) 2016 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with PDDL4J.  If not, see
+ * <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.planners.statespace.search.strategy;
+
+import fr.uga.pddl4j.encoding.CodedProblem;
+import fr.uga.pddl4j.heuristics.relaxation.Heuristic;
+import fr.uga.pddl4j.heuristics.relaxation.HeuristicToolKit;
+import fr.uga.pddl4j.util.BitOp;
+import fr.uga.pddl4j.util.BitState;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * This class implements a parallel A* search strategy based on hash distributed A* (HDA*). Each state is owned
+ * by the worker thread designated by its Zobrist hash, i.e., the hash value maintained by <code>BitState</code>
+ * over the relevant facts. Each worker has its own open list, its own <code>SearchGraph</code> and its own
+ * heuristic, and the successors are sent to their owner through lock-free queues. An idle worker parks until a
+ * message is sent to it or the search is over.
+ * <p>
+ * The search does not stop at the first solution: the workers keep on expanding the states whose value
+ * <code>g + h</code> is lower than the cost of the best solution found so far, until all the workers are idle
+ * and no message is in flight. Hence, the plan returned is optimal when the heuristic is admissible.
+ * </p>
+ *
+ * @author D. Pellier
+ * @version 1.0 - 17.10.2026
+ * @see AStar
+ */
+public final class ParallelAStar extends AbstractStateSpaceStrategy {
+
+    /**
+     * The serial id of the class.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The number of threads used by default, i.e., the number of available processors.
+     */
+    public static final int DEFAULT_THREADS = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * The number of worker threads.
+     */
+    private int threads;
+
+    /**
+     * Creates a new parallel A* search strategy with default parameters.
+     */
+    public ParallelAStar() {
+        super();
+        this.threads = ParallelAStar.DEFAULT_THREADS;
+    }
+
+    /**
+     * Creates a new parallel A* search strategy with the default number of threads.
+     *
+     * @param timeout   the time out of the planner.
+     * @param heuristic the heuristicType to use to solve the planning problem.
+     * @param weight    the weight set to the heuristic.
+     */
+    public ParallelAStar(int timeout, Heuristic.Type heuristic, double weight) {
+        this(timeout, heuristic, weight, ParallelAStar.DEFAULT_THREADS);
+    }
+
+    /**
+     * Creates a new parallel A* search strategy.
+     *
+     * @param timeout   the time out of the planner.
+     * @param heuristic the heuristicType to use to solve the planning problem.
+     * @param weight    the weight set to the heuristic.
+     * @param threads   the number of worker threads.
+     * @throws IllegalArgumentException if <code>threads &lt; 1</code>.
+     */
+    public ParallelAStar(int timeout, Heuristic.Type heuristic, double weight, int threads) {
+        super(timeout, heuristic, weight);
+        this.setThreads(threads);
+    }
+
+    /**
+     * Returns the number of worker threads.
+     *
+     * @return the number of worker threads.
+     */
+    public int getThreads() {
+        return this.threads;
+    }
+
+    /**
+     * Sets the number of worker threads.
+     *
+     * @param threads the number of worker threads.
+     * @throws IllegalArgumentException if <code>threads &lt; 1</code>.
+     */
+    public void setThreads(final int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads < 1");
+        }
+        this.threads = threads;
+    }
+
+    /**
+     * Solves the planning problem and returns the first solution search found.
+     *
+     * @param codedProblem the problem to be solved. The problem cannot be null.
+     * @param budget       the budget of the search shared by the workers. The budget cannot be null.
+     * @return a solution search or null if it does not exist.
+     */
+    @Override
+    public Node search(final CodedProblem codedProblem, final SearchBudget budget) {
+        Objects.requireNonNull(codedProblem);
+        Objects.requireNonNull(budget);
+        final long begin = System.currentTimeMillis();
+        // The successor generator is built lazily: build it before the workers share it
+        codedProblem.getSuccessorGenerator();
+        this.resetNodesStatistics();
+
+        final Search search = new Search(codedProblem, this.threads, budget);
+        for (int i = 0; i < this.threads; i++) {
+            search.workers[i] = new Worker(search, i,
+                HeuristicToolKit.createHeuristic(this.getHeuristicType(), codedProblem), this.getWeight(),
+                this.createOpenList(this.getWeight() >= 0 && this.getWeight() == Math.rint(this.getWeight())));
+        }
+        // Send the initial state to its owner
+        final BitState init = new BitState(codedProblem.getInit());
+        search.send(new Message(init, -1, -1, -1, 0));
+
+        // The threads are all created before they start so that a sender can always unpark the owner of a message
+        final List<Thread> pool = new ArrayList<>(this.threads);
+        for (Worker worker : search.workers) {
+            worker.thread = new Thread(worker, "ParallelAStar-" + worker.index);
+            worker.thread.setDaemon(true);
+            pool.add(worker.thread);
+        }
+        for (Thread thread : pool) {
+            thread.start();
+        }
+        try {
+            for (Thread thread : pool) {
+                thread.join();
+            }
+        } catch (InterruptedException e) {
+            search.stop();
+            Thread.currentThread().interrupt();
+        }
+
+        int explored = 0;
+        int pending = 0;
+        int created = 0;
+        long memory = 0;
+        for (Worker worker : search.workers) {
+            explored += worker.graph.getClosed();
+            pending += worker.graph.getOpened();
+            created += worker.created;
+            memory += worker.graph.getMemoryUsed() + worker.open.getMemoryUsed()
+                + (long) worker.owners.length * Integer.BYTES + worker.heuristic.getMemoryUsed();
+        }
+        this.setExploredNodes(explored);
+        this.setPendingNodes(pending);
+        this.setCreatedNodes(created);
+        this.setMemoryUsed(memory);
+        this.setSearchingTime(System.currentTimeMillis() - begin);
+        return search.getSolution();
+    }
+
+    /**
+     * This class implements the state shared by the workers of a search.
+     */
+    private static final class Search {
+
+        /**
+         * The problem to solve.
+         */
+        private final CodedProblem problem;
+
+        /**
+         * The workers.
+         */
+        private final Worker[] workers;
+
+        /**
+         * The budget of the search.
+         */
+        private final SearchBudget budget;
+
+        /**
+         * The number of messages sent.
+         */
+        private final AtomicLong sent;
+
+        /**
+         * The number of messages received and processed.
+         */
+        private final AtomicLong received;
+
+        /**
+         * The idle flags of the workers.
+         */
+        private final AtomicIntegerArray idle;
+
+        /**
+         * The flag used to stop the workers.
+         */
+        private volatile boolean done;
+
+        /**
+         * The cost of the best solution found so far.
+         */
+        private volatile double bestCost;
+
+        /**
+         * The worker that owns the best solution found so far or -1.
+         */
+        private int bestWorker;
+
+        /**
+         * The id of the best solution found so far in the graph of its owner.
+         */
+        private int bestId;
+
+        /**
+         * Creates a new search.
+         *
+         * @param problem  the problem to solve.
+         * @param threads  the number of workers.
+         * @param budget   the budget of the search.
+         */
+        private Search(final CodedProblem problem, final int threads, final SearchBudget budget) {
+            this.problem = problem;
+            this.workers = new Worker[threads];
+            this.budget = budget;
+            this.sent = new AtomicLong();
+            this.received = new AtomicLong();
+            this.idle = new AtomicIntegerArray(threads);
+            this.done = false;
+            this.bestCost = Double.POSITIVE_INFINITY;
+            this.bestWorker = -1;
+            this.bestId = -1;
+        }
+
+        /**
+         * Returns the index of the worker that owns a specified state.
+         *
+         * @param state the state.
+         * @return the index of the worker that owns the state.
+         */
+        private int owner(final BitState state) {
+            return (int) ((state.longHashCode() >>> 40) % this.workers.length);
+        }
+
+        /**
+         * Sends a message to the owner of its state.
+         *
+         * @param message the message.
+         */
+        private void send(final Message message) {
+            this.sent.incrementAndGet();
+            final Worker worker = this.workers[this.owner(message.state)];
+            worker.inbox.add(message);
+            // The owner sets its idle flag before it checks its inbox and parks: either it sees the message or the
+            // flag is seen here and the owner is unparked
+            if (this.idle.get(worker.index) == 1) {
+                LockSupport.unpark(worker.thread);
+            }
+        }
+
+        /**
+         * Stops the search and unparks the idle workers.
+         */
+        private void stop() {
+            this.done = true;
+            for (Worker worker : this.workers) {
+                LockSupport.unpark(worker.thread);
+            }
+        }
+
+        /**
+         * Records a solution if it is better than the best solution found so far.
+         *
+         * @param worker the worker that owns the solution.
+         * @param id     the id of the solution in the graph of its owner.
+         * @param cost   the cost of the solution.
+         */
+        private synchronized void offer(final int worker, final int id, final double cost) {
+            if (cost < this.bestCost) {
+                this.bestCost = cost;
+                this.bestWorker = worker;
+                this.bestId = id;
+            }
+        }
+
+        /**
+         * Returns <code>true</code> if all the workers are idle and no message is in flight. The number of
+         * messages received is read before the idle flags and the number of messages sent after, so that a message
+         * processed during the check prevents the termination.
+         *
+         * @return <code>true</code> if the search is over; <code>false</code> otherwise.
+         */
+        private boolean isTerminated() {
+            final long r = this.received.get();
+            for (int i = 0; i < this.idle.length(); i++) {
+                if (this.idle.get(i) == 0) {
+                    return false;
+                }
+            }
+            return this.sent.get() == r;
+        }
+
+        /**
+         * Builds the node of the best solution by following the parents across the workers.
+         *
+         * @return the node of the best solution or <code>null</code> if no solution was found.
+         */
+        private synchronized Node getSolution() {
+            if (this.bestWorker == -1) {
+                return null;
+            }
+            final List<int[]> path = new ArrayList<>();
+            int w = this.bestWorker;
+            int id = this.bestId;
+            while (id != -1) {
+                path.add(new int[] {w, id});
+                final Worker worker = this.workers[w];
+                w = worker.owners[id];
+                id = worker.graph.getParent(id);
+            }
+            Node node = null;
+            for (int k = path.size() - 1; k >= 0; k--) {
+                final SearchGraph graph = this.workers[path.get(k)[0]].graph;
+                final int s = path.get(k)[1];
+                node = new Node(graph.getState(s), node, graph.getOperator(s), graph.getCost(s),
+                    path.size() - k - 2, graph.getHeuristic(s));
+            }
+            return node;
+        }
+    }
+
+    /**
+     * This class implements a message sent to the owner of a state.
+     */
+    private static final class Message {
+
+        /**
+         * The state.
+         */
+        private final BitState state;
+
+        /**
+         * The worker that owns the parent of the state or -1 for the initial state.
+         */
+        private final int parentWorker;
+
+        /**
+         * The id of the parent of the state in the graph of its owner or -1 for the initial state.
+         */
+        private final int parentId;
+
+        /**
+         * The operator applied to reach the state from its parent.
+         */
+        private final int operator;
+
+        /**
+         * The cost to reach the state from the initial state.
+         */
+        private final double cost;
+
+        /**
+         * Creates a new message.
+         *
+         * @param state        the state.
+         * @param parentWorker the worker that owns the parent of the state.
+         * @param parentId     the id of the parent of the state in the graph of its owner.
+         * @param operator     the operator applied to reach the state from its parent.
+         * @param cost         the cost to reach the state from the initial state.
+         */
+        private Message(final BitState state, final int parentWorker, final int parentId, final int operator,
+                        final double cost) {
+            this.state = state;
+            this.parentWorker = parentWorker;
+            this.parentId = parentId;
+            this.operator = operator;
+            this.cost = cost;
+        }
+    }
+
+    /**
+     * This class implements a worker of the search.
+     */
+    private static final class Worker implements Runnable {
+
+        /**
+         * The search.
+         */
+        private final Search search;
+
+        /**
+         * The index of the worker.
+         */
+        private final int index;
+
+        /**
+         * The heuristic of the worker.
+         */
+        private final Heuristic heuristic;
+
+        /**
+         * The weight of the heuristic.
+         */
+        private final double weight;
+
+        /**
+         * The open list of the worker.
+         */
+        private final OpenList open;
+
+        /**
+         * The graph of the states owned by the worker.
+         */
+        private final SearchGraph graph;
+
+        /**
+         * The queue of the messages sent to the worker.
+         */
+        private final Queue<Message> inbox;
+
+        /**
+         * The thread that runs the worker.
+         */
+        private Thread thread;
+
+        /**
+         * The worker that owns the parent of each state of the graph.
+         */
+        private int[] owners;
+
+        /**
+         * The number of states created by the worker.
+         */
+        private int created;
+
+        /**
+         * Creates a new worker.
+         *
+         * @param search    the search.
+         * @param index     the index of the worker.
+         * @param heuristic the heuristic of the worker.
+         * @param weight    the weight of the heuristic.
+         * @param open      the open list of the worker.
+         */
+        private Worker(final Search search, final int index, final Heuristic heuristic, final double weight,
+                       final OpenList open) {
+            this.search = search;
+            this.index = index;
+            this.heuristic = heuristic;
+            this.weight = weight;
+            this.open = open;
+            this.graph = new SearchGraph(search.problem.getRelevantFacts().size());
+            this.inbox = new ConcurrentLinkedQueue<>();
+            this.owners = new int[1024];
+            this.created = 0;
+        }
+
+        /**
+         * Runs the worker until the search is over.
+         */
+        @Override
+        public void run() {
+            final CodedProblem problem = this.search.problem;
+            while (!this.search.done) {
+                boolean worked = false;
+                Message message = this.inbox.poll();
+                while (message != null) {
+                    this.search.idle.set(this.index, 0);
+                    this.receive(message);
+                    this.search.received.incrementAndGet();
+                    worked = true;
+                    message = this.inbox.poll();
+                }
+                if (!this.open.isEmpty()) {
+                    this.search.idle.set(this.index, 0);
+                    this.expand(problem, this.open.poll());
+                } else if (!worked) {
+                    this.search.idle.set(this.index, 1);
+                    if (this.search.isTerminated()) {
+                        this.search.stop();
+                    } else if (this.inbox.isEmpty() && !this.search.done) {
+                        // Wait for a message or the end of the search
+                        LockSupport.park(this);
+                    }
+                }
+                if (this.search.budget.isExhausted()) {
+                    this.search.stop();
+                }
+            }
+        }
+
+        /**
+         * Adds a state received from an other worker to the graph and the open list of the worker.
+         *
+         * @param message the message that contains the state.
+         */
+        private void receive(final Message message) {
+            final int id = this.graph.intern(message.state);
+            if (id == this.owners.length) {
+                this.owners = Arrays.copyOf(this.owners, 2 * this.owners.length);
+            }
+            final double g = message.cost;
+            if (this.graph.isUnseen(id)) {
+                final int h = this.heuristic.estimate(message.state, this.search.problem.getGoal());
+                this.graph.set(id, message.parentId, message.operator, g, h);
+                this.owners[id] = message.parentWorker;
+                this.open.add(id, this.weight * h + g, h);
+                this.graph.open(id);
+            } else if (g < this.graph.getCost(id)) {
+                this.graph.update(id, message.parentId, message.operator, g);
+                this.owners[id] = message.parentWorker;
+                final double h = this.graph.getHeuristic(id);
+                this.open.add(id, this.weight * h + g, h);
+                this.graph.open(id);
+            }
+        }
+
+        /**
+         * Expands a state of the open list and sends its successors to their owners.
+         *
+         * @param problem the problem to solve.
+         * @param current the id of the state to expand.
+         */
+        private void expand(final CodedProblem problem, final int current) {
+            // Skip the ids of the states already explored or reached since by a better path
+            if (this.graph.isClosed(current)) {
+                return;
+            }
+            this.graph.close(current);
+            final double cost = this.graph.getCost(current);
+            // Prune the states that cannot lead to a better solution than the best one found so far
+            if (cost + this.graph.getHeuristic(current) >= this.search.bestCost) {
+                return;
+            }
+            final BitState state = this.graph.getState(current);
+            if (state.satisfy(problem.getGoal())) {
+                this.search.offer(this.index, current, cost);
+                return;
+            }
+            for (int index : problem.getSuccessorGenerator().getApplicableOperators(state)) {
+                final BitOp op = problem.getOperators().get(index);
+                final BitState next = new BitState(state);
+                this.created++;
+                op.getCondEffects().stream().filter(ce -> state.satisfy(ce.getCondition())).forEach(ce ->
+                    next.apply(ce.getEffects())
+                );
+                final Message message = new Message(next, this.index, current, index, cost + 1);
+                if (this.search.owner(next) == this.index) {
+                    this.receive(message);
+                } else {
+                    this.search.send(message);
+                }
+            }
+        }
+    }
+}
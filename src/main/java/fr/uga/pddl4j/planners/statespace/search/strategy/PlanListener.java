@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2016 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with PDDL4J.  If not, see
+ * <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.planners.statespace.search.strategy;
+
+import fr.uga.pddl4j.util.SequentialPlan;
+
+import java.util.EventListener;
+
+/**
+ * This interface defines the listener notified each time an anytime search strategy finds a plan better than the
+ * plans previously found.
+ *
+ * @author D. Pellier
+ * @version 1.0 - 17.10.2026
+ * @see AnytimeAStar
+ */
+@FunctionalInterface
+public interface PlanListener extends EventListener {
+
+    /**
+     * Called when a new plan is found. The plans notified during a search have a strictly decreasing cost.
+     *
+     * @param plan   the plan found.
+     * @param weight the weight of the heuristic used by the iteration of the search that found the plan. When the
+     *               heuristic is admissible, the cost of the plan is at most <code>weight</code> times the cost
+     *               of an optimal plan.
+     */
+    void planFound(final SequentialPlan plan, final double weight);
+}
@@ -0,0 +1,308 @@
+/*
+ * Copyright (c) 2016 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with PDDL4J.  If not, see
+ * <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.planners.statespace.search.strategy;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * This class implements the budget of a search: a time out, a CPU time out and a memory limit, all optional, and
+ * a cancellation flag that can be set by any thread. The time out is counted from the creation of the budget. The
+ * CPU time is the sum of the CPU time of the threads that run the search, e.g., the workers of
+ * <code>ParallelAStar</code>: the CPU time of a thread is counted from its first call to <code>isExhausted()</code>,
+ * so the budget can be created by another thread.
+ * <p>
+ * The search strategies call <code>isExhausted()</code> in their expansion loops. The cancellation flag is read at
+ * each call but the clocks and the memory are only read every <code>CHECK_INTERVAL</code> calls of each thread, so
+ * that the check can be done for each state generated. The heuristics do not check the budget while they estimate
+ * a state: the budget is checked by the search loop between two estimates. Once the budget is exhausted, it remains
+ * exhausted and its status gives the limit reached.
+ * </p>
+ * <pre>
+ * final SearchBudget budget = new SearchBudget(10000);
+ * budget.setMemoryLimit(1L &lt;&lt; 30);
+ * // Another thread can stop the search with budget.cancel()
+ * final Plan plan = strategy.searchPlan(problem, budget);
+ * if (plan == null &amp;&amp; budget.getStatus() != SearchBudget.Status.RUNNING) {
+ *     // The search stopped before a plan could be found
+ * }
+ * </pre>
+ *
+ * @author D. Pellier
+ * @version 1.0 - 17.10.2026
+ */
+public final class SearchBudget {
+
+    /**
+     * The number of calls to <code>isExhausted()</code> between two readings of the clocks and of the memory. The
+     * interval is a power of two.
+     */
+    public static final int CHECK_INTERVAL = 128;
+
+    /**
+     * The value used for the limits not set.
+     */
+    private static final long UNLIMITED = Long.MAX_VALUE;
+
+    /**
+     * The status of a budget.
+     */
+    public enum Status {
+        /**
+         * The budget is not exhausted.
+         */
+        RUNNING,
+        /**
+         * The budget was cancelled.
+         */
+        CANCELLED,
+        /**
+         * The time out was reached.
+         */
+        TIMEOUT,
+        /**
+         * The CPU time out was reached.
+         */
+        CPU_TIMEOUT,
+        /**
+         * The memory limit was reached.
+         */
+        MEMORY_LIMIT,
+    }
+
+    /**
+     * The management interface used to read the CPU time.
+     */
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    /**
+     * The time at which the budget was created in nanoseconds.
+     */
+    private final long begin;
+
+    /**
+     * The CPU time of the threads that checked the budget in nanoseconds: the CPU time of each thread at its first
+     * check and at its last reading, by thread id. The threads whose CPU time cannot be read are not counted.
+     */
+    private final Map<Long, long[]> cpuTimes;
+
+    /**
+     * The time out in nanoseconds.
+     */
+    private long timeout;
+
+    /**
+     * The CPU time out in nanoseconds.
+     */
+    private long cpuTimeout;
+
+    /**
+     * The maximum number of bytes of heap memory used.
+     */
+    private long memoryLimit;
+
+    /**
+     * The number of calls to <code>isExhausted()</code> of each thread.
+     */
+    private final ThreadLocal<int[]> calls;
+
+    /**
+     * The status of the budget.
+     */
+    private final AtomicReference<Status> status;
+
+    /**
+     * Creates a new budget without limit. The search stops only if it is cancelled.
+     */
+    public SearchBudget() {
+        this.begin = System.nanoTime();
+        this.cpuTimes = new ConcurrentHashMap<>();
+        this.timeout = SearchBudget.UNLIMITED;
+        this.cpuTimeout = SearchBudget.UNLIMITED;
+        this.memoryLimit = SearchBudget.UNLIMITED;
+        // The CPU time of a thread is counted from its first call
+        this.calls = ThreadLocal.withInitial(() -> {
+            final long thread = Thread.currentThread().getId();
+            final long time = SearchBudget.cpuTime(thread);
+            if (time != -1) {
+                // The id of a thread that ended can be reused: the CPU time already counted is kept
+                this.cpuTimes.merge(thread, new long[] {time, time},
+                    (used, times) -> new long[] {times[0] - (used[1] - used[0]), times[1]});
+            }
+            return new int[1];
+        });
+        this.status = new AtomicReference<>(Status.RUNNING);
+    }
+
+    /**
+     * Creates a new budget with a time out.
+     *
+     * @param timeout the time out in milliseconds.
+     */
+    public SearchBudget(final long timeout) {
+        this();
+        this.setTimeout(timeout);
+    }
+
+    /**
+     * Sets the time out of the budget. The time out is counted from the creation of the budget.
+     *
+     * @param timeout the time out in milliseconds.
+     */
+    public void setTimeout(final long timeout) {
+        this.timeout = SearchBudget.toNanos(timeout);
+    }
+
+    /**
+     * Sets the CPU time out of the budget. The CPU time out is compared to the sum of the CPU time of the threads
+     * that check the budget and is ignored if the JVM cannot measure the CPU time of the threads.
+     *
+     * @param timeout the CPU time out in milliseconds.
+     */
+    public void setCpuTimeout(final long timeout) {
+        this.cpuTimeout = SearchBudget.toNanos(timeout);
+    }
+
+    /**
+     * Sets the memory limit of the budget. The memory limit is compared to the heap memory used by the JVM.
+     *
+     * @param bytes the maximum number of bytes of heap memory used.
+     */
+    public void setMemoryLimit(final long bytes) {
+        this.memoryLimit = bytes;
+    }
+
+    /**
+     * Cancels the search. This method can be called by any thread.
+     */
+    public void cancel() {
+        this.status.compareAndSet(Status.RUNNING, Status.CANCELLED);
+    }
+
+    /**
+     * Returns the status of the budget.
+     *
+     * @return the status of the budget.
+     */
+    public Status getStatus() {
+        return this.status.get();
+    }
+
+    /**
+     * Returns the time elapsed since the creation of the budget.
+     *
+     * @return the time elapsed since the creation of the budget in milliseconds.
+     */
+    public long getElapsedTime() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - this.begin);
+    }
+
+    /**
+     * Returns <code>true</code> if the budget is exhausted. The clocks and the memory are read at the first call
+     * of each thread and then every <code>CHECK_INTERVAL</code> calls of the thread.
+     *
+     * @return <code>true</code> if the budget is exhausted; <code>false</code> otherwise.
+     */
+    public boolean isExhausted() {
+        if (this.status.get() != Status.RUNNING) {
+            return true;
+        }
+        final int[] count = this.calls.get();
+        if ((count[0]++ & (SearchBudget.CHECK_INTERVAL - 1)) != 0) {
+            return false;
+        }
+        return this.check();
+    }
+
+    /**
+     * Reads the clocks and the memory and returns <code>true</code> if the budget is exhausted.
+     *
+     * @return <code>true</code> if the budget is exhausted; <code>false</code> otherwise.
+     */
+    public boolean check() {
+        if (this.status.get() != Status.RUNNING) {
+            return true;
+        }
+        Status reached = Status.RUNNING;
+        if (this.timeout != SearchBudget.UNLIMITED && System.nanoTime() - this.begin >= this.timeout) {
+            reached = Status.TIMEOUT;
+        } else if (this.cpuTimeout != SearchBudget.UNLIMITED && this.getCpuTime() >= this.cpuTimeout) {
+            reached = Status.CPU_TIMEOUT;
+        }
+        if (reached == Status.RUNNING && this.memoryLimit != SearchBudget.UNLIMITED) {
+            final Runtime runtime = Runtime.getRuntime();
+            if (runtime.totalMemory() - runtime.freeMemory() >= this.memoryLimit) {
+                reached = Status.MEMORY_LIMIT;
+            }
+        }
+        if (reached != Status.RUNNING) {
+            this.status.compareAndSet(Status.RUNNING, reached);
+        }
+        return this.status.get() != Status.RUNNING;
+    }
+
+    /**
+     * Returns the sum of the CPU time of the threads that checked the budget. The CPU time of the threads that
+     * ended is their CPU time at their last reading.
+     *
+     * @return the CPU time of the threads in nanoseconds.
+     */
+    private synchronized long getCpuTime() {
+        long sum = 0;
+        for (Map.Entry<Long, long[]> entry : this.cpuTimes.entrySet()) {
+            final long[] times = entry.getValue();
+            final long time = SearchBudget.cpuTime(entry.getKey());
+            if (time != -1) {
+                times[1] = time;
+            }
+            sum += times[1] - times[0];
+        }
+        return sum;
+    }
+
+    /**
+     * Returns the CPU time of a thread or -1 if it cannot be read.
+     *
+     * @param thread the id of the thread.
+     * @return the CPU time of the thread in nanoseconds or -1 if it cannot be read.
+     */
+    private static long cpuTime(final long thread) {
+        try {
+            return SearchBudget.THREADS.isThreadCpuTimeSupported() ? SearchBudget.THREADS.getThreadCpuTime(thread) : -1;
+        } catch (UnsupportedOperationException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Converts a duration in milliseconds to nanoseconds. The negative durations are replaced by zero and the
+     * durations too long to be represented are unlimited.
+     *
+     * @param millis the duration in milliseconds.
+     * @return the duration in nanoseconds.
+     */
+    private static long toNanos(final long millis) {
+        if (millis <= 0) {
+            return 0;
+        }
+        final long nanos = TimeUnit.MILLISECONDS.toNanos(millis);
+        return nanos == Long.MAX_VALUE ? SearchBudget.UNLIMITED : nanos;
+    }
+}
@@ -0,0 +1,327 @@
+/*
+ * Copyright (c) 2016 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with PDDL4J.  If not, see
+ * <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.planners.statespace.search.strategy;
+
+import fr.uga.pddl4j.util.BitState;
+import fr.uga.pddl4j.util.StateArena;
+
+import java.util.Arrays;
+
+/**
+ * This class implements the graph explored by a search strategy. The states are interned in a
+ * <code>StateArena</code> and the parent, the operator, the cost and the heuristic value of each state are
+ * stored in primitive arrays indexed by the id of the state. Hence, no <code>Node</code> is created during
+ * the search: the nodes are only built from the arrays when a solution is returned.
+ *
+ * @author D. Pellier
+ * @version 1.0 - 17.10.2026
+ * @see StateArena
+ */
+final class SearchGraph {
+
+    /**
+     * The status of a state that was just interned.
+     */
+    private static final byte UNSEEN = 0;
+
+    /**
+     * The status of a state pending in the open list.
+     */
+    private static final byte OPENED = 1;
+
+    /**
+     * The status of a state already explored.
+     */
+    private static final byte CLOSED = 2;
+
+    /**
+     * The initial capacity of the arrays.
+     */
+    private static final int INITIAL_CAPACITY = 1024;
+
+    /**
+     * The arena used to store the states.
+     */
+    private final StateArena arena;
+
+    /**
+     * The parent of the states.
+     */
+    private int[] parents;
+
+    /**
+     * The operator applied to reach the states.
+     */
+    private int[] operators;
+
+    /**
+     * The cost to reach the states from the root.
+     */
+    private double[] costs;
+
+    /**
+     * The heuristic value of the states.
+     */
+    private double[] heuristics;
+
+    /**
+     * The status of the states.
+     */
+    private byte[] status;
+
+    /**
+     * The number of states opened.
+     */
+    private int opened;
+
+    /**
+     * The number of states closed.
+     */
+    private int closed;
+
+    /**
+     * Creates a new search graph for states defined over a specified number of facts.
+     *
+     * @param facts the number of facts.
+     */
+    SearchGraph(final int facts) {
+        this.arena = new StateArena(facts);
+        this.parents = new int[SearchGraph.INITIAL_CAPACITY];
+        this.operators = new int[SearchGraph.INITIAL_CAPACITY];
+        this.costs = new double[SearchGraph.INITIAL_CAPACITY];
+        this.heuristics = new double[SearchGraph.INITIAL_CAPACITY];
+        this.status = new byte[SearchGraph.INITIAL_CAPACITY];
+        this.opened = 0;
+        this.closed = 0;
+    }
+
+    /**
+     * Returns the id of a specified state. If the state was never interned before, a new id is allocated and
+     * the state is marked as unseen.
+     *
+     * @param state the state.
+     * @return the id of the state.
+     */
+    int intern(final BitState state) {
+        final int id = this.arena.intern(state);
+        if (id == this.status.length) {
+            final int capacity = 2 * this.status.length;
+            this.parents = Arrays.copyOf(this.parents, capacity);
+            this.operators = Arrays.copyOf(this.operators, capacity);
+            this.costs = Arrays.copyOf(this.costs, capacity);
+            this.heuristics = Arrays.copyOf(this.heuristics, capacity);
+            this.status = Arrays.copyOf(this.status, capacity);
+        }
+        return id;
+    }
+
+    /**
+     * Returns the state with a specified id.
+     *
+     * @param id the id of the state.
+     * @return the state with the specified id.
+     */
+    BitState getState(final int id) {
+        return this.arena.getState(id);
+    }
+
+    /**
+     * Sets the parent, the operator, the cost and the heuristic value of a state.
+     *
+     * @param id        the id of the state.
+     * @param parent    the id of the parent of the state or -1 if the state is the root.
+     * @param operator  the operator applied to reach the state from its parent.
+     * @param cost      the cost to reach the state from the root.
+     * @param heuristic the heuristic value of the state.
+     */
+    void set(final int id, final int parent, final int operator, final double cost, final double heuristic) {
+        this.parents[id] = parent;
+        this.operators[id] = operator;
+        this.costs[id] = cost;
+        this.heuristics[id] = heuristic;
+    }
+
+    /**
+     * Sets the parent, the operator and the cost of a state reached by a better path.
+     *
+     * @param id       the id of the state.
+     * @param parent   the id of the new parent of the state.
+     * @param operator the operator applied to reach the state from its new parent.
+     * @param cost     the new cost to reach the state from the root.
+     */
+    void update(final int id, final int parent, final int operator, final double cost) {
+        this.parents[id] = parent;
+        this.operators[id] = operator;
+        this.costs[id] = cost;
+    }
+
+    /**
+     * Returns the id of the parent of a state or -1 if the state is the root.
+     *
+     * @param id the id of the state.
+     * @return the id of the parent of the state.
+     */
+    int getParent(final int id) {
+        return this.parents[id];
+    }
+
+    /**
+     * Returns the operator applied to reach a state from its parent.
+     *
+     * @param id the id of the state.
+     * @return the operator applied to reach the state from its parent.
+     */
+    int getOperator(final int id) {
+        return this.operators[id];
+    }
+
+    /**
+     * Returns the cost to reach a state from the root.
+     *
+     * @param id the id of the state.
+     * @return the cost to reach the state from the root.
+     */
+    double getCost(final int id) {
+        return this.costs[id];
+    }
+
+    /**
+     * Returns the heuristic value of a state.
+     *
+     * @param id the id of the state.
+     * @return the heuristic value of the state.
+     */
+    double getHeuristic(final int id) {
+        return this.heuristics[id];
+    }
+
+    /**
+     * Returns <code>true</code> if a state was neither opened nor closed.
+     *
+     * @param id the id of the state.
+     * @return <code>true</code> if a state was neither opened nor closed; <code>false</code> otherwise.
+     */
+    boolean isUnseen(final int id) {
+        return this.status[id] == SearchGraph.UNSEEN;
+    }
+
+    /**
+     * Returns <code>true</code> if a state is pending in the open list.
+     *
+     * @param id the id of the state.
+     * @return <code>true</code> if a state is pending in the open list; <code>false</code> otherwise.
+     */
+    boolean isOpened(final int id) {
+        return this.status[id] == SearchGraph.OPENED;
+    }
+
+    /**
+     * Returns <code>true</code> if a state is closed.
+     *
+     * @param id the id of the state.
+     * @return <code>true</code> if a state is closed; <code>false</code> otherwise.
+     */
+    boolean isClosed(final int id) {
+        return this.status[id] == SearchGraph.CLOSED;
+    }
+
+    /**
+     * Marks a state as pending in the open list.
+     *
+     * @param id the id of the state.
+     */
+    void open(final int id) {
+        if (this.status[id] == SearchGraph.CLOSED) {
+            this.closed--;
+        }
+        if (this.status[id] != SearchGraph.OPENED) {
+            this.opened++;
+        }
+        this.status[id] = SearchGraph.OPENED;
+    }
+
+    /**
+     * Marks a state as explored.
+     *
+     * @param id the id of the state.
+     */
+    void close(final int id) {
+        if (this.status[id] == SearchGraph.OPENED) {
+            this.opened--;
+        }
+        if (this.status[id] != SearchGraph.CLOSED) {
+            this.closed++;
+        }
+        this.status[id] = SearchGraph.CLOSED;
+    }
+
+    /**
+     * Returns the number of states pending in the open list.
+     *
+     * @return the number of states pending in the open list.
+     */
+    int getOpened() {
+        return this.opened;
+    }
+
+    /**
+     * Returns the number of states explored.
+     *
+     * @return the number of states explored.
+     */
+    int getClosed() {
+        return this.closed;
+    }
+
+    /**
+     * Returns the number of bytes used by the graph. The value is computed from the size of the arrays
+     * allocated by the graph and its arena.
+     *
+     * @return the number of bytes used by the graph.
+     */
+    long getMemoryUsed() {
+        final long capacity = this.status.length;
+        return this.arena.getMemoryUsed()
+            + capacity * (2L * Integer.BYTES + 2L * Double.BYTES + Byte.BYTES);
+    }
+
+    /**
+     * Builds the node of a specified state. The parents of the node are built recursively up to the root so
+     * that the plan can be extracted from the node.
+     *
+     * @param id the id of the state.
+     * @return the node of the state.
+     */
+    Node getNode(final int id) {
+        int length = 0;
+        for (int i = id; i != -1; i = this.parents[i]) {
+            length++;
+        }
+        final int[] path = new int[length];
+        int i = id;
+        for (int k = length - 1; k >= 0; k--) {
+            path[k] = i;
+            i = this.parents[i];
+        }
+        Node node = null;
+        for (int k = 0; k < length; k++) {
+            final int s = path[k];
+            node = new Node(this.arena.getState(s), node, this.operators[s], this.costs[s], k - 1,
+                this.heuristics[s]);
+        }
+        return node;
+    }
+}
@@ -143,13 +143,29 @@ public interface StateSpaceStrategy extends Serializable {
     void setCreatedNodes(final int createdNodes);
 
     /**
-     * Solves the planning problem and returns the first solution node found.
+     * Solves the planning problem and returns the first solution node found. The search is limited by the time
+     * out of the strategy.
      *
      * @param codedProblem the problem to be solved. The problem cannot be null.
      * @return a solution search or null if it does not exist.
      */
     Node search(final CodedProblem codedProblem);
 
+    /**
+     * Solves the planning problem within a budget and returns the first solution node found. The budget replaces
+     * the time out of the strategy. If the budget is exhausted, the search stops, its statistics are set and the
+     * best solution found so far is returned, i.e., null for the strategies that stop at the first solution.
+     * By default, the budget is checked only before the search, which is then limited by the time out of the
+     * strategy.
+     *
+     * @param codedProblem the problem to be solved. The problem cannot be null.
+     * @param budget       the budget of the search. The budget cannot be null.
+     * @return a solution search or null if it does not exist or if the budget is exhausted before it is found.
+     */
+    default Node search(final CodedProblem codedProblem, final SearchBudget budget) {
+        return budget.isExhausted() ? null : this.search(codedProblem);
+    }
+
     /**
      * Search a solution node to a specified domain and problem.
      *
@@ -158,6 +174,18 @@ public interface StateSpaceStrategy extends Serializable {
      */
     Node searchSolutionNode(final CodedProblem codedProblem);
 
+    /**
+     * Search a solution node to a specified domain and problem within a budget. By default, the budget is checked
+     * only before the search, which is then limited by the time out of the strategy.
+     *
+     * @param codedProblem the problem to be solved. The problem cannot be null.
+     * @param budget       the budget of the search. The budget cannot be null.
+     * @return the solution node or null.
+     */
+    default Node searchSolutionNode(final CodedProblem codedProblem, final SearchBudget budget) {
+        return budget.isExhausted() ? null : this.searchSolutionNode(codedProblem);
+    }
+
     /**
      * Search a solution plan to a specified domain and problem.
      *
@@ -166,6 +194,18 @@ public interface StateSpaceStrategy extends Serializable {
      */
     Plan searchPlan(final CodedProblem codedProblem);
 
+    /**
+     * Search a solution plan to a specified domain and problem within a budget. By default, the budget is checked
+     * only before the search, which is then limited by the time out of the strategy.
+     *
+     * @param codedProblem the problem to be solved. The problem cannot be null.
+     * @param budget       the budget of the search. The budget cannot be null.
+     * @return the solution plan or null.
+     */
+    default Plan searchPlan(final CodedProblem codedProblem, final SearchBudget budget) {
+        return budget.isExhausted() ? null : this.searchPlan(codedProblem);
+    }
+
     /**
      * Extract a plan from a solution node for the specified planning problem.
      *
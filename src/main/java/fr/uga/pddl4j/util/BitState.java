@@ -19,11 +19,21 @@
 
 package fr.uga.pddl4j.util;
 
+import java.util.BitSet;
+
 /**
  * This class implements a logical state.
+ * <p>
+ * The state caches a 64-bit hash value computed as the exclusive or of a mixed value of each fact of
+ * the state. The hash value is updated incrementally when single facts are set or cleared, e.g., when an
+ * expression is applied to the state, and recomputed lazily after bulk operations. Hence, looking up a
+ * state in a hash table does not scan the whole state. As a consequence, the hash code of a state is not
+ * the same as the hash code of a <code>BitSet</code> with the same bits, and states should only be mixed
+ * with other states in hash-based collections.
+ * </p>
  *
  * @author D. Pellier
- * @version 1.1 - 13.04.2010
+ * @version 1.2 - 17.10.2026
  */
 public class BitState extends BitVector {
 
@@ -32,6 +42,16 @@ public class BitState extends BitVector {
      */
     private static final long serialVersionUID = 1L;
 
+    /**
+     * The cached hash value of the state.
+     */
+    private long hash = 0L;
+
+    /**
+     * The flag used to indicate if the cached hash value is up to date.
+     */
+    private boolean hashed = true;
+
     /**
      * Creates a new state.
      */
@@ -64,6 +84,8 @@ public class BitState extends BitVector {
             throw new NullPointerException("state == null");
         }
         this.or(state);
+        this.hash = state.hash;
+        this.hashed = state.hashed;
     }
 
     /**
@@ -76,8 +98,14 @@ public class BitState extends BitVector {
         if (exp == null) {
             throw new NullPointerException("exp == null");
         }
-        this.or(exp.getPositive());
-        this.andNot(exp.getNegative());
+        final BitVector positive = exp.getPositive();
+        for (int p = positive.nextSetBit(0); p >= 0; p = positive.nextSetBit(p + 1)) {
+            this.set(p);
+        }
+        final BitVector negative = exp.getNegative();
+        for (int p = negative.nextSetBit(0); p >= 0; p = negative.nextSetBit(p + 1)) {
+            this.clear(p);
+        }
     }
 
     /**
@@ -91,7 +119,227 @@ public class BitState extends BitVector {
             throw new NullPointerException("exp == null");
         }
         return this.include(exp.getPositive()) && this.exclude(exp.getNegative());
+    }
+
+    /**
+     * Returns the 64-bit hash value of this state. The value is cached and recomputed only if the state was
+     * modified by a bulk operation since the last call.
+     *
+     * @return the 64-bit hash value of this state.
+     */
+    public final long longHashCode() {
+        if (!this.hashed) {
+            long h = 0L;
+            for (int p = this.nextSetBit(0); p >= 0; p = this.nextSetBit(p + 1)) {
+                h ^= BitState.mix(p);
+            }
+            this.hash = h;
+            this.hashed = true;
+        }
+        return this.hash;
+    }
+
+    /**
+     * Returns the hash code value of this state.
+     *
+     * @return the hash code value of this state.
+     * @see #longHashCode()
+     */
+    @Override
+    public int hashCode() {
+        final long h = this.longHashCode();
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * Returns <code>true</code> if this state is equal to an other object. The cached hash values are compared
+     * before the bits when the other object is also a state.
+     *
+     * @param obj the other object.
+     * @return <code>true</code> if this state is equal to an other object; <code>false</code> otherwise.
+     */
+    @Override
+    public boolean equals(final Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (obj instanceof BitState && ((BitState) obj).longHashCode() != this.longHashCode()) {
+            return false;
+        }
+        return super.equals(obj);
+    }
+
+    /**
+     * Returns the mixed value of a specified fact used to compute the hash value of the states.
+     *
+     * @param fact the fact.
+     * @return the mixed value of the fact.
+     */
+    public static long mix(final int fact) {
+        long z = (fact + 1L) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Sets the specified fact to true and updates the cached hash value.
+     *
+     * @param fact the fact.
+     */
+    @Override
+    public void set(final int fact) {
+        if (this.hashed && !this.get(fact)) {
+            this.hash ^= BitState.mix(fact);
+        }
+        super.set(fact);
+    }
+
+    /**
+     * Sets the specified fact to a specified value and updates the cached hash value.
+     *
+     * @param fact  the fact.
+     * @param value the value.
+     */
+    @Override
+    public void set(final int fact, final boolean value) {
+        if (value) {
+            this.set(fact);
+        } else {
+            this.clear(fact);
+        }
+    }
+
+    /**
+     * Sets the facts from a specified index (inclusive) to a specified index (exclusive) to true. The cached
+     * hash value is invalidated.
+     *
+     * @param fromIndex the index of the first fact.
+     * @param toIndex   the index after the last fact.
+     */
+    @Override
+    public void set(final int fromIndex, final int toIndex) {
+        super.set(fromIndex, toIndex);
+        this.hashed = false;
+    }
+
+    /**
+     * Sets the facts from a specified index (inclusive) to a specified index (exclusive) to a specified value.
+     * The cached hash value is invalidated.
+     *
+     * @param fromIndex the index of the first fact.
+     * @param toIndex   the index after the last fact.
+     * @param value     the value.
+     */
+    @Override
+    public void set(final int fromIndex, final int toIndex, final boolean value) {
+        super.set(fromIndex, toIndex, value);
+        this.hashed = false;
+    }
+
+    /**
+     * Sets the specified fact to false and updates the cached hash value.
+     *
+     * @param fact the fact.
+     */
+    @Override
+    public void clear(final int fact) {
+        if (this.hashed && this.get(fact)) {
+            this.hash ^= BitState.mix(fact);
+        }
+        super.clear(fact);
+    }
+
+    /**
+     * Sets the facts from a specified index (inclusive) to a specified index (exclusive) to false. The cached
+     * hash value is invalidated.
+     *
+     * @param fromIndex the index of the first fact.
+     * @param toIndex   the index after the last fact.
+     */
+    @Override
+    public void clear(final int fromIndex, final int toIndex) {
+        super.clear(fromIndex, toIndex);
+        this.hashed = false;
+    }
+
+    /**
+     * Sets all the facts of this state to false.
+     */
+    @Override
+    public void clear() {
+        super.clear();
+        this.hash = 0L;
+        this.hashed = true;
+    }
+
+    /**
+     * Flips the specified fact and updates the cached hash value.
+     *
+     * @param fact the fact.
+     */
+    @Override
+    public void flip(final int fact) {
+        if (this.hashed) {
+            this.hash ^= BitState.mix(fact);
+        }
+        super.flip(fact);
+    }
 
+    /**
+     * Flips the facts from a specified index (inclusive) to a specified index (exclusive). The cached hash
+     * value is invalidated.
+     *
+     * @param fromIndex the index of the first fact.
+     * @param toIndex   the index after the last fact.
+     */
+    @Override
+    public void flip(final int fromIndex, final int toIndex) {
+        super.flip(fromIndex, toIndex);
+        this.hashed = false;
     }
 
+    /**
+     * Performs a logical and of this state with a specified set. The cached hash value is invalidated.
+     *
+     * @param set the set.
+     */
+    @Override
+    public void and(final BitSet set) {
+        super.and(set);
+        this.hashed = false;
+    }
+
+    /**
+     * Performs a logical or of this state with a specified set. The cached hash value is invalidated.
+     *
+     * @param set the set.
+     */
+    @Override
+    public void or(final BitSet set) {
+        super.or(set);
+        this.hashed = false;
+    }
+
+    /**
+     * Performs a logical xor of this state with a specified set. The cached hash value is invalidated.
+     *
+     * @param set the set.
+     */
+    @Override
+    public void xor(final BitSet set) {
+        super.xor(set);
+        this.hashed = false;
+    }
+
+    /**
+     * Clears all the facts of this state set in a specified set. The cached hash value is invalidated.
+     *
+     * @param set the set.
+     */
+    @Override
+    public void andNot(final BitSet set) {
+        super.andNot(set);
+        this.hashed = false;
+    }
 }
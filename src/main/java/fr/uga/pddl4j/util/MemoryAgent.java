@@ -125,6 +125,17 @@ public class MemoryAgent implements Serializable {
         MemoryAgent.instrumentation = instrumentation;
     }
 
+    /**
+     * Returns <code>true</code> if the agent was started by the Java VM, i.e., if the size of the objects can be
+     * computed. The search strategies and the heuristics do not need the agent: they compute the memory they use
+     * from the size of their arrays.
+     *
+     * @return <code>true</code> if the agent was started; <code>false</code> otherwise.
+     */
+    public static boolean isInitialized() {
+        return MemoryAgent.instrumentation != null;
+    }
+
     /**
      * Allows to skip the final field while computing the deep size of an object. Default value is
      * Default value is <code>MemoryAgent.DEFAULT_SKIP_FINAL_FIELD</code>.
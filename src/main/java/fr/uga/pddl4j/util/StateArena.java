@@ -0,0 +1,292 @@
+/*
+ * Copyright (c) 2010 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with PDDL4J.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.util;
+
+import java.util.Arrays;
+
+/**
+ * This class implements an arena of states. Each state stored in the arena is packed into a fixed number of
+ * 64-bit words and is identified by an integer id. The ids are allocated in increasing order from 0. The
+ * words of the states are stored in large pages of <code>long</code> and the states are indexed by a
+ * primitive open-addressing hash table, so that storing a state costs neither an object header nor a map
+ * entry.
+ * <p>
+ * The arena is not thread safe.
+ * </p>
+ *
+ * @author D. Pellier
+ * @version 1.0 - 17.10.2026
+ */
+public final class StateArena {
+
+    /**
+     * The number of bits used to address the states of a page.
+     */
+    private static final int PAGE_BITS = 12;
+
+    /**
+     * The number of states stored in a page.
+     */
+    private static final int PAGE_SIZE = 1 << PAGE_BITS;
+
+    /**
+     * The mask used to get the index of a state in its page.
+     */
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+
+    /**
+     * The maximum load factor of the hash table.
+     */
+    private static final double LOAD_FACTOR = 0.75;
+
+    /**
+     * The value of an empty slot of the hash table.
+     */
+    private static final int EMPTY = -1;
+
+    /**
+     * The number of words used to store a state.
+     */
+    private final int words;
+
+    /**
+     * The pages of words.
+     */
+    private long[][] pages;
+
+    /**
+     * The hash value of the states.
+     */
+    private int[] hashes;
+
+    /**
+     * The hash table, i.e., the ids of the states or <code>EMPTY</code>.
+     */
+    private int[] table;
+
+    /**
+     * The number of states stored in the arena.
+     */
+    private int size;
+
+    /**
+     * The buffer used to pack the states.
+     */
+    private final long[] buffer;
+
+    /**
+     * Creates a new arena for states defined over a specified number of facts.
+     *
+     * @param facts the number of facts.
+     * @throws IllegalArgumentException if <code>facts &lt; 0</code>.
+     */
+    public StateArena(final int facts) {
+        if (facts < 0) {
+            throw new IllegalArgumentException("facts < 0");
+        }
+        this.words = Math.max(1, (facts + Long.SIZE - 1) / Long.SIZE);
+        this.pages = new long[1][];
+        this.hashes = new int[StateArena.PAGE_SIZE];
+        this.table = new int[2 * StateArena.PAGE_SIZE];
+        Arrays.fill(this.table, StateArena.EMPTY);
+        this.size = 0;
+        this.buffer = new long[this.words];
+    }
+
+    /**
+     * Returns the number of states stored in the arena.
+     *
+     * @return the number of states stored in the arena.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns the id of a specified state. If the state is not already stored in the arena, it is added and
+     * its id is equal to the size of the arena before the call.
+     *
+     * @param state the state.
+     * @return the id of the state.
+     * @throws NullPointerException if <code>state == null</code>.
+     * @throws IllegalArgumentException if the state contains a fact out of the bounds of the arena.
+     */
+    public int intern(final BitState state) {
+        final int hash = this.pack(state);
+        final int mask = this.table.length - 1;
+        int slot = hash & mask;
+        int id = this.table[slot];
+        while (id != StateArena.EMPTY) {
+            if (this.hashes[id] == hash && this.matches(id)) {
+                return id;
+            }
+            slot = (slot + 1) & mask;
+            id = this.table[slot];
+        }
+        id = this.add(hash);
+        this.table[slot] = id;
+        if (this.size > this.table.length * StateArena.LOAD_FACTOR) {
+            this.rehash();
+        }
+        return id;
+    }
+
+    /**
+     * Returns the id of a specified state or -1 if the state is not stored in the arena.
+     *
+     * @param state the state.
+     * @return the id of a specified state or -1 if the state is not stored in the arena.
+     * @throws NullPointerException if <code>state == null</code>.
+     */
+    public int find(final BitState state) {
+        if (state.length() > this.words * Long.SIZE) {
+            return -1;
+        }
+        final int hash = this.pack(state);
+        final int mask = this.table.length - 1;
+        int slot = hash & mask;
+        int id = this.table[slot];
+        while (id != StateArena.EMPTY) {
+            if (this.hashes[id] == hash && this.matches(id)) {
+                return id;
+            }
+            slot = (slot + 1) & mask;
+            id = this.table[slot];
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the state with a specified id.
+     *
+     * @param id the id of the state.
+     * @return the state with the specified id.
+     * @throws IndexOutOfBoundsException if the id is not a valid id.
+     */
+    public BitState getState(final int id) {
+        if (id < 0 || id >= this.size) {
+            throw new IndexOutOfBoundsException("id " + id + " out of bounds");
+        }
+        final BitState state = new BitState();
+        final long[] page = this.pages[id >>> StateArena.PAGE_BITS];
+        final int offset = (id & StateArena.PAGE_MASK) * this.words;
+        for (int i = 0; i < this.words; i++) {
+            long word = page[offset + i];
+            while (word != 0) {
+                state.set(i * Long.SIZE + Long.numberOfTrailingZeros(word));
+                word &= word - 1;
+            }
+        }
+        return state;
+    }
+
+    /**
+     * Returns the number of bytes used by the arena. The value is computed from the size of the arrays
+     * allocated by the arena.
+     *
+     * @return the number of bytes used by the arena.
+     */
+    public long getMemoryUsed() {
+        long bytes = (long) this.hashes.length * Integer.BYTES + (long) this.table.length * Integer.BYTES;
+        for (long[] page : this.pages) {
+            if (page != null) {
+                bytes += (long) page.length * Long.BYTES;
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Packs a specified state into the buffer of the arena and returns its hash value.
+     *
+     * @param state the state.
+     * @return the hash value of the state.
+     */
+    private int pack(final BitState state) {
+        Arrays.fill(this.buffer, 0L);
+        for (int p = state.nextSetBit(0); p >= 0; p = state.nextSetBit(p + 1)) {
+            final int w = p / Long.SIZE;
+            if (w >= this.words) {
+                throw new IllegalArgumentException("fact " + p + " out of bounds");
+            }
+            this.buffer[w] |= 1L << p;
+        }
+        final long h = state.longHashCode();
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * Returns <code>true</code> if the state with a specified id is equal to the state packed in the buffer.
+     *
+     * @param id the id of the state.
+     * @return <code>true</code> if the state with a specified id is equal to the state packed in the buffer;
+     *     <code>false</code> otherwise.
+     */
+    private boolean matches(final int id) {
+        final long[] page = this.pages[id >>> StateArena.PAGE_BITS];
+        final int offset = (id & StateArena.PAGE_MASK) * this.words;
+        for (int i = 0; i < this.words; i++) {
+            if (page[offset + i] != this.buffer[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Adds the state packed in the buffer to the pages of the arena and returns its id.
+     *
+     * @param hash the hash value of the state.
+     * @return the id of the state.
+     */
+    private int add(final int hash) {
+        final int id = this.size;
+        final int p = id >>> StateArena.PAGE_BITS;
+        if (p == this.pages.length) {
+            this.pages = Arrays.copyOf(this.pages, 2 * this.pages.length);
+        }
+        if (this.pages[p] == null) {
+            this.pages[p] = new long[StateArena.PAGE_SIZE * this.words];
+        }
+        System.arraycopy(this.buffer, 0, this.pages[p], (id & StateArena.PAGE_MASK) * this.words, this.words);
+        if (id == this.hashes.length) {
+            this.hashes = Arrays.copyOf(this.hashes, 2 * this.hashes.length);
+        }
+        this.hashes[id] = hash;
+        this.size++;
+        return id;
+    }
+
+    /**
+     * Doubles the capacity of the hash table and reinserts the ids of the states.
+     */
+    private void rehash() {
+        this.table = new int[2 * this.table.length];
+        Arrays.fill(this.table, StateArena.EMPTY);
+        final int mask = this.table.length - 1;
+        for (int id = 0; id < this.size; id++) {
+            int slot = this.hashes[id] & mask;
+            while (this.table[slot] != StateArena.EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+            this.table[slot] = id;
+        }
+    }
+}
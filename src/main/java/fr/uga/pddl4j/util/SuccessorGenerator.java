@@ -0,0 +1,303 @@
+/*
+ * Copyright (c) 2010 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with PDDL4J.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.util;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * This class implements a successor generator, i.e., a decision tree built from the preconditions
+ * of the operators of a problem that returns the operators applicable in a specified state without
+ * testing all the operators one by one.
+ * <p>
+ * Each internal node of the tree tests a fact. The operators requiring the fact to be true are stored
+ * in the positive branch, the operators requiring the fact to be false in the negative branch and the
+ * operators that do not refer to the fact in the "don't care" branch. The facts are tested in increasing
+ * order along each path, so the cost of a query depends on the number of applicable operators and on
+ * the size of the preconditions, not on the total number of operators.
+ * </p>
+ *
+ * @author D. Pellier
+ * @version 1.0 - 17.10.2026
+ * @see BitOp#isApplicable(BitState)
+ */
+public final class SuccessorGenerator implements Serializable {
+
+    /**
+     * The serial id of the class.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The empty array of operators.
+     */
+    private static final int[] EMPTY = new int[0];
+
+    /**
+     * The root of the decision tree.
+     */
+    private final Node root;
+
+    /**
+     * The number of operators indexed.
+     */
+    private final int size;
+
+    /**
+     * Creates a new successor generator for a specified list of operators. The index of the
+     * operators returned by the generator are the index of the operators in the list.
+     *
+     * @param operators the operators.
+     * @throws NullPointerException if <code>operators == null</code>.
+     */
+    public SuccessorGenerator(final List<BitOp> operators) {
+        if (operators == null) {
+            throw new NullPointerException("operators == null");
+        }
+        this.size = operators.size();
+        // The preconditions of the operators encoded as sorted literals: 2 * p for a positive
+        // precondition on the fact p and 2 * p + 1 for a negative one
+        final int[][] literals = new int[this.size][];
+        final int[] ops = new int[this.size];
+        for (int i = 0; i < this.size; i++) {
+            final BitExp pre = operators.get(i).getPreconditions();
+            final BitVector pPre = pre.getPositive();
+            final BitVector nPre = pre.getNegative();
+            final int[] lits = new int[pPre.cardinality() + nPre.cardinality()];
+            int l = 0;
+            for (int p = pPre.nextSetBit(0); p >= 0; p = pPre.nextSetBit(p + 1)) {
+                lits[l++] = 2 * p;
+            }
+            for (int p = nPre.nextSetBit(0); p >= 0; p = nPre.nextSetBit(p + 1)) {
+                lits[l++] = 2 * p + 1;
+            }
+            Arrays.sort(lits);
+            literals[i] = lits;
+            ops[i] = i;
+        }
+        this.root = SuccessorGenerator.build(ops, literals, new int[this.size]);
+    }
+
+    /**
+     * Returns the number of operators indexed by this generator.
+     *
+     * @return the number of operators indexed by this generator.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns the index of the operators applicable in a specified state. The index are returned in
+     * increasing order, i.e., in the same order as a linear scan of the operators.
+     *
+     * @param state the state.
+     * @return the index of the operators applicable in the specified state.
+     * @throws NullPointerException if <code>state == null</code>.
+     */
+    public int[] getApplicableOperators(final BitState state) {
+        if (state == null) {
+            throw new NullPointerException("state == null");
+        }
+        if (this.root == null) {
+            return SuccessorGenerator.EMPTY;
+        }
+        final Buffer buffer = new Buffer();
+        this.collect(this.root, state, buffer);
+        final int[] applicable = Arrays.copyOf(buffer.values, buffer.size);
+        Arrays.sort(applicable);
+        return applicable;
+    }
+
+    /**
+     * Collects the operators stored in the subtree of a specified node and applicable in a specified
+     * state. The "don't care" branches are followed iteratively so that the depth of the recursion is
+     * bounded by the size of the preconditions.
+     *
+     * @param node   the node.
+     * @param state  the state.
+     * @param buffer the buffer used to store the applicable operators.
+     */
+    private void collect(final Node node, final BitState state, final Buffer buffer) {
+        Node n = node;
+        while (n != null) {
+            buffer.addAll(n.operators);
+            if (n.fact >= 0) {
+                final Node branch = state.get(n.fact) ? n.positive : n.negative;
+                if (branch != null) {
+                    this.collect(branch, state, buffer);
+                }
+            }
+            n = n.dontCare;
+        }
+    }
+
+    /**
+     * Builds the decision tree of a set of operators. The operators whose preconditions were all
+     * tested are stored in the first node of the chain. The others are grouped by the next fact to
+     * test: each group becomes a node of the "don't care" chain in increasing order of fact.
+     *
+     * @param ops      the operators.
+     * @param literals the preconditions of the operators encoded as sorted literals.
+     * @param cursors  the index of the next literal to test for each operator.
+     * @return the root of the decision tree or <code>null</code> if there is no operator.
+     */
+    private static Node build(final int[] ops, final int[][] literals, final int[] cursors) {
+        if (ops.length == 0) {
+            return null;
+        }
+        final List<Integer> satisfied = new ArrayList<>();
+        // The pending operators sorted by their next fact to test and then by index
+        final long[] pending = new long[ops.length];
+        int nbPending = 0;
+        for (int op : ops) {
+            if (cursors[op] == literals[op].length) {
+                satisfied.add(op);
+            } else {
+                final long fact = literals[op][cursors[op]] >>> 1;
+                pending[nbPending++] = (fact << 32) | op;
+            }
+        }
+        Arrays.sort(pending, 0, nbPending);
+
+        Node first = null;
+        Node last = null;
+        int i = 0;
+        while (i < nbPending) {
+            final int fact = (int) (pending[i] >>> 32);
+            final List<Integer> positive = new ArrayList<>();
+            final List<Integer> negative = new ArrayList<>();
+            while (i < nbPending && (int) (pending[i] >>> 32) == fact) {
+                final int op = (int) pending[i];
+                final int literal = literals[op][cursors[op]];
+                cursors[op]++;
+                if ((literal & 1) == 0) {
+                    positive.add(op);
+                } else {
+                    negative.add(op);
+                }
+                i++;
+            }
+            final Node node = new Node(fact);
+            node.positive = SuccessorGenerator.build(SuccessorGenerator.toArray(positive), literals, cursors);
+            node.negative = SuccessorGenerator.build(SuccessorGenerator.toArray(negative), literals, cursors);
+            if (first == null) {
+                first = node;
+            } else {
+                last.dontCare = node;
+            }
+            last = node;
+        }
+        if (first == null) {
+            first = new Node(-1);
+        }
+        first.operators = SuccessorGenerator.toArray(satisfied);
+        return first;
+    }
+
+    /**
+     * Converts a list of integers into an array.
+     *
+     * @param list the list.
+     * @return the array.
+     */
+    private static int[] toArray(final List<Integer> list) {
+        return list.isEmpty() ? SuccessorGenerator.EMPTY : list.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * This class implements a node of the decision tree.
+     */
+    private static final class Node implements Serializable {
+
+        /**
+         * The serial id of the class.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * The fact tested by the node or -1 if the node does not test any fact.
+         */
+        private final int fact;
+
+        /**
+         * The operators applicable when this node is reached.
+         */
+        private int[] operators;
+
+        /**
+         * The subtree of the operators requiring the fact to be true.
+         */
+        private Node positive;
+
+        /**
+         * The subtree of the operators requiring the fact to be false.
+         */
+        private Node negative;
+
+        /**
+         * The subtree of the operators that do not refer to the fact.
+         */
+        private Node dontCare;
+
+        /**
+         * Creates a new node testing a specified fact.
+         *
+         * @param fact the fact tested by the node.
+         */
+        private Node(final int fact) {
+            this.fact = fact;
+            this.operators = SuccessorGenerator.EMPTY;
+        }
+    }
+
+    /**
+     * This class implements a growable buffer of integers used to collect the applicable operators.
+     */
+    private static final class Buffer {
+
+        /**
+         * The values of the buffer.
+         */
+        private int[] values = new int[16];
+
+        /**
+         * The number of values stored in the buffer.
+         */
+        private int size = 0;
+
+        /**
+         * Adds the specified values to the buffer.
+         *
+         * @param ops the values to add.
+         */
+        private void addAll(final int[] ops) {
+            if (ops.length > 0) {
+                if (this.size + ops.length > this.values.length) {
+                    this.values = Arrays.copyOf(this.values, Math.max(2 * this.values.length, this.size + ops.length));
+                }
+                System.arraycopy(ops, 0, this.values, this.size, ops.length);
+                this.size += ops.length;
+            }
+        }
+    }
+}
@@ -0,0 +1,274 @@
+/*
+ * Copyright (c) 2016 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with PDDL4J.  If not, see
+ * <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.util;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.RandomAccess;
+
+/**
+ * This class implements a table of symbols. Each symbol interned in the table is identified by a dense integer id
+ * allocated in increasing order from 0, and the table is a list of symbols where the symbol at index <code>i</code>
+ * is the symbol with the id <code>i</code>. The symbols are indexed by a primitive open-addressing hash table so that
+ * <code>intern()</code>, <code>indexOf()</code> and <code>contains()</code> run in constant time, and
+ * <code>get()</code> is the reverse lookup of an id.
+ * <p>
+ * The method <code>add()</code> appends a symbol even if it is already in the table to keep the contract of the
+ * lists: in that case, the symbol is indexed by its first id. The symbols cannot be removed or replaced, except by
+ * clearing the table. The table is not thread safe.
+ * </p>
+ *
+ * @author D. Pellier
+ * @version 1.0 - 17.10.2026
+ */
+public final class SymbolTable extends AbstractList<String> implements RandomAccess, Serializable {
+
+    /**
+     * The serial id of the class.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The default capacity of the table.
+     */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * The maximum load factor of the hash table.
+     */
+    private static final double LOAD_FACTOR = 0.5;
+
+    /**
+     * The value of an empty slot of the hash table.
+     */
+    private static final int EMPTY = -1;
+
+    /**
+     * The symbols of the table indexed by their id.
+     */
+    private String[] symbols;
+
+    /**
+     * The hash table, i.e., the ids of the symbols or <code>EMPTY</code>.
+     */
+    private int[] table;
+
+    /**
+     * The number of symbols of the table.
+     */
+    private int size;
+
+    /**
+     * Creates a new empty table of symbols.
+     */
+    public SymbolTable() {
+        this(SymbolTable.DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a new empty table of symbols with an initial capacity.
+     *
+     * @param capacity the initial capacity of the table.
+     * @throws IllegalArgumentException if <code>capacity &lt; 0</code>.
+     */
+    public SymbolTable(final int capacity) {
+        super();
+        if (capacity < 0) {
+            throw new IllegalArgumentException("capacity < 0");
+        }
+        this.symbols = new String[Math.max(capacity, 1)];
+        int length = 2;
+        while (length * SymbolTable.LOAD_FACTOR < this.symbols.length) {
+            length <<= 1;
+        }
+        this.table = new int[length];
+        Arrays.fill(this.table, SymbolTable.EMPTY);
+        this.size = 0;
+    }
+
+    /**
+     * Creates a new table of symbols containing the symbols of a collection in the order returned by its iterator.
+     *
+     * @param symbols the symbols.
+     * @throws NullPointerException if <code>symbols == null</code> or one of the symbols is null.
+     */
+    public SymbolTable(final Collection<String> symbols) {
+        this(symbols.size());
+        this.addAll(symbols);
+    }
+
+    /**
+     * Returns the id of a symbol. If the symbol was never interned before, a new id is allocated.
+     *
+     * @param symbol the symbol.
+     * @return the id of the symbol.
+     * @throws NullPointerException if <code>symbol == null</code>.
+     */
+    public int intern(final String symbol) {
+        final int hash = SymbolTable.hash(symbol);
+        final int mask = this.table.length - 1;
+        int slot = hash & mask;
+        int id = this.table[slot];
+        while (id != SymbolTable.EMPTY) {
+            if (this.symbols[id].equals(symbol)) {
+                return id;
+            }
+            slot = (slot + 1) & mask;
+            id = this.table[slot];
+        }
+        id = this.append(symbol);
+        this.table[slot] = id;
+        if (this.size > this.table.length * SymbolTable.LOAD_FACTOR) {
+            this.rehash();
+        }
+        return id;
+    }
+
+    /**
+     * Returns the id of a symbol or -1 if the symbol is not in the table.
+     *
+     * @param object the symbol.
+     * @return the id of the symbol or -1 if the symbol is not in the table.
+     */
+    @Override
+    public int indexOf(final Object object) {
+        if (!(object instanceof String)) {
+            return -1;
+        }
+        final int mask = this.table.length - 1;
+        int slot = SymbolTable.hash((String) object) & mask;
+        int id = this.table[slot];
+        while (id != SymbolTable.EMPTY) {
+            if (this.symbols[id].equals(object)) {
+                return id;
+            }
+            slot = (slot + 1) & mask;
+            id = this.table[slot];
+        }
+        return -1;
+    }
+
+    /**
+     * Returns <code>true</code> if a symbol is in the table.
+     *
+     * @param object the symbol.
+     * @return <code>true</code> if the symbol is in the table; <code>false</code> otherwise.
+     */
+    @Override
+    public boolean contains(final Object object) {
+        return this.indexOf(object) != -1;
+    }
+
+    /**
+     * Returns the symbol with a specified id.
+     *
+     * @param id the id of the symbol.
+     * @return the symbol with the specified id.
+     * @throws IndexOutOfBoundsException if the id is out of bounds.
+     */
+    @Override
+    public String get(final int id) {
+        if (id < 0 || id >= this.size) {
+            throw new IndexOutOfBoundsException("id " + id + " out of bounds");
+        }
+        return this.symbols[id];
+    }
+
+    /**
+     * Returns the number of symbols of the table.
+     *
+     * @return the number of symbols of the table.
+     */
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Appends a symbol at the end of the table. A symbol already in the table keeps its first id.
+     *
+     * @param symbol the symbol.
+     * @return <code>true</code>.
+     * @throws NullPointerException if <code>symbol == null</code>.
+     */
+    @Override
+    public boolean add(final String symbol) {
+        final int last = this.size;
+        if (this.intern(symbol) < last) {
+            this.append(symbol);
+        }
+        return true;
+    }
+
+    /**
+     * Removes all the symbols of the table.
+     */
+    @Override
+    public void clear() {
+        Arrays.fill(this.symbols, 0, this.size, null);
+        Arrays.fill(this.table, SymbolTable.EMPTY);
+        this.size = 0;
+        this.modCount++;
+    }
+
+    /**
+     * Stores a symbol at the end of the table without indexing it.
+     *
+     * @param symbol the symbol.
+     * @return the id of the symbol.
+     */
+    private int append(final String symbol) {
+        final int id = this.size;
+        if (id == this.symbols.length) {
+            this.symbols = Arrays.copyOf(this.symbols, 2 * this.symbols.length);
+        }
+        this.symbols[id] = symbol;
+        this.size++;
+        this.modCount++;
+        return id;
+    }
+
+    /**
+     * Doubles the size of the hash table and reindexes the first id of each symbol.
+     */
+    private void rehash() {
+        this.table = new int[2 * this.table.length];
+        Arrays.fill(this.table, SymbolTable.EMPTY);
+        final int mask = this.table.length - 1;
+        for (int id = 0; id < this.size; id++) {
+            int slot = SymbolTable.hash(this.symbols[id]) & mask;
+            while (this.table[slot] != SymbolTable.EMPTY && !this.symbols[this.table[slot]].equals(this.symbols[id])) {
+                slot = (slot + 1) & mask;
+            }
+            if (this.table[slot] == SymbolTable.EMPTY) {
+                this.table[slot] = id;
+            }
+        }
+    }
+
+    /**
+     * Returns the hash value of a symbol.
+     *
+     * @param symbol the symbol.
+     * @return the hash value of the symbol.
+     */
+    private static int hash(final String symbol) {
+        final int h = symbol.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -4,6 +4,8 @@ import fr.uga.pddl4j.encoding.CodedProblem;
 import fr.uga.pddl4j.parser.ErrorManager;
 import fr.uga.pddl4j.parser.Parser;
 import fr.uga.pddl4j.planners.ProblemFactory;
+import fr.uga.pddl4j.util.IntExp;
+import org.junit.Assert;
 
 import java.io.File;
 import java.io.FileNotFoundException;
@@ -66,6 +68,21 @@ public abstract class Tools {
      */
     public static final String VAL = "src/test/resources/validate";
 
+    /**
+     * The path to the domain file of the encoding tests.
+     */
+    public static final String ENCODING_DOMAIN = "src/test/resources/encoding/domain.pddl";
+
+    /**
+     * The path to the problem files of the encoding tests.
+     */
+    public static final String[] ENCODING_PROBLEMS = {
+        "src/test/resources/encoding/p01.pddl",
+        "src/test/resources/encoding/p02.pddl",
+        "src/test/resources/encoding/p03.pddl",
+        "src/test/resources/encoding/p04.pddl",
+    };
+
     /**
      * Check if benchmark are already here.
      *
@@ -173,6 +190,37 @@ public abstract class Tools {
         return ext.matcher(fileName).replaceAll("");
     }
 
+    /**
+     * Checks that two coded problems are equal: their tables, their relevant facts, their operators, their initial
+     * state and their goal.
+     *
+     * @param expected the expected coded problem.
+     * @param actual   the actual coded problem.
+     */
+    public static void assertEquals(final CodedProblem expected, final CodedProblem actual) {
+        Assert.assertNotNull(actual);
+        Assert.assertEquals(expected.getTypes(), actual.getTypes());
+        Assert.assertEquals(expected.getConstants(), actual.getConstants());
+        Assert.assertEquals(expected.getPredicates(), actual.getPredicates());
+        Assert.assertEquals(expected.getDomains(), actual.getDomains());
+        Assert.assertEquals(expected.getPredicatesSignatures(), actual.getPredicatesSignatures());
+        Assert.assertEquals(expected.getInertia(), actual.getInertia());
+        Assert.assertEquals(expected.getRelevantFacts().size(), actual.getRelevantFacts().size());
+        for (int i = 0; i < expected.getRelevantFacts().size(); i++) {
+            final IntExp fact = expected.getRelevantFacts().get(i);
+            Assert.assertEquals(expected.toString(fact), actual.toString(actual.getRelevantFacts().get(i)));
+            Assert.assertEquals(fact, actual.getRelevantFacts().get(i));
+        }
+        Assert.assertEquals(expected.getOperators().size(), actual.getOperators().size());
+        for (int i = 0; i < expected.getOperators().size(); i++) {
+            Assert.assertEquals(expected.toString(expected.getOperators().get(i)),
+                actual.toString(actual.getOperators().get(i)));
+            Assert.assertEquals(expected.getOperators().get(i), actual.getOperators().get(i));
+        }
+        Assert.assertEquals(expected.getInit(), actual.getInit());
+        Assert.assertEquals(expected.getGoal(), actual.getGoal());
+    }
+
     /**
      * Count the number of validated plans.
      *
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2016 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with PDDL4J.  If not, see
+ * <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.test.encoding;
+
+import fr.uga.pddl4j.encoding.BinaryAdapter;
+import fr.uga.pddl4j.encoding.CodedProblem;
+import fr.uga.pddl4j.encoding.CodedProblemCache;
+import fr.uga.pddl4j.encoding.Encoder;
+import fr.uga.pddl4j.planners.ProblemFactory;
+import fr.uga.pddl4j.test.Tools;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Implements the <tt>BinaryAdapterTest</tt> of the PDD4L library. The coded problems read from their binary
+ * representation are compared to the coded problems written.
+ * Domain and problem used: Blocksworld domain and p01 problem.
+ *
+ * @author D. Pellier
+ * @version 0.1 - 17.10.2026
+ */
+public class BinaryAdapterTest {
+
+    /**
+     * The path to the problem file.
+     */
+    private static final String PROBLEM = Tools.ENCODING_PROBLEMS[0];
+
+    /**
+     * The temporary folder used as cache directory.
+     */
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Method that tests that a coded problem written and read back is unchanged.
+     *
+     * @throws IOException if the problem cannot be written or read.
+     */
+    @Test
+    public void testWriteRead() throws IOException {
+        final CodedProblem expected = Tools.generateCodedProblem(Tools.ENCODING_DOMAIN, PROBLEM);
+        Assert.assertNotNull(expected);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BinaryAdapter.write(expected, out);
+        final CodedProblem actual = BinaryAdapter.read(ByteBuffer.wrap(out.toByteArray()));
+        Tools.assertEquals(expected, actual);
+    }
+
+    /**
+     * Method that tests that a truncated coded problem is rejected.
+     *
+     * @throws IOException if the problem cannot be written.
+     */
+    @Test(expected = IOException.class)
+    public void testTruncated() throws IOException {
+        final CodedProblem problem = Tools.generateCodedProblem(Tools.ENCODING_DOMAIN, PROBLEM);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BinaryAdapter.write(problem, out);
+        final byte[] bytes = out.toByteArray();
+        BinaryAdapter.read(ByteBuffer.wrap(bytes, 0, bytes.length / 2));
+    }
+
+    /**
+     * Method that tests that the problem factory loads the problems from the cache.
+     *
+     * @throws IOException if the problem cannot be parsed.
+     */
+    @Test
+    public void testCache() throws IOException {
+        final File directory = this.folder.newFolder("cache");
+        final ProblemFactory factory = new ProblemFactory();
+        factory.setCache(new CodedProblemCache(directory));
+        Assert.assertTrue(factory.parse(Tools.ENCODING_DOMAIN, PROBLEM).isEmpty());
+        final CodedProblem encoded = factory.encode();
+        final String key = CodedProblemCache.hash(new File(Tools.ENCODING_DOMAIN), new File(PROBLEM));
+        Assert.assertTrue(factory.getCache().contains(key));
+        Assert.assertTrue(factory.parse(Tools.ENCODING_DOMAIN, PROBLEM).isEmpty());
+        Tools.assertEquals(encoded, factory.encode());
+        // The problem is parsed on demand to be encoded with another grounding
+        Assert.assertNotNull(factory.encode(Encoder.Grounding.REACHABILITY));
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2016 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with PDDL4J.  If not, see
+ * <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.test.encoding;
+
+import fr.uga.pddl4j.encoding.CodedProblem;
+import fr.uga.pddl4j.encoding.CompiledDomain;
+import fr.uga.pddl4j.encoding.CompiledDomainCache;
+import fr.uga.pddl4j.encoding.Encoder;
+import fr.uga.pddl4j.parser.Parser;
+import fr.uga.pddl4j.planners.ProblemFactory;
+import fr.uga.pddl4j.test.Tools;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Implements the <tt>CompiledDomainTest</tt> of the PDD4L library. The problems encoded with a compiled domain
+ * are compared to the problems encoded from their domain.
+ * Domain and problems used: Blocksworld domain and p01 to p04 problems.
+ *
+ * @author D. Pellier
+ * @version 0.1 - 17.10.2026
+ */
+public class CompiledDomainTest {
+
+    /**
+     * Method that tests that the problems encoded with a same compiled domain are the problems encoded from their
+     * domain.
+     *
+     * @throws IOException if a problem cannot be parsed.
+     */
+    @Test
+    public void testEncode() throws IOException {
+        final Parser parser = new Parser();
+        parser.parseDomain(Tools.ENCODING_DOMAIN);
+        final CompiledDomain domain = new CompiledDomain(parser.getDomain());
+        for (String problem : Tools.ENCODING_PROBLEMS) {
+            parser.parseProblem(domain.getDomain(), new File(problem));
+            Assert.assertTrue(parser.getErrorManager().isEmpty());
+            final CodedProblem actual = Encoder.encode(domain, parser.getProblem());
+            Tools.assertEquals(Tools.generateCodedProblem(Tools.ENCODING_DOMAIN, problem), actual);
+        }
+    }
+
+    /**
+     * Method that tests that the problem factory reuses the compiled domains of its cache.
+     *
+     * @throws IOException if a problem cannot be parsed.
+     */
+    @Test
+    public void testCache() throws IOException {
+        final CompiledDomainCache cache = new CompiledDomainCache(1);
+        final String key = CompiledDomainCache.hash(new File(Tools.ENCODING_DOMAIN));
+        for (String problem : Tools.ENCODING_PROBLEMS) {
+            final ProblemFactory factory = new ProblemFactory();
+            factory.setDomainCache(cache);
+            Assert.assertTrue(factory.parse(Tools.ENCODING_DOMAIN, problem).isEmpty());
+            Tools.assertEquals(Tools.generateCodedProblem(Tools.ENCODING_DOMAIN, problem), factory.encode());
+            Assert.assertNotNull(cache.get(key));
+        }
+        // The least recently used domain is evicted
+        cache.put("domain", cache.get(key));
+        Assert.assertEquals(1, cache.size());
+        Assert.assertNull(cache.get(key));
+    }
+}
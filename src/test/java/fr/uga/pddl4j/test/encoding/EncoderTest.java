@@ -16,14 +16,24 @@
 package fr.uga.pddl4j.test.encoding;
 
 import fr.uga.pddl4j.encoding.CodedProblem;
+import fr.uga.pddl4j.encoding.Encoder;
 import fr.uga.pddl4j.parser.ErrorManager;
 import fr.uga.pddl4j.planners.ProblemFactory;
 import fr.uga.pddl4j.test.Tools;
+import fr.uga.pddl4j.util.BitOp;
+import fr.uga.pddl4j.util.BitVector;
+import fr.uga.pddl4j.util.CondBitExp;
+import fr.uga.pddl4j.util.IntExp;
 import org.junit.Assert;
 import org.junit.Test;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * Implements the <tt>EncoderTest</tt> of the PDD4L library.
@@ -745,6 +755,181 @@ public class EncoderTest {
     }
 
 
+    /**
+     * Method that checks that problems encoded concurrently are identical to the problems encoded sequentially.
+     * IPC1 gripper and logistics tests
+     */
+    @Test
+    public void testEncode_concurrent() throws Exception {
+        final String gripperPath = Tools.BENCH_DIR + "ipc1" + File.separator + "gripper" + File.separator;
+        final String logisticsPath = Tools.BENCH_DIR + "ipc1" + File.separator + "logistics" + File.separator;
+        if (!Tools.isBenchmarkExist(gripperPath) || !Tools.isBenchmarkExist(logisticsPath)) {
+            System.out.println("missing Benchmark [directory: " + gripperPath + "] test skipped !");
+            return;
+        }
+
+        final List<String[]> files = new ArrayList<>();
+        for (int i = 1; i <= 4; i++) {
+            files.add(new String[] {gripperPath + Tools.DOMAIN, gripperPath + "p0" + i + Tools.PDDL_EXT});
+            files.add(new String[] {logisticsPath + Tools.DOMAIN, logisticsPath + "p0" + i + Tools.PDDL_EXT});
+        }
+
+        final List<List<String>> expected = new ArrayList<>();
+        for (String[] file : files) {
+            expected.add(encodeToStrings(file[0], file[1]));
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<List<String>>> results = new ArrayList<>();
+            for (String[] file : files) {
+                results.add(executor.submit(() -> encodeToStrings(file[0], file[1])));
+            }
+            for (int i = 0; i < files.size(); i++) {
+                Assert.assertEquals(files.get(i)[1], expected.get(i), results.get(i).get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Method that checks that the operators instantiated by relaxed reachability analysis are the operators of the
+     * full instantiation reachable from the initial state when the delete effects and the negative preconditions
+     * are ignored, in the same order.
+     * IPC1 gripper, logistics and mystery tests
+     */
+    @Test
+    public void testEncode_reachability() throws Exception {
+        for (String benchmark : new String[] {"gripper", "logistics", "mystery"}) {
+            final String localTestPath = Tools.BENCH_DIR + "ipc1" + File.separator + benchmark + File.separator;
+            if (!Tools.isBenchmarkExist(localTestPath)) {
+                System.out.println("missing Benchmark [directory: " + localTestPath + "] test skipped !");
+                continue;
+            }
+            for (int i = 1; i <= 3; i++) {
+                final String domain = localTestPath + Tools.DOMAIN;
+                final String problem = localTestPath + "p0" + i + Tools.PDDL_EXT;
+                final List<String> expected = encodeToReachableOperatorNames(domain, problem);
+                final List<String> reachable = encodeToOperatorNames(domain, problem, Encoder.Grounding.REACHABILITY);
+                Assert.assertFalse(problem, reachable.isEmpty());
+                Assert.assertEquals(problem, expected, reachable);
+            }
+        }
+    }
+
+    /**
+     * Parses and encodes a problem with a specified mode of instantiation and returns the names of its operators.
+     *
+     * @param domain    the domain file.
+     * @param problem   the problem file.
+     * @param grounding the mode of instantiation of the operators.
+     * @return the names of the operators of the encoded problem.
+     * @throws IOException if the files cannot be read.
+     */
+    private static List<String> encodeToOperatorNames(String domain, String problem, Encoder.Grounding grounding)
+        throws IOException {
+        final ProblemFactory factory = new ProblemFactory();
+        factory.setTraceLevel(TRACE_LEVEL);
+        Assert.assertTrue(factory.parse(new File(domain), new File(problem)).isEmpty());
+        final CodedProblem pb = factory.encode(grounding);
+        Assert.assertNotNull(pb);
+        final List<String> names = new ArrayList<>();
+        for (BitOp op : pb.getOperators()) {
+            names.add(pb.toShortString(op));
+        }
+        return names;
+    }
+
+    /**
+     * Parses and encodes a problem with the full instantiation and returns the names of its operators reachable from
+     * the initial state when the delete effects and the negative preconditions are ignored.
+     *
+     * @param domain  the domain file.
+     * @param problem the problem file.
+     * @return the names of the reachable operators of the encoded problem.
+     * @throws IOException if the files cannot be read.
+     */
+    private static List<String> encodeToReachableOperatorNames(String domain, String problem) throws IOException {
+        final ProblemFactory factory = new ProblemFactory();
+        factory.setTraceLevel(TRACE_LEVEL);
+        Assert.assertTrue(factory.parse(new File(domain), new File(problem)).isEmpty());
+        final CodedProblem pb = factory.encode(Encoder.Grounding.FULL);
+        Assert.assertNotNull(pb);
+        final List<BitOp> operators = pb.getOperators();
+        final BitVector reached = new BitVector(pb.getInit().getPositive());
+        final boolean[] reachable = new boolean[operators.size()];
+        boolean fixpoint = false;
+        while (!fixpoint) {
+            fixpoint = true;
+            for (int i = 0; i < operators.size(); i++) {
+                final BitOp op = operators.get(i);
+                if (!reachable[i] && EncoderTest.contains(reached, op.getPreconditions().getPositive())) {
+                    reachable[i] = true;
+                    fixpoint = false;
+                }
+                if (reachable[i]) {
+                    for (CondBitExp effect : op.getCondEffects()) {
+                        final BitVector add = effect.getEffects().getPositive();
+                        if (EncoderTest.contains(reached, effect.getCondition().getPositive())
+                            && !EncoderTest.contains(reached, add)) {
+                            reached.or(add);
+                            fixpoint = false;
+                        }
+                    }
+                }
+            }
+        }
+        final List<String> names = new ArrayList<>();
+        for (int i = 0; i < operators.size(); i++) {
+            if (reachable[i]) {
+                names.add(pb.toShortString(operators.get(i)));
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Returns <code>true</code> if a set of propositions contains another one.
+     *
+     * @param set    the set of propositions.
+     * @param subset the other set of propositions.
+     * @return <code>true</code> if <code>set</code> contains <code>subset</code>; <code>false</code> otherwise.
+     */
+    private static boolean contains(final BitVector set, final BitVector subset) {
+        final BitVector missing = new BitVector(subset);
+        missing.andNot(set);
+        return missing.isEmpty();
+    }
+
+    /**
+     * Parses and encodes a problem and returns the string representation of its relevant facts, initial state, goal
+     * and operators.
+     *
+     * @param domain  the domain file.
+     * @param problem the problem file.
+     * @return the string representation of the encoded problem.
+     * @throws IOException if the files cannot be read.
+     */
+    private static List<String> encodeToStrings(String domain, String problem) throws IOException {
+        final ProblemFactory factory = new ProblemFactory();
+        factory.setTraceLevel(TRACE_LEVEL);
+        Assert.assertTrue(factory.parse(new File(domain), new File(problem)).isEmpty());
+        final CodedProblem pb = factory.encode();
+        Assert.assertNotNull(pb);
+        final List<String> strings = new ArrayList<>();
+        for (IntExp fact : pb.getRelevantFacts()) {
+            strings.add(pb.toString(fact));
+        }
+        strings.add(pb.toString(pb.getInit()));
+        strings.add(pb.toString(pb.getGoal()));
+        for (BitOp op : pb.getOperators()) {
+            strings.add(pb.toString(op));
+        }
+        return strings;
+    }
+
+
     /**
      * Encode problems targeted in currentTestPath directory and check if they are solvable.
      *
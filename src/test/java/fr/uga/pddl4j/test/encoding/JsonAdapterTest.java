@@ -226,48 +226,54 @@ public class JsonAdapterTest {
      * Valid JSON output for gripper p01 problem.
      */
     private static String validGripperP01JSON =
-        "{\"Action 1\":{\"Names\":\"pick\",\"Parameters\":[\"ball2\",\"rooma\",\"right\"],"
-            + "\"Position\":1,\"Preconditions\":{\"Negatives\":[],\"Positives\":[\"(at-robby rooma)\",\"(free right)\","
-            + "\"(at ball2 rooma)\"]},\"Condition_Expressions\":[{\"Condition\":{\"Negatives\":[],\"Positives\":[]},"
-            + "\"Effect\":{\"Negatives\":[\"(free right)\",\"(at ball2 rooma)\"],\"Positives\":[\"(carry ball2 right)\""
-            + "]}}]},\"Action 0\":{\"Names\":\"pick\",\"Parameters\":[\"ball4\",\"rooma\",\"left\"],\"Position\":0,"
-            + "\"Preconditions\":{\"Negatives\":[],\"Positives\":[\"(at-robby rooma)\",\"(at ball4 rooma)\",\""
-            + "(free left)\"]},\"Condition_Expressions\":[{\"Condition\":{\"Negatives\":[],\"Positives\":[]},\"Effect\""
-            + ":{\"Negatives\":[\"(at ball4 rooma)\",\"(free left)\"],\"Positives\":[\"(carry ball4 left)\"]}}]},"
-            + "\"Size\":11,\"Action 5\":{\"Names\":\"move\",\"Parameters\":[\"roomb\",\"rooma\"],\"Position\":5,"
-            + "\"Preconditions\":{\"Negatives\":[],\"Positives\":[\"(at-robby roomb)\"]},\"Condition_Expressions\""
-            + ":[{\"Condition\":{\"Negatives\":[],\"Positives\":[]},\"Effect\":{\"Negatives\":[\"(at-robby roomb)\"],"
+        "{\"Action 1\":{\"Names\":\"pick\",\"Parameters\":[\"ball1\",\"rooma\",\"left\"],\"Position\":1,"
+            + "\"Preconditions\":{\"Negatives\":[],\"Positives\":[\"(at-robby rooma)\",\"(free left)\","
+            + "\"(at ball1 rooma)\"]},\"Condition_Expressions\":[{\"Condition\":{\"Negatives\":[],\"Positives\":[]},"
+            + "\"Effect\":{\"Negatives\":[\"(free left)\",\"(at ball1 rooma)\"],"
+            + "\"Positives\":[\"(carry ball1 left)\"]}}]},\"Action 0\":{\"Names\":\"pick\",\"Parameters\":[\"ball4\","
+            + "\"rooma\",\"right\"],\"Position\":0,\"Preconditions\":{\"Negatives\":[],"
+            + "\"Positives\":[\"(at-robby rooma)\",\"(at ball4 rooma)\",\"(free right)\"]},"
+            + "\"Condition_Expressions\":[{\"Condition\":{\"Negatives\":[],\"Positives\":[]},"
+            + "\"Effect\":{\"Negatives\":[\"(at ball4 rooma)\",\"(free right)\"],"
+            + "\"Positives\":[\"(carry ball4 right)\"]}}]},\"Size\":11,\"Action 5\":{\"Names\":\"move\","
+            + "\"Parameters\":[\"roomb\",\"rooma\"],\"Position\":5,\"Preconditions\":{\"Negatives\":[],"
+            + "\"Positives\":[\"(at-robby roomb)\"]},\"Condition_Expressions\":[{\"Condition\":{\"Negatives\":[],"
+            + "\"Positives\":[]},\"Effect\":{\"Negatives\":[\"(at-robby roomb)\"],"
             + "\"Positives\":[\"(at-robby rooma)\"]}}]},\"Type_de_plan\":1,\"Action 4\":{\"Names\":\"drop\","
-            + "\"Parameters\":[\"ball4\",\"roomb\",\"left\"],\"Position\":4,\"Preconditions\":{\"Negatives\":[],"
-            + "\"Positives\":[\"(at-robby roomb)\",\"(carry ball4 left)\"]},\"Condition_Expressions\":[{\"Condition\""
-            + ":{\"Negatives\":[],\"Positives\":[]},\"Effect\":{\"Negatives\":[\"(carry ball4 left)\"],\"Positives\""
-            + ":[\"(free left)\",\"(at ball4 roomb)\"]}}]},\"Makespan\":11.0,\"Action 3\":{\"Names\":\"drop\","
-            + "\"Parameters\":[\"ball2\",\"roomb\",\"right\"],\"Position\":3,\"Preconditions\":{\"Negatives\":[],"
-            + "\"Positives\":[\"(at-robby roomb)\",\"(carry ball2 right)\"]},\"Condition_Expressions\":[{\"Condition\""
-            + ":{\"Negatives\":[],\"Positives\":[]},\"Effect\":{\"Negatives\":[\"(carry ball2 right)\"],\"Positives\""
-            + ":[\"(free right)\",\"(at ball2 roomb)\"]}}]},\"Action 2\":{\"Names\":\"move\",\"Parameters\":[\"rooma\","
-            + "\"roomb\"],\"Position\":2,\"Preconditions\":{\"Negatives\":[],\"Positives\":[\"(at-robby rooma)\"]},"
-            + "\"Condition_Expressions\":[{\"Condition\":{\"Negatives\":[],\"Positives\":[]},\"Effect\":{\"Negatives\""
-            + ":[\"(at-robby rooma)\"],\"Positives\":[\"(at-robby roomb)\"]}}]},\"Action 10\":{\"Names\":\"drop\","
-            + "\"Parameters\":[\"ball3\",\"roomb\",\"left\"],\"Position\":10,\"Preconditions\":{\"Negatives\":[],"
-            + "\"Positives\":[\"(at-robby roomb)\",\"(carry ball3 left)\"]},\"Condition_Expressions\":[{\"Condition\""
-            + ":{\"Negatives\":[],\"Positives\":[]},\"Effect\":{\"Negatives\":[\"(carry ball3 left)\"],\"Positives\""
-            + ":[\"(free left)\",\"(at ball3 roomb)\"]}}]},\"Action 9\":{\"Names\":\"drop\",\"Parameters\":[\"ball1\","
-            + "\"roomb\",\"right\"],\"Position\":9,\"Preconditions\":{\"Negatives\":[],\"Positives\":[\""
-            + "(at-robby roomb)\",\"(carry ball1 right)\"]},\"Condition_Expressions\":[{\"Condition\":{\"Negatives\""
-            + ":[],\"Positives\":[]},\"Effect\":{\"Negatives\":[\"(carry ball1 right)\"],\"Positives\":[\"(free right)"
-            + "\",\"(at ball1 roomb)\"]}}]},\"Cost\":11.0,\"Action 8\":{\"Names\":\"move\",\"Parameters\":[\"rooma\","
+            + "\"Parameters\":[\"ball1\",\"roomb\",\"left\"],\"Position\":4,\"Preconditions\":{\"Negatives\":[],"
+            + "\"Positives\":[\"(at-robby roomb)\",\"(carry ball1 left)\"]},"
+            + "\"Condition_Expressions\":[{\"Condition\":{\"Negatives\":[],\"Positives\":[]},"
+            + "\"Effect\":{\"Negatives\":[\"(carry ball1 left)\"],\"Positives\":[\"(free left)\","
+            + "\"(at ball1 roomb)\"]}}]},\"Makespan\":11.0,\"Action 3\":{\"Names\":\"drop\",\"Parameters\":[\"ball4\","
+            + "\"roomb\",\"right\"],\"Position\":3,\"Preconditions\":{\"Negatives\":[],"
+            + "\"Positives\":[\"(at-robby roomb)\",\"(carry ball4 right)\"]},"
+            + "\"Condition_Expressions\":[{\"Condition\":{\"Negatives\":[],\"Positives\":[]},"
+            + "\"Effect\":{\"Negatives\":[\"(carry ball4 right)\"],\"Positives\":[\"(free right)\","
+            + "\"(at ball4 roomb)\"]}}]},\"Action 2\":{\"Names\":\"move\",\"Parameters\":[\"rooma\",\"roomb\"],"
+            + "\"Position\":2,\"Preconditions\":{\"Negatives\":[],\"Positives\":[\"(at-robby rooma)\"]},"
+            + "\"Condition_Expressions\":[{\"Condition\":{\"Negatives\":[],\"Positives\":[]},"
+            + "\"Effect\":{\"Negatives\":[\"(at-robby rooma)\"],\"Positives\":[\"(at-robby roomb)\"]}}]},"
+            + "\"Action 10\":{\"Names\":\"drop\",\"Parameters\":[\"ball2\",\"roomb\",\"right\"],\"Position\":10,"
+            + "\"Preconditions\":{\"Negatives\":[],\"Positives\":[\"(at-robby roomb)\",\"(carry ball2 right)\"]},"
+            + "\"Condition_Expressions\":[{\"Condition\":{\"Negatives\":[],\"Positives\":[]},"
+            + "\"Effect\":{\"Negatives\":[\"(carry ball2 right)\"],\"Positives\":[\"(free right)\","
+            + "\"(at ball2 roomb)\"]}}]},\"Action 9\":{\"Names\":\"drop\",\"Parameters\":[\"ball3\",\"roomb\","
+            + "\"left\"],\"Position\":9,\"Preconditions\":{\"Negatives\":[],\"Positives\":[\"(at-robby roomb)\","
+            + "\"(carry ball3 left)\"]},\"Condition_Expressions\":[{\"Condition\":{\"Negatives\":[],\"Positives\":[]},"
+            + "\"Effect\":{\"Negatives\":[\"(carry ball3 left)\"],\"Positives\":[\"(free left)\","
+            + "\"(at ball3 roomb)\"]}}]},\"Cost\":11.0,\"Action 8\":{\"Names\":\"move\",\"Parameters\":[\"rooma\","
             + "\"roomb\"],\"Position\":8,\"Preconditions\":{\"Negatives\":[],\"Positives\":[\"(at-robby rooma)\"]},"
-            + "\"Condition_Expressions\":[{\"Condition\":{\"Negatives\":[],\"Positives\":[]},\"Effect\":{\"Negatives\""
-            + ":[\"(at-robby rooma)\"],\"Positives\":[\"(at-robby roomb)\"]}}]},\"Action 7\":{\"Names\":\"pick\","
-            + "\"Parameters\":[\"ball3\",\"rooma\",\"left\"],\"Position\":7,\"Preconditions\":{\"Negatives\":[],"
-            + "\"Positives\":[\"(at-robby rooma)\",\"(free left)\",\"(at ball3 rooma)\"]},\"Condition_Expressions\""
-            + ":[{\"Condition\":{\"Negatives\":[],\"Positives\":[]},\"Effect\":{\"Negatives\":[\"(free left)\","
-            + "\"(at ball3 rooma)\"],\"Positives\":[\"(carry ball3 left)\"]}}]},\"Action 6\":{\"Names\":\"pick\","
-            + "\"Parameters\":[\"ball1\",\"rooma\",\"right\"],\"Position\":6,\"Preconditions\":{\"Negatives\":[],"
-            + "\"Positives\":[\"(at-robby rooma)\",\"(free right)\",\"(at ball1 rooma)\"]},\"Condition_Expressions\":"
-            + "[{\"Condition\":{\"Negatives\":[],\"Positives\":[]},\"Effect\":{\"Negatives\":[\"(free right)\","
-            + "\"(at ball1 rooma)\"],\"Positives\":[\"(carry ball1 right)\"]}}]},\"timeSpecifiers\""
-            + ":[0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10]}";
+            + "\"Condition_Expressions\":[{\"Condition\":{\"Negatives\":[],\"Positives\":[]},"
+            + "\"Effect\":{\"Negatives\":[\"(at-robby rooma)\"],\"Positives\":[\"(at-robby roomb)\"]}}]},"
+            + "\"Action 7\":{\"Names\":\"pick\",\"Parameters\":[\"ball2\",\"rooma\",\"right\"],\"Position\":7,"
+            + "\"Preconditions\":{\"Negatives\":[],\"Positives\":[\"(at-robby rooma)\",\"(free right)\","
+            + "\"(at ball2 rooma)\"]},\"Condition_Expressions\":[{\"Condition\":{\"Negatives\":[],\"Positives\":[]},"
+            + "\"Effect\":{\"Negatives\":[\"(free right)\",\"(at ball2 rooma)\"],"
+            + "\"Positives\":[\"(carry ball2 right)\"]}}]},\"Action 6\":{\"Names\":\"pick\",\"Parameters\":[\"ball3\","
+            + "\"rooma\",\"left\"],\"Position\":6,\"Preconditions\":{\"Negatives\":[],"
+            + "\"Positives\":[\"(at-robby rooma)\",\"(free left)\",\"(at ball3 rooma)\"]},"
+            + "\"Condition_Expressions\":[{\"Condition\":{\"Negatives\":[],\"Positives\":[]},"
+            + "\"Effect\":{\"Negatives\":[\"(free left)\",\"(at ball3 rooma)\"],"
+            + "\"Positives\":[\"(carry ball3 left)\"]}}]},\"timeSpecifiers\":[0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10]}";
 
 }
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2016 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with PDDL4J.  If not, see
+ * <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.test.encoding;
+
+import fr.uga.pddl4j.encoding.CodedProblem;
+import fr.uga.pddl4j.encoding.CompiledDomain;
+import fr.uga.pddl4j.encoding.CompiledDomainCache;
+import fr.uga.pddl4j.encoding.Encoder;
+import fr.uga.pddl4j.encoding.MappedProblem;
+import fr.uga.pddl4j.parser.Parser;
+import fr.uga.pddl4j.planners.ProblemFactory;
+import fr.uga.pddl4j.test.Tools;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+/**
+ * Implements the <tt>MappedProblemTest</tt> of the PDD4L library. The problems read by <tt>MappedProblem</tt> are
+ * compared to the problems parsed.
+ * Domain and problems used: Blocksworld domain and p01 to p04 problems.
+ *
+ * @author D. Pellier
+ * @version 0.1 - 17.10.2026
+ */
+public class MappedProblemTest {
+
+    /**
+     * The temporary folder used to write the problems.
+     */
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Method that tests that the problems read are encoded as the problems parsed.
+     *
+     * @throws IOException if a problem cannot be read.
+     */
+    @Test
+    public void testRead() throws IOException {
+        final CompiledDomain domain = MappedProblemTest.compile();
+        for (String problem : Tools.ENCODING_PROBLEMS) {
+            final MappedProblem mapped = MappedProblem.read(domain, new File(problem));
+            Assert.assertNotNull(mapped);
+            final CodedProblem expected = Tools.generateCodedProblem(Tools.ENCODING_DOMAIN, problem);
+            final CodedProblem actual = Encoder.encode(domain, mapped);
+            Tools.assertEquals(expected, actual);
+            // The encoding context of the problem read is reused only by the first encoding
+            Tools.assertEquals(expected, Encoder.encode(domain, mapped));
+        }
+    }
+
+    /**
+     * Method that tests that the problems that cannot be read are left to the parser.
+     *
+     * @throws IOException if a problem cannot be written.
+     */
+    @Test
+    public void testFallback() throws IOException {
+        final CompiledDomain domain = MappedProblemTest.compile();
+        final String header = "(define (problem p) (:domain blocks) (:objects a b - block)\n";
+        // A metric is not read
+        Assert.assertNull(MappedProblem.read(domain, this.write(header
+            + "(:init (clear a)) (:goal (on a b)) (:metric minimize (total-time)))")));
+        // An undeclared object is reported by the parser
+        Assert.assertNull(MappedProblem.read(domain, this.write(header
+            + "(:init (clear c)) (:goal (on a b)))")));
+        // A predicate used with a wrong arity is reported by the parser
+        Assert.assertNull(MappedProblem.read(domain, this.write(header
+            + "(:init (clear a b)) (:goal (on a b)))")));
+        // A negative goal requires :negative-preconditions
+        Assert.assertNull(MappedProblem.read(domain, this.write(header
+            + "(:init (clear a)) (:goal (not (on a b))))")));
+        Assert.assertNotNull(MappedProblem.read(domain, this.write(header
+            + "; comment\n(:INIT (Clear A)) (:goal (and (on a b) (clear a))))")));
+    }
+
+    /**
+     * Method that tests that the problem factory reads the problems of the compiled domains of its cache.
+     *
+     * @throws IOException if a problem cannot be parsed.
+     */
+    @Test
+    public void testFactory() throws IOException {
+        final CompiledDomainCache cache = new CompiledDomainCache();
+        final ProblemFactory factory = new ProblemFactory();
+        factory.setDomainCache(cache);
+        for (String problem : Tools.ENCODING_PROBLEMS) {
+            Assert.assertTrue(factory.parse(Tools.ENCODING_DOMAIN, problem).isEmpty());
+            Tools.assertEquals(Tools.generateCodedProblem(Tools.ENCODING_DOMAIN, problem), factory.encode());
+        }
+    }
+
+    /**
+     * Compiles the domain.
+     *
+     * @return the compiled domain.
+     * @throws IOException if the domain cannot be parsed.
+     */
+    private static CompiledDomain compile() throws IOException {
+        final Parser parser = new Parser();
+        parser.parseDomain(Tools.ENCODING_DOMAIN);
+        Assert.assertTrue(parser.getErrorManager().isEmpty());
+        return new CompiledDomain(parser.getDomain());
+    }
+
+    /**
+     * Writes a problem in a temporary file.
+     *
+     * @param problem the problem.
+     * @return the file.
+     * @throws IOException if the file cannot be written.
+     */
+    private File write(final String problem) throws IOException {
+        final File file = this.folder.newFile();
+        Files.write(file.toPath(), problem.getBytes(StandardCharsets.US_ASCII));
+        return file;
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2016 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with PDDL4J.  If not, see
+ * <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.test.heuristics;
+
+import fr.uga.pddl4j.encoding.CodedProblem;
+import fr.uga.pddl4j.heuristics.relaxation.CachingHeuristic;
+import fr.uga.pddl4j.heuristics.relaxation.Heuristic;
+import fr.uga.pddl4j.heuristics.relaxation.HeuristicToolKit;
+import fr.uga.pddl4j.test.Tools;
+import fr.uga.pddl4j.util.BitExp;
+import fr.uga.pddl4j.util.BitOp;
+import fr.uga.pddl4j.util.BitState;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Implements the <tt>CachingHeuristicTest</tt> of the PDD4L library. The values of a cached heuristic are compared
+ * to the values of the heuristic on all the reachable states of a problem. Domain and problem used: Blocksworld
+ * domain and p01 problem.
+ *
+ * @author D. Pellier
+ * @version 0.1 - 17.10.2026
+ */
+public class CachingHeuristicTest {
+
+    /**
+     * The path to the domain file.
+     */
+    private String domainFile = "src/test/resources/encoding/domain.pddl";
+
+    /**
+     * The path to the problem file.
+     */
+    private String problemFile = "src/test/resources/encoding/p01.pddl";
+
+    /**
+     * Method that tests that the second estimation of each state is found in the cache.
+     */
+    @Test
+    public void testEstimate_hits() {
+        final CodedProblem problem = Tools.generateCodedProblem(domainFile, problemFile);
+        final List<BitState> states = CachingHeuristicTest.reachableStates(problem);
+        final Heuristic heuristic = HeuristicToolKit.createHeuristic(Heuristic.Type.FAST_FORWARD, problem);
+        final CachingHeuristic cache = (CachingHeuristic) HeuristicToolKit.createHeuristic(
+            Heuristic.Type.FAST_FORWARD, problem, 4 * states.size());
+        for (int i = 0; i < 2; i++) {
+            for (BitState state : states) {
+                Assert.assertEquals(heuristic.estimate(state, problem.getGoal()),
+                    cache.estimate(new BitState(state), problem.getGoal()));
+            }
+        }
+        Assert.assertEquals(states.size(), cache.getMisses());
+        Assert.assertEquals(states.size(), cache.getHits());
+    }
+
+    /**
+     * Method that tests that the values are still exact when the cache is smaller than the number of states.
+     */
+    @Test
+    public void testEstimate_eviction() {
+        final CodedProblem problem = Tools.generateCodedProblem(domainFile, problemFile);
+        final List<BitState> states = CachingHeuristicTest.reachableStates(problem);
+        final Heuristic heuristic = HeuristicToolKit.createHeuristic(Heuristic.Type.SUM, problem);
+        final CachingHeuristic cache = new CachingHeuristic(
+            HeuristicToolKit.createHeuristic(Heuristic.Type.SUM, problem), CachingHeuristic.WAYS);
+        for (int i = 0; i < 3; i++) {
+            for (BitState state : states) {
+                Assert.assertEquals(heuristic.estimate(state, problem.getGoal()),
+                    cache.estimate(state, problem.getGoal()));
+                // The last state estimated is always found in the cache
+                Assert.assertEquals(heuristic.estimate(state, problem.getGoal()),
+                    cache.estimate(state, problem.getGoal()));
+            }
+        }
+        Assert.assertEquals(CachingHeuristic.WAYS, cache.getCapacity());
+        Assert.assertTrue(cache.getMisses() > states.size());
+        Assert.assertTrue(cache.getHits() >= 3 * states.size());
+    }
+
+    /**
+     * Method that tests that the cache is cleared when the goal changes.
+     */
+    @Test
+    public void testEstimate_goal() {
+        final CodedProblem problem = Tools.generateCodedProblem(domainFile, problemFile);
+        final Heuristic heuristic = HeuristicToolKit.createHeuristic(Heuristic.Type.MAX, problem);
+        final CachingHeuristic cache = new CachingHeuristic(
+            HeuristicToolKit.createHeuristic(Heuristic.Type.MAX, problem), CachingHeuristic.DEFAULT_CAPACITY);
+        final BitState init = new BitState(problem.getInit());
+        final BitExp goal = new BitExp();
+        for (int p = 0; p < problem.getRelevantFacts().size(); p++) {
+            if (!init.get(p)) {
+                goal.getPositive().set(p);
+                Assert.assertEquals(heuristic.estimate(init, goal), cache.estimate(init, goal));
+                goal.getPositive().clear(p);
+            }
+        }
+        Assert.assertEquals(0, cache.getHits());
+    }
+
+    /**
+     * Method that tests that a capacity that cannot be rounded up to a power of two is rejected.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testCapacity() {
+        final CodedProblem problem = Tools.generateCodedProblem(domainFile, problemFile);
+        new CachingHeuristic(HeuristicToolKit.createHeuristic(Heuristic.Type.MAX, problem),
+            CachingHeuristic.MAXIMUM_CAPACITY + 1);
+    }
+
+    /**
+     * Returns the reachable states of a problem.
+     *
+     * @param problem the problem.
+     * @return the reachable states of the problem.
+     */
+    private static List<BitState> reachableStates(final CodedProblem problem) {
+        final List<BitOp> operators = problem.getOperators();
+        final Set<BitState> visited = new HashSet<>();
+        final List<BitState> states = new ArrayList<>();
+        final LinkedList<BitState> open = new LinkedList<>();
+        final BitState init = new BitState(problem.getInit());
+        visited.add(init);
+        open.add(init);
+        while (!open.isEmpty()) {
+            final BitState state = open.poll();
+            states.add(state);
+            for (int index : problem.getSuccessorGenerator().getApplicableOperators(state)) {
+                final BitState next = new BitState(state);
+                next.apply(operators.get(index).getCondEffects().get(0).getEffects());
+                if (visited.add(next)) {
+                    open.add(next);
+                }
+            }
+        }
+        return states;
+    }
+}
@@ -0,0 +1,300 @@
+/*
+ * Copyright (c) 2016 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with PDDL4J.  If not, see
+ * <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.test.heuristics;
+
+import fr.uga.pddl4j.encoding.CodedProblem;
+import fr.uga.pddl4j.heuristics.relaxation.GraphHeuristic;
+import fr.uga.pddl4j.heuristics.relaxation.Heuristic;
+import fr.uga.pddl4j.heuristics.relaxation.HeuristicToolKit;
+import fr.uga.pddl4j.test.Tools;
+import fr.uga.pddl4j.util.BitExp;
+import fr.uga.pddl4j.util.BitOp;
+import fr.uga.pddl4j.util.BitState;
+import fr.uga.pddl4j.util.BitVector;
+import fr.uga.pddl4j.util.CondBitExp;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implements the <tt>GraphHeuristicTest</tt> of the PDD4L library. The heuristics based on the planning graph
+ * with mutual exclusions are computed on all the reachable states of a problem and compared to the exact distance
+ * to the goal computed by a breadth first search. The composite heuristics are compared to the values of their
+ * components. The dependences between the operators are compared to a pairwise computation. Domain and problem
+ * used: Blocksworld domain and p01 problem, and the first problems of some benchmark domains for the dependences.
+ *
+ * @author D. Pellier
+ * @version 0.1 - 17.10.2026
+ */
+public class GraphHeuristicTest {
+
+    /**
+     * The path to the domain file.
+     */
+    private String domainFile = "src/test/resources/encoding/domain.pddl";
+
+    /**
+     * The path to the problem file.
+     */
+    private String problemFile = "src/test/resources/encoding/p01.pddl";
+
+    /**
+     * The problems used to test the dependences: the domain file followed by the problem file.
+     */
+    private static final String[][] PROBLEMS = {
+        {"src/test/resources/encoding/domain.pddl", "src/test/resources/encoding/p01.pddl"},
+        {Tools.BENCH_DIR + "ipc1/gripper/domain.pddl", Tools.BENCH_DIR + "ipc1/gripper/p01.pddl"},
+        {Tools.BENCH_DIR + "ipc1/logistics/domain.pddl", Tools.BENCH_DIR + "ipc1/logistics/p01.pddl"},
+        {Tools.BENCH_DIR + "ipc1/mystery/domain.pddl", Tools.BENCH_DIR + "ipc1/mystery/p01.pddl"},
+        {Tools.BENCH_DIR + "ipc3/depot/domain.pddl", Tools.BENCH_DIR + "ipc3/depot/p01.pddl"},
+    };
+
+    /**
+     * Method that tests that the set level heuristic is admissible and that the goal is reached in the planning
+     * graph of every state from which the goal is reachable.
+     */
+    @Test
+    public void testEstimate_admissible() {
+        final CodedProblem problem = Tools.generateCodedProblem(domainFile, problemFile);
+        final Map<BitState, Integer> distances = GraphHeuristicTest.distances(problem);
+        final Heuristic setLevel = HeuristicToolKit.createHeuristic(Heuristic.Type.SET_LEVEL, problem);
+        final Heuristic sumMutex = HeuristicToolKit.createHeuristic(Heuristic.Type.SUM_MUTEX, problem);
+        for (Map.Entry<BitState, Integer> e : distances.entrySet()) {
+            final int h = setLevel.estimate(e.getKey(), problem.getGoal());
+            Assert.assertTrue(e.getKey() + ": " + h + " > " + e.getValue(), h <= e.getValue());
+            Assert.assertEquals(e.getValue() == 0, h == 0);
+            Assert.assertNotEquals(Integer.MAX_VALUE, sumMutex.estimate(e.getKey(), problem.getGoal()));
+        }
+    }
+
+    /**
+     * Method that tests that the value of a state does not depend on the states previously estimated.
+     */
+    @Test
+    public void testEstimate_reused() {
+        final CodedProblem problem = Tools.generateCodedProblem(domainFile, problemFile);
+        final List<BitState> states = new ArrayList<>(GraphHeuristicTest.distances(problem).keySet());
+        final Heuristic reused = HeuristicToolKit.createHeuristic(Heuristic.Type.SUM_MUTEX, problem);
+        for (BitState state : states) {
+            final Heuristic fresh = HeuristicToolKit.createHeuristic(Heuristic.Type.SUM_MUTEX, problem);
+            Assert.assertEquals(fresh.estimate(state, problem.getGoal()), reused.estimate(state, problem.getGoal()));
+        }
+    }
+
+    /**
+     * Method that tests that the composite heuristics combine the values of their components.
+     */
+    @Test
+    public void testEstimate_composite() {
+        final CodedProblem problem = Tools.generateCodedProblem(domainFile, problemFile);
+        final Heuristic combo = HeuristicToolKit.createHeuristic(Heuristic.Type.COMBO, problem);
+        final Heuristic adjustedSum2M = HeuristicToolKit.createHeuristic(Heuristic.Type.AJUSTED_SUM2M, problem);
+        final Heuristic setLevel = HeuristicToolKit.createHeuristic(Heuristic.Type.SET_LEVEL, problem);
+        final Heuristic sum = HeuristicToolKit.createHeuristic(Heuristic.Type.SUM, problem);
+        final Heuristic max = HeuristicToolKit.createHeuristic(Heuristic.Type.MAX, problem);
+        final Heuristic ff = HeuristicToolKit.createHeuristic(Heuristic.Type.FAST_FORWARD, problem);
+        for (BitState state : GraphHeuristicTest.distances(problem).keySet()) {
+            final BitExp goal = problem.getGoal();
+            final int delta = setLevel.estimate(state, goal);
+            Assert.assertEquals(sum.estimate(state, goal) + delta, combo.estimate(state, goal));
+            Assert.assertEquals(ff.estimate(state, goal) + delta - max.estimate(state, goal),
+                adjustedSum2M.estimate(state, goal));
+        }
+    }
+
+    /**
+     * Method that tests that the dependences between the operators computed from the index of the propositions are
+     * the dependences computed by comparing the preconditions and the effects of every pair of operators.
+     */
+    @Test
+    public void testOperatorsDependences() {
+        for (String[] pb : GraphHeuristicTest.PROBLEMS) {
+            final CodedProblem problem = Tools.generateCodedProblem(pb[0], pb[1]);
+            final Dependences dependences = new Dependences(problem);
+            final int offset = problem.getRelevantFacts().size();
+            final List<BitVector[]> operators = GraphHeuristicTest.operators(problem);
+            for (int i = 0; i < operators.size(); i++) {
+                final BitVector[] oi = operators.get(i);
+                for (int j = 0; j < operators.size(); j++) {
+                    if (i != j) {
+                        final BitVector[] oj = operators.get(j);
+                        final boolean expected = !GraphHeuristicTest.areConsistent(oi[1], oj[1], offset)
+                            || !GraphHeuristicTest.areConsistent(oi[1], oj[0], offset)
+                            || !GraphHeuristicTest.areConsistent(oj[1], oi[0], offset)
+                            || !GraphHeuristicTest.areConsistent(oi[0], oj[0], offset);
+                        Assert.assertEquals(pb[1] + ": " + i + ", " + j, expected, dependences.dependent(i, j));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the preconditions and the effects of the operators of the planning graph of a problem: the noop
+     * operators of the positive and the negative propositions followed by an operator for each conditional effect.
+     * The negative propositions are shifted by the number of relevant facts.
+     *
+     * @param problem the problem.
+     * @return the preconditions and the effects of the operators.
+     */
+    private static List<BitVector[]> operators(final CodedProblem problem) {
+        final int offset = problem.getRelevantFacts().size();
+        final List<BitVector[]> operators = new ArrayList<>();
+        for (int p = 0; p < 2 * offset; p++) {
+            final BitVector noop = new BitVector();
+            noop.set(p);
+            operators.add(new BitVector[] {noop, noop});
+        }
+        for (BitOp op : problem.getOperators()) {
+            for (CondBitExp effect : op.getCondEffects()) {
+                final BitVector precond = GraphHeuristicTest.propositions(op.getPreconditions(), offset);
+                precond.or(GraphHeuristicTest.propositions(effect.getCondition(), offset));
+                operators.add(new BitVector[] {precond, GraphHeuristicTest.propositions(effect.getEffects(), offset)});
+            }
+        }
+        return operators;
+    }
+
+    /**
+     * Returns the propositions of an expression. The negative propositions are shifted by an offset.
+     *
+     * @param exp    the expression.
+     * @param offset the offset of the negative propositions.
+     * @return the propositions of the expression.
+     */
+    private static BitVector propositions(final BitExp exp, final int offset) {
+        final BitVector props = new BitVector(exp.getPositive());
+        final BitVector neg = exp.getNegative();
+        for (int p = neg.nextSetBit(0); p >= 0; p = neg.nextSetBit(p + 1)) {
+            props.set(p + offset);
+        }
+        return props;
+    }
+
+    /**
+     * Returns <code>true</code> if the union of two sets of propositions does not contain a proposition and its
+     * opposite.
+     *
+     * @param s1     the first set of propositions.
+     * @param s2     the second set of propositions.
+     * @param offset the offset of the negative propositions.
+     * @return <code>true</code> if the propositions are consistent; <code>false</code> otherwise.
+     */
+    private static boolean areConsistent(final BitVector s1, final BitVector s2, final int offset) {
+        final BitVector state = new BitVector(s1);
+        state.or(s2);
+        for (int p = state.nextSetBit(0); p >= 0 && p < offset; p = state.nextSetBit(p + 1)) {
+            if (state.get(p + offset)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * This class gives access to the dependences between the operators of the planning graph.
+     */
+    private static final class Dependences extends GraphHeuristic {
+
+        /**
+         * The serial version id of the class.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Creates the planning graph of a problem.
+         *
+         * @param problem the problem.
+         */
+        private Dependences(final CodedProblem problem) {
+            super(problem);
+        }
+
+        /**
+         * Returns 0: the planning graph is not expanded.
+         *
+         * @param state the state.
+         * @param goal  the goal.
+         * @return 0.
+         */
+        @Override
+        public int estimate(final BitState state, final BitExp goal) {
+            return 0;
+        }
+
+        /**
+         * Returns <code>true</code> if two operators of the planning graph are dependent.
+         *
+         * @param oi the first operator.
+         * @param oj the second operator.
+         * @return <code>true</code> if the operators are dependent; <code>false</code> otherwise.
+         */
+        private boolean dependent(final int oi, final int oj) {
+            return this.areDependent(oi, oj);
+        }
+    }
+
+    /**
+     * Returns the distance to the goal of the reachable states of a problem from which the goal is reachable.
+     *
+     * @param problem the problem.
+     * @return the distance to the goal of the states.
+     */
+    private static Map<BitState, Integer> distances(final CodedProblem problem) {
+        final List<BitOp> operators = problem.getOperators();
+        // Enumerate the reachable states and their predecessors
+        final Map<BitState, List<BitState>> predecessors = new HashMap<>();
+        final LinkedList<BitState> open = new LinkedList<>();
+        final BitState init = new BitState(problem.getInit());
+        predecessors.put(init, new ArrayList<>());
+        open.add(init);
+        while (!open.isEmpty()) {
+            final BitState state = open.poll();
+            for (int index : problem.getSuccessorGenerator().getApplicableOperators(state)) {
+                final BitState next = new BitState(state);
+                next.apply(operators.get(index).getCondEffects().get(0).getEffects());
+                if (!predecessors.containsKey(next)) {
+                    predecessors.put(next, new ArrayList<>());
+                    open.add(next);
+                }
+                predecessors.get(next).add(state);
+            }
+        }
+        // Compute the distances backward from the goal states
+        final Map<BitState, Integer> distances = new HashMap<>();
+        for (BitState state : predecessors.keySet()) {
+            if (state.satisfy(problem.getGoal())) {
+                distances.put(state, 0);
+                open.add(state);
+            }
+        }
+        while (!open.isEmpty()) {
+            final BitState state = open.poll();
+            for (BitState previous : predecessors.get(state)) {
+                if (!distances.containsKey(previous)) {
+                    distances.put(previous, distances.get(state) + 1);
+                    open.add(previous);
+                }
+            }
+        }
+        return distances;
+    }
+}
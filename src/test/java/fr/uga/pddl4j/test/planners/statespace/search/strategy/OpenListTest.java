@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2016 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with PDDL4J.  If not, see
+ * <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.test.planners.statespace.search.strategy;
+
+import fr.uga.pddl4j.planners.statespace.search.strategy.BucketOpenList;
+import fr.uga.pddl4j.planners.statespace.search.strategy.HeapOpenList;
+import fr.uga.pddl4j.planners.statespace.search.strategy.OpenList;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * Implements the <tt>OpenListTest</tt> of the PDD4L library. The ids returned by the bucket queue are compared
+ * to the ids returned by the binary heap for random integer keys.
+ *
+ * @author D. Pellier
+ * @version 0.1 - 17.10.2026
+ */
+public class OpenListTest {
+
+    /**
+     * Method that tests the FIFO tie-breaking policy.
+     */
+    @Test
+    public void testFifo() {
+        this.compare(OpenList.TieBreaking.FIFO);
+    }
+
+    /**
+     * Method that tests the LIFO tie-breaking policy.
+     */
+    @Test
+    public void testLifo() {
+        this.compare(OpenList.TieBreaking.LIFO);
+    }
+
+    /**
+     * Method that tests the keys stored in the overflow heap of the bucket queue.
+     */
+    @Test
+    public void testOverflow() {
+        final OpenList open = new BucketOpenList(OpenList.TieBreaking.FIFO);
+        open.add(0, Integer.MAX_VALUE, Integer.MAX_VALUE);
+        open.add(1, 3, Integer.MAX_VALUE);
+        open.add(2, 3, 1);
+        Assert.assertEquals(3, open.size());
+        Assert.assertEquals(2, open.poll());
+        Assert.assertEquals(1, open.poll());
+        Assert.assertEquals(0, open.poll());
+        Assert.assertTrue(open.isEmpty());
+    }
+
+    /**
+     * Adds and removes random ids to a bucket queue and a binary heap and checks that the ids are returned in
+     * the same order.
+     *
+     * @param tieBreaking the tie-breaking policy.
+     */
+    private void compare(final OpenList.TieBreaking tieBreaking) {
+        final Random random = new Random(0);
+        final OpenList bucket = new BucketOpenList(tieBreaking);
+        final OpenList heap = new HeapOpenList(tieBreaking);
+        for (int i = 0; i < 100000; i++) {
+            if (random.nextInt(3) > 0 || heap.isEmpty()) {
+                final int primary = random.nextInt(50);
+                final int secondary = random.nextInt(10);
+                bucket.add(i, primary, secondary);
+                heap.add(i, primary, secondary);
+            } else {
+                Assert.assertEquals(heap.poll(), bucket.poll());
+            }
+            Assert.assertEquals(heap.size(), bucket.size());
+        }
+        while (!heap.isEmpty()) {
+            Assert.assertEquals(heap.poll(), bucket.poll());
+        }
+        Assert.assertTrue(bucket.isEmpty());
+    }
+}
@@ -3,18 +3,25 @@ package fr.uga.pddl4j.test.planners.statespace.search.strategy;
 import fr.uga.pddl4j.encoding.CodedProblem;
 import fr.uga.pddl4j.heuristics.relaxation.Heuristic;
 import fr.uga.pddl4j.planners.statespace.search.strategy.AStar;
+import fr.uga.pddl4j.planners.statespace.search.strategy.AnytimeAStar;
 import fr.uga.pddl4j.planners.statespace.search.strategy.BreadthFirstSearch;
 import fr.uga.pddl4j.planners.statespace.search.strategy.DepthFirstSearch;
 import fr.uga.pddl4j.planners.statespace.search.strategy.EnforcedHillClimbing;
 import fr.uga.pddl4j.planners.statespace.search.strategy.GreedyBestFirstSearch;
 import fr.uga.pddl4j.planners.statespace.search.strategy.HillClimbing;
+import fr.uga.pddl4j.planners.statespace.search.strategy.IterativeDeepeningSearch;
 import fr.uga.pddl4j.planners.statespace.search.strategy.Node;
+import fr.uga.pddl4j.planners.statespace.search.strategy.ParallelAStar;
+import fr.uga.pddl4j.planners.statespace.search.strategy.SearchBudget;
 import fr.uga.pddl4j.planners.statespace.search.strategy.StateSpaceStrategy;
 import fr.uga.pddl4j.test.Tools;
 import fr.uga.pddl4j.util.Plan;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Implements the <tt>StateSpaceStrategyTest</tt> of the PDD4L library.
  * Domain and problem used: Gripper domain and p01 problem.
@@ -62,7 +69,12 @@ public class StateSpaceStrategyTest {
     /**
      * The cost of Greedy Best First Search solution.
      */
-    private static final double GREEDY_SOLUTION_COST = 13.0;
+    private static final double GREEDY_SOLUTION_COST = 11.0;
+
+    /**
+     * The cost of the lazy Greedy Best First Search solution with preferred operators.
+     */
+    private static final double LAZY_GREEDY_SOLUTION_COST = 13.0;
 
     /**
      * The cost of Enforced Hill Climbing solution.
@@ -84,6 +96,11 @@ public class StateSpaceStrategyTest {
      */
     private static final double DEPTH_SOLUTION_COST = 41.0;
 
+    /**
+     * The cost of Iterative Deepening Search solution.
+     */
+    private static final double ITERATIVE_DEEPENING_SOLUTION_COST = 11.0;
+
     /**
      * The size of AStar solution.
      */
@@ -92,7 +109,12 @@ public class StateSpaceStrategyTest {
     /**
      * The size of Greedy Best First Search solution.
      */
-    private static final  int GREEDY_SOLUTION_SIZE = 13;
+    private static final  int GREEDY_SOLUTION_SIZE = 11;
+
+    /**
+     * The size of the lazy Greedy Best First Search solution with preferred operators.
+     */
+    private static final int LAZY_GREEDY_SOLUTION_SIZE = 13;
 
     /**
      * The size of Enforced Hill Climbing solution.
@@ -114,6 +136,11 @@ public class StateSpaceStrategyTest {
      */
     private static final int DEPTH_SOLUTION_SIZE = 41;
 
+    /**
+     * The size of Iterative Deepening Search solution.
+     */
+    private static final int ITERATIVE_DEEPENING_SOLUTION_SIZE = 11;
+
     /**
      * Method that tests solution node (cost and size) for AStar search strategy.
      */
@@ -141,6 +168,41 @@ public class StateSpaceStrategyTest {
         Assert.assertTrue(plan.size() == ASTAR_SOLUTION_SIZE);
     }
 
+    /**
+     * Method that tests solution plan (cost and size) for Parallel AStar search strategy with an admissible
+     * heuristic. The plan must be optimal.
+     */
+    @Test
+    public void testParallelAstarPlan() {
+        System.out.println("StateSpaceStrategy: Test solution plan from Parallel AStar.");
+        final CodedProblem codedProblem = Tools.generateCodedProblem(domainFile, problemFile);
+        stateSpaceStrategy = new ParallelAStar(TIMEOUT * 1000, Heuristic.Type.MAX, HEURISTIC_WEIGHT, 4);
+        final Plan plan = stateSpaceStrategy.searchPlan(codedProblem);
+        Assert.assertTrue(plan.cost() == BREADTH_SOLUTION_COST);
+        Assert.assertTrue(plan.size() == BREADTH_SOLUTION_SIZE);
+    }
+
+    /**
+     * Method that tests the plans found by the Anytime AStar search strategy with an admissible heuristic. The
+     * cost of the plans notified must decrease and the last plan must be optimal.
+     */
+    @Test
+    public void testAnytimeAstarPlan() {
+        System.out.println("StateSpaceStrategy: Test solution plans from Anytime AStar.");
+        final CodedProblem codedProblem = Tools.generateCodedProblem(domainFile, problemFile);
+        final AnytimeAStar anytime = new AnytimeAStar(TIMEOUT * 1000, Heuristic.Type.MAX, HEURISTIC_WEIGHT);
+        final List<Double> costs = new ArrayList<>();
+        anytime.setPlanListener((p, w) -> costs.add(p.cost()));
+        final Plan plan = anytime.searchPlan(codedProblem);
+        Assert.assertTrue(plan.cost() == BREADTH_SOLUTION_COST);
+        Assert.assertTrue(plan.size() == BREADTH_SOLUTION_SIZE);
+        Assert.assertFalse(costs.isEmpty());
+        for (int i = 1; i < costs.size(); i++) {
+            Assert.assertTrue(costs.get(i) < costs.get(i - 1));
+        }
+        Assert.assertTrue(costs.get(costs.size() - 1) == plan.cost());
+    }
+
     /**
      * Method that tests solution node (cost and size) for Greedy Best First Search search strategy.
      */
@@ -168,6 +230,24 @@ public class StateSpaceStrategyTest {
         Assert.assertTrue(plan.size() == GREEDY_SOLUTION_SIZE);
     }
 
+    /**
+     * Method that tests solution plan (cost and size) for Greedy Best First Search search strategy with lazy
+     * evaluation and preferred operators.
+     */
+    @Test
+    public void testLazyGreedyPlan() {
+        System.out.println("StateSpaceStrategy: Test solution plan from lazy Greedy Best First Search.");
+        final CodedProblem codedProblem = Tools.generateCodedProblem(domainFile, problemFile);
+        final GreedyBestFirstSearch greedy = new GreedyBestFirstSearch(TIMEOUT * 1000, HEURISTIC_TYPE,
+            HEURISTIC_WEIGHT);
+        greedy.setLazy(true);
+        greedy.setPreferredOperators(true);
+        final Plan plan = greedy.searchPlan(codedProblem);
+        Assert.assertTrue(plan.cost() == LAZY_GREEDY_SOLUTION_COST);
+        Assert.assertTrue(plan.size() == LAZY_GREEDY_SOLUTION_SIZE);
+        Assert.assertTrue(greedy.getExploredNodes() < greedy.getCreatedNodes());
+    }
+
     /**
      * Method that tests solution node (cost and size) for Enforced Hill Climbing search strategy.
      */
@@ -195,6 +275,22 @@ public class StateSpaceStrategyTest {
         Assert.assertTrue(plan.size() == ENFORCED_SOLUTION_SIZE);
     }
 
+    /**
+     * Method that tests solution plan (cost and size) for Enforced Hill Climbing search strategy with helpful
+     * actions.
+     */
+    @Test
+    public void testEnforcedHelpfulPlan() {
+        System.out.println("StateSpaceStrategy: Test solution plan from Enforced Hill Climbing with helpful actions.");
+        final CodedProblem codedProblem = Tools.generateCodedProblem(domainFile, problemFile);
+        final EnforcedHillClimbing enforced = new EnforcedHillClimbing(TIMEOUT * 1000, HEURISTIC_TYPE,
+            HEURISTIC_WEIGHT);
+        enforced.setHelpfulActions(true);
+        final Plan plan = enforced.searchPlan(codedProblem);
+        Assert.assertTrue(plan.cost() == ENFORCED_SOLUTION_COST);
+        Assert.assertTrue(plan.size() == ENFORCED_SOLUTION_SIZE);
+    }
+
     /**
      * Method that tests solution node (cost and size) for Hill Climbing search strategy.
      */
@@ -222,6 +318,90 @@ public class StateSpaceStrategyTest {
         Assert.assertTrue(plan.size() == HILL_SOLUTION_SIZE);
     }
 
+    /**
+     * Method that tests that the search strategies report the memory they used without the memory agent.
+     */
+    @Test
+    public void testMemoryUsed() {
+        System.out.println("StateSpaceStrategy: Test memory used by the search strategies.");
+        final CodedProblem codedProblem = Tools.generateCodedProblem(domainFile, problemFile);
+        final StateSpaceStrategy[] strategies = {
+            new AStar(TIMEOUT * 1000, HEURISTIC_TYPE, HEURISTIC_WEIGHT),
+            new GreedyBestFirstSearch(TIMEOUT * 1000, HEURISTIC_TYPE, HEURISTIC_WEIGHT),
+            new EnforcedHillClimbing(TIMEOUT * 1000, HEURISTIC_TYPE, HEURISTIC_WEIGHT),
+            new HillClimbing(TIMEOUT * 1000, HEURISTIC_TYPE, HEURISTIC_WEIGHT),
+        };
+        for (StateSpaceStrategy strategy : strategies) {
+            Assert.assertNotNull(strategy.searchPlan(codedProblem));
+            Assert.assertTrue(strategy.getMemoryUsed() > 0);
+        }
+    }
+
+    /**
+     * Method that tests that the search strategies stop when their budget is exhausted.
+     */
+    @Test
+    public void testSearchBudget() {
+        System.out.println("StateSpaceStrategy: Test the budget of the search strategies.");
+        final CodedProblem codedProblem = Tools.generateCodedProblem(domainFile, problemFile);
+        final StateSpaceStrategy[] strategies = {
+            new AStar(TIMEOUT * 1000, HEURISTIC_TYPE, HEURISTIC_WEIGHT),
+            new AnytimeAStar(TIMEOUT * 1000, HEURISTIC_TYPE, HEURISTIC_WEIGHT),
+            new ParallelAStar(TIMEOUT * 1000, HEURISTIC_TYPE, HEURISTIC_WEIGHT, 2),
+            new GreedyBestFirstSearch(TIMEOUT * 1000, HEURISTIC_TYPE, HEURISTIC_WEIGHT),
+            new EnforcedHillClimbing(TIMEOUT * 1000, HEURISTIC_TYPE, HEURISTIC_WEIGHT),
+            new HillClimbing(TIMEOUT * 1000, HEURISTIC_TYPE, HEURISTIC_WEIGHT),
+            new BreadthFirstSearch(TIMEOUT * 1000),
+            new DepthFirstSearch(TIMEOUT * 1000),
+            new IterativeDeepeningSearch(TIMEOUT * 1000),
+        };
+        for (StateSpaceStrategy strategy : strategies) {
+            final SearchBudget cancelled = new SearchBudget();
+            cancelled.cancel();
+            Assert.assertNull(strategy.searchPlan(codedProblem, cancelled));
+            Assert.assertEquals(SearchBudget.Status.CANCELLED, cancelled.getStatus());
+            final SearchBudget expired = new SearchBudget(0);
+            Assert.assertNull(strategy.searchPlan(codedProblem, expired));
+            Assert.assertEquals(SearchBudget.Status.TIMEOUT, expired.getStatus());
+            Assert.assertNotNull(strategy.searchPlan(codedProblem, new SearchBudget()));
+        }
+        // An anytime search cancelled after its first plan returns this plan
+        final AnytimeAStar anytime = new AnytimeAStar(TIMEOUT * 1000, HEURISTIC_TYPE, HEURISTIC_WEIGHT);
+        final SearchBudget budget = new SearchBudget();
+        final List<Double> costs = new ArrayList<>();
+        anytime.setPlanListener((p, w) -> {
+            costs.add(p.cost());
+            budget.cancel();
+        });
+        final Plan plan = anytime.searchPlan(codedProblem, budget);
+        Assert.assertEquals(SearchBudget.Status.CANCELLED, budget.getStatus());
+        Assert.assertEquals(1, costs.size());
+        Assert.assertTrue(plan.cost() == costs.get(0));
+        Assert.assertTrue(anytime.getExploredNodes() > 0);
+    }
+
+    /**
+     * Method that tests that the CPU time of a budget is the CPU time of the threads that check it and not the CPU
+     * time of the thread that created it.
+     *
+     * @throws InterruptedException if the test is interrupted.
+     */
+    @Test
+    public void testSearchBudgetCpuTime() throws InterruptedException {
+        System.out.println("StateSpaceStrategy: Test the CPU time of a budget checked by another thread.");
+        final SearchBudget budget = new SearchBudget(TIMEOUT * 1000);
+        budget.setCpuTimeout(100);
+        final Thread worker = new Thread(() -> {
+            while (!budget.isExhausted()) {
+                // Burns CPU time until the budget is exhausted
+                Thread.yield();
+            }
+        });
+        worker.start();
+        worker.join();
+        Assert.assertEquals(SearchBudget.Status.CPU_TIMEOUT, budget.getStatus());
+    }
+
     /**
      * Method that tests solution node (cost and size) for Breadth First Search search strategy.
      */
@@ -275,4 +455,31 @@ public class StateSpaceStrategyTest {
         Assert.assertTrue(plan.cost() == DEPTH_SOLUTION_COST);
         Assert.assertTrue(plan.size() == DEPTH_SOLUTION_SIZE);
     }
+
+    /**
+     * Method that tests solution node (cost and depth) for Iterative Deepening Search search strategy.
+     */
+    @Test
+    public void testIterativeDeepeningSolutionNode() {
+        System.out.println("StateSpaceStrategy: Test solution node from Iterative Deepening Search.");
+        final CodedProblem codedProblem = Tools.generateCodedProblem(domainFile, problemFile);
+        stateSpaceStrategy = new IterativeDeepeningSearch(TIMEOUT * 1000);
+        final Node solutionNode = stateSpaceStrategy.searchSolutionNode(codedProblem);
+        Assert.assertTrue(solutionNode.getCost() == ITERATIVE_DEEPENING_SOLUTION_COST);
+        // The root node is at depth -1
+        Assert.assertEquals(ITERATIVE_DEEPENING_SOLUTION_SIZE - 1, solutionNode.getDepth());
+    }
+
+    /**
+     * Method that tests solution plan (cost and size) for Iterative Deepening Search search strategy.
+     */
+    @Test
+    public void testIterativeDeepeningPlan() {
+        System.out.println("StateSpaceStrategy: Test solution plan from Iterative Deepening Search.");
+        final CodedProblem codedProblem = Tools.generateCodedProblem(domainFile, problemFile);
+        stateSpaceStrategy = new IterativeDeepeningSearch(TIMEOUT * 1000);
+        final Plan plan = stateSpaceStrategy.searchPlan(codedProblem);
+        Assert.assertTrue(plan.cost() == ITERATIVE_DEEPENING_SOLUTION_COST);
+        Assert.assertTrue(plan.size() == ITERATIVE_DEEPENING_SOLUTION_SIZE);
+    }
 }
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2016 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with PDDL4J.  If not, see
+ * <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.test.util;
+
+import fr.uga.pddl4j.util.BitExp;
+import fr.uga.pddl4j.util.BitState;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * Implements the <tt>BitStateTest</tt> of the PDD4L library. The hash value maintained incrementally by the
+ * states is compared to the hash value of a copy of the state built from scratch.
+ *
+ * @author D. Pellier
+ * @version 0.1 - 17.10.2026
+ */
+public class BitStateTest {
+
+    /**
+     * The number of facts used in the test.
+     */
+    private static final int NB_FACTS = 100;
+
+    /**
+     * Method that tests the incremental update of the hash value when expressions are applied.
+     */
+    @Test
+    public void testApplyHash() {
+        final Random random = new Random(0);
+        final BitState state = new BitState();
+        for (int i = 0; i < 1000; i++) {
+            final BitExp exp = new BitExp();
+            for (int j = 0; j < 5; j++) {
+                exp.getPositive().set(random.nextInt(NB_FACTS));
+                exp.getNegative().set(random.nextInt(NB_FACTS));
+            }
+            state.apply(exp);
+            final BitState copy = new BitState();
+            copy.or(state);
+            Assert.assertEquals(copy.longHashCode(), state.longHashCode());
+            Assert.assertEquals(copy, state);
+            Assert.assertEquals(copy.hashCode(), state.hashCode());
+        }
+    }
+
+    /**
+     * Method that tests the hash value after single and bulk modifications of a state.
+     */
+    @Test
+    public void testModificationHash() {
+        final Random random = new Random(1);
+        final BitState state = new BitState();
+        for (int i = 0; i < 1000; i++) {
+            final int fact = random.nextInt(NB_FACTS);
+            switch (random.nextInt(5)) {
+                case 0:
+                    state.set(fact);
+                    break;
+                case 1:
+                    state.clear(fact);
+                    break;
+                case 2:
+                    state.flip(fact);
+                    break;
+                case 3:
+                    state.set(fact, random.nextBoolean());
+                    break;
+                default:
+                    state.flip(fact, Math.min(NB_FACTS, fact + 3));
+                    break;
+            }
+            final BitState copy = new BitState(state);
+            Assert.assertEquals(copy.longHashCode(), state.longHashCode());
+            final BitState other = new BitState();
+            other.or(state);
+            Assert.assertEquals(other.longHashCode(), state.longHashCode());
+        }
+        state.clear();
+        Assert.assertEquals(new BitState().longHashCode(), state.longHashCode());
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2016 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with PDDL4J.  If not, see
+ * <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.test.util;
+
+import fr.uga.pddl4j.util.BitState;
+import fr.uga.pddl4j.util.StateArena;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Implements the <tt>StateArenaTest</tt> of the PDD4L library. The ids returned by the arena are compared to
+ * the ids stored in a hash map.
+ *
+ * @author D. Pellier
+ * @version 0.1 - 17.10.2026
+ */
+public class StateArenaTest {
+
+    /**
+     * The number of facts used in the test.
+     */
+    private static final int NB_FACTS = 130;
+
+    /**
+     * Method that tests the interning of random states.
+     */
+    @Test
+    public void testIntern() {
+        final Random random = new Random(0);
+        final StateArena arena = new StateArena(NB_FACTS);
+        final Map<BitState, Integer> ids = new HashMap<>();
+        for (int i = 0; i < 50000; i++) {
+            final BitState state = new BitState();
+            for (int j = 0; j < 4; j++) {
+                state.set(random.nextInt(NB_FACTS));
+            }
+            final Integer expected = ids.get(state);
+            if (expected == null) {
+                Assert.assertEquals(-1, arena.find(state));
+                final int id = arena.intern(state);
+                Assert.assertEquals(ids.size(), id);
+                ids.put(state, id);
+            } else {
+                Assert.assertEquals(expected.intValue(), arena.find(state));
+                Assert.assertEquals(expected.intValue(), arena.intern(state));
+            }
+        }
+        Assert.assertEquals(ids.size(), arena.size());
+        for (Map.Entry<BitState, Integer> e : ids.entrySet()) {
+            Assert.assertEquals(e.getKey(), arena.getState(e.getValue()));
+        }
+    }
+}
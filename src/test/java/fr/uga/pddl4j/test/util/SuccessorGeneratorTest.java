@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2016 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with PDDL4J.  If not, see
+ * <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.test.util;
+
+import fr.uga.pddl4j.encoding.CodedProblem;
+import fr.uga.pddl4j.test.Tools;
+import fr.uga.pddl4j.util.BitExp;
+import fr.uga.pddl4j.util.BitOp;
+import fr.uga.pddl4j.util.BitState;
+import fr.uga.pddl4j.util.SuccessorGenerator;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Implements the <tt>SuccessorGeneratorTest</tt> of the PDD4L library. The operators returned by the
+ * successor generator are compared to the operators found by a linear scan of the operators.
+ * Domain and problem used: Blocksworld domain and p01 problem.
+ *
+ * @author D. Pellier
+ * @version 0.1 - 17.10.2026
+ */
+public class SuccessorGeneratorTest {
+
+    /**
+     * The path to the domain file.
+     */
+    private String domainFile = "src/test/resources/encoding/domain.pddl";
+
+    /**
+     * The path to the problem file.
+     */
+    private String problemFile = "src/test/resources/encoding/p01.pddl";
+
+    /**
+     * Method that tests the successor generator on all the reachable states of a problem.
+     */
+    @Test
+    public void testReachableStates() {
+        final CodedProblem codedProblem = Tools.generateCodedProblem(domainFile, problemFile);
+        final SuccessorGenerator generator = codedProblem.getSuccessorGenerator();
+        final List<BitOp> operators = codedProblem.getOperators();
+        final Set<BitState> visited = new HashSet<>();
+        final LinkedList<BitState> open = new LinkedList<>();
+        final BitState init = new BitState(codedProblem.getInit());
+        open.add(init);
+        visited.add(init);
+        while (!open.isEmpty()) {
+            final BitState state = open.poll();
+            final int[] applicable = generator.getApplicableOperators(state);
+            Assert.assertArrayEquals(SuccessorGeneratorTest.linearScan(operators, state), applicable);
+            for (int index : applicable) {
+                final BitState next = new BitState(state);
+                next.apply(operators.get(index).getCondEffects().get(0).getEffects());
+                if (visited.add(next)) {
+                    open.add(next);
+                }
+            }
+        }
+        Assert.assertTrue(visited.size() > 1);
+    }
+
+    /**
+     * Method that tests the successor generator with random positive and negative preconditions.
+     */
+    @Test
+    public void testRandomOperators() {
+        final Random random = new Random(0);
+        final int nbFacts = 20;
+        final List<BitOp> operators = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            final BitExp pre = new BitExp();
+            final int size = random.nextInt(4);
+            for (int j = 0; j < size; j++) {
+                if (random.nextBoolean()) {
+                    pre.getPositive().set(random.nextInt(nbFacts));
+                } else {
+                    pre.getNegative().set(random.nextInt(nbFacts));
+                }
+            }
+            operators.add(new BitOp("op" + i, 0, pre, new BitExp()));
+        }
+        final SuccessorGenerator generator = new SuccessorGenerator(operators);
+        for (int i = 0; i < 1000; i++) {
+            final BitState state = new BitState();
+            for (int p = 0; p < nbFacts; p++) {
+                if (random.nextBoolean()) {
+                    state.set(p);
+                }
+            }
+            Assert.assertArrayEquals(SuccessorGeneratorTest.linearScan(operators, state),
+                generator.getApplicableOperators(state));
+        }
+    }
+
+    /**
+     * Returns the index of the operators applicable in a state by testing all the operators.
+     *
+     * @param operators the operators.
+     * @param state     the state.
+     * @return the index of the operators applicable in the state.
+     */
+    private static int[] linearScan(final List<BitOp> operators, final BitState state) {
+        return java.util.stream.IntStream.range(0, operators.size())
+            .filter(i -> operators.get(i).isApplicable(state)).toArray();
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2016 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with PDDL4J.  If not, see
+ * <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.test.util;
+
+import fr.uga.pddl4j.util.SymbolTable;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Implements the <tt>SymbolTableTest</tt> of the PDD4L library. The ids returned by the table are compared to
+ * the indexes of the symbols in a list.
+ *
+ * @author D. Pellier
+ * @version 0.1 - 17.10.2026
+ */
+public class SymbolTableTest {
+
+    /**
+     * Method that tests the interning of random symbols.
+     */
+    @Test
+    public void testIntern() {
+        final Random random = new Random(0);
+        final SymbolTable table = new SymbolTable();
+        final List<String> symbols = new ArrayList<>();
+        for (int i = 0; i < 50000; i++) {
+            final String symbol = "s" + random.nextInt(20000);
+            final int expected = symbols.indexOf(symbol);
+            Assert.assertEquals(expected, table.indexOf(symbol));
+            final int id = table.intern(symbol);
+            if (expected == -1) {
+                Assert.assertEquals(symbols.size(), id);
+                symbols.add(symbol);
+            } else {
+                Assert.assertEquals(expected, id);
+            }
+        }
+        Assert.assertEquals(symbols, table);
+        Assert.assertFalse(table.contains("unknown"));
+    }
+
+    /**
+     * Method that tests that the symbols added twice keep their first id.
+     */
+    @Test
+    public void testAdd() {
+        final SymbolTable table = new SymbolTable(0);
+        table.add("a");
+        table.add("b");
+        table.add("b");
+        table.add("a");
+        Assert.assertEquals(4, table.size());
+        Assert.assertEquals("b", table.get(2));
+        Assert.assertEquals(0, table.indexOf("a"));
+        Assert.assertEquals(1, table.indexOf("b"));
+        Assert.assertEquals(3, table.lastIndexOf("a"));
+        table.clear();
+        Assert.assertTrue(table.isEmpty());
+        Assert.assertEquals(0, table.intern("b"));
+    }
+}